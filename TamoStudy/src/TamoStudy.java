@@ -1,5 +1,8 @@
+import cli.TamoStudyCli;
 import gui.WelcomeGUI;
 import resources.Debug;
+import resources.metrics.EdtWatchdog;
+import resources.metrics.MetricsRegistry;
 
 /**
  * Runner - TamoStudy
@@ -7,13 +10,23 @@ import resources.Debug;
  * @author Anthony Narlock (narlock)
  * 
  * @brief The main class that instantiates
- * the welcome GUI for TamoStudy
+ * the welcome GUI for TamoStudy, or runs a
+ * headless command when given arguments
  */
 
 public class TamoStudy {
 	
 	public static void main(String[] args) {
+		Debug.startFileLog();
+		if(args.length > 0) {
+			// Headless commands never open a window
+			System.setProperty("java.awt.headless", "true");
+			System.exit(TamoStudyCli.run(args));
+		}
+		
 		Debug.info("TamoStudy.main", "TamoStudy program starting to run.");
+		MetricsRegistry.getDefault().startPeriodicDump(60);
+		EdtWatchdog.getDefault().start();
 		new WelcomeGUI();
 
 	}
@@ -0,0 +1,93 @@
+package benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import model.language.Language;
+import model.profile.Profile;
+import model.profile.ProfileSettings;
+import model.profile.Tamo;
+import model.time.DailyFocus;
+import model.time.DailyFocusEntry;
+
+/**
+ * BenchmarkDataGenerator
+ *
+ * @author narlock
+ *
+ * @brief Builds synthetic profiles and daily focus histories for the
+ * benchmarks. The same seed always gives the same data, so runs on
+ * different builds measure the same work.
+ */
+public class BenchmarkDataGenerator {
+
+	private Random random;
+
+	public BenchmarkDataGenerator(long seed) {
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * @return profiles with ids 0 to count - 1, each with up to
+	 * three Tamos in its history
+	 */
+	public List<Profile> generateProfiles(int count) {
+		List<Profile> profiles = new ArrayList<>(count);
+		for(int i = 0; i < count; i++) {
+			Tamo tamo = new Tamo("Tamo" + i, random.nextInt(1_000_000), random.nextInt(3), "2020-01-01",
+					random.nextInt(11), random.nextInt(11), 0);
+			List<Tamo> tamoHistory = new ArrayList<>();
+			LocalDate birthDate = LocalDate.of(2018, 1, 1);
+			for(int j = random.nextInt(4); j > 0; j--) {
+				LocalDate passDate = birthDate.plusDays(1 + random.nextInt(180));
+				tamoHistory.add(new Tamo("Tamo" + i + "-" + j, random.nextInt(1_000_000), random.nextInt(3),
+						birthDate.toString(), passDate.toString()));
+				birthDate = passDate;
+			}
+			profiles.add(new Profile(
+						i,
+						"Profile" + i,
+						"2020-01-01",
+						random.nextInt(10_000_000),
+						random.nextInt(100_000),
+						new ProfileSettings(Language.getDefault(), 0, 1),
+						0,
+						0,
+						List.of(0L, 6L),
+						List.of((long) random.nextInt(5), 0L, (long) random.nextInt(5)),
+						List.of(0L, 3L),
+						List.of(0L),
+						tamo,
+						tamoHistory
+					));
+		}
+		return profiles;
+	}
+
+	/**
+	 * @return a daily focus history for every profile, one entry per
+	 * day for the given number of years up to and including today.
+	 * About one day in five has no focus and no entry.
+	 */
+	public List<DailyFocus> generateDailyFocus(List<Profile> profiles, int years, LocalDate today) {
+		List<DailyFocus> dailyFocusList = new ArrayList<>(profiles.size());
+		LocalDate firstDate = today.minusYears(years).plusDays(1);
+		for(Profile profile : profiles) {
+			List<DailyFocusEntry> entries = new ArrayList<>(years * 366);
+			for(LocalDate date = firstDate; !date.isAfter(today); date = date.plusDays(1)) {
+				if(random.nextInt(5) != 0 || date.equals(today)) {
+					entries.add(new DailyFocusEntry(
+								(long) date.getDayOfMonth(),
+								(long) date.getMonthValue(),
+								(long) date.getYear(),
+								(long) random.nextInt(4 * 3600)
+							));
+				}
+			}
+			dailyFocusList.add(new DailyFocus(profile.getId(), entries));
+		}
+		return dailyFocusList;
+	}
+}
@@ -0,0 +1,226 @@
+package benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * BenchmarkRunner
+ *
+ * @author narlock
+ *
+ * @brief Small microbenchmark harness for timing TamoStudy hot paths
+ * without any extra libraries.
+ *
+ * Each benchmark is warmed up first so the JIT has compiled it, then
+ * timed over several measurement iterations. Operations run in batches
+ * big enough that reading the clock does not skew fast operations,
+ * and every result is folded into a sink so the JIT cannot remove the
+ * work. Results are reported as the mean time per operation with the
+ * standard deviation between iterations.
+ *
+ * Results can be saved as CSV and compared against an earlier run
+ * to spot regressions.
+ */
+public class BenchmarkRunner {
+
+	public static final String CSV_HEADER = "benchmark,ns_per_op,error_ns,iterations";
+
+	/**
+	 * A single operation to time. The result is consumed
+	 * so the work is not optimized away.
+	 */
+	public interface Operation {
+		Object run() throws Exception;
+	}
+
+	public static class Result {
+		private String name;
+		private double nanosPerOperation;
+		private double errorNanos;
+		private int iterations;
+
+		public Result(String name, double nanosPerOperation, double errorNanos, int iterations) {
+			this.name = name;
+			this.nanosPerOperation = nanosPerOperation;
+			this.errorNanos = errorNanos;
+			this.iterations = iterations;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public double getNanosPerOperation() {
+			return nanosPerOperation;
+		}
+
+		public double getErrorNanos() {
+			return errorNanos;
+		}
+
+		public int getIterations() {
+			return iterations;
+		}
+	}
+
+	private static final long MINIMUM_BATCH_NANOS = 100_000;
+
+	private Map<String, Operation> benchmarks;
+	private long warmupNanos;
+	private long iterationNanos;
+	private int iterations;
+
+	private volatile int sink;
+
+	public BenchmarkRunner(long warmupMillis, long iterationMillis, int iterations) {
+		this.benchmarks = new LinkedHashMap<>();
+		this.warmupNanos = warmupMillis * 1_000_000;
+		this.iterationNanos = iterationMillis * 1_000_000;
+		this.iterations = iterations;
+	}
+
+	public void add(String name, Operation operation) {
+		benchmarks.put(name, operation);
+	}
+
+	/**
+	 * @brief Runs every benchmark whose name contains the filter,
+	 * printing each result as it finishes. A benchmark that throws
+	 * is reported and skipped.
+	 * @param filter part of a benchmark name, or null for all
+	 */
+	public List<Result> run(String filter, PrintStream out) {
+		List<Result> results = new ArrayList<>();
+		out.println(String.format(Locale.ROOT, "%-40s %14s %12s", "BENCHMARK", "NS/OP", "ERROR"));
+		for(Map.Entry<String, Operation> benchmark : benchmarks.entrySet()) {
+			if(filter != null && !benchmark.getKey().contains(filter)) {
+				continue;
+			}
+			try {
+				Result result = measure(benchmark.getKey(), benchmark.getValue());
+				results.add(result);
+				out.println(String.format(Locale.ROOT, "%-40s %14.1f %12.1f", result.getName(), result.getNanosPerOperation(), result.getErrorNanos()));
+			} catch (Exception e) {
+				out.println(String.format(Locale.ROOT, "%-40s failed: %s", benchmark.getKey(), e));
+			}
+		}
+		return results;
+	}
+
+	public Result measure(String name, Operation operation) throws Exception {
+		// Warm up, growing the batch until it is long enough to time
+		int batchSize = 1;
+		long warmupEnd = System.nanoTime() + warmupNanos;
+		do {
+			long batchNanos = runBatch(operation, batchSize);
+			if(batchNanos < MINIMUM_BATCH_NANOS && batchSize < Integer.MAX_VALUE / 2) {
+				batchSize *= 2;
+			}
+		} while(System.nanoTime() < warmupEnd);
+
+		double[] nanosPerOperation = new double[iterations];
+		for(int i = 0; i < iterations; i++) {
+			long operations = 0;
+			long elapsed = 0;
+			while(elapsed < iterationNanos) {
+				elapsed += runBatch(operation, batchSize);
+				operations += batchSize;
+			}
+			nanosPerOperation[i] = (double) elapsed / operations;
+		}
+
+		double mean = 0;
+		for(double value : nanosPerOperation) {
+			mean += value;
+		}
+		mean /= iterations;
+		double variance = 0;
+		for(double value : nanosPerOperation) {
+			variance += (value - mean) * (value - mean);
+		}
+		double error = iterations > 1 ? Math.sqrt(variance / (iterations - 1)) : 0;
+		return new Result(name, mean, error, iterations);
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * RESULT FILES
+	 * ##################################
+	 * ##################################
+	 */
+	public static void writeCsv(List<Result> results, Path path) throws IOException {
+		Files.createDirectories(path.toAbsolutePath().getParent());
+		try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			writer.write(CSV_HEADER);
+			writer.newLine();
+			for(Result result : results) {
+				writer.write(String.format(Locale.ROOT, "%s,%.1f,%.1f,%d", result.getName(), result.getNanosPerOperation(), result.getErrorNanos(), result.getIterations()));
+				writer.newLine();
+			}
+		}
+	}
+
+	public static Map<String, Double> readCsv(Path path) throws IOException {
+		Map<String, Double> nanosPerOperation = new LinkedHashMap<>();
+		for(String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+			String[] columns = line.split(",");
+			if(columns.length >= 2 && !line.equals(CSV_HEADER)) {
+				nanosPerOperation.put(columns[0], Double.parseDouble(columns[1]));
+			}
+		}
+		return nanosPerOperation;
+	}
+
+	/**
+	 * @brief Prints the change of each result against a baseline run.
+	 * Slower by more than the threshold is marked as a regression.
+	 * @return the number of regressions
+	 */
+	public static int compare(List<Result> results, Map<String, Double> baseline, double regressionThreshold, PrintStream out) {
+		int regressions = 0;
+		out.println(String.format(Locale.ROOT, "%-40s %14s %14s %9s", "BENCHMARK", "BASELINE", "NS/OP", "CHANGE"));
+		for(Result result : results) {
+			Double baselineNanos = baseline.get(result.getName());
+			if(baselineNanos == null || baselineNanos == 0) {
+				continue;
+			}
+			double change = (result.getNanosPerOperation() - baselineNanos) / baselineNanos;
+			boolean regression = change > regressionThreshold;
+			if(regression) {
+				regressions++;
+			}
+			out.println(String.format(Locale.ROOT, "%-40s %14.1f %14.1f %+8.1f%%%s", result.getName(), baselineNanos,
+					result.getNanosPerOperation(), change * 100, regression ? "  REGRESSION" : ""));
+		}
+		return regressions;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private long runBatch(Operation operation, int batchSize) throws Exception {
+		int consumed = 0;
+		long start = System.nanoTime();
+		for(int i = 0; i < batchSize; i++) {
+			Object result = operation.run();
+			consumed += result == null ? 0 : System.identityHashCode(result);
+		}
+		long elapsed = System.nanoTime() - start;
+		sink += consumed;
+		return elapsed;
+	}
+}
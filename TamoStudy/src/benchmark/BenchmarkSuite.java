@@ -0,0 +1,174 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import components.panel.HoursInPastPanel;
+import io.DailyFocusJsonManager;
+import io.FileSystemStorageBackend;
+import io.InMemoryStorageBackend;
+import io.ProfileJsonManager;
+import io.StorageBackend;
+import model.GuiSize;
+import model.language.Language;
+import model.profile.Profile;
+import model.statistics.FocusStatistics;
+import model.time.DailyFocus;
+import resources.Theme;
+import resources.presence.PresencePublisher;
+import resources.presence.StubPresenceBackend;
+import util.Utils;
+
+/**
+ * BenchmarkSuite
+ *
+ * @author narlock
+ *
+ * @brief The benchmarks of TamoStudy's hot paths over synthetic data:
+ * a number of profiles, each with a number of years of daily focus.
+ *
+ * JSON benchmarks run the JSON managers against a temporary directory
+ * and against in-memory storage, so the real profiles are never touched.
+ * GUI benchmarks need image and font support; on machines without it
+ * they are reported as failed and the rest still run.
+ */
+public class BenchmarkSuite {
+
+	public static final long SEED = 20240101L;
+
+	private int profileCount;
+	private int years;
+	private Path workDirectory;
+	private GuiSize guiSize;
+	private GuiSize largeGuiSize;
+	private PresencePublisher presencePublisher;
+
+	public BenchmarkSuite(int profileCount, int years) {
+		this.profileCount = profileCount;
+		this.years = years;
+	}
+
+	/**
+	 * @brief Generates the data and registers every benchmark.
+	 */
+	public BenchmarkRunner createRunner(long warmupMillis, long iterationMillis, int iterations) throws IOException {
+		BenchmarkRunner runner = new BenchmarkRunner(warmupMillis, iterationMillis, iterations);
+		BenchmarkDataGenerator generator = new BenchmarkDataGenerator(SEED);
+		LocalDate today = LocalDate.now();
+		List<Profile> profiles = generator.generateProfiles(profileCount);
+		List<DailyFocus> dailyFocusList = generator.generateDailyFocus(profiles, years, today);
+		// Kept as the program keeps them, older months sealed
+		for(DailyFocus dailyFocus : dailyFocusList) {
+			dailyFocus.sealMonthsBefore(DailyFocus.getFirstHotMonth(today));
+		}
+		Profile lastProfile = profiles.get(profiles.size() - 1);
+		DailyFocus lastDailyFocus = dailyFocusList.get(dailyFocusList.size() - 1);
+
+		workDirectory = Files.createTempDirectory("tamostudy-bench");
+
+		// Persistence, on disk and in memory to separate IO from JSON conversion
+		addJsonBenchmarks(runner, "json.", new FileSystemStorageBackend(workDirectory),
+				new FileSystemStorageBackend(Files.createDirectory(workDirectory.resolve("binary"))), profiles, dailyFocusList);
+		addJsonBenchmarks(runner, "json.memory.", new InMemoryStorageBackend(), new InMemoryStorageBackend(), profiles, dailyFocusList);
+
+		// Model, searching for the last profile and today's entry, the worst case
+		runner.add("utils.searchDailyFocusByProfile", () -> Utils.searchDailyFocusByProfile(dailyFocusList, lastProfile));
+		runner.add("utils.searchTodayFocusEntry", () -> Utils.searchTodayFocusEntryByProfile(lastDailyFocus.getDailyFocusEntries()));
+		runner.add("dailyFocus.inRowLength", () -> lastDailyFocus.getInRowDailyFocusLength(today, 3600));
+		runner.add("statistics.focusStatistics", () -> new FocusStatistics(lastDailyFocus, today));
+
+		// Presence, publishing to a stub backend with the default rate limit so updates coalesce
+		presencePublisher = new PresencePublisher(new StubPresenceBackend(),
+				PresencePublisher.DEFAULT_CALLBACK_INTERVAL_MILLIS, PresencePublisher.DEFAULT_MIN_UPDATE_INTERVAL_MILLIS);
+		presencePublisher.start();
+		runner.add("presence.update", () -> {
+			presencePublisher.update("Focus", lastProfile.getTamo().getName(), System.currentTimeMillis());
+			return presencePublisher;
+		});
+
+		// Rendering
+		runner.add("gui.guiSize.construct", () -> new GuiSize(1));
+		// At the large size, as the medium size is drawn without scaling
+		runner.add("gui.image.background", () -> getLargeGuiSize().getBackgroundImage(0));
+		runner.add("gui.hoursInPastPanel.construct", () -> new HoursInPastPanel(Language.getDefault(), Theme.DARK, lastDailyFocus.getDailyFocusEntries(), getGuiSize()));
+		return runner;
+	}
+	
+	/**
+	 * @brief Stops the presence publisher and removes the
+	 * temporary files of the JSON benchmarks.
+	 */
+	public void cleanUp() throws IOException {
+		if(presencePublisher != null) {
+			presencePublisher.shutdown();
+		}
+		if(workDirectory != null) {
+			// The JSON files, the lock files kept beside them and their directories, deepest first
+			try (Stream<Path> files = Files.walk(workDirectory)) {
+				for(Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+					Files.deleteIfExists(file);
+				}
+			}
+		}
+	}
+
+	public int getProfileCount() {
+		return profileCount;
+	}
+
+	public int getYears() {
+		return years;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	/**
+	 * Created on first use so a failure only affects the GUI benchmarks
+	 */
+	private GuiSize getGuiSize() {
+		if(guiSize == null) {
+			guiSize = new GuiSize(1);
+		}
+		return guiSize;
+	}
+
+	private GuiSize getLargeGuiSize() {
+		if(largeGuiSize == null) {
+			largeGuiSize = new GuiSize(2);
+		}
+		return largeGuiSize;
+	}
+
+	/**
+	 * Reads and writes go through the JSON managers, so they measure
+	 * the same code the program saves with. Every file is written
+	 * once up front, so each benchmark runs the same whichever others
+	 * a filter selects. The binary profiles are kept in their own
+	 * storage, as the newer of the two profile files is the one read.
+	 */
+	private static void addJsonBenchmarks(BenchmarkRunner runner, String prefix, StorageBackend storage, StorageBackend binaryStorage,
+			List<Profile> profiles, List<DailyFocus> dailyFocusList) {
+		ProfileJsonManager profileJsonManager = new ProfileJsonManager(storage, false);
+		ProfileJsonManager binaryProfileJsonManager = new ProfileJsonManager(binaryStorage, true);
+		DailyFocusJsonManager dailyFocusJsonManager = new DailyFocusJsonManager(storage);
+		profileJsonManager.writeJsonToFile(profiles);
+		binaryProfileJsonManager.writeJsonToFile(profiles);
+		dailyFocusJsonManager.writeJsonToFile(dailyFocusList);
+		runner.add(prefix + "profiles.write", () -> profileJsonManager.writeJsonToFile(profiles));
+		runner.add(prefix + "profiles.read", () -> profileJsonManager.readJson());
+		runner.add(prefix + "profiles.binary.write", () -> binaryProfileJsonManager.writeJsonToFile(profiles));
+		runner.add(prefix + "profiles.binary.read", () -> binaryProfileJsonManager.readJson());
+		runner.add(prefix + "dailyFocus.write", () -> dailyFocusJsonManager.writeJsonToFile(dailyFocusList));
+		runner.add(prefix + "dailyFocus.read", () -> dailyFocusJsonManager.readJson());
+	}
+}
@@ -0,0 +1,520 @@
+package cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import benchmark.BenchmarkRunner;
+import benchmark.BenchmarkSuite;
+import io.AsyncJsonWriter;
+import io.DailyFocusJsonManager;
+import io.FocusSessionLogManager;
+import io.JsonManager;
+import io.LegacyProfileMigrator;
+import io.MonthFocusJsonManager;
+import io.ProfileArchiveManager;
+import io.ProfileJsonManager;
+import io.sync.FocusSyncEngine;
+import model.achievement.AchievementEngine;
+import model.achievement.AchievementRule;
+import model.profile.Profile;
+import model.profile.TamoDecayEngine;
+import model.statistics.FocusPeriod;
+import model.statistics.FocusSessionStatistics;
+import model.statistics.FocusStatistics;
+import model.time.DailyFocus;
+import model.time.FocusSession;
+import model.time.FocusSessionRecorder;
+import model.time.MonthFocus;
+import online.StudyRoomClient;
+import online.StudyRoomServer;
+import resources.Debug;
+import resources.logging.AsyncLogAppender;
+import resources.logging.LogLevel;
+import util.Utils;
+
+/**
+ * TamoStudyCli
+ *
+ * @author narlock
+ *
+ * @brief Headless entry point to TamoStudy, used when the program
+ * is started with arguments.
+ *
+ * The commands share the io, model and statistics code with the GUI
+ * but never create a window, so they start quickly, can be scripted
+ * and run on machines without a display. Profiles are chosen by id
+ * or by name.
+ *
+ * Exit codes: 0 success, 1 failure, 2 invalid usage.
+ */
+public class TamoStudyCli {
+
+	public static final int EXIT_SUCCESS = 0;
+	public static final int EXIT_FAILURE = 1;
+	public static final int EXIT_USAGE = 2;
+
+	public static final String benchmarkDirectoryPath = JsonManager.directoryPath + File.separatorChar + "benchmarks";
+	public static final double REGRESSION_THRESHOLD = 0.10;
+
+	private PrintStream out;
+	private PrintStream err;
+
+	public TamoStudyCli(PrintStream out, PrintStream err) {
+		this.out = out;
+		this.err = err;
+	}
+
+	/**
+	 * @brief Runs the command named by the first argument.
+	 * @return the process exit code
+	 */
+	public static int run(String[] args) {
+		// Keep the console for command output unless a level was asked for
+		if(System.getProperty("tamostudy.log.level") == null) {
+			Debug.setLevel(LogLevel.ERROR);
+		}
+		try {
+			return new TamoStudyCli(System.out, System.err).execute(args);
+		} finally {
+			Debug.flush();
+		}
+	}
+
+	public int execute(String[] args) {
+		if(args.length == 0) {
+			printUsage(err);
+			return EXIT_USAGE;
+		}
+		try {
+			switch(args[0]) {
+			case "help":
+			case "--help":
+				printUsage(out);
+				return EXIT_SUCCESS;
+			case "list":
+				return listProfiles();
+			case "stats":
+				return requireArguments(args, 2) ? printStatistics(args[1]) : EXIT_USAGE;
+			case "focus":
+				return requireArguments(args, 3) ? focus(args[1], args[2]) : EXIT_USAGE;
+			case "export":
+				return requireArguments(args, 2) ? exportProfiles(args[1]) : EXIT_USAGE;
+			case "import":
+				return requireArguments(args, 2) ? importProfiles(args[1]) : EXIT_USAGE;
+			case "migrate":
+				return requireArguments(args, 2) ? migrate(args[1]) : EXIT_USAGE;
+			case "sync":
+				return requireArguments(args, 2) ? sync(args[1]) : EXIT_USAGE;
+			case "serve":
+				return serve(args.length > 1 ? args[1] : String.valueOf(StudyRoomServer.DEFAULT_PORT));
+			case "bench":
+				return benchmark(args);
+			default:
+				err.println("Unknown command: " + args[0]);
+				printUsage(err);
+				return EXIT_USAGE;
+			}
+		} catch (IOException e) {
+			err.println(args[0] + " failed: " + e.getMessage());
+			return EXIT_FAILURE;
+		}
+	}
+
+	public void printUsage(PrintStream stream) {
+		stream.println("Usage: TamoStudy [command]");
+		stream.println("Without a command the TamoStudy window is opened.");
+		stream.println();
+		stream.println("  list                         list every profile");
+		stream.println("  stats <profile>              print focus statistics of a profile");
+		stream.println("  focus <profile> <duration>   run a focus session, duration in minutes or seconds (90s)");
+		stream.println("  export <file>                export every profile to a ." + ProfileArchiveManager.FILE_EXTENSION + " archive");
+		stream.println("  import <file>                import every profile from a ." + ProfileArchiveManager.FILE_EXTENSION + " archive");
+		stream.println("  migrate <directory>          migrate a directory of Beta v4.x save files");
+		stream.println("  sync <directory>             sync focus history and tokens with other machines through a shared folder");
+		stream.println("  serve [port]                 host a study room, joined with -D" + StudyRoomClient.ROOM_PROPERTY + "=<host>:<port>");
+		stream.println("  bench [filter] [--profiles N] [--years N] [--baseline file.csv]");
+		stream.println("                               run the benchmarks, optionally compared to an earlier run");
+		stream.println("  help                         print this message");
+		stream.println();
+		stream.println("Profiles are kept in " + JsonManager.directoryPath + ", or in the directory given by");
+		stream.println("-D" + JsonManager.STORAGE_ROOT_PROPERTY + "=<directory>. With -D" + JsonManager.STORAGE_PROPERTY + "=" + JsonManager.MEMORY_STORAGE
+				+ " nothing is saved to disk.");
+		stream.println("With -D" + ProfileJsonManager.FORMAT_PROPERTY + "=" + ProfileJsonManager.BINARY_FORMAT + " profiles are saved to " + ProfileJsonManager.BINARY_PROFILES_FILE
+				+ " in a compact binary format; the newer of it and " + ProfileJsonManager.PROFILES_FILE + " is read.");
+		stream.println("Logs are written to " + AsyncLogAppender.logDirectoryPath + ", or the directory given by -D" + Debug.LOG_DIRECTORY_PROPERTY + "=<directory>.");
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * COMMANDS
+	 * ##################################
+	 * ##################################
+	 */
+	private int listProfiles() {
+		List<Profile> profiles = loadProfiles();
+		out.println(String.format("%-8s %-20s %10s %8s  %s", "ID", "NAME", "HOURS", "TOKENS", "TAMO"));
+		for(Profile profile : profiles) {
+			out.println(String.format("%-8d %-20s %10.2f %8d  %s",
+					profile.getId(), profile.getName(), Utils.convertSecondsToHours(profile.getTime()),
+					profile.getTokens(), profile.getTamo().getName()));
+		}
+		out.println(profiles.size() + " profiles");
+		return EXIT_SUCCESS;
+	}
+
+	private int printStatistics(String profileArgument) {
+		Profile profile = findProfile(loadProfiles(), profileArgument);
+		if(profile == null) {
+			return EXIT_FAILURE;
+		}
+
+		DailyFocus dailyFocus = Utils.searchDailyFocusByProfile(new DailyFocusJsonManager().readJson(), profile);
+		FocusStatistics statistics = dailyFocus == null ? new FocusStatistics(new ArrayList<>()) : new FocusStatistics(dailyFocus);
+		FocusSessionStatistics sessionStatistics = new FocusSessionStatistics(new FocusSessionLogManager().readSessions(profile.getId()));
+		LocalDate today = statistics.getToday();
+
+		out.println(profile.getName() + " (" + profile.getId() + ")");
+		out.println(String.format("  Total        %8.2f h", Utils.convertSecondsToHours(profile.getTime())));
+		out.println(String.format("  Today        %8.2f h", Utils.convertSecondsToHours(statistics.getTimeOnDay(today))));
+		out.println(String.format("  This week    %8.2f h", Utils.convertSecondsToHours(statistics.getWeekTime(today))));
+		out.println(String.format("  This month   %8.2f h", Utils.convertSecondsToHours(statistics.getMonthTime(YearMonth.from(today)))));
+		printPeriod("Best day", statistics.getBestDay());
+		printPeriod("Best week", statistics.getBestWeek());
+		printPeriod("Best month", statistics.getBestMonth());
+		if(dailyFocus != null) {
+			out.println("  Hour streak  " + dailyFocus.getInRowDailyFocusLength(today, 3600) + " days");
+		}
+		out.println("  Sessions     " + sessionStatistics.getSessionCount()
+				+ String.format(" (%.0f%% completed, average %.1f min)",
+						sessionStatistics.getCompletionRate() * 100, sessionStatistics.getAverageDuration() / 60));
+		if(sessionStatistics.getMostFocusedHour() != -1) {
+			out.println(String.format("  Best hour    %02d:00", sessionStatistics.getMostFocusedHour()));
+		}
+		out.println("  Tokens       " + profile.getTokens());
+		out.println("  Tamo         " + profile.getTamo().getName()
+				+ " (happy " + profile.getTamo().getHappy() + ", hunger " + profile.getTamo().getHunger() + ")");
+		return EXIT_SUCCESS;
+	}
+
+	/**
+	 * @brief Counts down a focus session in the console and credits
+	 * it to the profile the same way the focus screen does. If the
+	 * process is stopped early, the time so far is saved as a broken
+	 * session.
+	 */
+	private int focus(String profileArgument, String durationArgument) {
+		int duration = parseDuration(durationArgument);
+		if(duration <= 0) {
+			err.println("Invalid duration: " + durationArgument);
+			return EXIT_USAGE;
+		}
+		List<Profile> profiles = loadProfiles();
+		Profile profile = findProfile(profiles, profileArgument);
+		if(profile == null) {
+			return EXIT_FAILURE;
+		}
+
+		long startEpochSecond = Instant.now().getEpochSecond();
+		long startNanos = System.nanoTime();
+		AtomicBoolean recorded = new AtomicBoolean();
+		Thread brokenSessionHook = new Thread(() -> {
+			if(recorded.compareAndSet(false, true)) {
+				int running = (int) ((System.nanoTime() - startNanos) / 1_000_000_000L);
+				int elapsed = Math.min(running, duration);
+				List<AchievementRule> earned = recordFocusSession(profiles, profile, startEpochSecond, elapsed, running - elapsed, FocusSession.BROKEN);
+				out.println();
+				out.println("Session stopped early, " + formatDuration(elapsed) + " saved.");
+				printAchievements(profile, earned);
+			}
+		}, "TamoStudy-BrokenSession");
+		// A class registering a shutdown hook as it loads fails once shutdown has begun, so the hook must not be first to load it
+		AsyncJsonWriter.getDefault();
+		Runtime.getRuntime().addShutdownHook(brokenSessionHook);
+
+		out.println("Focusing as " + profile.getName() + " for " + formatDuration(duration) + ". Press Ctrl+C to stop.");
+		try {
+			int remaining = duration;
+			while(remaining > 0) {
+				out.print("\r" + formatDuration(remaining) + " remaining ");
+				out.flush();
+				// Sleep to the next whole second so the countdown does not drift
+				long nextTickNanos = startNanos + (duration - remaining + 1) * 1_000_000_000L;
+				Thread.sleep(Math.max(0, (nextTickNanos - System.nanoTime()) / 1_000_000L));
+				remaining--;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return EXIT_FAILURE;
+		}
+
+		if(recorded.compareAndSet(false, true)) {
+			Runtime.getRuntime().removeShutdownHook(brokenSessionHook);
+			int running = (int) ((System.nanoTime() - startNanos) / 1_000_000_000L);
+			List<AchievementRule> earned = recordFocusSession(profiles, profile, startEpochSecond, duration, Math.max(0, running - duration), FocusSession.COMPLETED);
+			out.println("\rSession complete. " + profile.getName() + " now has "
+					+ profile.getTokens() + " tokens and " + String.format("%.2f", Utils.convertSecondsToHours(profile.getTime())) + " hours.");
+			printAchievements(profile, earned);
+		}
+		return EXIT_SUCCESS;
+	}
+
+	private int exportProfiles(String fileArgument) throws IOException {
+		int count = new ProfileArchiveManager().exportProfiles(Paths.get(fileArgument), (done, total) -> {});
+		out.println("Exported " + count + " profiles to " + fileArgument);
+		return EXIT_SUCCESS;
+	}
+
+	private int importProfiles(String fileArgument) throws IOException {
+		if(!ProfileArchiveManager.isProfileArchive(Paths.get(fileArgument))) {
+			err.println(fileArgument + " is not a TamoStudy profile archive");
+			return EXIT_FAILURE;
+		}
+		int count = new ProfileArchiveManager().importProfiles(Paths.get(fileArgument), (done, total) -> {});
+		out.println("Imported " + count + " profiles from " + fileArgument);
+		return EXIT_SUCCESS;
+	}
+
+	private int migrate(String directoryArgument) throws IOException {
+		LegacyProfileMigrator migrator = new LegacyProfileMigrator();
+		migrator.printReport(migrator.migrate(Paths.get(directoryArgument)), out);
+		return EXIT_SUCCESS;
+	}
+
+	/**
+	 * @brief Syncs once through the shared folder and saves what other
+	 * machines changed. The window syncs on its own when started with
+	 * -Dtamostudy.sync.dir=<directory>.
+	 */
+	private int sync(String directoryArgument) throws IOException {
+		FocusSyncEngine syncEngine = new FocusSyncEngine(Paths.get(directoryArgument));
+		List<Profile> profiles = loadProfiles();
+		DailyFocusJsonManager dailyFocusJsonManager = new DailyFocusJsonManager();
+		List<DailyFocus> dailyFocusList = dailyFocusJsonManager.readJson();
+		MonthFocusJsonManager monthFocusJsonManager = new MonthFocusJsonManager();
+		List<MonthFocus> monthFocusList = monthFocusJsonManager.readJson();
+
+		int applied = syncEngine.sync(profiles, dailyFocusList, monthFocusList);
+		if(applied > 0) {
+			new ProfileJsonManager().writeJsonToFile(profiles);
+			dailyFocusJsonManager.writeJsonToFile(dailyFocusList);
+			monthFocusJsonManager.writeJsonToFile(monthFocusList);
+		}
+		out.println("Synced as device " + syncEngine.getDeviceId() + ", " + applied + " changes from other machines");
+		return EXIT_SUCCESS;
+	}
+
+	/**
+	 * @brief Hosts a study room until the process is stopped
+	 */
+	private int serve(String portArgument) throws IOException {
+		int port;
+		try {
+			port = Integer.parseInt(portArgument);
+		} catch (NumberFormatException e) {
+			err.println("Invalid port: " + portArgument);
+			return EXIT_USAGE;
+		}
+		StudyRoomServer server = new StudyRoomServer(port);
+		server.start();
+		out.println("Study room open on port " + server.getPort() + ". Press Ctrl+C to close it.");
+		try {
+			server.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return EXIT_SUCCESS;
+	}
+
+	/**
+	 * @brief Runs the benchmark suite, saves the results as CSV in
+	 * the benchmarks folder and, given a baseline CSV, compares
+	 * against it. Fails when a benchmark regressed.
+	 */
+	private int benchmark(String[] args) throws IOException {
+		String filter = null;
+		int profileCount = 100;
+		int years = 5;
+		Path baselinePath = null;
+		try {
+			for(int i = 1; i < args.length; i++) {
+				switch(args[i]) {
+				case "--profiles":
+					profileCount = Integer.parseInt(args[++i]);
+					break;
+				case "--years":
+					years = Integer.parseInt(args[++i]);
+					break;
+				case "--baseline":
+					baselinePath = Paths.get(args[++i]);
+					break;
+				default:
+					filter = args[i];
+				}
+			}
+		} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			err.println("Invalid benchmark options");
+			printUsage(err);
+			return EXIT_USAGE;
+		}
+		if(profileCount <= 0 || years <= 0) {
+			err.println("Profiles and years must be positive");
+			return EXIT_USAGE;
+		}
+
+		out.println("Benchmarking " + profileCount + " profiles with " + years + " years of daily focus");
+		BenchmarkSuite suite = new BenchmarkSuite(profileCount, years);
+		List<BenchmarkRunner.Result> results;
+		try {
+			results = suite.createRunner(1000, 1000, 5).run(filter, out);
+		} finally {
+			suite.cleanUp();
+		}
+
+		Path resultsPath = Paths.get(benchmarkDirectoryPath,
+				"bench-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+		BenchmarkRunner.writeCsv(results, resultsPath);
+		out.println("Results saved to " + resultsPath);
+
+		if(baselinePath != null) {
+			out.println();
+			int regressions = BenchmarkRunner.compare(results, BenchmarkRunner.readCsv(baselinePath), REGRESSION_THRESHOLD, out);
+			if(regressions > 0) {
+				err.println(regressions + " benchmarks regressed by more than " + (int) (REGRESSION_THRESHOLD * 100) + "%");
+				return EXIT_FAILURE;
+			}
+		}
+		return EXIT_SUCCESS;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	/**
+	 * Profiles with the decay of the days since they were last used
+	 * applied, as the GUI would show them
+	 */
+	private static List<Profile> loadProfiles() {
+		ProfileJsonManager profileJsonManager = new ProfileJsonManager();
+		List<Profile> profiles = new ArrayList<>(profileJsonManager.readJson());
+		new TamoDecayEngine().applyAllAndSave(profiles, profileJsonManager, LocalDate.now());
+		return profiles;
+	}
+
+	private boolean requireArguments(String[] args, int count) {
+		if(args.length != count) {
+			err.println("Wrong number of arguments for " + args[0]);
+			printUsage(err);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return the profile whose id or name (ignoring case) matches,
+	 * or null after reporting that none does
+	 */
+	public Profile findProfile(List<Profile> profiles, String profileArgument) {
+		for(Profile profile : profiles) {
+			if(String.valueOf(profile.getId()).equals(profileArgument)) {
+				return profile;
+			}
+		}
+		for(Profile profile : profiles) {
+			if(profile.getName().equalsIgnoreCase(profileArgument)) {
+				return profile;
+			}
+		}
+		err.println("No profile with id or name " + profileArgument);
+		return null;
+	}
+
+	/**
+	 * @return the duration in seconds: a number of minutes, or of
+	 * seconds when followed by s. -1 if it cannot be read.
+	 */
+	public static int parseDuration(String durationArgument) {
+		try {
+			if(durationArgument.endsWith("s")) {
+				return Integer.parseInt(durationArgument.substring(0, durationArgument.length() - 1));
+			}
+			return Math.multiplyExact(Integer.parseInt(durationArgument), 60);
+		} catch (NumberFormatException | ArithmeticException e) {
+			return -1;
+		}
+	}
+
+	private static String formatDuration(int seconds) {
+		return String.format("%02d:%02d", seconds / 60, seconds % 60);
+	}
+
+	private void printPeriod(String label, FocusPeriod period) {
+		if(period != null && period.getTime() > 0) {
+			out.println(String.format("  %-12s %8.2f h  %s", label, Utils.convertSecondsToHours(period.getTime()), period.getStartDate()));
+		}
+	}
+
+	/**
+	 * @brief Credits a session the way the focus screen does, through
+	 * FocusSessionRecorder: split at midnight, then achievements checked.
+	 * @param pauseSeconds the time the session ran without counting down,
+	 * such as while the machine slept
+	 * @return the achievements the session earned
+	 */
+	private synchronized List<AchievementRule> recordFocusSession(List<Profile> profiles, Profile profile, long startEpochSecond, int timeEarned, int pauseSeconds, byte outcome) {
+		DailyFocusJsonManager dailyFocusJsonManager = new DailyFocusJsonManager();
+		List<DailyFocus> dailyFocusList = new ArrayList<>(dailyFocusJsonManager.readJson());
+		DailyFocus dailyFocus = Utils.searchDailyFocusByProfile(dailyFocusList, profile);
+		if(dailyFocus == null) {
+			dailyFocus = Utils.createDailyFocus(profile);
+			dailyFocusList.add(dailyFocus);
+		}
+		MonthFocusJsonManager monthFocusJsonManager = new MonthFocusJsonManager();
+		List<MonthFocus> monthFocusList = new ArrayList<>(monthFocusJsonManager.readJson());
+		MonthFocus monthFocus = Utils.searchMonthFocusByProfile(monthFocusList, profile);
+		if(monthFocus == null) {
+			monthFocus = Utils.createMonthFocus(profile);
+			monthFocusList.add(monthFocus);
+		}
+
+		new FocusSessionRecorder(profile, dailyFocus, monthFocus)
+				.creditSession(LocalDateTime.ofInstant(Instant.ofEpochSecond(startEpochSecond), ZoneId.systemDefault()), timeEarned);
+		List<AchievementRule> earned = new AchievementEngine(profile)
+				.evaluate(FocusSessionRecorder.getSessionEvents(dailyFocus, LocalDate.now()));
+
+		new ProfileJsonManager().writeJsonToFile(profiles);
+		dailyFocusJsonManager.writeJsonToFile(dailyFocusList);
+		monthFocusJsonManager.writeJsonToFile(monthFocusList);
+		new FocusSessionLogManager().appendSession(new FocusSession(
+					profile.getId(),
+					startEpochSecond,
+					timeEarned,
+					pauseSeconds,
+					(byte) profile.getSettings().getFocusMode(),
+					outcome
+				));
+		return earned;
+	}
+
+	private void printAchievements(Profile profile, List<AchievementRule> earned) {
+		for(AchievementRule rule : earned) {
+			out.println("Achievement unlocked: " + rule.getTitle(profile.getSettings().getLanguage()) + " (+" + rule.getTokens() + " tokens)");
+		}
+	}
+}
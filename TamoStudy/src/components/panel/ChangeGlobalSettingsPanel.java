@@ -72,7 +72,7 @@ public class ChangeGlobalSettingsPanel extends JPanel {
 	private void initializeAttributes() {
 		globalSettingsJsonManager = welcomeGUI.getGlobalSettingsJsonManager();
 		globalSettings = welcomeGUI.getGlobalSettings();
-		Debug.info("ChangeGlobalSettingsPanel.initializeAttributes", "globalSettings=" + globalSettings.toString());
+		Debug.info("ChangeGlobalSettingsPanel.initializeAttributes", () -> "globalSettings=" + globalSettings.toString());
 		language = globalSettings.getLanguage();
 		theme = Theme.DARK;
 	}
@@ -194,7 +194,7 @@ public class ChangeGlobalSettingsPanel extends JPanel {
 				messageLabel.setForeground(Theme.SUCCESS);
 				
 				globalSettingsJsonManager.writeJsonToFile(globalSettings);
-				Debug.info("ChangeGlobalSettingsPanel.saveChangesButton.actionPerformed", "Saved new globalSettings=" + globalSettings);
+				Debug.info("ChangeGlobalSettingsPanel.saveChangesButton.actionPerformed", () -> "Saved new globalSettings=" + globalSettings);
 			}
 			
 		});
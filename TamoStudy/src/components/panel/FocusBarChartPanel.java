@@ -0,0 +1,121 @@
+package components.panel;
+
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+import javax.swing.JPanel;
+
+import model.GuiSize;
+import resources.Theme;
+import util.Utils;
+
+/**
+ * FocusBarChartPanel
+ * @author narlock
+ * @brief JPanel that paints a simple bar chart of focus
+ * time, such as the last weeks or months of a profile.
+ * Values are given in seconds and labelled in hours.
+ */
+public class FocusBarChartPanel extends JPanel {
+
+	private static final long serialVersionUID = -2817640349553720518L;
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * ATTRIBUTES
+	 * ##################################
+	 * ##################################
+	 */
+	private GuiSize guiSize;
+	private Theme theme;
+	private String title;
+	private String[] labels;
+	private double[] values;
+
+	public FocusBarChartPanel(Theme theme, GuiSize guiSize, String title, String[] labels, long[] values) {
+		this(theme, guiSize, title, labels, toDoubles(values));
+	}
+
+	public FocusBarChartPanel(Theme theme, GuiSize guiSize, String title, String[] labels, double[] values) {
+		this.theme = theme;
+		this.guiSize = guiSize;
+		this.title = title;
+		this.labels = labels;
+		this.values = values;
+
+		initializePanel();
+	}
+
+	public void initializePanel() {
+		this.setBackground(theme.mainColor);
+		this.setBorder(guiSize.messageBorder);
+		this.setPreferredSize(guiSize.focusChartDimension);
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		super.paintComponent(g);
+		Graphics2D g2d = (Graphics2D) g;
+		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+		int padding = guiSize.settingsVerticalDifference;
+		g2d.setFont(guiSize.achievementDescriptionLabelFont);
+		FontMetrics metrics = g2d.getFontMetrics();
+		int textHeight = metrics.getAscent();
+
+		// Title
+		g2d.setColor(theme.textColor);
+		g2d.drawString(title, padding, padding + textHeight);
+
+		// Bars
+		int top = padding * 2 + textHeight * 2;
+		int bottom = getHeight() - padding - textHeight - 2;
+		int chartHeight = Math.max(bottom - top, 1);
+		int slotWidth = (getWidth() - padding * 2) / Math.max(values.length, 1);
+		int barWidth = Math.max(slotWidth * 2 / 3, 1);
+		double max = getMaxValue();
+
+		for(int i = 0; i < values.length; i++) {
+			int x = padding + i * slotWidth + (slotWidth - barWidth) / 2;
+			int barHeight = max == 0 ? 0 : (int) Math.round(values[i] / max * chartHeight);
+
+			g2d.setColor(Theme.SUCCESS);
+			g2d.fillRect(x, bottom - barHeight, barWidth, barHeight);
+
+			g2d.setColor(theme.textColor);
+			if(values[i] > 0) {
+				String valueText = "" + Utils.convertSecondsToHours((long) values[i]);
+				g2d.drawString(valueText, x + (barWidth - metrics.stringWidth(valueText)) / 2, bottom - barHeight - 2);
+			}
+			if(labels[i] != null) {
+				g2d.drawString(labels[i], x + (barWidth - metrics.stringWidth(labels[i])) / 2, bottom + textHeight + 2);
+			}
+		}
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private double getMaxValue() {
+		double max = 0;
+		for(double value : values) {
+			max = Math.max(max, value);
+		}
+		return max;
+	}
+
+	private static double[] toDoubles(long[] values) {
+		double[] doubles = new double[values.length];
+		for(int i = 0; i < values.length; i++) {
+			doubles[i] = values[i];
+		}
+		return doubles;
+	}
+}
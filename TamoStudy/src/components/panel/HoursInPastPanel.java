@@ -26,6 +26,7 @@ import javax.swing.plaf.basic.BasicPopupMenuUI;
 
 import model.GuiSize;
 import model.language.Language;
+import model.statistics.FocusStatistics;
 import model.time.DailyFocusEntry;
 import resources.Theme;
 import util.Utils;
@@ -48,13 +49,17 @@ public class HoursInPastPanel extends JPanel {
 	 * ##################################
 	 */
 	private List<LocalDate> dateList;
-	private List<DailyFocusEntry> focusEntries;
+	private FocusStatistics focusStatistics;
 	private GuiSize guiSize;
 	private Theme theme;
 	private Language language;
 	
 	public HoursInPastPanel(Language language, Theme theme, List<DailyFocusEntry> focusEntries, GuiSize guiSize) {
-		this.focusEntries = focusEntries;
+		this(language, theme, new FocusStatistics(focusEntries), guiSize);
+	}
+	
+	public HoursInPastPanel(Language language, Theme theme, FocusStatistics focusStatistics, GuiSize guiSize) {
+		this.focusStatistics = focusStatistics;
 		this.guiSize = guiSize;
 		this.theme = theme;
 		this.dateList = getDateList();
@@ -74,60 +79,30 @@ public class HoursInPastPanel extends JPanel {
 	}
 	
 	public void addDaysToPanel() {
-		// Get previous 
 		for (LocalDate date : dateList) {
-            boolean dateExists = false;
-
-            for (DailyFocusEntry entry : focusEntries) {
-                if (entry.getDay().equals((long) date.getDayOfMonth()) &&
-                    entry.getMonth().equals((long) date.getMonthValue()) &&
-                    entry.getYear().equals((long) date.getYear())) {
-                    dateExists = true;
-                    
-                    // add since it exists - add popup to show time during that day
-                    JLabel dateLabel = new JLabel();
-                    dateLabel.setIcon(chooseIconByTime(entry.getTime()));
-                    
-                    // Popup
-            		final JPopupMenu popupMenu = new JPopupMenu("Test Popup");
-            		JLabel popupMessageLabel = new JLabel("  " + Utils.convertSecondsToHours(entry.getTime()) + " " + language.hoursOnText + " " + date.getDayOfWeek() + ", " + date.getMonth() + " " + date.getDayOfMonth() + ", " + date.getYear() + "  ");
-            		
-            		popupMessageLabel.setForeground(theme.textColor);
-            		popupMenu.setBackground(theme.layerColor);
-            		popupMenu.add(popupMessageLabel);
-            		
-            		dateLabel.addMouseListener(new MouseAdapter() {
-            			public void mouseEntered(MouseEvent e) {
-            				popupMenu.show(dateLabel, e.getX() - 120, e.getY() - 50);
-            			}
-            		});
-            		
-            		this.add(dateLabel);
-                    break;
-                }
-            }
-
-            if (!dateExists) {
-            	
-            	// add since it does not exist - add popup to show time during that day
-                JLabel dateLabel = new JLabel(guiSize.grayIcon);
-        		final JPopupMenu popupMenu = new JPopupMenu("Test Popup");
-        		JLabel popupMessageLabel = new JLabel("  0.0" + " " + language.hoursOnText + " " + date.getDayOfWeek() + ", " + date.getMonth() + " " + date.getDayOfMonth() + ", " + date.getYear() + "  ");
-        		
-        		popupMessageLabel.setForeground(theme.textColor);
-        		popupMenu.setBackground(theme.layerColor);
-        		
-        		// popup
-        		popupMenu.add(popupMessageLabel);
-        		dateLabel.addMouseListener(new MouseAdapter() {
-        			public void mouseEntered(MouseEvent e) {
-        				popupMenu.show(dateLabel, e.getX() - 120, e.getY() - 50);
-        			}
-        		});
-        		
-        		this.add(dateLabel);
-            }
-        }
+			// Each day is a constant time lookup into the statistics prefix sums
+			long time = focusStatistics.getTimeOnDay(date);
+			
+			// add popup to show time during that day
+			JLabel dateLabel = new JLabel();
+			dateLabel.setIcon(chooseIconByTime(time));
+			
+			// Popup
+			final JPopupMenu popupMenu = new JPopupMenu("Test Popup");
+			JLabel popupMessageLabel = new JLabel("  " + Utils.convertSecondsToHours(time) + " " + language.hoursOnText + " " + date.getDayOfWeek() + ", " + date.getMonth() + " " + date.getDayOfMonth() + ", " + date.getYear() + "  ");
+			
+			popupMessageLabel.setForeground(theme.textColor);
+			popupMenu.setBackground(theme.layerColor);
+			popupMenu.add(popupMessageLabel);
+			
+			dateLabel.addMouseListener(new MouseAdapter() {
+				public void mouseEntered(MouseEvent e) {
+					popupMenu.show(dateLabel, e.getX() - 120, e.getY() - 50);
+				}
+			});
+			
+			this.add(dateLabel);
+		}
 	}
 	
 	/*
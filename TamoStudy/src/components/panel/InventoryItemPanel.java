@@ -4,8 +4,6 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
-import java.util.List;
 
 import javax.swing.Box;
 import javax.swing.ImageIcon;
@@ -15,9 +13,9 @@ import javax.swing.JPanel;
 
 import gui.TamoStudyGUI;
 import model.GuiSize;
+import model.achievement.AchievementEvent;
 import model.language.Language;
 import model.profile.Profile;
-import resources.Achievements;
 import resources.Debug;
 import resources.Items;
 import resources.Theme;
@@ -64,7 +62,7 @@ public class InventoryItemPanel extends JPanel {
 		this.profile = tsGui.getProfile();
 		this.guiSize = tsGui.getGuiSize();
 		this.language = tsGui.getProfile().getSettings().getLanguage();
-		this.theme = profile.getSettings().getTheme();
+		this.theme = Theme.getTheme(profile.getSettings().getThemeType());
 		
 		this.type = type;
 		this.indicator = indicator;
@@ -111,29 +109,15 @@ public class InventoryItemPanel extends JPanel {
 					profile.getTamo().setHunger(profile.getTamo().getHunger() + hungerToAdd);
 				}
 				
-				// Remove food from inventory
-				int indexToRemove = -1;
-				List<Long> foodInventoryList = new ArrayList<>(profile.getFoodInventoryList());
-				
-				// This will iterate through and delete one of the foods that match, since
+				// Remove one of the food items from inventory, since
 				// the profile can have more than one instance of the food item.
-				for(int i = 0; i < foodInventoryList.size(); i++) {
-					if(foodInventoryList.get(i)  == indicator) {
-						indexToRemove = i;
-					}
-				}
-				Debug.info("InventoryItemPanel.itemActionButton.actionPerformed", "indexToRemove=" + indexToRemove);
-				foodInventoryList.remove(indexToRemove);
-				profile.setFoodInventoryList(foodInventoryList);
+				profile.removeFood(indicator);
 				
-				// Earn Tamo Full achievement if applicable
-				if(profile.getTamo().getHunger() >= 10) {
-					Achievements.earn(tsGui, 7);
+				// Earn Tamo Full achievement if applicable, otherwise update JSON
+				if(!tsGui.getAchievementEngine().publish(tsGui, AchievementEvent.tamoFed())) {
+					tsGui.getProfileJsonManager().writeJsonToFileAsync(tsGui.getProfiles());
 				}
 				
-				// Update JSON
-				tsGui.getProfileJsonManager().writeJsonToFile(tsGui.getProfiles());
-				
 				// Call changeInventory
 				// TODO call an animation from inventory state to say something like "Tamo Hunger 8/10" and fade to background color.
 				inventoryState.changeInventory();
@@ -164,14 +148,11 @@ public class InventoryItemPanel extends JPanel {
 				// Set Background
 				profile.setBackgroundIndicator(indicator);
 				
-				// Earn Background achievement if applicable
-				if(indicator != 0) {
-					Achievements.earn(tsGui, 5);
-				}
-				
-				// Update JSON
+				// Earn Background achievement if applicable, otherwise update JSON
 				// TODO Add animation that background was set: "Background sunset set!" and fade to background color.
-				tsGui.getProfileJsonManager().writeJsonToFile(tsGui.getProfiles());
+				if(!tsGui.getAchievementEngine().publish(tsGui, AchievementEvent.backgroundSet(indicator))) {
+					tsGui.getProfileJsonManager().writeJsonToFileAsync(tsGui.getProfiles());
+				}
 			}
 		});
 	}
@@ -199,14 +180,11 @@ public class InventoryItemPanel extends JPanel {
 				// Set backgrounds
 				profile.setBorderIndicator(indicator);
 				
-				// Earn Background achievement if applicable
-				if(indicator != 0) {
-					Achievements.earn(tsGui, 4);
-				}
-				
-				// Update JSON
+				// Earn Border achievement if applicable, otherwise update JSON
 				// TODO Add animation that border was set: "Border black set!" and fade to background color.
-				tsGui.getProfileJsonManager().writeJsonToFile(tsGui.getProfiles());
+				if(!tsGui.getAchievementEngine().publish(tsGui, AchievementEvent.borderSet(indicator))) {
+					tsGui.getProfileJsonManager().writeJsonToFileAsync(tsGui.getProfiles());
+				}
 			}
 		});
 	}
@@ -0,0 +1,84 @@
+package components.panel;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.util.List;
+
+import javax.swing.JPanel;
+import javax.swing.Timer;
+
+import resources.metrics.MetricsRegistry;
+
+/**
+ * PerformanceOverlayPanel
+ * @author narlock
+ * @brief Transparent glass pane that draws the current metrics
+ * over the TamoStudyGUI. Toggled with F3. While visible it
+ * refreshes once a second; while hidden it does no work.
+ */
+public class PerformanceOverlayPanel extends JPanel {
+
+	private static final long serialVersionUID = -2290712847730174620L;
+
+	private static final Font OVERLAY_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+	private static final Color OVERLAY_BACKGROUND = new Color(0, 0, 0, 170);
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * ATTRIBUTES
+	 * ##################################
+	 * ##################################
+	 */
+	private MetricsRegistry metricsRegistry;
+	private Timer refreshTimer;
+	private List<String> lines;
+
+	public PerformanceOverlayPanel(MetricsRegistry metricsRegistry) {
+		this.metricsRegistry = metricsRegistry;
+		this.lines = List.of();
+		this.refreshTimer = new Timer(1000, e -> refresh());
+
+		this.setOpaque(false);
+		this.setVisible(false);
+	}
+
+	public void toggle() {
+		if(isVisible()) {
+			refreshTimer.stop();
+			setVisible(false);
+		} else {
+			refresh();
+			setVisible(true);
+			refreshTimer.start();
+		}
+	}
+
+	private void refresh() {
+		lines = metricsRegistry.snapshot();
+		repaint();
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		g.setFont(OVERLAY_FONT);
+		FontMetrics metrics = g.getFontMetrics();
+		int lineHeight = metrics.getHeight();
+		int padding = 6;
+
+		int width = 0;
+		for(String line : lines) {
+			width = Math.max(width, metrics.stringWidth(line));
+		}
+		int visibleLines = Math.min(lines.size(), Math.max((getHeight() - 2 * padding) / lineHeight, 0));
+
+		g.setColor(OVERLAY_BACKGROUND);
+		g.fillRect(padding, padding, width + 2 * padding, visibleLines * lineHeight + 2 * padding);
+		g.setColor(Color.WHITE);
+		for(int i = 0; i < visibleLines; i++) {
+			g.drawString(lines.get(i), 2 * padding, 2 * padding + i * lineHeight + metrics.getAscent());
+		}
+	}
+}
@@ -6,8 +6,12 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.File;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import javax.swing.Box;
 import javax.swing.ImageIcon;
@@ -19,12 +23,17 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingWorker;
 
 import gui.TamoStudyGUI;
 import gui.WelcomeGUI;
+import io.LegacyProfileMigrator;
+import io.ProfileArchiveManager;
 import io.ProfileJsonManager;
 import model.language.Language;
 import model.profile.Profile;
+import model.profile.TamoDecayEngine;
 import resources.Debug;
 import resources.Theme;
 import util.Utils;
@@ -59,6 +68,7 @@ public class ProfileSelectionPanel extends JPanel {
 	private JPanel createButtonPanel;
 	private JButton createNewProfileButton;
 	private JButton importProfileButton;
+	private JButton exportProfilesButton;
 	
 	private JPanel selectProfilePanel;
 	private JLabel selectProfileLabel;
@@ -110,7 +120,8 @@ public class ProfileSelectionPanel extends JPanel {
 	
 	private void initializeAttributes() {
 		profileJsonManager = new ProfileJsonManager();
-		profiles = profileJsonManager.readJson();
+		profiles = new ArrayList<>(profileJsonManager.readJson());
+		new TamoDecayEngine().applyAllAndSave(profiles, profileJsonManager, LocalDate.now());
 		theme = Theme.DARK;
 		language = welcomeGUI.getGlobalSettings().getLanguage();
 	}
@@ -143,6 +154,7 @@ public class ProfileSelectionPanel extends JPanel {
 		createButtonPanel = new JPanel();
 		createNewProfileButton = new JButton(language.createNewProfileText);
 		importProfileButton = new JButton(language.importProfileText);
+		exportProfilesButton = new JButton(language.exportProfilesText);
 		
 		selectProfilePanel = new JPanel();
 		selectProfileLabel = new JLabel(language.chooseProfileText);
@@ -183,86 +195,35 @@ public class ProfileSelectionPanel extends JPanel {
 	            int returnValue = fileChooser.showOpenDialog(null);
 
 	            if (returnValue == JFileChooser.APPROVE_OPTION) {
-	               String[] contents = Utils.decrypt(Utils.readFile(fileChooser.getSelectedFile())).split(",");
-	               
-	               try {
-	            	   // Ensure that the file is from Beta v4.0 - v4.2
-		               boolean sizeCheck = contents.length == 21;
-		               boolean versionCheck = contents[0].equals("b4.0");
-		               
-		               if(sizeCheck && versionCheck) {
-		            	   /**
-			                 * A Beta v4.2 button should meet the following requirements
-			                 * 
-							 * [0] version
-							 * [1] username
-							 * [2] joinDateString
-							 * [3] lastLoginDateString
-							 * [4] tamoTokens
-							 * [5] totalTime
-							 * [6] bgIndicator
-							 * [7] themeIndicator
-							 * [8] strikes
-							 * [9] tamoName
-							 * [10] tamoHappiness
-							 * [11] tamoHunger
-							 * [12] tamoId
-							 * [13] languageIndicator
-							 * [14] ahmString
-							 * [15] invString
-							 * [16] focusMode
-							 * [17] sessionSoundIndicator
-							 * [18] backgroundSoundIndicator
-							 * [19] difficulty
-							 * [20] showAhmNotifications
-							 */
-			               Profile profile = new Profile(
-			            		   		contents[1],
-			            		   		contents[2],
-			            		   		contents[3],
-			            		   		Long.parseLong(contents[5]),
-			            		   		Long.parseLong(contents[4]),
-			            		   		Long.parseLong(contents[6]),
-			            		   		Long.parseLong(contents[8]),
-			            		   		contents[9],
-			            		   		Long.parseLong(contents[10]),
-			            		   		Long.parseLong(contents[11]),
-			            		   		Long.parseLong(contents[12]),
-			            		   		Long.parseLong(contents[13]),
-			            		   		contents[14],
-			            		   		contents[15],
-			            		   		Long.parseLong(contents[16]),
-			            		   		Long.parseLong(contents[17]),
-			            		   		Long.parseLong(contents[19]),
-			            		   		(contents[20].equals("0") ? false : true)
-			            		   );
-			               Debug.info("ProfileSelectionPanel.importProfileButton.actionPerformed", "Loaded Beta v4.2 profile: " + profile.toString());
-			               
-			               // Add Profile to Profiles List and update profiles.json
-			               List<Profile> allProfiles = new ArrayList<>();
-							for(Profile aProfile : profiles) {
-								allProfiles.add(aProfile);
-							}
-							allProfiles.add(profile);
-							profileJsonManager.writeJsonToFile(allProfiles);
-			               
-			               // Revalidate GUI
-							removeAllComponents();
-							initializeInitialMode();
-		               } 
-		               else throw new Exception();
-		               
-	               } catch (Exception e1) {
-	            	   Debug.error("ProfileSelectionPanel.importProfileButton.actionPerformed", "Selected file failed index access check");
-	            	   setMessageLabelError(language.invalidProfileFileText);
-	            	   e1.printStackTrace();
-	               }
-	               
+	            	if(ProfileArchiveManager.isProfileArchive(fileChooser.getSelectedFile().toPath())) {
+	            		runProfileArchiveTask(false, fileChooser.getSelectedFile().toPath());
+	            	} else {
+	            		importLegacyProfile(fileChooser.getSelectedFile());
+	            	}
 	            }
 			}
 			
 		});
 		
+		exportProfilesButton.addActionListener(new ActionListener() {
+
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				JFileChooser fileChooser = new JFileChooser();
+				fileChooser.setSelectedFile(new File("TamoStudyProfiles." + ProfileArchiveManager.FILE_EXTENSION));
+				int returnValue = fileChooser.showSaveDialog(null);
+				
+				if (returnValue == JFileChooser.APPROVE_OPTION) {
+					File file = fileChooser.getSelectedFile();
+					if(!file.getName().endsWith("." + ProfileArchiveManager.FILE_EXTENSION)) {
+						file = new File(file.getPath() + "." + ProfileArchiveManager.FILE_EXTENSION);
+					}
+					runProfileArchiveTask(true, file.toPath());
+				}
+			}
+			
+		});
+		
 		loadProfileButton.addActionListener(new ActionListener() {
 
 			@Override
@@ -306,6 +267,83 @@ public class ProfileSelectionPanel extends JPanel {
 		});
 	}
 	
+	/**
+	 * @brief Imports a single profile exported by Beta v4.0 - v4.2.
+	 */
+	private void importLegacyProfile(File file) {
+		try {
+			Profile profile = LegacyProfileMigrator.parseLegacyProfile(Utils.readFile(file));
+			Debug.info("ProfileSelectionPanel.importLegacyProfile", () -> "Loaded Beta v4.2 profile: " + profile.toString());
+			
+			// Add Profile to Profiles List and update profiles.json
+			List<Profile> allProfiles = new ArrayList<>();
+			for(Profile aProfile : profiles) {
+				allProfiles.add(aProfile);
+			}
+			allProfiles.add(profile);
+			profileJsonManager.writeJsonToFile(allProfiles);
+			
+			// Revalidate GUI
+			removeAllComponents();
+			initializeInitialMode();
+		} catch (IllegalArgumentException e1) {
+			Debug.error("ProfileSelectionPanel.importLegacyProfile", "Selected file failed legacy profile check: " + e1.getMessage());
+			setMessageLabelError(language.invalidProfileFileText);
+		}
+	}
+	
+	/**
+	 * @brief Exports all profiles to, or imports all profiles from,
+	 * a profile archive on a background thread, showing progress.
+	 * The profile list is reloaded after an import.
+	 */
+	private void runProfileArchiveTask(boolean export, Path archivePath) {
+		ProgressMonitor progressMonitor = new ProgressMonitor(this,
+				export ? language.exportingProfilesText : language.importingProfilesText, "", 0, 100);
+		progressMonitor.setMillisToDecideToPopup(100);
+		importProfileButton.setEnabled(false);
+		exportProfilesButton.setEnabled(false);
+		
+		SwingWorker<Integer, Void> worker = new SwingWorker<Integer, Void>() {
+
+			@Override
+			protected Integer doInBackground() throws Exception {
+				ProfileArchiveManager profileArchiveManager = new ProfileArchiveManager();
+				ProfileArchiveManager.ProgressListener listener = (done, total) -> setProgress(total == 0 ? 100 : done * 100 / total);
+				if(export) {
+					return profileArchiveManager.exportProfiles(archivePath, listener);
+				}
+				return profileArchiveManager.importProfiles(archivePath, listener);
+			}
+			
+			@Override
+			protected void done() {
+				progressMonitor.close();
+				try {
+					int count = get();
+					if(!export) {
+						// Revalidate GUI with the imported profiles
+						removeAllComponents();
+						initializeInitialMode();
+					}
+					messageLabel.setText(count + " " + (export ? language.profilesExportedText : language.profilesImportedText));
+				} catch (InterruptedException | ExecutionException e) {
+					Debug.error("ProfileSelectionPanel.runProfileArchiveTask", "Profile archive " + (export ? "export" : "import") + " failed: " + e.getCause());
+					setMessageLabelError(language.invalidProfileArchiveText);
+				} finally {
+					importProfileButton.setEnabled(true);
+					exportProfilesButton.setEnabled(true);
+				}
+			}
+		};
+		worker.addPropertyChangeListener(evt -> {
+			if("progress".equals(evt.getPropertyName())) {
+				progressMonitor.setProgress((Integer) evt.getNewValue());
+			}
+		});
+		worker.execute();
+	}
+	
 	private void initializeComponentVisuals() {
 		this.setPreferredSize(new Dimension(500, 450));
 		this.setBackground(theme.mainColor);
@@ -319,6 +357,7 @@ public class ProfileSelectionPanel extends JPanel {
 		
 		Theme.primaryVisualButton(createNewProfileButton);
 		Theme.secondaryVisualButton(importProfileButton);
+		Theme.secondaryVisualButton(exportProfilesButton);
 		
 		selectProfilePanel.setLayout(new GridBagLayout());
 		selectProfilePanel.setBackground(theme.subColor);
@@ -345,6 +384,10 @@ public class ProfileSelectionPanel extends JPanel {
 		createButtonPanel.add(createNewProfileButton, gbcv);
 		createButtonPanel.add(Box.createVerticalStrut(20), gbcv);
 		createButtonPanel.add(importProfileButton, gbcv);
+		if(foundProfiles) {
+			createButtonPanel.add(Box.createVerticalStrut(20), gbcv);
+			createButtonPanel.add(exportProfilesButton, gbcv);
+		}
 		
 		this.add(messageLabel, gbcv);
 		
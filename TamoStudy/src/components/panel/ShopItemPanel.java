@@ -4,9 +4,6 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
-import java.util.List;
-
 import javax.swing.Box;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
@@ -16,8 +13,10 @@ import javax.swing.JPanel;
 
 import gui.TamoStudyGUI;
 import model.GuiSize;
+import model.achievement.AchievementEvent;
 import model.language.Language;
 import model.profile.Profile;
+import resources.Constants;
 import resources.Debug;
 import resources.Items;
 import resources.Theme;
@@ -58,7 +57,7 @@ public class ShopItemPanel extends JPanel {
 		this.tsGui = tsGui;
 		this.guiSize = guiSize;
 		this.language = language;
-		theme = tsGui.getProfile().getSettings().getTheme();
+		theme = Theme.getTheme(tsGui.getProfile().getSettings().getThemeType());
 		
 		this.type = type;
 		this.indicator = indicator;
@@ -94,7 +93,7 @@ public class ShopItemPanel extends JPanel {
 				int tokensAfterPurchase = (int) tsGui.getProfile().getTokens() - price;
 				
 				// If the profile can afford the purchase
-				if(type.equals("FOOD") && tsGui.getProfile().getFoodInventoryList().size() >= 35) {
+				if(type.equals("FOOD") && tsGui.getProfile().getFoodTotal() >= Constants.INVENTORY_CAPACITY) {
 					// Cannot purchase
 					JOptionPane.showMessageDialog(getRootPane(), language.yourFoodInventoryIsFullText, "TamoStudy", JOptionPane.INFORMATION_MESSAGE,  new ImageIcon(getClass().getClassLoader().getResource("INFO.png")));
 				}
@@ -116,10 +115,11 @@ public class ShopItemPanel extends JPanel {
 						
 						// Secondly, add the item to the profile's inventory
 						addItemToInventory(type, indicator, tsGui.getProfile());
-						tsGui.getProfileJsonManager().writeJsonToFile(tsGui.getProfiles());
+						if(!tsGui.getAchievementEngine().publish(tsGui, AchievementEvent.itemBought(indicator))) {
+							tsGui.getProfileJsonManager().writeJsonToFileAsync(tsGui.getProfiles());
+						}
 						
-						// Finally, update the GUI. Tamo tokens, and disable buyButton.
-						tsGui.updateTamoTokensLabel();
+						// Finally, update the GUI. Tamo tokens are bound to the profile, disable buyButton.
 						if(!type.equals("FOOD")) {
 							buyButton.setEnabled(false);
 						} else {
@@ -139,20 +139,16 @@ public class ShopItemPanel extends JPanel {
 	public void disableBuyButtonIfOwned() {
 		if(type.equals("FOOD")) {
 			// Do nothing, can purchase multiple food
-			if(tsGui.getProfile().getFoodInventoryList().size() >= 35) {
+			if(tsGui.getProfile().getFoodTotal() >= Constants.INVENTORY_CAPACITY) {
 				buyButton.setEnabled(false);
 			}
 		} else if(type.equals("BACKGROUND")) {
-			for(long l : tsGui.getProfile().getBackgroundInventoryList()) {
-				if((int) l == indicator) {
-					buyButton.setEnabled(false);
-				}
+			if(tsGui.getProfile().ownsBackground(indicator)) {
+				buyButton.setEnabled(false);
 			}
 		} else if(type.equals("BORDER")) {
-			for(long l : tsGui.getProfile().getBorderInventoryList()) {
-				if((int) l == indicator) {
-					buyButton.setEnabled(false);
-				}
+			if(tsGui.getProfile().ownsBorder(indicator)) {
+				buyButton.setEnabled(false);
 			}
 		}
 	}
@@ -213,20 +209,14 @@ public class ShopItemPanel extends JPanel {
 	}
 	
 	public void addItemToInventory(String type, int indicator, Profile profile) {
-		Debug.info("ShopItemPanel.addItemToInventory", "type=" + type + ", type.equals(\"FOOD\")=" + type.equals("FOOD") + "type.equals(\"BACKGROUND\")=" + type.equals("BACKGROUND") + "type.equals(\"BORDER\")=" + type.equals("BORDER"));
+		Debug.info("ShopItemPanel.addItemToInventory", () -> "type=" + type + ", type.equals(\"FOOD\")=" + type.equals("FOOD") + "type.equals(\"BACKGROUND\")=" + type.equals("BACKGROUND") + "type.equals(\"BORDER\")=" + type.equals("BORDER"));
 		
 		if(type.equals("FOOD")) {
-			List<Long> foodInventoryList = new ArrayList<Long>(profile.getFoodInventoryList());
-			foodInventoryList.add((long) indicator);
-			profile.setFoodInventoryList(foodInventoryList);
+			profile.addFood(indicator);
 		} else if(type.equals("BACKGROUND")) {
-			List<Long> backgroundInventoryList = new ArrayList<Long>(profile.getBackgroundInventoryList());
-			backgroundInventoryList.add((long) indicator);
-			profile.setBackgroundInventoryList(backgroundInventoryList);
+			profile.addBackground(indicator);
 		} else if(type.equals("BORDER")) {
-			List<Long> borderInventoryList = new ArrayList<Long>(profile.getBorderInventoryList());
-			borderInventoryList.add((long) indicator);
-			profile.setBorderInventoryList(borderInventoryList);
+			profile.addBorder(indicator);
 		} else {
 			throw new RuntimeException("Unknown type  provided to addItemToInventory: " + type);
 		}
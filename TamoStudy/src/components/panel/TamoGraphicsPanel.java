@@ -8,10 +8,13 @@ import javax.swing.Timer;
 
 import model.GuiSize;
 import model.profile.Tamo;
+import resources.metrics.MetricTimer;
+import resources.metrics.MetricsRegistry;
 
 public class TamoGraphicsPanel extends JPanel {
 
 	private static final long serialVersionUID = 893329295457663557L;
+	private static final MetricTimer paintTimer = MetricsRegistry.getDefault().timer("paint.tamoGraphicsPanel");
 	/*
 	 * ##################################
 	 * ##################################
@@ -67,6 +70,7 @@ public class TamoGraphicsPanel extends JPanel {
 	
 	@Override
 	public void paint(Graphics g) {
+		long start = paintTimer.start();
 		super.paint(g);
 		
 		if(tamo.isFocused()) {
@@ -83,6 +87,7 @@ public class TamoGraphicsPanel extends JPanel {
 		g.drawImage(backgroundImage, guiSize.backgroundImageOffset, guiSize.backgroundImageOffset, this);
 		g.drawImage(tamoImage, getTamoX(), getTamoY(), this);
 		g.drawImage(borderImage, 0, 0, this);
+		paintTimer.stop(start);
 	}
 	
 	/*
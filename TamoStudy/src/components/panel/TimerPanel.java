@@ -45,7 +45,7 @@ public class TimerPanel extends JPanel {
 		this.profile = profile;
 		this.language = profile.getSettings().getLanguage();
 		this.guiSize = new GuiSize((int) profile.getSettings().getGuiSize());
-		this.theme = profile.getSettings().getTheme();
+		this.theme = Theme.getTheme(profile.getSettings().getThemeType());
 		
 		initializeAttributes();
 		initializePanel();
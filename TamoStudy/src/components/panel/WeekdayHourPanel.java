@@ -0,0 +1,122 @@
+package components.panel;
+
+import java.awt.Color;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+
+import javax.swing.JPanel;
+
+import model.GuiSize;
+import resources.Theme;
+
+/**
+ * WeekdayHourPanel
+ * @author narlock
+ * @brief JPanel that paints a weekday x hour heat map of
+ * focus time. Darker green cells are hours with more focus.
+ */
+public class WeekdayHourPanel extends JPanel {
+
+	private static final long serialVersionUID = 5402361982374410295L;
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * ATTRIBUTES
+	 * ##################################
+	 * ##################################
+	 */
+	private GuiSize guiSize;
+	private Theme theme;
+	private String title;
+	private String[] weekdayLabels;
+	private long[][] weekdayHourTime;
+
+	public WeekdayHourPanel(Theme theme, GuiSize guiSize, String title, String[] weekdayLabels, long[][] weekdayHourTime) {
+		this.theme = theme;
+		this.guiSize = guiSize;
+		this.title = title;
+		this.weekdayLabels = weekdayLabels;
+		this.weekdayHourTime = weekdayHourTime;
+
+		initializePanel();
+	}
+
+	public void initializePanel() {
+		this.setBackground(theme.mainColor);
+		this.setBorder(guiSize.messageBorder);
+		this.setPreferredSize(guiSize.focusChartDimension);
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		super.paintComponent(g);
+		Graphics2D g2d = (Graphics2D) g;
+
+		int padding = guiSize.settingsVerticalDifference;
+		g2d.setFont(guiSize.achievementDescriptionLabelFont);
+		FontMetrics metrics = g2d.getFontMetrics();
+		int textHeight = metrics.getAscent();
+
+		// Title
+		g2d.setColor(theme.textColor);
+		g2d.drawString(title, padding, padding + textHeight);
+
+		int left = padding + metrics.stringWidth("WW");
+		int top = padding * 2 + textHeight;
+		int cellWidth = (getWidth() - left - padding) / 24;
+		int cellHeight = Math.max((getHeight() - top - padding - textHeight) / 7, 1);
+		long max = getMaxValue();
+
+		for(int weekday = 0; weekday < 7; weekday++) {
+			int y = top + weekday * cellHeight;
+			g2d.setColor(theme.textColor);
+			g2d.drawString(weekdayLabels[weekday], padding, y + cellHeight - 1);
+
+			for(int hour = 0; hour < 24; hour++) {
+				g2d.setColor(chooseColorByTime(weekdayHourTime[weekday][hour], max));
+				g2d.fillRect(left + hour * cellWidth, y, cellWidth - 1, cellHeight - 1);
+			}
+		}
+
+		// Hour labels
+		g2d.setColor(theme.textColor);
+		for(int hour = 0; hour < 24; hour += 6) {
+			g2d.drawString("" + hour, left + hour * cellWidth, top + 7 * cellHeight + textHeight);
+		}
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private long getMaxValue() {
+		long max = 0;
+		for(long[] hours : weekdayHourTime) {
+			for(long time : hours) {
+				max = Math.max(max, time);
+			}
+		}
+		return max;
+	}
+
+	private Color chooseColorByTime(long time, long max) {
+		if(time == 0 || max == 0) {
+			return theme.layerColor;
+		}
+		double intensity = 0.25 + 0.75 * ((double) time / max);
+		return new Color(
+					blend(theme.layerColor.getRed(), Theme.SUCCESS.getRed(), intensity),
+					blend(theme.layerColor.getGreen(), Theme.SUCCESS.getGreen(), intensity),
+					blend(theme.layerColor.getBlue(), Theme.SUCCESS.getBlue(), intensity)
+				);
+	}
+
+	private int blend(int from, int to, double amount) {
+		return (int) Math.round(from + (to - from) * amount);
+	}
+}
@@ -6,12 +6,18 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
+import javax.swing.AbstractAction;
 import javax.swing.BoxLayout;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
@@ -22,25 +28,40 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
+import javax.swing.KeyStroke;
 import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.WindowConstants;
 
+import components.panel.PerformanceOverlayPanel;
 import io.DailyFocusJsonManager;
+import io.ExternalChangeWatcher;
+import io.FocusSessionLogManager;
 import io.MonthFocusJsonManager;
 import io.ProfileJsonManager;
+import io.sync.FocusSyncEngine;
 import model.GuiSize;
+import model.achievement.AchievementEngine;
+import model.achievement.AchievementRule;
 import model.language.Language;
 import model.profile.Profile;
+import model.profile.ProfileBinding;
 import model.profile.ProfileUpdateManager;
 import model.profile.Tamo;
 import model.time.DailyFocus;
 import model.time.DailyFocusEntry;
+import model.time.DayRolloverScheduler;
 import model.time.MonthFocus;
 import model.time.MonthFocusEntry;
+import online.StudyRoomClient;
+import online.StudyRoomMember;
 import resources.Constants;
 import resources.Debug;
-import resources.DiscordRP;
 import resources.Theme;
+import resources.metrics.EdtWatchdog;
+import resources.metrics.MetricsRegistry;
+import resources.presence.PresencePublisher;
 import state.AboutState;
 import state.AchievementsState;
 import state.DashboardState;
@@ -69,10 +90,10 @@ public class TamoStudyGUI extends JFrame {
 	private int profileIndex;
 	private Profile profile;
 	private Language lang;
-	private DiscordRP discordRP;
 	private Theme theme;
 	private GuiSize guiSize;
 	private ProfileUpdateManager profileUpdateManager;
+	private ProfileBinding profileBinding;
 	
 	private DailyFocusJsonManager dailyFocusJsonManager;
 	private List<DailyFocus> dailyFocusList;
@@ -80,6 +101,12 @@ public class TamoStudyGUI extends JFrame {
 	private MonthFocusJsonManager monthFocusJsonManager;
 	private List<MonthFocus> monthFocusList;
 	private MonthFocus monthFocus;
+	private FocusSessionLogManager focusSessionLogManager;
+	private AchievementEngine achievementEngine;
+	private final DayRolloverScheduler.Listener dayRolloverListener = this::onDayRollover;
+	private final Runnable externalChangeListener = this::mergeExternalChanges;
+	private Timer syncTimer;
+	private boolean syncRunning;
 	
 	/*
 	 * ##################################
@@ -104,6 +131,7 @@ public class TamoStudyGUI extends JFrame {
 	private JButton aboutStateButton;
 		
 	private State state;
+	private PerformanceOverlayPanel performanceOverlayPanel;
 	
 	/**
 	 * Load TamoStudyGUI Constructor
@@ -115,7 +143,7 @@ public class TamoStudyGUI extends JFrame {
 		this.profileIndex = profileIndex;
 		this.profile = profiles.get(profileIndex);
 		this.lang = profile.getSettings().getLanguage();
-		Debug.info("TamoStudyGUI", "Initialized with profile=" + profile.toString());
+		Debug.info("TamoStudyGUI", () -> "Initialized with profile=" + profile.toString());
 
 		initializeAttributes();
 		state = new DashboardState(getThis());
@@ -138,7 +166,7 @@ public class TamoStudyGUI extends JFrame {
 		this.profileIndex = profileIndex;
 		this.profile = profiles.get(profileIndex);
 		this.lang = profile.getSettings().getLanguage();
-		Debug.info("TamoStudyGUI", "Initialized with profile=" + profile.toString());
+		Debug.info("TamoStudyGUI", () -> "Initialized with profile=" + profile.toString());
 		
 		initializeAttributes();
 		state = new SettingsState(getThis());
@@ -154,9 +182,11 @@ public class TamoStudyGUI extends JFrame {
 	
 	private void initializeAttributes() {
 		profileJsonManager = new ProfileJsonManager();
-		theme = profile.getSettings().getTheme();
+		theme = Theme.getTheme(profile.getSettings().getThemeType());
+		theme.installUIDefaults();
 		guiSize = new GuiSize((int) profile.getSettings().getGuiSize());
 		
+		profileBinding = new ProfileBinding(profile);
 		profileUpdateManager = new ProfileUpdateManager(this);
 		
 		dailyFocusJsonManager = new DailyFocusJsonManager();
@@ -175,6 +205,21 @@ public class TamoStudyGUI extends JFrame {
 		if(monthFocus == null) {
 			monthFocus = addNewMonthFocusToMonthFocusList(Utils.createMonthFocus(profile));
 		}
+		
+		focusSessionLogManager = new FocusSessionLogManager();
+		achievementEngine = new AchievementEngine(profile);
+		
+		if(profile.getSettings().getEnableDiscordRPC()) {
+			PresencePublisher.getDefault().start();
+		}
+		updatePresence("TamoStudy", PresencePublisher.getDefault().getStartedMillis());
+		
+		StudyRoomClient studyRoomClient = StudyRoomClient.getDefault();
+		if(studyRoomClient != null) {
+			studyRoomClient.start(profile.getName());
+			DailyFocusEntry todayEntry = Utils.searchTodayFocusEntryByProfile(dailyFocus.getDailyFocusEntries());
+			updateStudyRoomStatus(StudyRoomMember.IDLE, 0, todayEntry == null ? 0 : todayEntry.getTime());
+		}
 	}
 	
 	private void initializeComponents() {
@@ -242,7 +287,16 @@ public class TamoStudyGUI extends JFrame {
 	}
 	
 	private void initializeComponentActions() {
-		profileUpdateManager.updateHappyHungerBasedOnTime();
+		DayRolloverScheduler.getDefault().addListener(dayRolloverListener);
+		ExternalChangeWatcher.getDefault().watch(profileJsonManager, externalChangeListener);
+		ExternalChangeWatcher.getDefault().watch(dailyFocusJsonManager, externalChangeListener);
+		ExternalChangeWatcher.getDefault().watch(monthFocusJsonManager, externalChangeListener);
+		profileBinding.bind(this::updateTamoTokensLabel, Profile.NAME_PROPERTY, Profile.TOKENS_PROPERTY);
+		if(FocusSyncEngine.getDefault() != null) {
+			syncTimer = new Timer(FocusSyncEngine.DEFAULT_SYNC_PERIOD_MILLIS, e -> syncFocusHistory());
+			syncTimer.setInitialDelay(0);
+			syncTimer.start();
+		}
 		
 		/*
 		 * Opens/Closes the Top Menu.
@@ -397,10 +451,24 @@ public class TamoStudyGUI extends JFrame {
 	}
 	
 	private void initializeFrame() {
+		EdtWatchdog.getDefault().setContext(state.getClass().getSimpleName());
 		this.add(topPanel, BorderLayout.NORTH);
 		this.add(sidePanel, BorderLayout.WEST);
 		this.add(state, BorderLayout.CENTER);
 		
+		// F3 toggles the performance overlay
+		performanceOverlayPanel = new PerformanceOverlayPanel(MetricsRegistry.getDefault());
+		this.setGlassPane(performanceOverlayPanel);
+		this.getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "togglePerformanceOverlay");
+		this.getRootPane().getActionMap().put("togglePerformanceOverlay", new AbstractAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				performanceOverlayPanel.toggle();
+			}
+		});
+		
 		this.getContentPane().setBackground(theme.mainColor);
 		this.setTitle("TamoStudy " + Constants.version);
 		this.setSize(guiSize.frameSize);
@@ -483,6 +551,9 @@ public class TamoStudyGUI extends JFrame {
 	 * @param newState
 	 */
 	public void changeState(State newState) {
+		MetricsRegistry.getDefault().timer("state." + newState.getClass().getSimpleName() + ".construct").stop(newState.getConstructionStartNanos());
+		EdtWatchdog.getDefault().setContext(newState.getClass().getSimpleName());
+		state.releaseBindings();
 		this.remove(state);
 		state = newState;
 		this.add(state, BorderLayout.CENTER);
@@ -490,6 +561,88 @@ public class TamoStudyGUI extends JFrame {
 		this.revalidate();
 	}
 	
+	/**
+	 * @brief Applies a new day while the program is open: credits a
+	 * running focus session to the days it spans, then applies the
+	 * Tamo's happiness and hunger decay.
+	 */
+	public void onDayRollover(LocalDate previousDay, LocalDate today) {
+		state.onDayRollover(previousDay, today);
+		profileUpdateManager.updateHappyHungerOnDayChange();
+	}
+	
+	/**
+	 * @brief Applies the changes another TamoStudy or a sync tool
+	 * made to the data directory while this one is open. The profile
+	 * in use is kept even if the other program removed it.
+	 */
+	public void mergeExternalChanges() {
+		int changed = profileJsonManager.mergeExternalChanges(profiles)
+				+ dailyFocusJsonManager.mergeExternalChanges(dailyFocusList)
+				+ monthFocusJsonManager.mergeExternalChanges(monthFocusList);
+		if(!profiles.contains(profile)) {
+			profiles.add(profile);
+		}
+		profileIndex = profiles.indexOf(profile);
+		Debug.info("TamoStudyGUI.mergeExternalChanges", "Merged " + changed + " changes made by another program");
+	}
+	
+	/**
+	 * @brief Syncs the focus history and tokens with other machines
+	 * through the folder given by -Dtamostudy.sync.dir. The delta
+	 * files are exchanged on a background thread.
+	 */
+	public void syncFocusHistory() {
+		FocusSyncEngine syncEngine = FocusSyncEngine.getDefault();
+		if(syncEngine == null || syncRunning) {
+			return;
+		}
+		try {
+			syncEngine.recordLocalChanges(profiles, dailyFocusList, monthFocusList);
+		} catch (IOException e) {
+			Debug.warn("TamoStudyGUI.syncFocusHistory", "Could not record changes to sync: " + e);
+			return;
+		}
+		syncRunning = true;
+		SwingWorker<Map<String, Long>, Void> worker = new SwingWorker<Map<String, Long>, Void>() {
+
+			@Override
+			protected Map<String, Long> doInBackground() throws Exception {
+				return syncEngine.exchange();
+			}
+
+			@Override
+			protected void done() {
+				syncRunning = false;
+				try {
+					if(syncEngine.apply(get(), profiles, dailyFocusList, monthFocusList) > 0) {
+						profileJsonManager.writeJsonToFileAsync(profiles);
+						dailyFocusJsonManager.writeJsonToFileAsync(dailyFocusList);
+						monthFocusJsonManager.writeJsonToFileAsync(monthFocusList);
+					}
+				} catch (InterruptedException | ExecutionException e) {
+					Debug.warn("TamoStudyGUI.syncFocusHistory", "Could not sync with " + syncEngine.getSharedDirectory() + ": " + e.getCause());
+				}
+			}
+		};
+		worker.execute();
+	}
+	
+	@Override
+	public void dispose() {
+		DayRolloverScheduler.getDefault().removeListener(dayRolloverListener);
+		ExternalChangeWatcher.getDefault().unwatch(externalChangeListener);
+		if(syncTimer != null) {
+			syncTimer.stop();
+		}
+		StudyRoomClient studyRoomClient = StudyRoomClient.getDefault();
+		if(studyRoomClient != null) {
+			studyRoomClient.stop();
+		}
+		profileBinding.dispose();
+		super.dispose();
+	}
+	
 	/**
 	 * resetGui
 	 * @brief Resets the GUI, disposes, and
@@ -502,6 +655,20 @@ public class TamoStudyGUI extends JFrame {
 		new TamoStudyGUI(profiles, profileIndex);
 	}
 	
+	/**
+	 * changeTheme
+	 * @brief Switches the theme without rebuilding the frame.
+	 * The top and side menus are recolored in place and the
+	 * current state is rebuilt with the new theme.
+	 */
+	public void changeTheme(Theme newTheme) {
+		Theme previousTheme = theme;
+		theme = newTheme;
+		theme.installUIDefaults();
+		theme.applyTo(getContentPane(), previousTheme);
+		changeState(new SettingsState(this));
+	}
+	
 	/**
 	 * resizeGui
 	 * @brief Helper method for resizing the GUI.
@@ -589,13 +756,29 @@ public class TamoStudyGUI extends JFrame {
 		return this.profile;
 	}
 	
-	public DiscordRP getDiscordRP() {
-		return this.discordRP;
+	/**
+	 * @brief Shows what the user is doing, with the Tamo's name,
+	 * as their presence when Discord Rich Presence is enabled.
+	 * @param startTimestamp when the activity started, in epoch millis
+	 */
+	public void updatePresence(String details, long startTimestamp) {
+		PresencePublisher.getDefault().update(details, profile.getTamo().getName(), startTimestamp);
 	}
 	
 	public GuiSize getGuiSize() {
 		return this.guiSize;
 	}
+	/**
+	 * @brief Shares the focus status with the study room given by
+	 * -Dtamostudy.room, if there is one. Never blocks.
+	 */
+	public void updateStudyRoomStatus(byte activity, long remainingSeconds, long focusedSeconds) {
+		StudyRoomClient studyRoomClient = StudyRoomClient.getDefault();
+		if(studyRoomClient != null) {
+			studyRoomClient.updateStatus(activity, remainingSeconds, focusedSeconds);
+		}
+	}
+	
 	public void setGuiSize(GuiSize guiSize) {
 		this.guiSize = guiSize;
 	}
@@ -632,6 +815,30 @@ public class TamoStudyGUI extends JFrame {
 		return monthFocusJsonManager;
 	}
 	
+	public FocusSessionLogManager getFocusSessionLogManager() {
+		return focusSessionLogManager;
+	}
+	
+	public AchievementEngine getAchievementEngine() {
+		return achievementEngine;
+	}
+	
+	/**
+	 * @brief Notifies the user once of every achievement earned
+	 * together and the tokens they earned. Kept out of
+	 * AchievementEngine, so the engine loads no Swing classes.
+	 */
+	public void showAchievementsEarned(Language language, List<AchievementRule> earned) {
+		StringBuilder message = new StringBuilder("<html>");
+		long tokensEarned = 0;
+		for(AchievementRule rule : earned) {
+			message.append("Achievement Unlocked: ").append(rule.getTitle(language)).append("<br>");
+			tokensEarned += rule.getTokens();
+		}
+		message.append("You have earned ").append(tokensEarned).append(" Tamo tokens!</html>");
+		JOptionPane.showMessageDialog(getRootPane(), message.toString(), "TamoStudy", JOptionPane.INFORMATION_MESSAGE,  new ImageIcon(TamoStudyGUI.class.getClassLoader().getResource("INFO.png")));
+	}
+	
 	public ProfileUpdateManager getProfileUpdateManager() {
 		return profileUpdateManager;
 	}
@@ -639,6 +846,10 @@ public class TamoStudyGUI extends JFrame {
 	public void setProfileUpdateManager(ProfileUpdateManager profileUpdateManager) {
 		this.profileUpdateManager = profileUpdateManager;
 	}
+	
+	public ProfileBinding getProfileBinding() {
+		return profileBinding;
+	}
 
 	/*
 	 * ##################################
@@ -680,7 +891,7 @@ public class TamoStudyGUI extends JFrame {
 		try {
 			dailyFocusEntriesList.add(dailyFocusEntry);
 			dailyFocus.setDailyFocusEntries(dailyFocusEntriesList);
-			Debug.info("Length of dailyFocus", "length of daily focus = " + dailyFocus);
+			Debug.info("Length of dailyFocus", () -> "length of daily focus = " + dailyFocus);
 			return true;
 		} catch (Exception e) {
 			Debug.error("TamoStudyGUI.addNewDailyFocusEntryToDailyFocus", "bruh idk what happened");
@@ -713,7 +924,7 @@ public class TamoStudyGUI extends JFrame {
 		aboutStateButton.setEnabled(enabled);
 	}
 	
-	public void updateTamoTokensLabel() {
+	private void updateTamoTokensLabel(Profile profile) {
 		topNameTokensLabel.setText(profile.getName() + " • " + profile.getTokens());
 	}
 	
@@ -10,6 +10,8 @@ import java.awt.Image;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.net.URL;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.swing.Box;
@@ -20,8 +22,6 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
-import javax.swing.UIManager;
-import javax.swing.plaf.ColorUIResource;
 
 import components.panel.ChangeGlobalSettingsPanel;
 import components.panel.ProfileSelectionPanel;
@@ -30,6 +30,7 @@ import io.ProfileJsonManager;
 import model.GlobalSettings;
 import model.language.Language;
 import model.profile.Profile;
+import model.profile.TamoDecayEngine;
 import resources.CheckForUpdates;
 import resources.Constants;
 import resources.Debug;
@@ -83,8 +84,9 @@ public class WelcomeGUI extends JFrame {
 	private void initializeAttributes() {
 		globalSettingsJsonManager = new GlobalSettingsJsonManager();
 		globalSettings = globalSettingsJsonManager.readJson();
-		Debug.info("WelcomeGUI.initializeAttributes", "Loaded Global Settings: " + globalSettings.toString());
+		Debug.info("WelcomeGUI.initializeAttributes", () -> "Loaded Global Settings: " + globalSettings.toString());
 		theme = Theme.DARK;
+		theme.installUIDefaults();
 		language = globalSettings.getLanguage();
 	}
 	
@@ -145,13 +147,8 @@ public class WelcomeGUI extends JFrame {
 		
 		settingsButton.addActionListener(new ActionListener() {
 
-			@SuppressWarnings("static-access")
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				UIManager UI = new UIManager();
-				UI.put("OptionPane.background", new ColorUIResource(theme.mainColor));
-				UI.put("Panel.background", new ColorUIResource(theme.mainColor));
-				UI.put("OptionPane.messageForeground", new ColorUIResource(theme.textColor));
 				 
 				Object[] options = {};
 				JOptionPane.showOptionDialog(getRootPane(),
@@ -164,13 +161,8 @@ public class WelcomeGUI extends JFrame {
 		
 		localStudyButton.addActionListener(new ActionListener() {
 
-			@SuppressWarnings("static-access")
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				UIManager UI = new UIManager();
-				UI.put("OptionPane.background", new ColorUIResource(theme.mainColor));
-				UI.put("Panel.background", new ColorUIResource(theme.mainColor));
-				UI.put("OptionPane.messageForeground", new ColorUIResource(Color.WHITE));
 				
 				if(globalSettings.getDefaultLocalProfile() == -1) {	 
 					Object[] options = {};
@@ -180,7 +172,8 @@ public class WelcomeGUI extends JFrame {
 							JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE, null, options, null);
 				} else {
 					ProfileJsonManager profileJsonManager = new ProfileJsonManager();
-					List<Profile> profiles = profileJsonManager.readJson();
+					List<Profile> profiles = new ArrayList<>(profileJsonManager.readJson());
+					new TamoDecayEngine().applyAllAndSave(profiles, profileJsonManager, LocalDate.now());
 					new TamoStudyGUI(profiles, (int) globalSettings.getDefaultLocalProfile());
 					dispose();
 					removeAll();
@@ -0,0 +1,145 @@
+package io;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import resources.Debug;
+import resources.metrics.MetricsRegistry;
+
+/**
+ * AsyncJsonWriter
+ *
+ * @author narlock
+ *
+ * @brief Writes JSON files for the JSON managers, either straight
+ * away or later on a single background thread.
+ *
+ * Background writes are given the conversion to run rather than
+ * the contents. The caller captures what the conversion reads, either
+ * finished contents or immutable snapshots of the model, so the live
+ * model is never read from another thread, and contents replaced
+ * before their turn are never converted. Only the latest
+ * contents waiting for a file are written, and a direct write
+ * drops any older contents still waiting for the same file, so the
+ * file always ends up with the newest contents. Waiting writes are
+ * flushed when the program exits.
+ */
+public class AsyncJsonWriter {
+
+	private static final long FLUSH_TIMEOUT_MILLIS = 5000;
+
+	private static final AsyncJsonWriter defaultWriter = new AsyncJsonWriter();
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(defaultWriter::flush, "TamoStudy-JsonWriterFlush"));
+	}
+
+	private static class PendingWrite {
+		private final JsonManager<?> manager;
+		private final Supplier<byte[]> contents;
+
+		PendingWrite(JsonManager<?> manager, Supplier<byte[]> contents) {
+			this.manager = manager;
+			this.contents = contents;
+		}
+	}
+
+	private final Map<List<Object>, PendingWrite> pending = new HashMap<>();
+	private final Object writeLock = new Object();
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "TamoStudy-JsonWriter");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public static AsyncJsonWriter getDefault() {
+		return defaultWriter;
+	}
+
+	/**
+	 * @brief Converts and writes the contents on the background thread.
+	 * @param contents must not read anything another thread may change
+	 */
+	public void writeLater(JsonManager<?> manager, Supplier<byte[]> contents) {
+		List<Object> key = keyOf(manager);
+		synchronized(pending) {
+			if(pending.put(key, new PendingWrite(manager, contents)) != null) {
+				MetricsRegistry.getDefault().counter("json." + manager.getMetricName() + ".write.coalesced").increment();
+				return;
+			}
+		}
+		executor.execute(() -> writePending(key));
+	}
+
+	/**
+	 * @brief Writes the contents on the calling thread.
+	 * @return true under the condition of successful IO process
+	 */
+	public boolean writeNow(JsonManager<?> manager, byte[] contents) {
+		synchronized(writeLock) {
+			synchronized(pending) {
+				pending.remove(keyOf(manager));
+			}
+			return write(new PendingWrite(manager, () -> contents));
+		}
+	}
+
+	/**
+	 * @brief Waits until every write requested so far is written.
+	 */
+	public void flush() {
+		try {
+			executor.submit(() -> {}).get(FLUSH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException | TimeoutException e) {
+			Debug.error("AsyncJsonWriter.flush", "Waiting writes were not flushed: " + e);
+		}
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private void writePending(List<Object> key) {
+		synchronized(writeLock) {
+			PendingWrite write;
+			synchronized(pending) {
+				write = pending.remove(key);
+			}
+			// Already written by writeNow
+			if(write != null) {
+				write(write);
+			}
+		}
+	}
+
+	private static boolean write(PendingWrite write) {
+		byte[] contents;
+		try {
+			contents = write.contents.get();
+		} catch (RuntimeException e) {
+			Debug.error("AsyncJsonWriter.write", "Error occurred converting " + write.manager.getFileName() + ": " + e);
+			return false;
+		}
+		return write.manager.commit(contents);
+	}
+
+	/**
+	 * Managers of the same file in the same storage share a key
+	 */
+	private static List<Object> keyOf(JsonManager<?> manager) {
+		return Arrays.asList(manager.getStorage(), manager.getFileName());
+	}
+}
@@ -1,79 +1,108 @@
 package io;
 
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.Reader;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
 
 import model.time.DailyFocus;
+import model.time.DailyFocusBlock;
 import model.time.DailyFocusEntry;
 import resources.Debug;
 
-public class DailyFocusJsonManager extends JsonManager<List<DailyFocus>> {
+public class DailyFocusJsonManager extends RecordJsonManager<DailyFocus> {
 	
-	public static final String dailyFocusPath = System.getProperty("user.home") + File.separatorChar + "Documents" + File.separatorChar + "TamoStudy" 
-			+ File.separatorChar + "dailyfocus.json";
+	public static final String DAILY_FOCUS_FILE = "dailyfocus.json";
+
+	public DailyFocusJsonManager() {
+		super(DAILY_FOCUS_FILE, "dailyfocus");
+	}
+
+	public DailyFocusJsonManager(StorageBackend storage) {
+		super(storage, DAILY_FOCUS_FILE, "dailyfocus");
+	}
 
 	@Override
-	public List<DailyFocus> readJson() {
-		Debug.info("DailyFocusJsonManager.readJson", "Attempting to read dailyfocus.json");
-		File dailyFocusJsonFile = new File(dailyFocusPath);
-		
-		if(dailyFocusJsonFile.exists()) {
-			JSONParser parser = new JSONParser();
-			try {
-				Reader reader = new FileReader(dailyFocusPath);
-				JSONArray dailyFocusJsonArray = (JSONArray) parser.parse(reader);
-				Debug.info("DailyFocusJsonManager.readJson", "Read JSONArray dailyFocusJsonArray. dailyFocusJsonArray.size = " + dailyFocusJsonArray.size());
-				return dailyFocusJsonArrayToDailyFocusList(dailyFocusJsonArray);
-			} catch (IOException | ParseException e) {
-				Debug.error("DailyFocusJsonManager.readJson", "Exception throw while reading dailyfocus.json");
-                e.printStackTrace();
-            }
+	protected String toJsonString(List<DailyFocus> dailyFocusList) {
+		return dailyFocusListToDailyFocusJson(dailyFocusList).toJSONString();
+	}
+	
+	@Override
+	protected Object recordKey(JSONObject recordJson) {
+		return recordJson.get("profileId");
+	}
+
+	@Override
+	protected JSONObject recordToJson(DailyFocus record) {
+		return dailyFocusToDailyFocusJson(record);
+	}
+
+	@Override
+	protected DailyFocus recordFromJson(JSONObject recordJson) {
+		return dailyFocusJsonToDailyFocus(recordJson);
+	}
+
+	/**
+	 * Months that have become old enough are sealed as they are read,
+	 * and saved sealed by the next write
+	 */
+	@Override
+	protected JSONObject recordAsRead(JSONObject recordJson) {
+		YearMonth firstHotMonth = DailyFocus.getFirstHotMonth(LocalDate.now());
+		if(!hasEntriesBefore(recordJson, firstHotMonth)) {
+			return recordJson;
 		}
-		
-		Debug.info("DailyFocusJsonManager.readJson", "No DailyFocus objects were found");
-		return Collections.emptyList();
+		DailyFocus dailyFocus = dailyFocusJsonToDailyFocus(recordJson);
+		int sealed = dailyFocus.sealMonthsBefore(firstHotMonth);
+		Debug.info("DailyFocusJsonManager.recordAsRead", "Sealed " + sealed + " months of daily focus of profile " + dailyFocus.getProfileId());
+		return dailyFocusToDailyFocusJson(dailyFocus);
 	}
 
+	/**
+	 * Used when another program changed the record. The entries of
+	 * days both have are kept and given their time, as FocusState
+	 * keeps adding the running session to the entry of today it holds.
+	 */
 	@Override
-	public boolean writeJsonToFile(List<DailyFocus> dailyFocusList) {
-		try {
-			File dailyFocusJsonFile = new File(dailyFocusPath);
-			FileWriter fileWriter = new FileWriter(dailyFocusJsonFile);
-			JSONArray dailyFocusJson = dailyFocusListToDailyFocusJson(dailyFocusList);
-			try {
-				
-				fileWriter.write(dailyFocusJson.toJSONString());
+	protected void copyRecord(DailyFocus from, DailyFocus into) {
+		Map<List<Long>, DailyFocusEntry> kept = new HashMap<>();
+		for(DailyFocusEntry entry : into.getDailyFocusEntries()) {
+			kept.putIfAbsent(Arrays.asList(entry.getYear(), entry.getMonth(), entry.getDay()), entry);
+		}
+		List<DailyFocusEntry> entries = new ArrayList<>(from.getDailyFocusEntries().size());
+		for(DailyFocusEntry entry : from.getDailyFocusEntries()) {
+			DailyFocusEntry keptEntry = kept.remove(Arrays.asList(entry.getYear(), entry.getMonth(), entry.getDay()));
+			if(keptEntry != null) {
+				keptEntry.setTime(entry.getTime());
+				entries.add(keptEntry);
+			} else {
+				entries.add(entry);
+			}
+		}
+		into.setDailyFocusEntries(entries);
+		into.setSealedBlocks(from.getSealedBlocks());
+	}
+	
+	/**
+	 * @return true if the record has entries of months before
+	 * firstHotMonth, read without mapping the record
+	 */
+	private static boolean hasEntriesBefore(JSONObject dailyFocusJson, YearMonth firstHotMonth) {
+		long firstHotMonthIndex = firstHotMonth.getYear() * 12L + firstHotMonth.getMonthValue();
+		for(Object entryJson : (JSONArray) dailyFocusJson.get("dailyFocusEntries")) {
+			JSONObject entry = (JSONObject) entryJson;
+			if((long) entry.get("year") * 12 + (long) entry.get("month") < firstHotMonthIndex) {
 				return true;
-			} catch (IOException e) {
-				Debug.error("DailyFocusJsonManager.writeJsonToFile", "Error occurred writing profiles to dailyfocus.json");
-				e.printStackTrace();
-				return false;
-			} finally {
-				try {
-					fileWriter.flush();
-					fileWriter.close();
-				} catch (IOException e) {
-					Debug.error("DailyFocusJsonManager.writeJsonToFile", "Error occurred while closing file writer.");
-					e.printStackTrace();
-					return false;
-				}
 			}
-		} catch (IOException e) {
-			Debug.error("DailyFocusJsonManager.writeJsonToFile", "Error occurred while instantiating fileWriter");
-			e.printStackTrace();
-			return false;
 		}
+		return false;
 	}
 	
 	/*
@@ -101,6 +130,10 @@ public class DailyFocusJsonManager extends JsonManager<List<DailyFocus>> {
 		return dailyFocusJsonArray;
 	}
 	
+	/**
+	 * Damaged sealed blocks are left out, so they never reach the
+	 * statistics, and are dropped from the file by the next write
+	 */
 	public DailyFocus dailyFocusJsonToDailyFocus(JSONObject dailyFocusJson) {
 		List<DailyFocusEntry> dailyFocusEntries = new ArrayList<>();
 		JSONArray dailyFocusEntriesJsonList = (JSONArray) dailyFocusJson.get("dailyFocusEntries");
@@ -108,9 +141,23 @@ public class DailyFocusJsonManager extends JsonManager<List<DailyFocus>> {
 			dailyFocusEntries.add(dailyFocusEntryJsonToDailyFocusEntry((JSONObject) dailyFocusEntriesJsonList.get(i)));
 		}
 		
+		List<DailyFocusBlock> sealedBlocks = new ArrayList<>();
+		JSONArray sealedBlocksJsonList = (JSONArray) dailyFocusJson.get("sealedBlocks");
+		if(sealedBlocksJsonList != null) {
+			for(int i = 0; i < sealedBlocksJsonList.size(); i++) {
+				try {
+					sealedBlocks.add(dailyFocusBlockJsonToDailyFocusBlock((JSONObject) sealedBlocksJsonList.get(i)));
+				} catch (RuntimeException e) {
+					Debug.error("DailyFocusJsonManager.dailyFocusJsonToDailyFocus", "Leaving out a sealed block of profile "
+							+ dailyFocusJson.get("profileId") + ": " + e.getMessage());
+				}
+			}
+		}
+		
 		return new DailyFocus(
 					(long) dailyFocusJson.get("profileId"),
-					dailyFocusEntries
+					dailyFocusEntries,
+					Collections.unmodifiableList(sealedBlocks)
 				);
 	}
 	
@@ -125,6 +172,15 @@ public class DailyFocusJsonManager extends JsonManager<List<DailyFocus>> {
 		}
 		dailyFocusJson.put("dailyFocusEntries", dailyFocusEntries);
 		
+		// Left out when there are none, as in files of earlier versions
+		if(!dailyFocus.getSealedBlocks().isEmpty()) {
+			JSONArray sealedBlocks = new JSONArray();
+			for(DailyFocusBlock dailyFocusBlock : dailyFocus.getSealedBlocks()) {
+				sealedBlocks.add(dailyFocusBlockToDailyFocusBlockJson(dailyFocusBlock));
+			}
+			dailyFocusJson.put("sealedBlocks", sealedBlocks);
+		}
+		
 		return dailyFocusJson;
 	}
 	
@@ -146,4 +202,33 @@ public class DailyFocusJsonManager extends JsonManager<List<DailyFocus>> {
 		dailyFocusEntryJson.put("time", dailyFocusEntry.getTime());
 		return dailyFocusEntryJson;
 	}
+	
+	/**
+	 * @throws IllegalStateException if the block is damaged
+	 */
+	public DailyFocusBlock dailyFocusBlockJsonToDailyFocusBlock(JSONObject dailyFocusBlockJson) {
+		DailyFocusBlock dailyFocusBlock = new DailyFocusBlock(
+					YearMonth.of(((Long) dailyFocusBlockJson.get("year")).intValue(), ((Long) dailyFocusBlockJson.get("month")).intValue()),
+					(long) dailyFocusBlockJson.get("total"),
+					(long) dailyFocusBlockJson.get("max"),
+					((Long) dailyFocusBlockJson.get("maxDay")).intValue(),
+					((Long) dailyFocusBlockJson.get("dayCount")).intValue(),
+					(String) dailyFocusBlockJson.get("entries")
+				);
+		dailyFocusBlock.checkIntact();
+		return dailyFocusBlock;
+	}
+	
+	@SuppressWarnings("unchecked")
+	public JSONObject dailyFocusBlockToDailyFocusBlockJson(DailyFocusBlock dailyFocusBlock) {
+		JSONObject dailyFocusBlockJson = new JSONObject();
+		dailyFocusBlockJson.put("year", (long) dailyFocusBlock.getMonth().getYear());
+		dailyFocusBlockJson.put("month", (long) dailyFocusBlock.getMonth().getMonthValue());
+		dailyFocusBlockJson.put("total", dailyFocusBlock.getTotal());
+		dailyFocusBlockJson.put("max", dailyFocusBlock.getMax());
+		dailyFocusBlockJson.put("maxDay", (long) dailyFocusBlock.getMaxDay());
+		dailyFocusBlockJson.put("dayCount", (long) dailyFocusBlock.getDayCount());
+		dailyFocusBlockJson.put("entries", dailyFocusBlock.getEncodedEntries());
+		return dailyFocusBlockJson;
+	}
 }
@@ -0,0 +1,206 @@
+package io;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.SwingUtilities;
+
+import resources.Debug;
+
+/**
+ * ExternalChangeWatcher
+ *
+ * @author narlock
+ *
+ * @brief Notices when another program, such as a second TamoStudy
+ * or a sync tool, changes a file in the data directory, so the
+ * changes can be merged into the records in memory.
+ *
+ * A WatchService reports changes to the directory as they happen.
+ * Network folders do not always report them, so every watched file
+ * is also checked on a timer. Either way a listener only runs when
+ * the file no longer matches what this program last read or wrote,
+ * so TamoStudy's own writes are ignored, and a burst of changes to
+ * a file runs its listener once.
+ */
+public class ExternalChangeWatcher {
+
+	public static final long DEFAULT_POLL_MILLIS = 5000;
+
+	private static ExternalChangeWatcher defaultWatcher;
+
+	private static class Registration {
+		private final RecordJsonManager<?> manager;
+		private final Runnable listener;
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		private Registration(RecordJsonManager<?> manager, Runnable listener) {
+			this.manager = manager;
+			this.listener = listener;
+		}
+	}
+
+	private final Path directory;
+	private final Executor listenerExecutor;
+	private final long pollMillis;
+	private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+	private WatchService watchService;
+	private Thread thread;
+
+	/**
+	 * @param directory the directory the files are in, or null to
+	 * only check on the timer
+	 * @param listenerExecutor runs the listeners
+	 */
+	public ExternalChangeWatcher(Path directory, Executor listenerExecutor, long pollMillis) {
+		this.directory = directory;
+		this.listenerExecutor = listenerExecutor;
+		this.pollMillis = pollMillis;
+	}
+
+	/**
+	 * @brief The watcher of the default storage, running listeners
+	 * on the event dispatch thread. Storage that is not a directory,
+	 * such as memory, is only checked on the timer.
+	 */
+	public static synchronized ExternalChangeWatcher getDefault() {
+		if(defaultWatcher == null) {
+			StorageBackend storage = JsonManager.getDefaultStorage();
+			Path directory = storage instanceof FileSystemStorageBackend ? ((FileSystemStorageBackend) storage).getRoot() : null;
+			defaultWatcher = new ExternalChangeWatcher(directory, SwingUtilities::invokeLater, DEFAULT_POLL_MILLIS);
+		}
+		return defaultWatcher;
+	}
+
+	/**
+	 * @brief Runs the listener when another program changes the
+	 * manager's file. Starts watching on the first registration.
+	 */
+	public synchronized void watch(RecordJsonManager<?> manager, Runnable listener) {
+		registrations.add(new Registration(manager, listener));
+		start();
+	}
+
+	public synchronized void unwatch(Runnable listener) {
+		registrations.removeIf(registration -> registration.listener == listener);
+		if(registrations.isEmpty()) {
+			stop();
+		}
+	}
+
+	public synchronized void stop() {
+		if(thread == null) {
+			return;
+		}
+		thread.interrupt();
+		thread = null;
+		if(watchService != null) {
+			try {
+				watchService.close();
+			} catch (IOException e) {
+				Debug.warn("ExternalChangeWatcher.stop", "Could not close watch service: " + e);
+			}
+			watchService = null;
+		}
+	}
+
+	public synchronized boolean isRunning() {
+		return thread != null;
+	}
+
+	/**
+	 * @brief Checks every watched file now and schedules the
+	 * listeners of those changed by another program.
+	 */
+	public void checkNow() {
+		for(Registration registration : registrations) {
+			check(registration);
+		}
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private void start() {
+		if(thread != null) {
+			return;
+		}
+		WatchService service = null;
+		if(directory != null) {
+			try {
+				Files.createDirectories(directory);
+				service = FileSystems.getDefault().newWatchService();
+				directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+			} catch (IOException | UnsupportedOperationException e) {
+				Debug.warn("ExternalChangeWatcher.start", "Watching " + directory + " is not supported, checking every " + pollMillis + " ms: " + e);
+				service = null;
+			}
+		}
+		watchService = service;
+		WatchService threadService = service;
+		thread = new Thread(() -> run(threadService), "TamoStudy-ExternalChangeWatcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private void run(WatchService service) {
+		try {
+			while(!Thread.currentThread().isInterrupted()) {
+				if(service == null) {
+					Thread.sleep(pollMillis);
+					checkNow();
+					continue;
+				}
+				WatchKey key = service.poll(pollMillis, TimeUnit.MILLISECONDS);
+				if(key == null) {
+					checkNow();
+					continue;
+				}
+				for(WatchEvent<?> event : key.pollEvents()) {
+					Object context = event.context();
+					for(Registration registration : registrations) {
+						// An overflow loses the names, so everything is checked
+						if(event.kind() == StandardWatchEventKinds.OVERFLOW || registration.manager.getFileName().equals(String.valueOf(context))) {
+							check(registration);
+						}
+					}
+				}
+				key.reset();
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// Stopped
+		}
+	}
+
+	private void check(Registration registration) {
+		if(!registration.manager.hasExternalChange() || !registration.scheduled.compareAndSet(false, true)) {
+			return;
+		}
+		Debug.info("ExternalChangeWatcher.check", registration.manager.getFileName() + " was changed by another program");
+		listenerExecutor.execute(() -> {
+			registration.scheduled.set(false);
+			try {
+				registration.listener.run();
+			} catch (RuntimeException e) {
+				Debug.error("ExternalChangeWatcher.check", "Listener failed for " + registration.manager.getFileName() + ": " + e);
+			}
+		});
+	}
+}
@@ -0,0 +1,207 @@
+package io;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * FileSystemStorageBackend
+ *
+ * @author narlock
+ *
+ * @brief Keeps files in a directory on disk, by default
+ * Documents/TamoStudy in the user's home.
+ *
+ * Writes go to a temporary file next to the target which is moved
+ * over it when the stream is closed, or deleted if a write failed.
+ * The directory is created on the first write.
+ *
+ * Locks are held on a separate lock file next to the target, since
+ * the target itself is replaced by every write. Other programs,
+ * such as a second TamoStudy on a roaming home folder, see them as
+ * operating system file locks; threads of this program wait on an
+ * in-process lock first, as a JVM cannot hold two locks on one file.
+ */
+public class FileSystemStorageBackend implements StorageBackend {
+
+	private static final String TEMP_SUFFIX = ".tmp";
+	public static final String LOCK_SUFFIX = ".lock";
+
+	private final Path root;
+	private final Map<String, ReentrantLock> localLocks = new ConcurrentHashMap<>();
+
+	public FileSystemStorageBackend(Path root) {
+		this.root = root.toAbsolutePath().normalize();
+	}
+
+	@Override
+	public boolean exists(String name) {
+		return Files.isRegularFile(resolve(name));
+	}
+
+	@Override
+	public InputStream openInput(String name) throws IOException {
+		return Files.newInputStream(resolve(name));
+	}
+
+	@Override
+	public OutputStream openOutput(String name) throws IOException {
+		Path path = resolve(name);
+		Path tempPath = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+		Files.createDirectories(root);
+		return new FilterOutputStream(Files.newOutputStream(tempPath)) {
+			private boolean closed;
+			private boolean failed;
+
+			@Override
+			public void write(int b) throws IOException {
+				try {
+					out.write(b);
+				} catch (IOException e) {
+					failed = true;
+					throw e;
+				}
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				try {
+					out.write(b, off, len);
+				} catch (IOException e) {
+					failed = true;
+					throw e;
+				}
+			}
+
+			@Override
+			public void close() throws IOException {
+				if(closed) {
+					return;
+				}
+				closed = true;
+				try {
+					super.close();
+				} catch (IOException e) {
+					failed = true;
+					throw e;
+				} finally {
+					if(failed) {
+						// Keep the previous contents
+						Files.deleteIfExists(tempPath);
+					}
+				}
+				try {
+					Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+		};
+	}
+
+	@Override
+	public OutputStream openAppend(String name) throws IOException {
+		Files.createDirectories(root);
+		return Files.newOutputStream(resolve(name), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+
+	@Override
+	public long size(String name) {
+		try {
+			return Files.size(resolve(name));
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+
+	@Override
+	public void truncate(String name, long size) throws IOException {
+		try (FileChannel channel = FileChannel.open(resolve(name), StandardOpenOption.WRITE)) {
+			channel.truncate(size);
+		}
+	}
+
+	@Override
+	public long lastModified(String name) {
+		try {
+			return Files.getLastModifiedTime(resolve(name)).toMillis();
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+
+	@Override
+	public Closeable lock(String name) throws IOException {
+		Path lockPath = resolve(name + LOCK_SUFFIX);
+		ReentrantLock localLock = localLocks.computeIfAbsent(name, key -> new ReentrantLock());
+		localLock.lock();
+		if(localLock.getHoldCount() > 1) {
+			// Already holds the file lock
+			return localLock::unlock;
+		}
+		try {
+			Files.createDirectories(root);
+			FileChannel channel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			try {
+				// Closing the channel releases the file lock
+				channel.lock();
+				return () -> {
+					try {
+						channel.close();
+					} finally {
+						localLock.unlock();
+					}
+				};
+			} catch (IOException | RuntimeException e) {
+				channel.close();
+				throw e;
+			}
+		} catch (IOException | RuntimeException e) {
+			localLock.unlock();
+			throw e;
+		}
+	}
+
+	@Override
+	public void delete(String name) throws IOException {
+		Files.deleteIfExists(resolve(name));
+	}
+
+	@Override
+	public String describe() {
+		return root.toString();
+	}
+
+	public Path getRoot() {
+		return root;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	/**
+	 * Names must stay inside the root, so "../x" is refused
+	 */
+	private Path resolve(String name) {
+		Path path = root.resolve(name).normalize();
+		if(!path.getParent().equals(root)) {
+			throw new IllegalArgumentException("Invalid storage file name: " + name);
+		}
+		return path;
+	}
+}
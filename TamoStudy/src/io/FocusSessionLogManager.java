@@ -0,0 +1,194 @@
+package io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import model.time.FocusSession;
+import resources.Debug;
+
+/**
+ * FocusSessionLogManager
+ *
+ * @author narlock
+ *
+ * @brief Append-only log of every FocusSession, stored in
+ * sessions.dat in the same storage as the JSON files.
+ *
+ * Unlike the JSON managers, sessions are never rewritten. Each
+ * session is a fixed-width binary record appended to the end of the
+ * file, so saving a session costs one small write no matter how long
+ * the history is, and reading is a straight scan.
+ *
+ * File layout (big endian):
+ *   header : int magic, short version, short recordSize
+ *   record : long profileId, long startEpochSecond, int duration,
+ *            int pauseDuration, byte mode, byte outcome
+ */
+public class FocusSessionLogManager {
+
+	public static final String FOCUS_SESSION_LOG_FILE = "sessions.dat";
+
+	public static final int MAGIC = 0x5453534C; // "TSSL"
+	public static final short VERSION = 1;
+	public static final int HEADER_SIZE = 8;
+	public static final int RECORD_SIZE = 26;
+
+	private static final int RECORDS_PER_READ = 4096;
+
+	private StorageBackend storage;
+	private String logName;
+
+	/**
+	 * @brief Creates a manager over sessions.dat in the default storage
+	 */
+	public FocusSessionLogManager() {
+		this(JsonManager.getDefaultStorage(), FOCUS_SESSION_LOG_FILE);
+	}
+
+	public FocusSessionLogManager(Path logPath) {
+		this(new FileSystemStorageBackend(logPath.toAbsolutePath().getParent()), logPath.getFileName().toString());
+	}
+
+	public FocusSessionLogManager(StorageBackend storage, String logName) {
+		this.storage = storage;
+		this.logName = logName;
+	}
+
+	/**
+	 * @brief Appends a single session to the end of the log,
+	 * writing the header first if the log is new. A record left
+	 * partially written by a crash is dropped first, so the session
+	 * starts on a record boundary.
+	 * @return true under the condition of successful IO process
+	 */
+	public boolean appendSession(FocusSession session) {
+		try {
+			Closeable lock = storage.lock(logName);
+			try {
+				long size = storage.size(logName);
+				long wholeSize = size < HEADER_SIZE ? 0 : size - (size - HEADER_SIZE) % RECORD_SIZE;
+				if(wholeSize != size) {
+					Debug.warn("FocusSessionLogManager.appendSession", "Dropping " + (size - wholeSize) + " bytes of a partially written record");
+					storage.truncate(logName, wholeSize);
+				}
+				boolean newLog = wholeSize == 0;
+				ByteBuffer buffer = ByteBuffer.allocate((newLog ? HEADER_SIZE : 0) + RECORD_SIZE);
+				if(newLog) {
+					writeHeader(buffer);
+				}
+				writeRecord(buffer, session);
+				try (OutputStream out = storage.openAppend(logName)) {
+					out.write(buffer.array(), 0, buffer.position());
+				}
+				return true;
+			} finally {
+				lock.close();
+			}
+		} catch (IOException e) {
+			Debug.error("FocusSessionLogManager.appendSession", "Error occurred appending session to sessions.dat");
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return every session in the log, oldest first
+	 */
+	public List<FocusSession> readSessions() {
+		return readSessions(-1);
+	}
+
+	/**
+	 * @return the sessions of a profile, oldest first. A profileId
+	 * of -1 returns the sessions of every profile.
+	 */
+	public List<FocusSession> readSessions(long profileId) {
+		if(!storage.exists(logName)) {
+			Debug.info("FocusSessionLogManager.readSessions", "No sessions.dat found");
+			return Collections.emptyList();
+		}
+
+		List<FocusSession> sessions = new ArrayList<>();
+		try (ReadableByteChannel channel = Channels.newChannel(storage.openInput(logName))) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			readFully(channel, header);
+			header.flip();
+			if(header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+				Debug.error("FocusSessionLogManager.readSessions", "sessions.dat has an invalid header");
+				return Collections.emptyList();
+			}
+			header.getShort(); // version
+			int recordSize = header.getShort();
+			if(recordSize < RECORD_SIZE) {
+				Debug.error("FocusSessionLogManager.readSessions", "sessions.dat has an invalid record size " + recordSize);
+				return Collections.emptyList();
+			}
+
+			ByteBuffer buffer = ByteBuffer.allocate(recordSize * RECORDS_PER_READ);
+			while(channel.read(buffer) > 0) {
+				buffer.flip();
+				while(buffer.remaining() >= recordSize) {
+					int recordStart = buffer.position();
+					FocusSession session = readRecord(buffer);
+					buffer.position(recordStart + recordSize);
+					if(profileId == -1 || session.getProfileId() == profileId) {
+						sessions.add(session);
+					}
+				}
+				buffer.compact();
+			}
+			// Any bytes left in the buffer are a partially written record and are ignored
+		} catch (IOException e) {
+			Debug.error("FocusSessionLogManager.readSessions", "Exception thrown while reading sessions.dat");
+			e.printStackTrace();
+		}
+		return sessions;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * MAPPINGS
+	 * ##################################
+	 * ##################################
+	 */
+	public static void writeHeader(ByteBuffer buffer) {
+		buffer.putInt(MAGIC);
+		buffer.putShort(VERSION);
+		buffer.putShort((short) RECORD_SIZE);
+	}
+
+	public static void writeRecord(ByteBuffer buffer, FocusSession session) {
+		buffer.putLong(session.getProfileId());
+		buffer.putLong(session.getStartEpochSecond());
+		buffer.putInt(session.getDuration());
+		buffer.putInt(session.getPauseDuration());
+		buffer.put(session.getMode());
+		buffer.put(session.getOutcome());
+	}
+
+	public static FocusSession readRecord(ByteBuffer buffer) {
+		return new FocusSession(
+					buffer.getLong(),
+					buffer.getLong(),
+					buffer.getInt(),
+					buffer.getInt(),
+					buffer.get(),
+					buffer.get()
+				);
+	}
+
+	private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+		while(buffer.hasRemaining() && channel.read(buffer) > 0) {
+			// keep reading
+		}
+	}
+}
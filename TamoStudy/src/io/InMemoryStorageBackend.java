@@ -0,0 +1,131 @@
+package io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * InMemoryStorageBackend
+ *
+ * @author narlock
+ *
+ * @brief Keeps files as byte arrays in memory, so nothing touches
+ * the disk. Used by tests and benchmarks, and by guest sessions on
+ * shared machines where nothing should outlive the program.
+ */
+public class InMemoryStorageBackend implements StorageBackend {
+
+	private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+	private final Map<String, Long> versions = new ConcurrentHashMap<>();
+	private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+	private final AtomicLong clock = new AtomicLong();
+
+	@Override
+	public boolean exists(String name) {
+		return files.containsKey(name);
+	}
+
+	@Override
+	public InputStream openInput(String name) throws NoSuchFileException {
+		byte[] contents = files.get(name);
+		if(contents == null) {
+			throw new NoSuchFileException(name);
+		}
+		return new ByteArrayInputStream(contents);
+	}
+
+	@Override
+	public OutputStream openOutput(String name) {
+		return new ByteArrayOutputStream() {
+			private boolean closed;
+
+			@Override
+			public void close() {
+				if(!closed) {
+					closed = true;
+					files.put(name, toByteArray());
+					versions.put(name, clock.incrementAndGet());
+				}
+			}
+		};
+	}
+
+	@Override
+	public OutputStream openAppend(String name) {
+		return new ByteArrayOutputStream() {
+			private boolean closed;
+
+			@Override
+			public void close() {
+				if(!closed) {
+					closed = true;
+					byte[] appended = toByteArray();
+					files.merge(name, appended, (contents, tail) -> {
+						byte[] merged = Arrays.copyOf(contents, contents.length + tail.length);
+						System.arraycopy(tail, 0, merged, contents.length, tail.length);
+						return merged;
+					});
+					versions.put(name, clock.incrementAndGet());
+				}
+			}
+		};
+	}
+
+	@Override
+	public long size(String name) {
+		byte[] contents = files.get(name);
+		return contents == null ? 0 : contents.length;
+	}
+
+	@Override
+	public void truncate(String name, long size) {
+		byte[] contents = files.get(name);
+		if(contents != null && contents.length > size) {
+			files.put(name, Arrays.copyOf(contents, (int) size));
+			versions.put(name, clock.incrementAndGet());
+		}
+	}
+
+	/**
+	 * Counts writes rather than time, so two writes in the same
+	 * millisecond still differ
+	 */
+	@Override
+	public long lastModified(String name) {
+		return files.containsKey(name) ? versions.getOrDefault(name, 0L) : 0;
+	}
+
+	@Override
+	public Closeable lock(String name) {
+		ReentrantLock lock = locks.computeIfAbsent(name, key -> new ReentrantLock());
+		lock.lock();
+		return lock::unlock;
+	}
+
+	@Override
+	public void delete(String name) {
+		files.remove(name);
+		versions.remove(name);
+	}
+
+	@Override
+	public String describe() {
+		return "memory";
+	}
+
+	/**
+	 * @brief Removes every file.
+	 */
+	public void clear() {
+		files.clear();
+		versions.clear();
+	}
+}
@@ -1,12 +1,48 @@
 package io;
 
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.util.function.Supplier;
+
+import resources.Debug;
 
 public abstract class JsonManager<T> {
 
 	public static final String documentsPath = System.getProperty("user.home") + File.separatorChar + "Documents";
 	public static final String directoryPath = System.getProperty("user.home") + File.separatorChar + "Documents" + File.separatorChar + "TamoStudy";
 	
+	/**
+	 * System properties choosing the default storage at startup:
+	 * -Dtamostudy.storage=memory keeps everything in memory, otherwise
+	 * files are kept in -Dtamostudy.storage.root, or directoryPath
+	 */
+	public static final String STORAGE_PROPERTY = "tamostudy.storage";
+	public static final String STORAGE_ROOT_PROPERTY = "tamostudy.storage.root";
+	public static final String MEMORY_STORAGE = "memory";
+	
+	private static volatile StorageBackend defaultStorage;
+	
+	protected final StorageBackend storage;
+	protected final String fileName;
+	private final String metricName;
+	
+	/**
+	 * @brief Creates a manager over the default storage
+	 */
+	protected JsonManager(String fileName, String metricName) {
+		this(getDefaultStorage(), fileName, metricName);
+	}
+	
+	protected JsonManager(StorageBackend storage, String fileName, String metricName) {
+		this.storage = storage;
+		this.fileName = fileName;
+		this.metricName = metricName;
+	}
+	
 	/**
 	 * @brief Reads the contents of the JSON and
 	 * creates its representing model object
@@ -14,11 +50,138 @@ public abstract class JsonManager<T> {
 	 */
 	public abstract T readJson();
 	
+	/**
+	 * @brief Converts the model object to the contents
+	 * of its JSON file
+	 */
+	protected abstract String toJsonString(T obj);
+	
+	/**
+	 * @brief Converts the model object to the bytes of its file,
+	 * by default its JSON in the platform charset
+	 */
+	protected byte[] toFileContents(T obj) {
+		return toJsonString(obj).getBytes(Charset.defaultCharset());
+	}
+	
+	/**
+	 * @brief Captures on the calling thread what toFileContents reads
+	 * and returns the conversion, to run later on another thread. By
+	 * default the model object is converted straight away.
+	 */
+	protected Supplier<byte[]> toFileContentsLater(T obj) {
+		byte[] contents = toFileContents(obj);
+		return () -> contents;
+	}
+	
 	/**
 	 * @brief Writes the contents of the model object
 	 * to its respective JSON file
 	 * @param obj : the model object
 	 * @return true under the condition of successful IO process
 	 */
-	public abstract boolean writeJsonToFile(T obj);
+	public boolean writeJsonToFile(T obj) {
+		return AsyncJsonWriter.getDefault().writeNow(this, toFileContents(obj));
+	}
+	
+	/**
+	 * @brief Writes the model object to its JSON file on the
+	 * background writer thread, so the caller, usually the event
+	 * dispatch thread, does not wait for the disk. A later write to
+	 * the same file replaces one still waiting.
+	 * @param obj : the model object
+	 */
+	public void writeJsonToFileAsync(T obj) {
+		AsyncJsonWriter.getDefault().writeLater(this, toFileContentsLater(obj));
+	}
+	
+	/**
+	 * @brief Replaces the file with the contents while holding the
+	 * file's lock, so programs sharing the data directory never write
+	 * it at the same time. Called by AsyncJsonWriter on the thread
+	 * doing the write.
+	 * @return true under the condition of successful IO process
+	 */
+	boolean commit(byte[] contents) {
+		try {
+			Closeable lock = storage.lock(fileName);
+			try {
+				byte[] written = beforeCommit(contents);
+				try (OutputStream fileOutput = new MeteredOutputStream(storage, fileName, metricName)) {
+					fileOutput.write(written);
+				}
+				afterCommit(contents, written);
+			} finally {
+				lock.close();
+			}
+			return true;
+		} catch (IOException e) {
+			Debug.error("JsonManager.commit", "Error occurred writing " + fileName);
+			e.printStackTrace();
+			return false;
+		}
+	}
+	
+	/**
+	 * @brief Called holding the lock before the contents are written,
+	 * to merge in changes other programs made to the file.
+	 * @return the contents to write
+	 */
+	protected byte[] beforeCommit(byte[] contents) throws IOException {
+		return contents;
+	}
+	
+	/**
+	 * @brief Called holding the lock once the contents are written.
+	 * @param contents the contents asked to be written
+	 * @param written the contents beforeCommit returned
+	 */
+	protected void afterCommit(byte[] contents, byte[] written) {
+	}
+	
+	public StorageBackend getStorage() {
+		return storage;
+	}
+	
+	public String getFileName() {
+		return fileName;
+	}
+	
+	public String getMetricName() {
+		return metricName;
+	}
+	
+	/**
+	 * @brief The storage used by managers created without one,
+	 * chosen from the system properties on first use.
+	 */
+	public static StorageBackend getDefaultStorage() {
+		StorageBackend storage = defaultStorage;
+		if(storage == null) {
+			synchronized(JsonManager.class) {
+				if(defaultStorage == null) {
+					defaultStorage = createStorageFromProperties();
+					Debug.info("JsonManager.getDefaultStorage", "Using storage " + defaultStorage.describe());
+				}
+				storage = defaultStorage;
+			}
+		}
+		return storage;
+	}
+	
+	/**
+	 * @brief Replaces the default storage. Managers that already
+	 * exist keep the storage they were created with, so this should
+	 * be called at startup before any manager is created.
+	 */
+	public static void setDefaultStorage(StorageBackend storage) {
+		defaultStorage = storage;
+	}
+	
+	private static StorageBackend createStorageFromProperties() {
+		if(MEMORY_STORAGE.equalsIgnoreCase(System.getProperty(STORAGE_PROPERTY))) {
+			return new InMemoryStorageBackend();
+		}
+		return new FileSystemStorageBackend(Paths.get(System.getProperty(STORAGE_ROOT_PROPERTY, directoryPath)));
+	}
 }
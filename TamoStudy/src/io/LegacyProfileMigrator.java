@@ -0,0 +1,266 @@
+package io;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import model.profile.Profile;
+import resources.Debug;
+import util.Utils;
+
+/**
+ * LegacyProfileMigrator
+ *
+ * @author narlock
+ *
+ * @brief Migrates a whole directory of Beta v4.0 - v4.2 save
+ * files to profiles.json without the GUI, for labs upgrading many
+ * machines' worth of profiles at once.
+ *
+ * Files are read, decoded and validated in parallel on a
+ * ForkJoinPool. Results are then de-duplicated by profile name and
+ * join date, against each other and against the profiles already in
+ * profiles.json, and every new profile is saved with a single atomic
+ * write. Nothing is saved when no file migrates.
+ */
+public class LegacyProfileMigrator {
+
+	public static final String LEGACY_VERSION = "b4.0";
+	public static final int LEGACY_FIELD_COUNT = 21;
+
+	public enum Status {
+		MIGRATED, DUPLICATE, INVALID
+	}
+
+	/**
+	 * The outcome of migrating a single legacy file.
+	 */
+	public static class FileResult {
+		private Path file;
+		private Status status;
+		private Profile profile;
+		private String message;
+
+		public FileResult(Path file, Status status, Profile profile, String message) {
+			this.file = file;
+			this.status = status;
+			this.profile = profile;
+			this.message = message;
+		}
+
+		public Path getFile() {
+			return file;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public Profile getProfile() {
+			return profile;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+	}
+
+	private ForkJoinPool pool;
+	private ProfileJsonManager profileJsonManager;
+
+	private long bytesRead;
+	private long elapsedNanos;
+
+	public LegacyProfileMigrator() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	public LegacyProfileMigrator(ForkJoinPool pool) {
+		this.pool = pool;
+		this.profileJsonManager = new ProfileJsonManager();
+	}
+
+	/**
+	 * @brief Migrates every regular file in a directory and saves
+	 * the new profiles to profiles.json.
+	 * @return the result of each file, in file name order
+	 */
+	public List<FileResult> migrate(Path directory) throws IOException {
+		List<Profile> profiles = new ArrayList<>(profileJsonManager.readJson());
+		List<FileResult> results = scan(directory, profiles);
+
+		List<Profile> migrated = results.stream()
+				.filter(result -> result.getStatus() == Status.MIGRATED)
+				.map(FileResult::getProfile)
+				.collect(Collectors.toList());
+		if(!migrated.isEmpty()) {
+			profiles.addAll(migrated);
+			if(!profileJsonManager.writeJsonToFile(profiles)) {
+				throw new IOException("Could not save migrated profiles to profiles.json");
+			}
+		}
+		Debug.info("LegacyProfileMigrator.migrate", "Migrated " + migrated.size() + " of " + results.size() + " legacy files");
+		return results;
+	}
+
+	/**
+	 * @brief Decodes every regular file in a directory in parallel
+	 * and marks the profiles that already exist as duplicates.
+	 * Nothing is saved.
+	 * @param existingProfiles profiles that migrated profiles
+	 * must not duplicate
+	 */
+	public List<FileResult> scan(Path directory, List<Profile> existingProfiles) throws IOException {
+		List<Path> files;
+		try (Stream<Path> stream = Files.list(directory)) {
+			files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+		}
+
+		long startNanos = System.nanoTime();
+		List<FileResult> decoded;
+		try {
+			decoded = pool.submit(() -> files.parallelStream()
+						.map(this::decodeFile)
+						.collect(Collectors.toList())
+					).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Migration interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IOException("Migration failed", e.getCause());
+		}
+
+		// De-duplicate in file name order so the result does not depend on thread timing
+		Set<String> seenKeys = new HashSet<>();
+		for(Profile profile : existingProfiles) {
+			seenKeys.add(duplicateKey(profile));
+		}
+		List<FileResult> results = new ArrayList<>(decoded.size());
+		for(FileResult result : decoded) {
+			if(result.getStatus() == Status.MIGRATED && !seenKeys.add(duplicateKey(result.getProfile()))) {
+				result = new FileResult(result.getFile(), Status.DUPLICATE, null, "Profile " + result.getProfile().getName() + " already exists");
+			}
+			results.add(result);
+		}
+		elapsedNanos = System.nanoTime() - startNanos;
+		return results;
+	}
+
+	/**
+	 * @brief Prints one line per file followed by totals
+	 * and throughput.
+	 */
+	public void printReport(List<FileResult> results, PrintStream out) {
+		int[] counts = new int[Status.values().length];
+		for(FileResult result : results) {
+			counts[result.getStatus().ordinal()]++;
+			out.println(String.format("%-9s %s - %s", result.getStatus(), result.getFile().getFileName(), result.getMessage()));
+		}
+		double seconds = Math.max(elapsedNanos, 1) / 1e9;
+		out.println(String.format("%d files: %d migrated, %d duplicate, %d invalid",
+				results.size(), counts[Status.MIGRATED.ordinal()], counts[Status.DUPLICATE.ordinal()], counts[Status.INVALID.ordinal()]));
+		out.println(String.format("Decoded in %.1f ms (%.0f files/s, %.1f KB/s) on %d threads",
+				elapsedNanos / 1e6, results.size() / seconds, bytesRead / 1024.0 / seconds, pool.getParallelism()));
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private FileResult decodeFile(Path file) {
+		try {
+			byte[] bytes = Files.readAllBytes(file);
+			synchronized(this) {
+				bytesRead += bytes.length;
+			}
+			Profile profile = parseLegacyProfile(new String(bytes, StandardCharsets.UTF_8));
+			return new FileResult(file, Status.MIGRATED, profile, "Profile " + profile.getName());
+		} catch (IOException | IllegalArgumentException e) {
+			return new FileResult(file, Status.INVALID, null, e.getMessage());
+		}
+	}
+
+	private static String duplicateKey(Profile profile) {
+		return profile.getName() + '\u0000' + profile.getTamo().getBirthDateString();
+	}
+
+	/**
+	 * @brief Decodes the contents of a Beta v4.0 - v4.2 save file.
+	 *
+	 * A Beta v4.2 save file should meet the following requirements
+	 *
+	 * [0] version
+	 * [1] username
+	 * [2] joinDateString
+	 * [3] lastLoginDateString
+	 * [4] tamoTokens
+	 * [5] totalTime
+	 * [6] bgIndicator
+	 * [7] themeIndicator
+	 * [8] strikes
+	 * [9] tamoName
+	 * [10] tamoHappiness
+	 * [11] tamoHunger
+	 * [12] tamoId
+	 * [13] languageIndicator
+	 * [14] ahmString
+	 * [15] invString
+	 * [16] focusMode
+	 * [17] sessionSoundIndicator
+	 * [18] backgroundSoundIndicator
+	 * [19] difficulty
+	 * [20] showAhmNotifications
+	 *
+	 * @throws IllegalArgumentException if the contents are not
+	 * a valid save file
+	 */
+	public static Profile parseLegacyProfile(String encryptedContents) {
+		// Trim before decrypting so the trailing line break is not decoded into the last field
+		String[] contents = Utils.decrypt(encryptedContents.trim()).split(",");
+
+		if(contents.length != LEGACY_FIELD_COUNT || !contents[0].equals(LEGACY_VERSION)) {
+			throw new IllegalArgumentException("Not a Beta v4.0 - v4.2 save file");
+		}
+		if(!Utils.validateDateString(contents[2]) || !Utils.validateDateString(contents[3])) {
+			throw new IllegalArgumentException("Invalid join or last login date");
+		}
+
+		try {
+			return new Profile(
+						contents[1],
+						contents[2],
+						contents[3],
+						Long.parseLong(contents[5]),
+						Long.parseLong(contents[4]),
+						Long.parseLong(contents[6]),
+						Long.parseLong(contents[8]),
+						contents[9],
+						Long.parseLong(contents[10]),
+						Long.parseLong(contents[11]),
+						Long.parseLong(contents[12]),
+						Long.parseLong(contents[13]),
+						contents[14],
+						contents[15],
+						Long.parseLong(contents[16]),
+						Long.parseLong(contents[17]),
+						Long.parseLong(contents[19]),
+						(contents[20].equals("0") ? false : true)
+					);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid number in save file: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+
+import resources.metrics.MetricsRegistry;
+
+/**
+ * MeteredInputStream
+ *
+ * @author narlock
+ *
+ * @brief Stream over a storage file that records how long the file
+ * was open (reading and parsing) and its size when it is closed,
+ * under json.{name}.read and json.{name}.read.bytes.
+ */
+class MeteredInputStream extends FilterInputStream {
+
+	private final StorageBackend storage;
+	private final String fileName;
+	private final String name;
+	private final long startNanos;
+	private boolean closed;
+
+	MeteredInputStream(StorageBackend storage, String fileName, String name) throws IOException {
+		super(storage.openInput(fileName));
+		this.storage = storage;
+		this.fileName = fileName;
+		this.name = name;
+		this.startNanos = System.nanoTime();
+	}
+
+	@Override
+	public void close() throws IOException {
+		super.close();
+		if(!closed) {
+			closed = true;
+			MetricsRegistry.getDefault().timer("json." + name + ".read").stop(startNanos);
+			MetricsRegistry.getDefault().counter("json." + name + ".read.bytes").add(storage.size(fileName));
+		}
+	}
+}
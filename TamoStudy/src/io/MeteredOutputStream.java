@@ -0,0 +1,50 @@
+package io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+
+import resources.metrics.MetricsRegistry;
+
+/**
+ * MeteredOutputStream
+ *
+ * @author narlock
+ *
+ * @brief Stream over a storage file that records how long the file
+ * was open (converting and writing) and its size when it is closed,
+ * under json.{name}.write and json.{name}.write.bytes.
+ */
+class MeteredOutputStream extends FilterOutputStream {
+
+	private final StorageBackend storage;
+	private final String fileName;
+	private final String name;
+	private final long startNanos;
+	private boolean closed;
+
+	MeteredOutputStream(StorageBackend storage, String fileName, String name) throws IOException {
+		super(storage.openOutput(fileName));
+		this.storage = storage;
+		this.fileName = fileName;
+		this.name = name;
+		this.startNanos = System.nanoTime();
+	}
+
+	/**
+	 * FilterOutputStream writes arrays a byte at a time
+	 */
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+	}
+
+	@Override
+	public void close() throws IOException {
+		super.close();
+		if(!closed) {
+			closed = true;
+			MetricsRegistry.getDefault().timer("json." + name + ".write").stop(startNanos);
+			MetricsRegistry.getDefault().counter("json." + name + ".write.bytes").add(storage.size(fileName));
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package io;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+
+/**
+ * MeteredReader
+ *
+ * @author narlock
+ *
+ * @brief Reader over a storage file that records how long the file
+ * was open (reading and parsing) and its size when it is closed,
+ * under json.{name}.read and json.{name}.read.bytes.
+ *
+ * Files are read in the platform charset, as they were written
+ * by earlier versions.
+ */
+class MeteredReader extends FilterReader {
+
+	MeteredReader(StorageBackend storage, String fileName, String name) throws IOException {
+		super(new InputStreamReader(new MeteredInputStream(storage, fileName, name), Charset.defaultCharset()));
+	}
+}
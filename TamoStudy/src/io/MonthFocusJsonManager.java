@@ -1,81 +1,73 @@
 package io;
 
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.Reader;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
 
 import model.time.MonthFocus;
 import model.time.MonthFocusEntry;
-import resources.Debug;
 
-public class MonthFocusJsonManager extends JsonManager<List<MonthFocus>> {
+public class MonthFocusJsonManager extends RecordJsonManager<MonthFocus> {
 	
-	public static final String monthFocusPath = System.getProperty("user.home") + File.separatorChar + "Documents" + File.separatorChar + "TamoStudy" 
-			+ File.separatorChar + "monthfocus.json";
+	public static final String MONTH_FOCUS_FILE = "monthfocus.json";
+
+	public MonthFocusJsonManager() {
+		super(MONTH_FOCUS_FILE, "monthfocus");
+	}
+
+	public MonthFocusJsonManager(StorageBackend storage) {
+		super(storage, MONTH_FOCUS_FILE, "monthfocus");
+	}
 
 	@Override
-	public List<MonthFocus> readJson() {
-		Debug.info("MonthFocusJsonMAnager.readJson", "Attempting to read monthfocus.json");
-		File monthFocusJsonFile = new File(monthFocusPath);
-		
-		if(monthFocusJsonFile.exists()) {
-			JSONParser parser = new JSONParser();
-			try {
-				Reader reader = new FileReader(monthFocusPath);
-				JSONArray monthFocusJsonArray = (JSONArray) parser.parse(reader);
-				Debug.info("MonthFocusJsonManager.readJson", "Read JSONArray monthFocusJsonArray. monthFocusJsonArray.size = " + monthFocusJsonArray.size());
-				return monthFocusJsonArrayToMonthFocusList(monthFocusJsonArray);
-			} catch (IOException | ParseException e) {
-				Debug.error("MonthFocusJsonManager.readJson", "Exception throw while reading monthfocus.json");
-                e.printStackTrace();
-            }
-		}
-		
-		Debug.info("MonthFocusJsonManager.readJson", "No MonthFocus objects were found");
-		return Collections.emptyList();
+	protected String toJsonString(List<MonthFocus> monthFocusList) {
+		return monthFocusListToMonthFocusJson(monthFocusList).toJSONString();
+	}
+
+	@Override
+	protected Object recordKey(JSONObject recordJson) {
+		return recordJson.get("profileId");
 	}
 
 	@Override
-	public boolean writeJsonToFile(List<MonthFocus> monthFocusList) {
-		try {
-			File monthFocusJsonFile = new File(monthFocusPath);
-			FileWriter fileWriter = new FileWriter(monthFocusJsonFile);
-			JSONArray monthFocusJson = monthFocusListToMonthFocusJson(monthFocusList);
-			try {
-				
-				fileWriter.write(monthFocusJson.toJSONString());
-				return true;
-			} catch (IOException e) {
-				Debug.error("MonthFocusJsonManager.writeJsonToFile", "Error occurred writing profiles to monthfocus.json");
-				e.printStackTrace();
-				return false;
-			} finally {
-				try {
-					fileWriter.flush();
-					fileWriter.close();
-				} catch (IOException e) {
-					Debug.error("MonthFocusJsonManager.writeJsonToFile", "Error occurred while closing file writer.");
-					e.printStackTrace();
-					return false;
-				}
+	protected JSONObject recordToJson(MonthFocus record) {
+		return monthFocusToMonthFocusJson(record);
+	}
+
+	@Override
+	protected MonthFocus recordFromJson(JSONObject recordJson) {
+		return monthFocusJsonToMonthFocus(recordJson);
+	}
+
+	/**
+	 * Used when another program changed the record. The entries of
+	 * months both have are kept and given their time, as FocusState
+	 * keeps adding the running session to the entry it holds.
+	 */
+	@Override
+	protected void copyRecord(MonthFocus from, MonthFocus into) {
+		Map<List<Long>, MonthFocusEntry> kept = new HashMap<>();
+		for(MonthFocusEntry entry : into.getMonthFocusEntries()) {
+			kept.putIfAbsent(Arrays.asList(entry.getYear(), entry.getMonth()), entry);
+		}
+		List<MonthFocusEntry> entries = new ArrayList<>(from.getMonthFocusEntries().size());
+		for(MonthFocusEntry entry : from.getMonthFocusEntries()) {
+			MonthFocusEntry keptEntry = kept.remove(Arrays.asList(entry.getYear(), entry.getMonth()));
+			if(keptEntry != null) {
+				keptEntry.setTime(entry.getTime());
+				entries.add(keptEntry);
+			} else {
+				entries.add(entry);
 			}
-		} catch (IOException e) {
-			Debug.error("MonthFocusJsonManager.writeJsonToFile", "Error occurred while instantiating fileWriter");
-			e.printStackTrace();
-			return false;
 		}
+		into.setMonthFocusEntries(entries);
 	}
-
+	
 	/*
 	 * ##################################
 	 * ##################################
@@ -0,0 +1,43 @@
+package io;
+
+import java.util.List;
+
+import model.profile.Profile;
+import model.time.DailyFocus;
+import model.time.MonthFocus;
+
+/**
+ * ProfileArchive
+ *
+ * @author narlock
+ *
+ * @brief The contents of a profile archive: whole profiles
+ * (including their tamo history) with their daily and monthly
+ * focus. Profiles without focus history have no DailyFocus or
+ * MonthFocus in the lists.
+ */
+public class ProfileArchive {
+
+	private List<Profile> profiles;
+	private List<DailyFocus> dailyFocusList;
+	private List<MonthFocus> monthFocusList;
+
+	public ProfileArchive(List<Profile> profiles, List<DailyFocus> dailyFocusList, List<MonthFocus> monthFocusList) {
+		super();
+		this.profiles = profiles;
+		this.dailyFocusList = dailyFocusList;
+		this.monthFocusList = monthFocusList;
+	}
+
+	public List<Profile> getProfiles() {
+		return profiles;
+	}
+
+	public List<DailyFocus> getDailyFocusList() {
+		return dailyFocusList;
+	}
+
+	public List<MonthFocus> getMonthFocusList() {
+		return monthFocusList;
+	}
+}
@@ -0,0 +1,275 @@
+package io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import model.profile.Profile;
+import model.profile.ProfileIdAllocator;
+import model.time.DailyFocus;
+import model.time.MonthFocus;
+import resources.Debug;
+
+/**
+ * ProfileArchiveManager
+ *
+ * @author narlock
+ *
+ * @brief Exports and imports many whole profiles at once as a
+ * single compressed archive (.tsar), for moving a class of
+ * profiles between machines.
+ *
+ * The archive is a gzip stream written and read through a
+ * FileChannel. After the header, every profile is one record, so
+ * profiles are converted and written (or read and converted) one at
+ * a time and progress can be reported per profile.
+ *
+ * Layout inside the gzip stream (big endian):
+ *   header : int magic, int version, int profileCount
+ *   record : int length, length bytes of UTF-8 JSON
+ *            {"profile": ..., "dailyFocus": ..., "monthFocus": ...}
+ *
+ * The JSON of each part is the same as in profiles.json,
+ * dailyfocus.json and monthfocus.json.
+ */
+public class ProfileArchiveManager {
+
+	public static final int MAGIC = 0x54534152; // "TSAR"
+	public static final int VERSION = 1;
+	public static final String FILE_EXTENSION = "tsar";
+
+	/**
+	 * Bounds on what a damaged archive may claim, so it cannot make
+	 * the reader allocate without limit
+	 */
+	public static final int MAX_PROFILE_COUNT = 1 << 20;
+	public static final int MAX_RECORD_SIZE = 1 << 26;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Receives the number of profiles done out of the total.
+	 */
+	public interface ProgressListener {
+		void progress(int done, int total);
+	}
+
+	private ProfileJsonManager profileJsonManager;
+	private DailyFocusJsonManager dailyFocusJsonManager;
+	private MonthFocusJsonManager monthFocusJsonManager;
+
+	public ProfileArchiveManager() {
+		this.profileJsonManager = new ProfileJsonManager();
+		this.dailyFocusJsonManager = new DailyFocusJsonManager();
+		this.monthFocusJsonManager = new MonthFocusJsonManager();
+	}
+
+	/**
+	 * @brief Writes every local profile with its focus history
+	 * to an archive.
+	 * @return the number of profiles exported
+	 */
+	public int exportProfiles(Path archivePath, ProgressListener listener) throws IOException {
+		ProfileArchive archive = new ProfileArchive(
+					profileJsonManager.readJson(),
+					dailyFocusJsonManager.readJson(),
+					monthFocusJsonManager.readJson()
+				);
+		writeArchive(archivePath, archive, listener);
+		return archive.getProfiles().size();
+	}
+
+	/**
+	 * @brief Adds every profile in an archive to the local profiles.
+	 * A profile whose id is already in use is given a new id, along
+	 * with its focus history. Each JSON file is written once, after
+	 * the whole archive has been read, profiles.json last, so an
+	 * import that fails part way adds no profile without its history.
+	 * @return the number of profiles imported
+	 */
+	public int importProfiles(Path archivePath, ProgressListener listener) throws IOException {
+		ProfileArchive archive = readArchive(archivePath, listener);
+
+		List<Profile> profiles = new ArrayList<>(profileJsonManager.readJson());
+		List<DailyFocus> dailyFocusList = new ArrayList<>(dailyFocusJsonManager.readJson());
+		List<MonthFocus> monthFocusList = new ArrayList<>(monthFocusJsonManager.readJson());
+
+		Set<Long> usedIds = new HashSet<>();
+		for(Profile profile : profiles) {
+			usedIds.add(profile.getId());
+		}
+
+		Set<Long> importedIds = new HashSet<>();
+		Map<Long, Long> newIds = new HashMap<>();
+		ProfileIdAllocator allocator = ProfileIdAllocator.getSharedAllocator();
+		for(Profile profile : archive.getProfiles()) {
+			long id = profile.getId();
+			if(usedIds.contains(id)) {
+				id = allocator.nextId();
+				newIds.put(profile.getId(), id);
+				Debug.info("ProfileArchiveManager.importProfiles", "Profile " + profile.getName() + " given new id " + id);
+				profile.setId(id);
+			} else {
+				allocator.register(id);
+			}
+			usedIds.add(id);
+			importedIds.add(id);
+			profiles.add(profile);
+		}
+
+		// History left without its profile by an import that failed part way
+		dailyFocusList.removeIf(dailyFocus -> importedIds.contains(dailyFocus.getProfileId()));
+		monthFocusList.removeIf(monthFocus -> importedIds.contains(monthFocus.getProfileId()));
+
+		for(DailyFocus dailyFocus : archive.getDailyFocusList()) {
+			dailyFocus.setProfileId(newIds.getOrDefault(dailyFocus.getProfileId(), dailyFocus.getProfileId()));
+			dailyFocusList.add(dailyFocus);
+		}
+		for(MonthFocus monthFocus : archive.getMonthFocusList()) {
+			monthFocus.setProfileId(newIds.getOrDefault(monthFocus.getProfileId(), monthFocus.getProfileId()));
+			monthFocusList.add(monthFocus);
+		}
+
+		if(!dailyFocusJsonManager.writeJsonToFile(dailyFocusList)
+				|| !monthFocusJsonManager.writeJsonToFile(monthFocusList)
+				|| !profileJsonManager.writeJsonToFile(profiles)) {
+			throw new IOException("Could not save imported profiles");
+		}
+		return archive.getProfiles().size();
+	}
+
+	/**
+	 * @brief Writes the archive to a temporary file next to
+	 * archivePath and moves it into place once complete.
+	 */
+	@SuppressWarnings("unchecked")
+	public void writeArchive(Path archivePath, ProfileArchive archive, ProgressListener listener) throws IOException {
+		Map<Long, DailyFocus> dailyFocusByProfile = new HashMap<>();
+		for(DailyFocus dailyFocus : archive.getDailyFocusList()) {
+			dailyFocusByProfile.put(dailyFocus.getProfileId(), dailyFocus);
+		}
+		Map<Long, MonthFocus> monthFocusByProfile = new HashMap<>();
+		for(MonthFocus monthFocus : archive.getMonthFocusList()) {
+			monthFocusByProfile.put(monthFocus.getProfileId(), monthFocus);
+		}
+
+		List<Profile> profiles = archive.getProfiles();
+		Path tempPath = archivePath.resolveSibling(archivePath.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), BUFFER_SIZE))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(profiles.size());
+
+			for(int i = 0; i < profiles.size(); i++) {
+				Profile profile = profiles.get(i);
+				JSONObject record = new JSONObject();
+				record.put("profile", profileJsonManager.profileModelToProfileJson(profile));
+				DailyFocus dailyFocus = dailyFocusByProfile.get(profile.getId());
+				if(dailyFocus != null) {
+					record.put("dailyFocus", dailyFocusJsonManager.dailyFocusToDailyFocusJson(dailyFocus));
+				}
+				MonthFocus monthFocus = monthFocusByProfile.get(profile.getId());
+				if(monthFocus != null) {
+					record.put("monthFocus", monthFocusJsonManager.monthFocusToMonthFocusJson(monthFocus));
+				}
+
+				byte[] bytes = record.toJSONString().getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+				listener.progress(i + 1, profiles.size());
+			}
+		}
+		Files.move(tempPath, archivePath, StandardCopyOption.REPLACE_EXISTING);
+		Debug.info("ProfileArchiveManager.writeArchive", "Exported " + profiles.size() + " profiles to " + archivePath);
+	}
+
+	public ProfileArchive readArchive(Path archivePath, ProgressListener listener) throws IOException {
+		List<Profile> profiles = new ArrayList<>();
+		List<DailyFocus> dailyFocusList = new ArrayList<>();
+		List<MonthFocus> monthFocusList = new ArrayList<>();
+
+		try (FileChannel channel = FileChannel.open(archivePath, StandardOpenOption.READ);
+				DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Channels.newInputStream(channel), BUFFER_SIZE), BUFFER_SIZE))) {
+			if(in.readInt() != MAGIC) {
+				throw new IOException("Not a TamoStudy profile archive");
+			}
+			int version = in.readInt();
+			if(version > VERSION) {
+				throw new IOException("Profile archive version " + version + " is newer than this TamoStudy");
+			}
+			int profileCount = readBounded(in, MAX_PROFILE_COUNT, "profile count");
+
+			JSONParser parser = new JSONParser();
+			for(int i = 0; i < profileCount; i++) {
+				byte[] bytes = new byte[readBounded(in, MAX_RECORD_SIZE, "record size")];
+				in.readFully(bytes);
+				JSONObject record = (JSONObject) parser.parse(new String(bytes, StandardCharsets.UTF_8));
+
+				profiles.add(profileJsonManager.profileJsonToProfileModel((JSONObject) record.get("profile")));
+				if(record.containsKey("dailyFocus")) {
+					dailyFocusList.add(dailyFocusJsonManager.dailyFocusJsonToDailyFocus((JSONObject) record.get("dailyFocus")));
+				}
+				if(record.containsKey("monthFocus")) {
+					monthFocusList.add(monthFocusJsonManager.monthFocusJsonToMonthFocus((JSONObject) record.get("monthFocus")));
+				}
+				listener.progress(i + 1, profileCount);
+			}
+		} catch (ParseException | ClassCastException e) {
+			throw new IOException("Profile archive contains an invalid profile", e);
+		}
+		return new ProfileArchive(profiles, dailyFocusList, monthFocusList);
+	}
+
+	/**
+	 * @return true if the file starts with a profile archive header
+	 */
+	public static boolean isProfileArchive(Path path) {
+		try (DataInputStream in = new DataInputStream(new GZIPInputStream(Files.newInputStream(path)))) {
+			return in.readInt() == MAGIC;
+		} catch (IOException e) {
+			// Not gzip, or too short to hold a header
+			return false;
+		}
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	/**
+	 * @return an int read from in, between 0 and max
+	 * @throws IOException if it is out of range
+	 */
+	private static int readBounded(DataInputStream in, int max, String name) throws IOException {
+		int value = in.readInt();
+		if(value < 0 || value > max) {
+			throw new IOException("Profile archive has an invalid " + name + " " + value);
+		}
+		return value;
+	}
+}
@@ -0,0 +1,381 @@
+package io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import util.VarInts;
+
+/**
+ * ProfileBinaryCodec
+ *
+ * @author narlock
+ *
+ * @brief The binary form of profiles.json, written to profiles.dat
+ * instead when -Dtamostudy.profiles.format=binary.
+ *
+ * The file is the magic number TSPF, a short version, the string
+ * table, then the profiles. Numbers are VarInts, signed ones zigzag
+ * encoded. Every string is written once in the table, UTF-8 with its
+ * length, and referred to by its index plus one, 0 being null, so
+ * the languages, themes and Tamo names repeated across profiles cost
+ * a byte or two each. Dates are written as the days since the date
+ * written before them, which for the dates of a profile and its Tamo
+ * history is a byte or two, see writeDate.
+ *
+ * Each profile is written field by field in the order of
+ * profileSnapshotToProfileJson, without the keys:
+ *
+ *   id (the difference from the profile before), name string,
+ *   previousDateString date, time, tokens,
+ *   settings: language string, focusMode, difficulty, timerAlarm,
+ *             guiSize, byte flags (receiveNotifications 1,
+ *             enableDiscordRPC 2, showProgramCloseMessage 4), theme string,
+ *   backgroundIndicator, borderIndicator,
+ *   achievementList, foodInventoryList, backgroundInventoryList,
+ *   borderInventoryList: count, then each the difference from the one before,
+ *   tamo: name string, time, type, birthDateString date, happy, hunger, strikes,
+ *   tamoHistory: count, then each name string, time, type,
+ *                birthDateString date, passDateString date
+ */
+public class ProfileBinaryCodec implements RecordBinaryCodec {
+
+	public static final int MAGIC = 0x54535046; // TSPF
+	public static final short VERSION = 1;
+
+	/**
+	 * Limits rejecting counts a damaged file could not have
+	 */
+	public static final int MAX_COUNT = 1 << 24;
+	public static final int MAX_STRING_SIZE = 1 << 20;
+
+	private static final int RECEIVE_NOTIFICATIONS_FLAG = 1;
+	private static final int ENABLE_DISCORD_RPC_FLAG = 2;
+	private static final int SHOW_PROGRAM_CLOSE_MESSAGE_FLAG = 4;
+
+	private static final String[] INDICATOR_LISTS = {
+			"achievementList", "foodInventoryList", "backgroundInventoryList", "borderInventoryList"
+	};
+
+	private static final ProfileBinaryCodec defaultCodec = new ProfileBinaryCodec();
+
+	public static ProfileBinaryCodec getDefault() {
+		return defaultCodec;
+	}
+
+	@Override
+	public int getMagic() {
+		return MAGIC;
+	}
+
+	/**
+	 * The profiles are written to memory first, collecting the
+	 * strings, since the table goes before them
+	 */
+	@Override
+	public void writeRecords(DataOutput out, JSONArray records) throws IOException {
+		Encoder encoder = new Encoder();
+		VarInts.writeUnsignedLong(encoder.out, records.size());
+		for(Object record : records) {
+			encoder.writeProfile((JSONObject) record);
+		}
+
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		VarInts.writeUnsignedLong(out, encoder.strings.size());
+		for(String string : encoder.strings.keySet()) {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			VarInts.writeUnsignedLong(out, bytes.length);
+			out.write(bytes);
+		}
+		out.write(encoder.body.toByteArray());
+	}
+
+	@Override
+	public JSONArray readRecords(DataInput in) throws IOException {
+		int magic = in.readInt();
+		if(magic != MAGIC) {
+			throw new IOException("Not a binary profiles file");
+		}
+		short version = in.readShort();
+		if(version != VERSION) {
+			throw new IOException("Unsupported binary profiles version " + version);
+		}
+		Decoder decoder = new Decoder(in);
+		int stringCount = VarInts.readCount(in, MAX_COUNT);
+		for(int i = 0; i < stringCount; i++) {
+			byte[] bytes = new byte[VarInts.readCount(in, MAX_STRING_SIZE)];
+			in.readFully(bytes);
+			decoder.strings.add(new String(bytes, StandardCharsets.UTF_8));
+		}
+		return decoder.readProfiles();
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	/**
+	 * Writes the profiles of one file, keeping the string table
+	 * and the numbers the next ones are written relative to
+	 */
+	private static class Encoder {
+		private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		private final DataOutputStream out = new DataOutputStream(body);
+		private final Map<String, Integer> strings = new LinkedHashMap<>();
+		private long previousId;
+		private long previousEpochDay;
+
+		void writeProfile(JSONObject profile) throws IOException {
+			long id = longOf(profile.get("id"));
+			VarInts.writeSignedLong(out, id - previousId);
+			previousId = id;
+			writeString(profile.get("name"));
+			writeDate(profile.get("previousDateString"));
+			VarInts.writeSignedLong(out, longOf(profile.get("time")));
+			VarInts.writeSignedLong(out, longOf(profile.get("tokens")));
+
+			JSONObject settings = (JSONObject) profile.get("settings");
+			writeString(settings.get("language"));
+			VarInts.writeSignedLong(out, longOf(settings.get("focusMode")));
+			VarInts.writeSignedLong(out, longOf(settings.get("difficulty")));
+			VarInts.writeSignedLong(out, longOf(settings.get("timerAlarm")));
+			VarInts.writeSignedLong(out, longOf(settings.get("guiSize")));
+			int flags = 0;
+			if(isTrue(settings.get("receiveNotifications"))) {
+				flags |= RECEIVE_NOTIFICATIONS_FLAG;
+			}
+			if(isTrue(settings.get("enableDiscordRPC"))) {
+				flags |= ENABLE_DISCORD_RPC_FLAG;
+			}
+			if(isTrue(settings.get("showProgramCloseMessage"))) {
+				flags |= SHOW_PROGRAM_CLOSE_MESSAGE_FLAG;
+			}
+			out.writeByte(flags);
+			writeString(settings.get("theme"));
+
+			VarInts.writeSignedLong(out, longOf(profile.get("backgroundIndicator")));
+			VarInts.writeSignedLong(out, longOf(profile.get("borderIndicator")));
+			for(String indicatorList : INDICATOR_LISTS) {
+				JSONArray indicators = (JSONArray) profile.get(indicatorList);
+				VarInts.writeUnsignedLong(out, indicators.size());
+				long previousIndicator = 0;
+				for(Object indicator : indicators) {
+					VarInts.writeSignedLong(out, longOf(indicator) - previousIndicator);
+					previousIndicator = longOf(indicator);
+				}
+			}
+
+			JSONObject tamo = (JSONObject) profile.get("tamo");
+			writeString(tamo.get("name"));
+			VarInts.writeSignedLong(out, longOf(tamo.get("time")));
+			VarInts.writeSignedLong(out, longOf(tamo.get("type")));
+			writeDate(tamo.get("birthDateString"));
+			VarInts.writeSignedLong(out, longOf(tamo.get("happy")));
+			VarInts.writeSignedLong(out, longOf(tamo.get("hunger")));
+			VarInts.writeSignedLong(out, longOf(tamo.get("strikes")));
+
+			JSONArray tamoHistory = (JSONArray) profile.get("tamoHistory");
+			VarInts.writeUnsignedLong(out, tamoHistory.size());
+			for(Object deceasedTamo : tamoHistory) {
+				JSONObject deceasedTamoJson = (JSONObject) deceasedTamo;
+				writeString(deceasedTamoJson.get("name"));
+				VarInts.writeSignedLong(out, longOf(deceasedTamoJson.get("time")));
+				VarInts.writeSignedLong(out, longOf(deceasedTamoJson.get("type")));
+				writeDate(deceasedTamoJson.get("birthDateString"));
+				writeDate(deceasedTamoJson.get("passDateString"));
+			}
+		}
+
+		void writeString(Object string) throws IOException {
+			VarInts.writeUnsignedLong(out, string == null ? 0 : stringIndex((String) string) + 1);
+		}
+
+		/**
+		 * A date is one number: 0 for null, odd for a yyyy-MM-dd date,
+		 * the zigzag encoded days since the date written before it
+		 * shifted left once, and even for any other string, its
+		 * table index plus one shifted left once.
+		 */
+		void writeDate(Object date) throws IOException {
+			if(date == null) {
+				VarInts.writeUnsignedLong(out, 0);
+				return;
+			}
+			String dateString = (String) date;
+			LocalDate localDate = parseDate(dateString);
+			if(localDate == null) {
+				VarInts.writeUnsignedLong(out, (stringIndex(dateString) + 1L) << 1);
+				return;
+			}
+			long days = localDate.toEpochDay() - previousEpochDay;
+			previousEpochDay = localDate.toEpochDay();
+			VarInts.writeUnsignedLong(out, (((days << 1) ^ (days >> 63)) << 1) | 1);
+		}
+
+		int stringIndex(String string) {
+			Integer index = strings.get(string);
+			if(index == null) {
+				index = strings.size();
+				strings.put(string, index);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Reads the profiles of one file, mirroring Encoder
+	 */
+	private static class Decoder {
+		private final DataInput in;
+		private final List<String> strings = new ArrayList<>();
+		private long previousId;
+		private long previousEpochDay;
+
+		Decoder(DataInput in) {
+			this.in = in;
+		}
+
+		@SuppressWarnings("unchecked")
+		JSONArray readProfiles() throws IOException {
+			int profileCount = VarInts.readCount(in, MAX_COUNT);
+			JSONArray profiles = new JSONArray();
+			for(int i = 0; i < profileCount; i++) {
+				profiles.add(readProfile());
+			}
+			return profiles;
+		}
+
+		@SuppressWarnings("unchecked")
+		JSONObject readProfile() throws IOException {
+			JSONObject profile = new JSONObject();
+			previousId += VarInts.readSignedLong(in);
+			profile.put("id", previousId);
+			profile.put("name", readString());
+			profile.put("previousDateString", readDate());
+			profile.put("time", VarInts.readSignedLong(in));
+			profile.put("tokens", VarInts.readSignedLong(in));
+
+			JSONObject settings = new JSONObject();
+			settings.put("language", readString());
+			settings.put("focusMode", VarInts.readSignedLong(in));
+			settings.put("difficulty", VarInts.readSignedLong(in));
+			settings.put("timerAlarm", VarInts.readSignedLong(in));
+			settings.put("guiSize", VarInts.readSignedLong(in));
+			int flags = in.readUnsignedByte();
+			settings.put("receiveNotifications", (flags & RECEIVE_NOTIFICATIONS_FLAG) != 0);
+			settings.put("enableDiscordRPC", (flags & ENABLE_DISCORD_RPC_FLAG) != 0);
+			settings.put("showProgramCloseMessage", (flags & SHOW_PROGRAM_CLOSE_MESSAGE_FLAG) != 0);
+			settings.put("theme", readString());
+			profile.put("settings", settings);
+
+			profile.put("backgroundIndicator", VarInts.readSignedLong(in));
+			profile.put("borderIndicator", VarInts.readSignedLong(in));
+			for(String indicatorList : INDICATOR_LISTS) {
+				int indicatorCount = VarInts.readCount(in, MAX_COUNT);
+				JSONArray indicators = new JSONArray();
+				long indicator = 0;
+				for(int i = 0; i < indicatorCount; i++) {
+					indicator += VarInts.readSignedLong(in);
+					indicators.add(indicator);
+				}
+				profile.put(indicatorList, indicators);
+			}
+
+			JSONObject tamo = new JSONObject();
+			tamo.put("name", readString());
+			tamo.put("time", VarInts.readSignedLong(in));
+			tamo.put("type", VarInts.readSignedLong(in));
+			tamo.put("birthDateString", readDate());
+			tamo.put("happy", VarInts.readSignedLong(in));
+			tamo.put("hunger", VarInts.readSignedLong(in));
+			tamo.put("strikes", VarInts.readSignedLong(in));
+			profile.put("tamo", tamo);
+
+			int tamoHistoryCount = VarInts.readCount(in, MAX_COUNT);
+			JSONArray tamoHistory = new JSONArray();
+			for(int i = 0; i < tamoHistoryCount; i++) {
+				JSONObject deceasedTamo = new JSONObject();
+				deceasedTamo.put("name", readString());
+				deceasedTamo.put("time", VarInts.readSignedLong(in));
+				deceasedTamo.put("type", VarInts.readSignedLong(in));
+				deceasedTamo.put("birthDateString", readDate());
+				deceasedTamo.put("passDateString", readDate());
+				tamoHistory.add(deceasedTamo);
+			}
+			profile.put("tamoHistory", tamoHistory);
+			return profile;
+		}
+
+		String readString() throws IOException {
+			return stringAt(VarInts.readUnsignedLong(in));
+		}
+
+		String readDate() throws IOException {
+			long value = VarInts.readUnsignedLong(in);
+			if((value & 1) == 0) {
+				return stringAt(value >>> 1);
+			}
+			long zigzag = value >>> 1;
+			previousEpochDay += (zigzag >>> 1) ^ -(zigzag & 1);
+			try {
+				return LocalDate.ofEpochDay(previousEpochDay).toString();
+			} catch (DateTimeException e) {
+				throw new IOException("Invalid date " + previousEpochDay);
+			}
+		}
+
+		/**
+		 * @param reference the index plus one, 0 for null
+		 */
+		String stringAt(long reference) throws IOException {
+			if(reference == 0) {
+				return null;
+			}
+			if(reference > strings.size()) {
+				throw new IOException("Invalid string " + reference);
+			}
+			return strings.get((int) (reference - 1));
+		}
+	}
+
+	private static long longOf(Object number) {
+		return ((Number) number).longValue();
+	}
+
+	/**
+	 * Settings missing from older files are null, written as false
+	 */
+	private static boolean isTrue(Object value) {
+		return Boolean.TRUE.equals(value);
+	}
+
+	/**
+	 * @return the date, or null if the string is not exactly a
+	 * yyyy-MM-dd date, which would not be written back the same
+	 */
+	private static LocalDate parseDate(String dateString) {
+		try {
+			LocalDate date = LocalDate.parse(dateString);
+			return date.toString().equals(dateString) ? date : null;
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+}
@@ -1,82 +1,145 @@
 package io;
 
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.Reader;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
 
 import model.language.Language;
 import model.profile.Profile;
 import model.profile.ProfileSettings;
+import model.profile.ProfileSnapshot;
+import model.profile.ProfileSnapshot.SettingsSnapshot;
+import model.profile.ProfileSnapshot.TamoSnapshot;
 import model.profile.Tamo;
 import resources.Debug;
-import resources.Theme;
 
-public class ProfileJsonManager extends JsonManager<List<Profile>> {
+public class ProfileJsonManager extends RecordJsonManager<Profile> {
 
-	public static final String profilesPath = System.getProperty("user.home") + File.separatorChar + "Documents" + File.separatorChar + "TamoStudy" 
-			+ File.separatorChar + "profiles.json";
+	public static final String PROFILES_FILE = "profiles.json";
+	public static final String BINARY_PROFILES_FILE = "profiles.dat";
+	
+	/**
+	 * System property choosing the format profiles are written in:
+	 * -Dtamostudy.profiles.format=binary writes ProfileBinaryCodec's
+	 * format to profiles.dat, otherwise JSON to profiles.json. The
+	 * binary format has its own file so versions that only read JSON
+	 * never find it in profiles.json. Whichever is chosen, the newer
+	 * of the two files is read, so an installation switches either
+	 * way on its next save.
+	 */
+	public static final String FORMAT_PROPERTY = "tamostudy.profiles.format";
+	public static final String BINARY_FORMAT = "binary";
+	
+	private final boolean writingBinary;
+
+	public ProfileJsonManager() {
+		super(isBinaryFormatChosen() ? BINARY_PROFILES_FILE : PROFILES_FILE, "profiles");
+		this.writingBinary = isBinaryFormatChosen();
+	}
+
+	public ProfileJsonManager(StorageBackend storage) {
+		this(storage, isBinaryFormatChosen());
+	}
+	
+	/**
+	 * @param writingBinary true to write the binary format, false JSON
+	 */
+	public ProfileJsonManager(StorageBackend storage, boolean writingBinary) {
+		super(storage, writingBinary ? BINARY_PROFILES_FILE : PROFILES_FILE, "profiles");
+		this.writingBinary = writingBinary;
+	}
+	
+	public static boolean isBinaryFormatChosen() {
+		return BINARY_FORMAT.equalsIgnoreCase(System.getProperty(FORMAT_PROPERTY));
+	}
 	
 	@Override
-	public List<Profile> readJson() {
-		Debug.info("ProfileJsonManager.readJson", "Attempting to read profiles.json");
-		File globalSettingsJsonFile = new File(profilesPath);
-		
-		if(globalSettingsJsonFile.exists()) {
-			JSONParser parser = new JSONParser();
-			try {
-				Reader reader = new FileReader(profilesPath);
-				JSONArray profilesJsonArray = (JSONArray) parser.parse(reader);
-				Debug.info("ProfileJsonManager.readJson", "Read JSONArray profilesJsonArray. profilesJsonArray.size = " + profilesJsonArray.size());
-				return profilesJsonToProfileList(profilesJsonArray);
-			} catch (IOException | ParseException e) {
-				Debug.error("ProfileJsonManager.readJson", "Exception throw while reading profiles.json");
-                e.printStackTrace();
-            }
+	protected String toJsonString(List<Profile> profiles) {
+		return profileListToProfilesJson(profiles).toJSONString();
+	}
+	
+	/**
+	 * Only the snapshots are taken on the calling thread; they are
+	 * converted on the writer thread while the profiles keep changing.
+	 */
+	@Override
+	protected Supplier<byte[]> toFileContentsLater(List<Profile> profiles) {
+		List<ProfileSnapshot> snapshots = snapshotProfiles(profiles);
+		return () -> encodeRecords(profileSnapshotsToProfilesJson(snapshots));
+	}
+	
+	public static List<ProfileSnapshot> snapshotProfiles(List<Profile> profiles) {
+		List<ProfileSnapshot> snapshots = new ArrayList<>(profiles.size());
+		for(Profile profile : profiles) {
+			snapshots.add(profile.getSnapshot());
 		}
-		
-		Debug.info("ProfileJsonManager.readJson", "No profiles were found");
-		return Collections.emptyList();
+		return snapshots;
+	}
+	
+	@Override
+	protected Object recordKey(JSONObject recordJson) {
+		return recordJson.get("id");
 	}
 
 	@Override
-	public boolean writeJsonToFile(List<Profile> profiles) {
-		try {
-			File profilesJsonFile = new File(profilesPath);
-			FileWriter fileWriter = new FileWriter(profilesJsonFile);
-			JSONArray profilesJson = profileListToProfilesJson(profiles);
-			try {
-				
-				fileWriter.write(profilesJson.toJSONString());
-				return true;
-			} catch (IOException e) {
-				Debug.error("ProfileJsonManager.writeJsonToFile", "Error occurred writing profiles to profiles.json");
-				e.printStackTrace();
-				return false;
-			} finally {
-				try {
-					fileWriter.flush();
-					fileWriter.close();
-				} catch (IOException e) {
-					Debug.error("ProfileJsonManager.writeJsonToFile", "Error occurred while closing file writer.");
-					e.printStackTrace();
-					return false;
-				}
-			}
-		} catch (IOException e) {
-			Debug.error("ProfileJsonManager.writeJsonToFile", "Error occurred while instantiating fileWriter");
-			e.printStackTrace();
-			return false;
-		}
+	protected JSONObject recordToJson(Profile record) {
+		return profileModelToProfileJson(record);
+	}
+
+	@Override
+	protected Profile recordFromJson(JSONObject recordJson) {
+		return profileJsonToProfileModel(recordJson);
+	}
+
+	@Override
+	protected RecordBinaryCodec getBinaryCodec() {
+		return ProfileBinaryCodec.getDefault();
+	}
+	
+	@Override
+	protected boolean isWritingBinary() {
+		return writingBinary;
+	}
+	
+	@Override
+	protected String getOtherFormatFileName() {
+		return writingBinary ? PROFILES_FILE : BINARY_PROFILES_FILE;
+	}
+	
+	/**
+	 * Used when another program changed the record. The Tamo keeps its
+	 * instance, which the panels and ProfileBindings hold, and is given
+	 * the other Tamo's values.
+	 */
+	@Override
+	protected void copyRecord(Profile from, Profile into) {
+		into.setName(from.getName());
+		into.setPreviousDateString(from.getPreviousDateString());
+		into.setTime(from.getTime());
+		into.setTokens(from.getTokens());
+		into.setSettings(from.getSettings());
+		into.setBackgroundIndicator(from.getBackgroundIndicator());
+		into.setBorderIndicator(from.getBorderIndicator());
+		into.setAchievementList(from.getAchievementList());
+		into.setFoodInventoryList(from.getFoodInventoryList());
+		into.setBackgroundInventoryList(from.getBackgroundInventoryList());
+		into.setBorderInventoryList(from.getBorderInventoryList());
+		copyTamo(from.getTamo(), into.getTamo());
+		into.setTamoHistory(from.getTamoHistory());
+	}
+	
+	private static void copyTamo(Tamo from, Tamo into) {
+		into.setName(from.getName());
+		into.setTime(from.getTime());
+		into.setType(from.getType());
+		into.setBirthDateString(from.getBirthDateString());
+		into.setPassDateString(from.getPassDateString());
+		into.setHappy(from.getHappy());
+		into.setHunger(from.getHunger());
+		into.setStrikes(from.getStrikes());
 	}
 	
 	/*
@@ -95,12 +158,16 @@ public class ProfileJsonManager extends JsonManager<List<Profile>> {
 		return profiles;
 	}
 	
-	@SuppressWarnings("unchecked")
 	public JSONArray profileListToProfilesJson(List<Profile> profiles) {
-		Debug.info("ProfileJsonManager.profileListToProfilesJson", "Attempting conversion... profiles.size = " + profiles.size());
+		return profileSnapshotsToProfilesJson(snapshotProfiles(profiles));
+	}
+	
+	@SuppressWarnings("unchecked")
+	public JSONArray profileSnapshotsToProfilesJson(List<ProfileSnapshot> profiles) {
+		Debug.info("ProfileJsonManager.profileSnapshotsToProfilesJson", "Attempting conversion... profiles.size = " + profiles.size());
 		JSONArray profilesJson = new JSONArray();
-		for(Profile profile : profiles) {
-			profilesJson.add(profileModelToProfileJson(profile));
+		for(ProfileSnapshot profile : profiles) {
+			profilesJson.add(profileSnapshotToProfileJson(profile));
 		}
 		return profilesJson;
 	}
@@ -124,23 +191,27 @@ public class ProfileJsonManager extends JsonManager<List<Profile>> {
 			);
 	}
 	
-	@SuppressWarnings("unchecked")
 	public JSONObject profileModelToProfileJson(Profile profile) {
+		return profileSnapshotToProfileJson(profile.getSnapshot());
+	}
+	
+	@SuppressWarnings("unchecked")
+	public JSONObject profileSnapshotToProfileJson(ProfileSnapshot profile) {
 		JSONObject profileJson = new JSONObject();
 		profileJson.put("id", profile.getId());
 		profileJson.put("name", profile.getName());
 		profileJson.put("previousDateString", profile.getPreviousDateString());
 		profileJson.put("time", profile.getTime());
 		profileJson.put("tokens", profile.getTokens());
-		profileJson.put("settings", profileSettingsModelToProfileSettingsJson(profile.getSettings()));
+		profileJson.put("settings", profileSettingsSnapshotToProfileSettingsJson(profile.getSettings()));
 		profileJson.put("backgroundIndicator", profile.getBackgroundIndicator());
 		profileJson.put("borderIndicator", profile.getBorderIndicator());
 		profileJson.put("achievementList", indicatorListToIndicatorListJson(profile.getAchievementList()));
 		profileJson.put("foodInventoryList", indicatorListToIndicatorListJson(profile.getFoodInventoryList()));
 		profileJson.put("backgroundInventoryList", indicatorListToIndicatorListJson(profile.getBackgroundInventoryList()));
 		profileJson.put("borderInventoryList", indicatorListToIndicatorListJson(profile.getBorderInventoryList()));
-		profileJson.put("tamo", tamoModelToTamoJson(profile.getTamo()));
-		profileJson.put("tamoHistory", tamoHistoryListToTamoHistoryJson(profile.getTamoHistory()));
+		profileJson.put("tamo", tamoSnapshotToTamoJson(profile.getTamo()));
+		profileJson.put("tamoHistory", tamoHistorySnapshotToTamoHistoryJson(profile.getTamoHistory()));
 		return profileJson;
 	}
 	
@@ -162,21 +233,22 @@ public class ProfileJsonManager extends JsonManager<List<Profile>> {
 	}
 	
 	public ProfileSettings profileSettingsJsonToProfileSettingsModel(JSONObject profileSettingsJson) {
+		String themeType = (String) profileSettingsJson.get("theme");
 		return new ProfileSettings(
 					Language.getLanguage((String) profileSettingsJson.get("language")),
 					(long) profileSettingsJson.get("focusMode"),
 					(long)profileSettingsJson.get("difficulty"),
 					(long) profileSettingsJson.get("timerAlarm"),
 					(long) profileSettingsJson.get("guiSize"),
-					(boolean) profileSettingsJson.get("receiveNotifications"),
-					(boolean) profileSettingsJson.get("enableDiscordRPC"),
-					(boolean) profileSettingsJson.get("showProgramCloseMessage"),
-					Theme.getTheme((String) profileSettingsJson.get("theme"))
+					(Boolean) profileSettingsJson.get("receiveNotifications"),
+					(Boolean) profileSettingsJson.get("enableDiscordRPC"),
+					(Boolean) profileSettingsJson.get("showProgramCloseMessage"),
+					themeType == null ? ProfileSettings.DEFAULT_THEME_TYPE : themeType
 				);
 	}
 	
 	@SuppressWarnings("unchecked")
-	public JSONObject profileSettingsModelToProfileSettingsJson(ProfileSettings profileSettings) {
+	public JSONObject profileSettingsSnapshotToProfileSettingsJson(SettingsSnapshot profileSettings) {
 		JSONObject profileSettingsJson = new JSONObject();
 		profileSettingsJson.put("language", profileSettings.getLanguage().toString());
 		profileSettingsJson.put("focusMode", profileSettings.getFocusMode());
@@ -186,7 +258,7 @@ public class ProfileJsonManager extends JsonManager<List<Profile>> {
 		profileSettingsJson.put("receiveNotifications", profileSettings.getReceiveNotifications());
 		profileSettingsJson.put("enableDiscordRPC", profileSettings.getEnableDiscordRPC());
 		profileSettingsJson.put("showProgramCloseMessage", profileSettings.getShowProgramCloseMessage());
-		profileSettingsJson.put("theme", profileSettings.getTheme().type);
+		profileSettingsJson.put("theme", profileSettings.getThemeType());
 		return profileSettingsJson;
 	}
 	public Tamo tamoJsonToTamoModel(JSONObject tamoJson) {
@@ -202,7 +274,7 @@ public class ProfileJsonManager extends JsonManager<List<Profile>> {
 	}
 	
 	@SuppressWarnings("unchecked")
-	public JSONObject tamoModelToTamoJson(Tamo tamo) {
+	public JSONObject tamoSnapshotToTamoJson(TamoSnapshot tamo) {
 		JSONObject tamoJson = new JSONObject();
 		tamoJson.put("name", tamo.getName());
 		tamoJson.put("time", tamo.getTime());
@@ -223,10 +295,10 @@ public class ProfileJsonManager extends JsonManager<List<Profile>> {
 	}
 	
 	@SuppressWarnings("unchecked")
-	public JSONArray tamoHistoryListToTamoHistoryJson(List<Tamo> tamoHistory) {
+	public JSONArray tamoHistorySnapshotToTamoHistoryJson(List<TamoSnapshot> tamoHistory) {
 		JSONArray tamoHistoryJson = new JSONArray();
-		for(Tamo tamo : tamoHistory) {
-			tamoHistoryJson.add(deceasedTamoToDeceasedTamoJson(tamo));
+		for(TamoSnapshot tamo : tamoHistory) {
+			tamoHistoryJson.add(deceasedTamoSnapshotToDeceasedTamoJson(tamo));
 		}
 		return tamoHistoryJson;
 	}
@@ -242,7 +314,7 @@ public class ProfileJsonManager extends JsonManager<List<Profile>> {
 	}
 	
 	@SuppressWarnings("unchecked")
-	public JSONObject deceasedTamoToDeceasedTamoJson(Tamo deceasedTamo) {
+	public JSONObject deceasedTamoSnapshotToDeceasedTamoJson(TamoSnapshot deceasedTamo) {
 		JSONObject deceasedTamoJson = new JSONObject();
 		deceasedTamoJson.put("name", deceasedTamo.getName());
 		deceasedTamoJson.put("time", deceasedTamo.getTime());
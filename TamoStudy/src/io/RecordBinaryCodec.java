@@ -0,0 +1,40 @@
+package io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.json.simple.JSONArray;
+
+/**
+ * RecordBinaryCodec
+ *
+ * @author narlock
+ *
+ * @brief A compact binary form of the records of a RecordJsonManager,
+ * kept in the same file as the JSON would be.
+ *
+ * Records are converted to and from their JSON objects, so merging
+ * and the mappings to the model are the same whatever the file holds.
+ * Every file in the format starts with the codec's magic number,
+ * which no JSON text starts with, so readers tell the two apart.
+ */
+public interface RecordBinaryCodec {
+
+	/**
+	 * @return the first four bytes of a file in the format
+	 */
+	int getMagic();
+
+	/**
+	 * @brief Writes the records, starting with the magic number
+	 */
+	void writeRecords(DataOutput out, JSONArray records) throws IOException;
+
+	/**
+	 * @brief Reads records written by writeRecords, magic number
+	 * included. The numbers read are Longs, as parsed from JSON.
+	 * @throws IOException if the file is damaged or of a newer version
+	 */
+	JSONArray readRecords(DataInput in) throws IOException;
+}
@@ -0,0 +1,516 @@
+package io;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import resources.Debug;
+
+/**
+ * RecordJsonManager
+ *
+ * @author narlock
+ *
+ * @brief A JSON manager for files holding a list of records with
+ * a key, such as profiles by id, that other programs may change too:
+ * a second TamoStudy or a sync tool on the same data directory.
+ *
+ * The records last read or written are remembered as the base, along
+ * with the file's size and modification time. When the file no longer
+ * matches, another program changed it, and a three-way merge against
+ * the base keeps both sides' changes instead of overwriting theirs:
+ * a record only one side changed takes that side's version, a record
+ * both changed keeps this program's, and records added or removed on
+ * one side are added or removed.
+ *
+ * Writes merge under the file's lock before replacing the file, and
+ * mergeExternalChanges applies the other program's changes to the
+ * records in memory. The base is shared by every manager of the same
+ * file and storage.
+ *
+ * A manager with a RecordBinaryCodec reads files in either JSON or
+ * the codec's format, telling them apart by the codec's magic number,
+ * and writes the format it is asked to. A file in the other format is
+ * converted by the next write.
+ */
+public abstract class RecordJsonManager<R> extends JsonManager<List<R>> {
+
+	enum Resolution {
+		KEEP_OURS, TAKE_THEIRS, DROP
+	}
+
+	/**
+	 * What this program last read or wrote. Guarded by itself.
+	 *
+	 * Written contents are kept as they are and only parsed when a
+	 * merge needs them, so writes without another program pay nothing.
+	 */
+	private static class SyncState {
+		private String fingerprint;
+		private byte[] baseContents;
+		private Map<Object, JSONObject> base = new HashMap<>();
+	}
+
+	private static final Map<List<Object>, SyncState> syncStates = new ConcurrentHashMap<>();
+
+	protected RecordJsonManager(String fileName, String metricName) {
+		super(fileName, metricName);
+	}
+
+	protected RecordJsonManager(StorageBackend storage, String fileName, String metricName) {
+		super(storage, fileName, metricName);
+	}
+
+	/**
+	 * @return the key of a record, unique within the file
+	 */
+	protected abstract Object recordKey(JSONObject recordJson);
+
+	protected abstract JSONObject recordToJson(R record);
+
+	protected abstract R recordFromJson(JSONObject recordJson);
+
+	/**
+	 * @brief Gives an existing record the values of another with the
+	 * same key, so components holding the record see the change.
+	 */
+	protected abstract void copyRecord(R from, R into);
+
+	/**
+	 * @return the binary format the file may be in, or null if it
+	 * is only ever JSON
+	 */
+	protected RecordBinaryCodec getBinaryCodec() {
+		return null;
+	}
+
+	/**
+	 * @brief Brings a record read from the file into the form its
+	 * record takes in memory, for files whose records change as they
+	 * are read. The merge base and the other program's records are
+	 * kept in this form, so a record only changed by reading it still
+	 * takes the other program's changes.
+	 * @return the record, or a new one if reading changes it
+	 */
+	protected JSONObject recordAsRead(JSONObject recordJson) {
+		return recordJson;
+	}
+
+	/**
+	 * @return true to write the file in the binary format rather
+	 * than JSON
+	 */
+	protected boolean isWritingBinary() {
+		return false;
+	}
+
+	/**
+	 * @return the file the records are kept in when written in the
+	 * other format, read instead when it is newer, or null if there
+	 * is only one format
+	 */
+	protected String getOtherFormatFileName() {
+		return null;
+	}
+
+	@Override
+	public List<R> readJson() {
+		Debug.info(getClass().getSimpleName() + ".readJson", "Attempting to read " + fileName);
+		try {
+			SyncState state = syncState();
+			String fingerprint = fingerprint();
+			JSONArray recordsJson = readRecordsJson(sourceFileName());
+			if(recordsJson != null) {
+				synchronized(state) {
+					remember(state, recordsJson, fingerprint);
+				}
+				Debug.info(getClass().getSimpleName() + ".readJson", "Read " + recordsJson.size() + " records from " + fileName);
+				List<R> records = new ArrayList<>(recordsJson.size());
+				for(Object recordJson : recordsJson) {
+					records.add(recordFromJson((JSONObject) recordJson));
+				}
+				return records;
+			}
+		} catch (IOException | ParseException | RuntimeException e) {
+			Debug.error(getClass().getSimpleName() + ".readJson", "Exception throw while reading " + fileName);
+			e.printStackTrace();
+		}
+
+		Debug.info(getClass().getSimpleName() + ".readJson", "No records were found in " + fileName);
+		return new ArrayList<>();
+	}
+
+	@Override
+	protected String toJsonString(List<R> records) {
+		return recordsToJson(records).toJSONString();
+	}
+
+	@Override
+	protected byte[] toFileContents(List<R> records) {
+		return encodeRecords(recordsToJson(records));
+	}
+
+	@SuppressWarnings("unchecked")
+	public JSONArray recordsToJson(List<R> records) {
+		JSONArray recordsJson = new JSONArray();
+		for(R record : records) {
+			recordsJson.add(recordToJson(record));
+		}
+		return recordsJson;
+	}
+
+	/**
+	 * @brief Converts records to the contents of the file, in the
+	 * binary format if it is written, otherwise JSON
+	 */
+	public byte[] encodeRecords(JSONArray recordsJson) {
+		RecordBinaryCodec codec = getBinaryCodec();
+		if(codec == null || !isWritingBinary()) {
+			return recordsJson.toJSONString().getBytes(Charset.defaultCharset());
+		}
+		ByteArrayOutputStream contents = new ByteArrayOutputStream();
+		try {
+			codec.writeRecords(new DataOutputStream(contents), recordsJson);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); // not thrown writing to memory
+		}
+		return contents.toByteArray();
+	}
+
+	/**
+	 * @return true if another program changed the file since this
+	 * program last read or wrote it
+	 */
+	public boolean hasExternalChange() {
+		String fingerprint = fingerprint();
+		SyncState state = syncState();
+		synchronized(state) {
+			return fingerprint != null && !fingerprint.equals(state.fingerprint);
+		}
+	}
+
+	/**
+	 * @brief Applies the changes another program made to the file to
+	 * the records in memory. Records this program changed as well keep
+	 * this program's version, and are saved over theirs on the next
+	 * write. Should be called on the thread that changes the records.
+	 * @param records the records in memory, changed in place
+	 * @return the number of records added, changed or removed
+	 */
+	public int mergeExternalChanges(List<R> records) {
+		try {
+			Closeable lock = storage.lock(fileName);
+			try {
+				return mergeExternalChangesLocked(records);
+			} finally {
+				lock.close();
+			}
+		} catch (IOException | ParseException | RuntimeException e) {
+			Debug.error(getClass().getSimpleName() + ".mergeExternalChanges", "Could not merge changes to " + fileName + ": " + e);
+			return 0;
+		}
+	}
+
+	/**
+	 * Called holding the file's lock
+	 */
+	private int mergeExternalChangesLocked(List<R> records) throws IOException, ParseException {
+		SyncState state = syncState();
+		String fingerprint = fingerprint();
+		Map<Object, JSONObject> base;
+		synchronized(state) {
+			if(fingerprint == null || fingerprint.equals(state.fingerprint)) {
+				return 0;
+			}
+			base = baseRecords(state);
+		}
+		JSONArray theirsJson = readRecordsJson();
+		Map<Object, JSONObject> theirs = byKey(theirsJson);
+
+		int changed = 0;
+		Iterator<R> iterator = records.iterator();
+		while(iterator.hasNext()) {
+			R record = iterator.next();
+			JSONObject ours = normalize(recordToJson(record));
+			Object key = recordKey(ours);
+			JSONObject theirRecord = theirs.remove(key);
+			switch(resolve(ours, theirRecord, base.get(key))) {
+			case TAKE_THEIRS:
+				if(!theirRecord.equals(ours)) {
+					copyRecord(recordFromJson(theirRecord), record);
+					changed++;
+				}
+				break;
+			case DROP:
+				iterator.remove();
+				changed++;
+				break;
+			default:
+				break;
+			}
+		}
+		// Left are the records only the file has
+		for(Map.Entry<Object, JSONObject> theirRecord : theirs.entrySet()) {
+			if(resolve(null, theirRecord.getValue(), base.get(theirRecord.getKey())) == Resolution.TAKE_THEIRS) {
+				records.add(recordFromJson(theirRecord.getValue()));
+				changed++;
+			}
+		}
+
+		synchronized(state) {
+			remember(state, theirsJson, fingerprint);
+		}
+		Debug.info(getClass().getSimpleName() + ".mergeExternalChanges", "Merged " + changed + " records changed by another program in " + fileName);
+		return changed;
+	}
+
+	/**
+	 * Merges the file's records into the contents when another program
+	 * changed it. A file that cannot be read is replaced.
+	 */
+	@Override
+	protected byte[] beforeCommit(byte[] contents) throws IOException {
+		SyncState state = syncState();
+		String fingerprint = fingerprint();
+		Map<Object, JSONObject> base;
+		synchronized(state) {
+			if(fingerprint == null || fingerprint.equals(state.fingerprint)) {
+				return contents;
+			}
+			try {
+				base = baseRecords(state);
+			} catch (IOException | ParseException e) {
+				base = new HashMap<>();
+			}
+		}
+
+		try {
+			JSONArray merged = mergeRecords(parseRecords(contents), readRecordsJson(), base);
+			Debug.info(getClass().getSimpleName() + ".beforeCommit", "Merged changes made by another program into " + fileName);
+			return encodeRecords(merged);
+		} catch (IOException | ParseException | RuntimeException e) {
+			Debug.warn(getClass().getSimpleName() + ".beforeCommit", "Replacing " + fileName + ", it could not be merged: " + e);
+			return contents;
+		}
+	}
+
+	/**
+	 * After a merge the records in memory are missing the other
+	 * program's changes, so the base is kept and the file is left
+	 * marked as changed until mergeExternalChanges catches them up.
+	 */
+	@Override
+	protected void afterCommit(byte[] contents, byte[] written) {
+		SyncState state = syncState();
+		if(contents != written) {
+			synchronized(state) {
+				state.fingerprint = null;
+			}
+			return;
+		}
+		String fingerprint = fingerprint();
+		synchronized(state) {
+			state.fingerprint = fingerprint;
+			state.baseContents = written;
+			state.base = null;
+		}
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * MERGING
+	 * ##################################
+	 * ##################################
+	 */
+	/**
+	 * @brief The three-way merge of a single record. Any of the
+	 * versions is null where the record does not exist.
+	 */
+	static Resolution resolve(Object ours, Object theirs, Object base) {
+		if(ours == null) {
+			// Added by them, or removed by us and left alone by them
+			return base != null && base.equals(theirs) ? Resolution.DROP : Resolution.TAKE_THEIRS;
+		}
+		if(theirs == null) {
+			// Added by us, or removed by them and left alone by us
+			return base != null && base.equals(ours) ? Resolution.DROP : Resolution.KEEP_OURS;
+		}
+		return ours.equals(base) ? Resolution.TAKE_THEIRS : Resolution.KEEP_OURS;
+	}
+
+	/**
+	 * @brief Merges whole files of records. Our records keep their
+	 * order, and records only they have follow in theirs.
+	 */
+	@SuppressWarnings("unchecked")
+	JSONArray mergeRecords(JSONArray ours, JSONArray theirs, Map<Object, JSONObject> base) {
+		Map<Object, JSONObject> theirRecords = byKey(theirs);
+		JSONArray merged = new JSONArray();
+		for(Object record : ours) {
+			JSONObject ourRecord = (JSONObject) record;
+			Object key = recordKey(ourRecord);
+			JSONObject theirRecord = theirRecords.remove(key);
+			Resolution resolution = resolve(ourRecord, theirRecord, base.get(key));
+			if(resolution == Resolution.KEEP_OURS) {
+				merged.add(ourRecord);
+			} else if(resolution == Resolution.TAKE_THEIRS) {
+				merged.add(theirRecord);
+			}
+		}
+		for(Map.Entry<Object, JSONObject> theirRecord : theirRecords.entrySet()) {
+			if(resolve(null, theirRecord.getValue(), base.get(theirRecord.getKey())) == Resolution.TAKE_THEIRS) {
+				merged.add(theirRecord.getValue());
+			}
+		}
+		return merged;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private SyncState syncState() {
+		return syncStates.computeIfAbsent(Arrays.asList(storage, fileName), key -> new SyncState());
+	}
+
+	/**
+	 * @return the size and modification time of the file, or null
+	 * if it does not exist
+	 */
+	private String fingerprint() {
+		if(!storage.exists(fileName)) {
+			return null;
+		}
+		return storage.size(fileName) + ":" + storage.lastModified(fileName);
+	}
+
+	/**
+	 * @return the records in the file as they are read, see recordAsRead,
+	 * or null if it does not exist
+	 */
+	private JSONArray readRecordsJson() throws IOException, ParseException {
+		return readRecordsJson(fileName);
+	}
+
+	private JSONArray readRecordsJson(String name) throws IOException, ParseException {
+		if(!storage.exists(name)) {
+			return null;
+		}
+		JSONArray recordsJson;
+		try (InputStream in = new BufferedInputStream(new MeteredInputStream(storage, name, getMetricName()))) {
+			recordsJson = readRecords(in);
+		}
+		for(int i = 0; i < recordsJson.size(); i++) {
+			JSONObject recordJson = (JSONObject) recordsJson.get(i);
+			JSONObject asRead = recordAsRead(recordJson);
+			if(asRead != recordJson) {
+				setRecord(recordsJson, i, normalize(asRead));
+			}
+		}
+		return recordsJson;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void setRecord(JSONArray recordsJson, int index, JSONObject recordJson) {
+		recordsJson.set(index, recordJson);
+	}
+
+	/**
+	 * @return the file to read the records from, the file in the other
+	 * format if it was written after this one. The first write after
+	 * switching formats replaces this file without merging the stale
+	 * records in it, as its fingerprint is remembered when reading.
+	 */
+	private String sourceFileName() {
+		String otherFileName = getOtherFormatFileName();
+		if(otherFileName == null || !storage.exists(otherFileName)) {
+			return fileName;
+		}
+		if(!storage.exists(fileName) || storage.lastModified(otherFileName) > storage.lastModified(fileName)) {
+			Debug.info(getClass().getSimpleName() + ".readJson", "Reading " + otherFileName + ", written after " + fileName);
+			return otherFileName;
+		}
+		return fileName;
+	}
+
+	/**
+	 * @param in supports mark, to look for the binary format's magic
+	 */
+	private JSONArray readRecords(InputStream in) throws IOException, ParseException {
+		RecordBinaryCodec codec = getBinaryCodec();
+		if(codec != null) {
+			in.mark(Integer.BYTES);
+			byte[] start = in.readNBytes(Integer.BYTES);
+			in.reset();
+			if(start.length == Integer.BYTES && ByteBuffer.wrap(start).getInt() == codec.getMagic()) {
+				return codec.readRecords(new DataInputStream(in));
+			}
+		}
+		return (JSONArray) new JSONParser().parse(new InputStreamReader(in, Charset.defaultCharset()));
+	}
+
+	private JSONArray parseRecords(byte[] contents) throws IOException, ParseException {
+		return readRecords(new ByteArrayInputStream(contents));
+	}
+
+	private void remember(SyncState state, JSONArray recordsJson, String fingerprint) {
+		state.base = byKey(recordsJson);
+		state.baseContents = null;
+		state.fingerprint = fingerprint;
+	}
+
+	/**
+	 * Called holding the state's lock
+	 */
+	private Map<Object, JSONObject> baseRecords(SyncState state) throws IOException, ParseException {
+		if(state.base == null) {
+			state.base = byKey(parseRecords(state.baseContents));
+			state.baseContents = null;
+		}
+		return state.base;
+	}
+
+	private Map<Object, JSONObject> byKey(JSONArray recordsJson) {
+		Map<Object, JSONObject> records = new LinkedHashMap<>();
+		if(recordsJson != null) {
+			for(Object record : recordsJson) {
+				records.put(recordKey((JSONObject) record), (JSONObject) record);
+			}
+		}
+		return records;
+	}
+
+	/**
+	 * Round trips a record through text so its numbers have the
+	 * same types as records read from the file
+	 */
+	private static JSONObject normalize(JSONObject recordJson) throws ParseException {
+		return (JSONObject) new JSONParser().parse(recordJson.toJSONString());
+	}
+}
@@ -0,0 +1,81 @@
+package io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * StorageBackend
+ *
+ * @author narlock
+ *
+ * @brief Where the JSON managers keep their files. Files are
+ * addressed by name, such as profiles.json, relative to the
+ * backend's root.
+ *
+ * The backend used by default is chosen once at startup from the
+ * system properties, see JsonManager.getDefaultStorage().
+ */
+public interface StorageBackend {
+
+	/**
+	 * @return true if a file with the name has been written
+	 */
+	boolean exists(String name);
+
+	/**
+	 * @brief Opens a file for reading.
+	 * @throws java.nio.file.NoSuchFileException if the file does not exist
+	 */
+	InputStream openInput(String name) throws IOException;
+
+	/**
+	 * @brief Opens a file for writing, replacing its contents.
+	 * The new contents only become visible once the stream is
+	 * closed, so readers never see a partially written file.
+	 */
+	OutputStream openOutput(String name) throws IOException;
+
+	/**
+	 * @brief Opens a file for appending, creating it if needed.
+	 * Used by logs that are never rewritten.
+	 */
+	OutputStream openAppend(String name) throws IOException;
+
+	/**
+	 * @return the size of the file in bytes, or 0 if it does not exist
+	 */
+	long size(String name);
+
+	/**
+	 * @brief Cuts a file down to its first size bytes. Used by logs
+	 * to drop a record left partially written by a crash.
+	 */
+	void truncate(String name, long size) throws IOException;
+
+	/**
+	 * @return when the file was last replaced, in milliseconds, or 0
+	 * if it does not exist. Only compared for changes, so the clock
+	 * it is measured with does not matter.
+	 */
+	long lastModified(String name);
+
+	/**
+	 * @brief Takes an exclusive lock on a file, waiting for it if
+	 * another thread or program holds it, until the returned lock is
+	 * closed. The lock is advisory: it only keeps out writers that
+	 * lock too. It may be taken again by the thread holding it.
+	 */
+	Closeable lock(String name) throws IOException;
+
+	/**
+	 * @brief Removes a file, doing nothing if it does not exist.
+	 */
+	void delete(String name) throws IOException;
+
+	/**
+	 * @return a description of where the files are kept, for logs
+	 */
+	String describe();
+}
@@ -0,0 +1,796 @@
+package io.sync;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import io.FileSystemStorageBackend;
+import io.JsonManager;
+import io.StorageBackend;
+import model.profile.Profile;
+import model.time.DailyFocus;
+import model.time.DailyFocusBlock;
+import model.time.DailyFocusEntry;
+import model.time.MonthFocus;
+import model.time.MonthFocusEntry;
+import resources.Debug;
+import util.VarInts;
+
+/**
+ * FocusSyncEngine
+ *
+ * @author narlock
+ *
+ * @brief Keeps the focus history and tokens of profiles used on
+ * several machines in step through a shared folder, such as a network
+ * drive or a folder kept by a sync tool. No server is needed.
+ *
+ * The daily and month focus times, total focus time and tokens of
+ * every profile are SyncCounters, with a share per device. Each sync
+ * records what changed on this device as its share, writes the shares
+ * that changed to a new numbered delta file in the device's folder of
+ * the shared folder, and merges the delta files other devices wrote
+ * since the last sync. Only new files are read, and only the changed
+ * records are updated, so a sync costs as much as what changed since
+ * the last one rather than the whole history.
+ *
+ * Profiles are matched by id. Focus history removed on one device is
+ * not removed on the others. The first sync of a device adopts the
+ * counters already in the shared folder, and only what the device has
+ * beyond them becomes its share, so history the devices have in common,
+ * such as a copied profile folder, is not counted twice. Sealed months
+ * of daily focus are left out of what is recorded after that, their
+ * counters keeping the values recorded before they were sealed, and are
+ * unsealed to apply a change from another device.
+ *
+ * Shared folder layout:
+ *   <shared folder>/<device id>/<sequence>.delta
+ *
+ * Delta file layout (big endian, numbers are VarInts unless noted):
+ *   header : int magic, short version, UTF device id, long sequence
+ *   body   : count, then count times UTF key, added, removed
+ *
+ * What this device knows is kept in sync.dat next to the JSON files.
+ * Each sync appends only the counters it changed to sync.journal, and
+ * sync.dat is rewritten once the journal has grown larger than it.
+ */
+public class FocusSyncEngine {
+
+	public static final String SYNC_DIRECTORY_PROPERTY = "tamostudy.sync.dir";
+	public static final int DEFAULT_SYNC_PERIOD_MILLIS = 60_000;
+
+	public static final String SYNC_STATE_FILE = "sync.dat";
+	public static final String SYNC_JOURNAL_FILE = "sync.journal";
+	public static final String DELTA_SUFFIX = ".delta";
+
+	public static final int STATE_MAGIC = 0x54535359; // "TSSY"
+	public static final int DELTA_MAGIC = 0x54535344; // "TSSD"
+	public static final short VERSION = 1;
+	public static final short STATE_VERSION = 2;
+
+	private static final int MAX_COUNT = 10_000_000;
+
+	private static final String DAILY_KEY = "d/";
+	private static final String MONTH_KEY = "m/";
+	private static final String TIME_KEY = "t/";
+	private static final String TOKENS_KEY = "k/";
+
+	private static FocusSyncEngine defaultEngine;
+
+	private final StorageBackend storage;
+	private final Path sharedDirectory;
+
+	private String stateFingerprint;
+	private String deviceId;
+	private long nextSequence;
+	private boolean adopted;
+	private Map<String, Long> importedSequences;
+	private Set<String> unexportedKeys;
+	private SyncCounters counters;
+	private Set<String> changedKeys;
+
+	/** The records' values as recordLocalChanges last saw them, or as apply will leave them */
+	private final Map<String, Long> knownValues = new HashMap<>();
+	/** The records' values to adopt the shared folder's counters against, until the first exchange */
+	private Map<String, Long> adoptionValues;
+
+	/**
+	 * @param storage where this device's sync.dat is kept
+	 * @param sharedDirectory the folder every device syncs through
+	 */
+	public FocusSyncEngine(StorageBackend storage, Path sharedDirectory) {
+		this.storage = storage;
+		this.sharedDirectory = sharedDirectory;
+	}
+
+	public FocusSyncEngine(Path sharedDirectory) {
+		this(JsonManager.getDefaultStorage(), sharedDirectory);
+	}
+
+	/**
+	 * @return the engine syncing the default storage through the folder
+	 * given by -Dtamostudy.sync.dir, or null when syncing is not set up
+	 */
+	public static synchronized FocusSyncEngine getDefault() {
+		String directory = System.getProperty(SYNC_DIRECTORY_PROPERTY);
+		if(directory == null || directory.isEmpty()) {
+			return null;
+		}
+		if(defaultEngine == null) {
+			defaultEngine = new FocusSyncEngine(Paths.get(directory));
+		}
+		return defaultEngine;
+	}
+
+	public Path getSharedDirectory() {
+		return sharedDirectory;
+	}
+
+	public synchronized String getDeviceId() throws IOException {
+		loadState();
+		return deviceId;
+	}
+
+	/**
+	 * @brief Records the changes made on this device, exchanges delta
+	 * files through the shared folder and applies what other devices
+	 * changed to the records, all on the calling thread.
+	 * @return the number of counters another device changed
+	 */
+	public int sync(List<Profile> profiles, List<DailyFocus> dailyFocusList, List<MonthFocus> monthFocusList) throws IOException {
+		recordLocalChanges(profiles, dailyFocusList, monthFocusList);
+		return apply(exchange(), profiles, dailyFocusList, monthFocusList);
+	}
+
+	/**
+	 * @brief First step of a sync: takes what changed in the records
+	 * since the last sync as this device's share. Only reads the
+	 * records, so it is called on the thread that changes them.
+	 * Before the first exchange of a device, the records are only
+	 * noted, to be adopted against the shared folder by exchange.
+	 * @return the number of counters this device changed
+	 */
+	public synchronized int recordLocalChanges(List<Profile> profiles, List<DailyFocus> dailyFocusList, List<MonthFocus> monthFocusList) throws IOException {
+		Closeable lock = storage.lock(SYNC_STATE_FILE);
+		try {
+			loadState();
+			if(!adopted) {
+				adoptionValues = modelValues(profiles, dailyFocusList, monthFocusList, true);
+				return 0;
+			}
+			int recorded = 0;
+			for(Map.Entry<String, Long> value : modelValues(profiles, dailyFocusList, monthFocusList, false).entrySet()) {
+				// Only counters whose record changed since the last sync are looked at
+				Long known = knownValues.put(value.getKey(), value.getValue());
+				if(known != null && known.longValue() == value.getValue()) {
+					continue;
+				}
+				if(counters.setValue(value.getKey(), deviceId, value.getValue())) {
+					unexportedKeys.add(value.getKey());
+					changedKeys.add(value.getKey());
+					recorded++;
+				}
+			}
+			if(recorded > 0) {
+				saveState();
+				Debug.info("FocusSyncEngine.recordLocalChanges", "Recorded " + recorded + " changes made on this device");
+			}
+			return recorded;
+		} finally {
+			lock.close();
+		}
+	}
+
+	/**
+	 * @brief Second step of a sync: writes this device's changed shares
+	 * to the shared folder and merges the delta files of other devices.
+	 * Does not touch the records, so it may run on any thread.
+	 * @return how much each counter changed by, to pass to apply
+	 */
+	public synchronized Map<String, Long> exchange() throws IOException {
+		Closeable lock = storage.lock(SYNC_STATE_FILE);
+		try {
+			loadState();
+			Map<String, Long> changes = new LinkedHashMap<>();
+			boolean stateChanged;
+			if(adopted) {
+				stateChanged = importDeltas(changes);
+			} else if(adoptionValues != null) {
+				importDeltas(new HashMap<>());
+				changes = adopt(adoptionValues);
+				stateChanged = true;
+			} else {
+				// Nothing is known of the records to adopt against yet
+				return changes;
+			}
+			adoptionValues = null;
+			for(Map.Entry<String, Long> change : changes.entrySet()) {
+				knownValues.computeIfPresent(change.getKey(), (key, value) -> value + change.getValue());
+			}
+			if(!unexportedKeys.isEmpty()) {
+				exportDelta();
+				stateChanged = true;
+			}
+			if(stateChanged) {
+				saveState();
+			}
+			return changes;
+		} finally {
+			lock.close();
+		}
+	}
+
+	/**
+	 * @brief Last step of a sync: adds what other devices changed to
+	 * the records, creating daily and month focus entries as needed.
+	 * Changes made to the records since recordLocalChanges are kept.
+	 * Counters of profiles this device does not have are skipped.
+	 * @return the number of counters applied
+	 */
+	public int apply(Map<String, Long> changes, List<Profile> profiles, List<DailyFocus> dailyFocusList, List<MonthFocus> monthFocusList) {
+		Map<Long, Map<LocalDate, DailyFocusEntry>> dailyEntries = new HashMap<>();
+		Map<Long, Map<YearMonth, MonthFocusEntry>> monthEntries = new HashMap<>();
+		int applied = 0;
+		for(Map.Entry<String, Long> change : changes.entrySet()) {
+			String key = change.getKey();
+			String[] parts = key.split("/");
+			long profileId = Long.parseLong(parts[1]);
+			long difference = change.getValue();
+			if(difference == 0) {
+				continue;
+			}
+			if(key.startsWith(TIME_KEY) || key.startsWith(TOKENS_KEY)) {
+				Profile profile = findProfile(profiles, profileId);
+				if(profile == null) {
+					continue;
+				}
+				if(key.startsWith(TIME_KEY)) {
+					profile.setTime(profile.getTime() + difference);
+				} else {
+					profile.setTokens(profile.getTokens() + difference);
+				}
+			} else if(key.startsWith(DAILY_KEY)) {
+				LocalDate date = LocalDate.parse(parts[2]);
+				// A sealed month changes as entries again, until it is sealed on the next load
+				if(findDailyFocus(dailyFocusList, profileId).unseal(YearMonth.from(date))) {
+					dailyEntries.remove(profileId);
+				}
+				DailyFocusEntry dailyFocusEntry = dailyEntries
+						.computeIfAbsent(profileId, id -> indexDailyFocus(dailyFocusList, id))
+						.computeIfAbsent(date, day -> addDailyFocusEntry(dailyFocusList, profileId, day));
+				dailyFocusEntry.setTime(dailyFocusEntry.getTime() + difference);
+			} else if(key.startsWith(MONTH_KEY)) {
+				MonthFocusEntry monthFocusEntry = monthEntries
+						.computeIfAbsent(profileId, id -> indexMonthFocus(monthFocusList, id))
+						.computeIfAbsent(YearMonth.parse(parts[2]), month -> addMonthFocusEntry(monthFocusList, profileId, month));
+				monthFocusEntry.setTime(monthFocusEntry.getTime() + difference);
+			} else {
+				Debug.warn("FocusSyncEngine.apply", "Skipping unknown counter " + key);
+				continue;
+			}
+			applied++;
+		}
+		if(applied > 0) {
+			Debug.info("FocusSyncEngine.apply", "Applied " + applied + " changes made on other devices");
+		}
+		return applied;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * COUNTERS
+	 * ##################################
+	 * ##################################
+	 */
+	public static String dailyKey(long profileId, LocalDate date) {
+		return DAILY_KEY + profileId + "/" + date;
+	}
+
+	public static String monthKey(long profileId, YearMonth month) {
+		return MONTH_KEY + profileId + "/" + month;
+	}
+
+	public static String timeKey(long profileId) {
+		return TIME_KEY + profileId;
+	}
+
+	public static String tokensKey(long profileId) {
+		return TOKENS_KEY + profileId;
+	}
+
+	/**
+	 * @param sealed true to decode the days of sealed months too
+	 * @return the value of every counter in the records, but for
+	 * the days of sealed months unless sealed is true
+	 */
+	private Map<String, Long> modelValues(List<Profile> profiles, List<DailyFocus> dailyFocusList, List<MonthFocus> monthFocusList, boolean sealed) {
+		Map<String, Long> values = new LinkedHashMap<>();
+		for(Profile profile : profiles) {
+			values.put(timeKey(profile.getId()), profile.getTime());
+			values.put(tokensKey(profile.getId()), profile.getTokens());
+		}
+		for(DailyFocus dailyFocus : dailyFocusList) {
+			List<DailyFocusEntry> entries = new ArrayList<>(dailyFocus.getDailyFocusEntries());
+			if(sealed) {
+				for(DailyFocusBlock block : dailyFocus.getSealedBlocks()) {
+					entries.addAll(block.toDailyFocusEntries());
+				}
+			}
+			for(DailyFocusEntry entry : entries) {
+				LocalDate date = LocalDate.of(entry.getYear().intValue(), entry.getMonth().intValue(), entry.getDay().intValue());
+				values.merge(dailyKey(dailyFocus.getProfileId(), date), entry.getTime(), Long::sum);
+			}
+		}
+		for(MonthFocus monthFocus : monthFocusList) {
+			for(MonthFocusEntry entry : monthFocus.getMonthFocusEntries()) {
+				YearMonth month = YearMonth.of(entry.getYear().intValue(), entry.getMonth().intValue());
+				values.merge(monthKey(monthFocus.getProfileId(), month), entry.getTime(), Long::sum);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * First exchange of a device, once the shared folder's deltas are
+	 * imported: a counter the records have more of than the shared
+	 * folder becomes this device's share of the difference, and one
+	 * the shared folder has more of is returned to add to the records.
+	 * @return how much each counter has to change by in the records
+	 */
+	private Map<String, Long> adopt(Map<String, Long> values) {
+		Map<String, Long> changes = new LinkedHashMap<>();
+		Set<String> keys = new LinkedHashSet<>(values.keySet());
+		keys.addAll(counters.getKeys());
+		for(String key : keys) {
+			long value = values.getOrDefault(key, 0L);
+			long shared = counters.getValue(key);
+			if(value > shared) {
+				counters.setValue(key, deviceId, value);
+				unexportedKeys.add(key);
+				changedKeys.add(key);
+			} else if(shared > value) {
+				changes.put(key, shared - value);
+			}
+			if(values.containsKey(key)) {
+				knownValues.put(key, value);
+			}
+		}
+		adopted = true;
+		Debug.info("FocusSyncEngine.adopt", "Adopted " + changes.size() + " counters of the shared folder, "
+				+ unexportedKeys.size() + " counters are this device's own");
+		return changes;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * DELTA FILES
+	 * ##################################
+	 * ##################################
+	 */
+	private static String deltaName(long sequence) {
+		return String.format("%010d", sequence) + DELTA_SUFFIX;
+	}
+
+	/**
+	 * Reads the delta files other devices wrote since the last sync.
+	 * A file that cannot be read stops the device's files there, and
+	 * is read again on the next sync, as it may still be arriving.
+	 */
+	private boolean importDeltas(Map<String, Long> changes) throws IOException {
+		if(!Files.isDirectory(sharedDirectory)) {
+			return false;
+		}
+		boolean imported = false;
+		try (DirectoryStream<Path> devices = Files.newDirectoryStream(sharedDirectory, Files::isDirectory)) {
+			for(Path deviceDirectory : devices) {
+				String device = deviceDirectory.getFileName().toString();
+				if(device.equals(deviceId)) {
+					continue;
+				}
+				StorageBackend deviceStorage = new FileSystemStorageBackend(deviceDirectory);
+				long sequence = importedSequences.getOrDefault(device, 0L) + 1;
+				while(deviceStorage.exists(deltaName(sequence))) {
+					try {
+						readDelta(deviceStorage, device, sequence, changes);
+					} catch (IOException e) {
+						Debug.warn("FocusSyncEngine.importDeltas", "Could not read " + deviceDirectory.resolve(deltaName(sequence)) + ", trying again next sync: " + e);
+						break;
+					}
+					importedSequences.put(device, sequence);
+					imported = true;
+					sequence++;
+				}
+			}
+		}
+		return imported;
+	}
+
+	private void readDelta(StorageBackend deviceStorage, String device, long sequence, Map<String, Long> changes) throws IOException {
+		List<String> keys = new ArrayList<>();
+		List<long[]> shares = new ArrayList<>();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(deviceStorage.openInput(deltaName(sequence))))) {
+			if(in.readInt() != DELTA_MAGIC) {
+				throw new IOException("Not a delta file");
+			}
+			in.readShort(); // version
+			if(!device.equals(in.readUTF()) || in.readLong() != sequence) {
+				throw new IOException("Delta file is in the wrong place");
+			}
+			int count = VarInts.readCount(in, MAX_COUNT);
+			for(int i = 0; i < count; i++) {
+				keys.add(in.readUTF());
+				shares.add(new long[] { VarInts.readUnsignedLong(in), VarInts.readUnsignedLong(in) });
+			}
+		}
+		// Merged once the whole file is read, so a damaged file changes nothing
+		for(int i = 0; i < keys.size(); i++) {
+			String key = keys.get(i);
+			long before = counters.getValue(key);
+			if(counters.merge(key, device, shares.get(i)[0], shares.get(i)[1])) {
+				changes.merge(key, counters.getValue(key) - before, Long::sum);
+				changedKeys.add(key);
+			}
+		}
+	}
+
+	private void exportDelta() throws IOException {
+		StorageBackend deviceStorage = new FileSystemStorageBackend(sharedDirectory.resolve(deviceId));
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(deviceStorage.openOutput(deltaName(nextSequence))))) {
+			out.writeInt(DELTA_MAGIC);
+			out.writeShort(VERSION);
+			out.writeUTF(deviceId);
+			out.writeLong(nextSequence);
+			VarInts.writeUnsignedLong(out, unexportedKeys.size());
+			for(String key : unexportedKeys) {
+				SyncCounters.Share share = counters.getShare(key, deviceId);
+				out.writeUTF(key);
+				VarInts.writeUnsignedLong(out, share.getAdded());
+				VarInts.writeUnsignedLong(out, share.getRemoved());
+			}
+		}
+		Debug.info("FocusSyncEngine.exportDelta", "Wrote " + unexportedKeys.size() + " changes to " + deltaName(nextSequence));
+		unexportedKeys.clear();
+		nextSequence++;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * SYNC STATE
+	 * ##################################
+	 * ##################################
+	 */
+	/**
+	 * Loads sync.dat and sync.journal unless what is in memory is
+	 * current. A device without them gets a new id.
+	 *
+	 * sync.dat layout (big endian, numbers are VarInts unless noted):
+	 *   header   : int magic, short version, UTF device id, long next sequence,
+	 *              boolean adopted
+	 *   devices  : count, then count times UTF device id, last imported sequence
+	 *   unsent   : count, then count times UTF key
+	 *   counters : count, then count times UTF key, share count,
+	 *              then share count times device index, added, removed
+	 *
+	 * sync.journal is a list of entries, each its length then:
+	 *   header   : long next sequence, boolean adopted
+	 *   devices  : count, then count times UTF device id, last imported sequence
+	 *   unsent   : count, then count times UTF key
+	 *   changed  : count, then count times UTF key, share count,
+	 *              then share count times UTF device id, added, removed
+	 */
+	private void loadState() throws IOException {
+		String fingerprint = stateFingerprint();
+		if(counters != null && fingerprint.equals(stateFingerprint)) {
+			return;
+		}
+		importedSequences = new HashMap<>();
+		unexportedKeys = new LinkedHashSet<>();
+		counters = new SyncCounters();
+		changedKeys = new HashSet<>();
+		knownValues.clear();
+		if(!storage.exists(SYNC_STATE_FILE)) {
+			deviceId = UUID.randomUUID().toString();
+			nextSequence = 1;
+			adopted = false;
+			Debug.info("FocusSyncEngine.loadState", "Syncing as new device " + deviceId);
+			saveState();
+			return;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(storage.openInput(SYNC_STATE_FILE)))) {
+			if(in.readInt() != STATE_MAGIC) {
+				throw new IOException(SYNC_STATE_FILE + " has an invalid header");
+			}
+			short version = in.readShort();
+			deviceId = in.readUTF();
+			nextSequence = in.readLong();
+			// Devices that synced before adopting existed have synced already
+			adopted = version < STATE_VERSION || in.readBoolean();
+			List<String> devices = new ArrayList<>();
+			int deviceCount = VarInts.readCount(in, MAX_COUNT);
+			for(int i = 0; i < deviceCount; i++) {
+				String device = in.readUTF();
+				devices.add(device);
+				long sequence = VarInts.readUnsignedLong(in);
+				if(sequence > 0) {
+					importedSequences.put(device, sequence);
+				}
+			}
+			int unexportedCount = VarInts.readCount(in, MAX_COUNT);
+			for(int i = 0; i < unexportedCount; i++) {
+				unexportedKeys.add(in.readUTF());
+			}
+			int keyCount = VarInts.readCount(in, MAX_COUNT);
+			for(int i = 0; i < keyCount; i++) {
+				String key = in.readUTF();
+				int shareCount = VarInts.readCount(in, deviceCount);
+				for(int j = 0; j < shareCount; j++) {
+					String device = devices.get(VarInts.readCount(in, deviceCount - 1));
+					counters.merge(key, device, VarInts.readUnsignedLong(in), VarInts.readUnsignedLong(in));
+				}
+			}
+		}
+		if(!loadJournal()) {
+			// The last entry was cut short, so later entries could not be read after it
+			Debug.warn("FocusSyncEngine.loadState", "Dropping the unfinished end of " + SYNC_JOURNAL_FILE);
+			writeState();
+			fingerprint = stateFingerprint();
+		}
+		stateFingerprint = fingerprint;
+	}
+
+	/**
+	 * @return false if the last entry is incomplete, and was left out
+	 */
+	private boolean loadJournal() throws IOException {
+		if(!storage.exists(SYNC_JOURNAL_FILE)) {
+			return true;
+		}
+		byte[] journal;
+		try (InputStream in = storage.openInput(SYNC_JOURNAL_FILE)) {
+			journal = in.readAllBytes();
+		}
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(journal));
+		while(in.available() > 0) {
+			byte[] entry;
+			try {
+				entry = new byte[VarInts.readCount(in, in.available())];
+				in.readFully(entry);
+			} catch (IOException e) {
+				return false;
+			}
+			// Read whole, so a damaged entry changes nothing
+			DataInputStream entryIn = new DataInputStream(new ByteArrayInputStream(entry));
+			long entryNextSequence = entryIn.readLong();
+			boolean entryAdopted = entryIn.readBoolean();
+			Map<String, Long> entrySequences = new HashMap<>();
+			int deviceCount = VarInts.readCount(entryIn, MAX_COUNT);
+			for(int i = 0; i < deviceCount; i++) {
+				entrySequences.put(entryIn.readUTF(), VarInts.readUnsignedLong(entryIn));
+			}
+			Set<String> entryUnexportedKeys = new LinkedHashSet<>();
+			int unexportedCount = VarInts.readCount(entryIn, MAX_COUNT);
+			for(int i = 0; i < unexportedCount; i++) {
+				entryUnexportedKeys.add(entryIn.readUTF());
+			}
+			SyncCounters entryCounters = new SyncCounters();
+			int keyCount = VarInts.readCount(entryIn, MAX_COUNT);
+			for(int i = 0; i < keyCount; i++) {
+				String key = entryIn.readUTF();
+				int shareCount = VarInts.readCount(entryIn, MAX_COUNT);
+				for(int j = 0; j < shareCount; j++) {
+					entryCounters.merge(key, entryIn.readUTF(), VarInts.readUnsignedLong(entryIn), VarInts.readUnsignedLong(entryIn));
+				}
+			}
+
+			nextSequence = entryNextSequence;
+			adopted = entryAdopted;
+			importedSequences.putAll(entrySequences);
+			unexportedKeys = entryUnexportedKeys;
+			for(String key : entryCounters.getKeys()) {
+				for(Map.Entry<String, SyncCounters.Share> share : entryCounters.getShares(key).entrySet()) {
+					counters.merge(key, share.getKey(), share.getValue().getAdded(), share.getValue().getRemoved());
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Appends the counters changed since the state was last saved to
+	 * sync.journal, or rewrites sync.dat once the journal has grown
+	 * larger than it, so a save costs as much as what changed
+	 */
+	private void saveState() throws IOException {
+		if(!storage.exists(SYNC_STATE_FILE) || storage.exists(SYNC_JOURNAL_FILE) && storage.size(SYNC_JOURNAL_FILE) > storage.size(SYNC_STATE_FILE)) {
+			writeState();
+		} else {
+			appendJournal();
+		}
+		changedKeys.clear();
+		stateFingerprint = stateFingerprint();
+	}
+
+	private void appendJournal() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream entry = new DataOutputStream(bytes);
+		entry.writeLong(nextSequence);
+		entry.writeBoolean(adopted);
+		VarInts.writeUnsignedLong(entry, importedSequences.size());
+		for(Map.Entry<String, Long> sequence : importedSequences.entrySet()) {
+			entry.writeUTF(sequence.getKey());
+			VarInts.writeUnsignedLong(entry, sequence.getValue());
+		}
+		VarInts.writeUnsignedLong(entry, unexportedKeys.size());
+		for(String key : unexportedKeys) {
+			entry.writeUTF(key);
+		}
+		VarInts.writeUnsignedLong(entry, changedKeys.size());
+		for(String key : changedKeys) {
+			Map<String, SyncCounters.Share> shares = counters.getShares(key);
+			entry.writeUTF(key);
+			VarInts.writeUnsignedLong(entry, shares.size());
+			for(Map.Entry<String, SyncCounters.Share> share : shares.entrySet()) {
+				entry.writeUTF(share.getKey());
+				VarInts.writeUnsignedLong(entry, share.getValue().getAdded());
+				VarInts.writeUnsignedLong(entry, share.getValue().getRemoved());
+			}
+		}
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(storage.openAppend(SYNC_JOURNAL_FILE)))) {
+			VarInts.writeUnsignedLong(out, bytes.size());
+			bytes.writeTo(out);
+		}
+	}
+
+	/**
+	 * Rewrites sync.dat with every counter, and starts the journal over
+	 */
+	private void writeState() throws IOException {
+		// Every device with a share or an imported file, indexed
+		Map<String, Integer> devices = new LinkedHashMap<>();
+		devices.put(deviceId, 0);
+		for(String device : importedSequences.keySet()) {
+			devices.putIfAbsent(device, devices.size());
+		}
+		for(String key : counters.getKeys()) {
+			for(String device : counters.getShares(key).keySet()) {
+				devices.putIfAbsent(device, devices.size());
+			}
+		}
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(storage.openOutput(SYNC_STATE_FILE)))) {
+			out.writeInt(STATE_MAGIC);
+			out.writeShort(STATE_VERSION);
+			out.writeUTF(deviceId);
+			out.writeLong(nextSequence);
+			out.writeBoolean(adopted);
+			VarInts.writeUnsignedLong(out, devices.size());
+			for(String device : devices.keySet()) {
+				out.writeUTF(device);
+				VarInts.writeUnsignedLong(out, importedSequences.getOrDefault(device, 0L));
+			}
+			VarInts.writeUnsignedLong(out, unexportedKeys.size());
+			for(String key : unexportedKeys) {
+				out.writeUTF(key);
+			}
+			VarInts.writeUnsignedLong(out, counters.getKeys().size());
+			for(String key : counters.getKeys()) {
+				Map<String, SyncCounters.Share> shares = counters.getShares(key);
+				out.writeUTF(key);
+				VarInts.writeUnsignedLong(out, shares.size());
+				for(Map.Entry<String, SyncCounters.Share> share : shares.entrySet()) {
+					VarInts.writeUnsignedLong(out, devices.get(share.getKey()));
+					VarInts.writeUnsignedLong(out, share.getValue().getAdded());
+					VarInts.writeUnsignedLong(out, share.getValue().getRemoved());
+				}
+			}
+		}
+		if(storage.exists(SYNC_JOURNAL_FILE)) {
+			storage.delete(SYNC_JOURNAL_FILE);
+		}
+	}
+
+	private String stateFingerprint() {
+		return storage.size(SYNC_STATE_FILE) + ":" + storage.lastModified(SYNC_STATE_FILE)
+				+ ":" + storage.size(SYNC_JOURNAL_FILE) + ":" + storage.lastModified(SYNC_JOURNAL_FILE);
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private static Profile findProfile(List<Profile> profiles, long profileId) {
+		for(Profile profile : profiles) {
+			if(profile.getId() == profileId) {
+				return profile;
+			}
+		}
+		return null;
+	}
+
+	private static DailyFocus findDailyFocus(List<DailyFocus> dailyFocusList, long profileId) {
+		for(DailyFocus dailyFocus : dailyFocusList) {
+			if(dailyFocus.getProfileId() == profileId) {
+				return dailyFocus;
+			}
+		}
+		DailyFocus dailyFocus = new DailyFocus(profileId, new ArrayList<>());
+		dailyFocusList.add(dailyFocus);
+		return dailyFocus;
+	}
+
+	private static MonthFocus findMonthFocus(List<MonthFocus> monthFocusList, long profileId) {
+		for(MonthFocus monthFocus : monthFocusList) {
+			if(monthFocus.getProfileId() == profileId) {
+				return monthFocus;
+			}
+		}
+		MonthFocus monthFocus = new MonthFocus(profileId, new ArrayList<>());
+		monthFocusList.add(monthFocus);
+		return monthFocus;
+	}
+
+	private static Map<LocalDate, DailyFocusEntry> indexDailyFocus(List<DailyFocus> dailyFocusList, long profileId) {
+		Map<LocalDate, DailyFocusEntry> entries = new HashMap<>();
+		for(DailyFocusEntry entry : findDailyFocus(dailyFocusList, profileId).getDailyFocusEntries()) {
+			entries.putIfAbsent(LocalDate.of(entry.getYear().intValue(), entry.getMonth().intValue(), entry.getDay().intValue()), entry);
+		}
+		return entries;
+	}
+
+	private static Map<YearMonth, MonthFocusEntry> indexMonthFocus(List<MonthFocus> monthFocusList, long profileId) {
+		Map<YearMonth, MonthFocusEntry> entries = new HashMap<>();
+		for(MonthFocusEntry entry : findMonthFocus(monthFocusList, profileId).getMonthFocusEntries()) {
+			entries.putIfAbsent(YearMonth.of(entry.getYear().intValue(), entry.getMonth().intValue()), entry);
+		}
+		return entries;
+	}
+
+	/**
+	 * Entries are added to a copy of the list, as it may be unmodifiable
+	 */
+	private static DailyFocusEntry addDailyFocusEntry(List<DailyFocus> dailyFocusList, long profileId, LocalDate date) {
+		DailyFocus dailyFocus = findDailyFocus(dailyFocusList, profileId);
+		DailyFocusEntry entry = new DailyFocusEntry((long) date.getDayOfMonth(), (long) date.getMonthValue(), (long) date.getYear(), 0L);
+		List<DailyFocusEntry> entries = new ArrayList<>(dailyFocus.getDailyFocusEntries());
+		entries.add(entry);
+		dailyFocus.setDailyFocusEntries(entries);
+		return entry;
+	}
+
+	private static MonthFocusEntry addMonthFocusEntry(List<MonthFocus> monthFocusList, long profileId, YearMonth month) {
+		MonthFocus monthFocus = findMonthFocus(monthFocusList, profileId);
+		MonthFocusEntry entry = new MonthFocusEntry((long) month.getMonthValue(), (long) month.getYear(), 0L);
+		List<MonthFocusEntry> entries = new ArrayList<>(monthFocus.getMonthFocusEntries());
+		entries.add(entry);
+		monthFocus.setMonthFocusEntries(entries);
+		return entry;
+	}
+}
@@ -0,0 +1,116 @@
+package io.sync;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SyncCounters
+ *
+ * @author narlock
+ *
+ * @brief Counters, such as the focus time of a day, that several
+ * devices change independently and that merge without conflicts.
+ *
+ * Every device keeps its own share of a counter as two totals that
+ * only grow: what it added and what it took away. The value is the
+ * sum of every device's shares. Merging keeps the larger of each
+ * total, so merges can happen in any order, more than once, and
+ * always end at the same values on every device.
+ */
+public class SyncCounters {
+
+	/**
+	 * One device's share of a counter
+	 */
+	public static final class Share {
+		private long added;
+		private long removed;
+
+		public Share(long added, long removed) {
+			this.added = added;
+			this.removed = removed;
+		}
+
+		public long getAdded() {
+			return added;
+		}
+
+		public long getRemoved() {
+			return removed;
+		}
+
+		public long getValue() {
+			return added - removed;
+		}
+	}
+
+	private final Map<String, Map<String, Share>> counters = new HashMap<>();
+
+	/**
+	 * @return the value of the counter, the sum of every
+	 * device's share, or 0 if no device changed it
+	 */
+	public long getValue(String key) {
+		Map<String, Share> shares = counters.get(key);
+		if(shares == null) {
+			return 0;
+		}
+		long value = 0;
+		for(Share share : shares.values()) {
+			value += share.getValue();
+		}
+		return value;
+	}
+
+	/**
+	 * @return the device's share, or null if it never changed the counter
+	 */
+	public Share getShare(String key, String device) {
+		Map<String, Share> shares = counters.get(key);
+		return shares == null ? null : shares.get(device);
+	}
+
+	/**
+	 * @return the devices with a share of the counter
+	 */
+	public Map<String, Share> getShares(String key) {
+		Map<String, Share> shares = counters.get(key);
+		return shares == null ? new HashMap<>() : shares;
+	}
+
+	public Set<String> getKeys() {
+		return counters.keySet();
+	}
+
+	/**
+	 * @brief Changes the device's share so the counter has the value,
+	 * keeping every other device's share.
+	 * @return true if the share changed
+	 */
+	public boolean setValue(String key, String device, long value) {
+		long difference = value - getValue(key);
+		if(difference == 0) {
+			return false;
+		}
+		Share share = counters.computeIfAbsent(key, k -> new HashMap<>()).computeIfAbsent(device, d -> new Share(0, 0));
+		if(difference > 0) {
+			share.added += difference;
+		} else {
+			share.removed -= difference;
+		}
+		return true;
+	}
+
+	/**
+	 * @brief Merges a device's share as seen elsewhere.
+	 * @return true if the counter's value changed
+	 */
+	public boolean merge(String key, String device, long added, long removed) {
+		Share share = counters.computeIfAbsent(key, k -> new HashMap<>()).computeIfAbsent(device, d -> new Share(0, 0));
+		long value = share.getValue();
+		share.added = Math.max(share.added, added);
+		share.removed = Math.max(share.removed, removed);
+		return share.getValue() != value;
+	}
+}
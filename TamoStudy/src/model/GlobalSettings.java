@@ -1,6 +1,5 @@
 package model;
 
-import model.language.EnglishLanguage;
 import model.language.Language;
 
 /**
@@ -36,7 +35,7 @@ public class GlobalSettings {
 	private Boolean receiveUpdateNotifications;
 	
 	public GlobalSettings() {
-		this.language = new EnglishLanguage();
+		this.language = Language.getDefault();
 		this.defaultLocalProfile = -1;
 		this.receiveUpdateNotifications = true;
 	}
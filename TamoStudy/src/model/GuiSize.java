@@ -18,10 +18,16 @@ import components.border.BubbleBorder;
 import resources.Debug;
 import resources.ImageResourceHandler;
 import resources.Theme;
+import resources.metrics.MetricTimer;
+import resources.metrics.MetricsRegistry;
 
 import static resources.Constants.*;
 
 public class GuiSize {
+	
+	private static final MetricTimer imageDecodeTimer = MetricsRegistry.getDefault().timer("image.decode");
+	private static final MetricTimer imageScaleTimer = MetricsRegistry.getDefault().timer("image.scale");
+	
 	public int index;
 	
 	/*
@@ -96,6 +102,7 @@ public class GuiSize {
 	 * ##################################
 	 */
 	public Dimension hoursInPastDimension;
+	public Dimension focusChartDimension;
 	public ImageIcon grayIcon;
 	public ImageIcon green1Icon;
 	public ImageIcon green2Icon;
@@ -179,6 +186,7 @@ public class GuiSize {
 		itemMenuDimension = scaleDimension(ITEM_MENU_DIMENSION, scale);
 		
 		hoursInPastDimension = scaleDimension(HOURS_IN_PAST_DIMENSION, scale);
+		focusChartDimension = scaleDimension(FOCUS_CHART_DIMENSION, scale);
 		grayIcon = scaleImageIcon(GRAY_ICON, scale * (2.0 / 4.0));
 		green1Icon = scaleImageIcon(GREEN_1_ICON, scale * (2.0 / 4.0));
 		green2Icon = scaleImageIcon(GREEN_2_ICON, scale * (2.0 / 4.0));
@@ -248,30 +256,34 @@ public class GuiSize {
 	
 	public Image getTamoImage(int indicator, String status) {
 		double scale = getScaleFromSize(index);
-		ImageResourceHandler imageResourceHandler = new ImageResourceHandler();
-		Image tamoImage = imageResourceHandler.readImageFromUrl("TAMO_" + status + "_" + indicator + ".png");
+		Image tamoImage = decodeImage("TAMO_" + status + "_" + indicator + ".png");
 		Debug.info("GuiSize.getTamoImage", "tamoImage = " + tamoImage + ", index = " + index);
 		return scaleImage(tamoImage, scale);
 	}
 	
 	public Image getBackgroundImage(long indicator) {
 		double scale = getScaleFromSize(index);
-		ImageResourceHandler imageResourceHandler = new ImageResourceHandler();
-		Image backgroundImage = imageResourceHandler.readImageFromUrl("BACKGROUND_" + indicator + ".png");
+		Image backgroundImage = decodeImage("BACKGROUND_" + indicator + ".png");
 		return scaleImage(backgroundImage, scale);
 	}
 	
 	public Image getBorderImage(long indicator) {
 		double scale = getScaleFromSize(index);
-		ImageResourceHandler imageResourceHandler = new ImageResourceHandler();
 		String indicatorName = getBorderNameByIndicator(indicator);
 		
 		Debug.info("GuiSize.getBorderImage", "Getting border image: BORDER_" + indicatorName + ".png");
 		
-		Image borderImage = imageResourceHandler.readImageFromUrl("BORDER_" + indicatorName + ".png");
+		Image borderImage = decodeImage("BORDER_" + indicatorName + ".png");
 		return scaleImage(borderImage, scale);
 	}
 	
+	private Image decodeImage(String url) {
+		long start = imageDecodeTimer.start();
+		Image image = new ImageResourceHandler().readImageFromUrl(url);
+		imageDecodeTimer.stop(start);
+		return image;
+	}
+	
 	public ImageIcon getTamoStudyLogoImage() {
 		if(index == 0) {
 			// Small Image
@@ -294,9 +306,8 @@ public class GuiSize {
 	 */
 	public Image getKathImage(long indicator) {
 		double scale = getScaleFromSize(index);
-		ImageResourceHandler imageResourceHandler = new ImageResourceHandler();
 		String indicatorName = indicator == 0 ? "SHOP" : "MSG";
-		Image borderImage = imageResourceHandler.readImageFromUrl("KATH_" + indicatorName + ".png");
+		Image borderImage = decodeImage("KATH_" + indicatorName + ".png");
 		return scaleImage(borderImage, scale);
 	}
 	
@@ -421,21 +432,13 @@ public class GuiSize {
 
 	public Image scaleImage(Image originalImage, double scale) {
 		if(scale == 1) { return originalImage; }
-		
-	    int scaledWidth = (int) (originalImage.getWidth(null) * scale);
-	    int scaledHeight = (int) (originalImage.getHeight(null) * scale);
-	    Image scaledImage = originalImage.getScaledInstance(scaledWidth, scaledHeight, Image.SCALE_SMOOTH);
-	    return scaledImage;
+		return scaleImageNow(originalImage, scale);
 	}
 	
 	public static Image scaleImage(Image originalImage, GuiSize guiSize) {
 		double scale = getScaleFromIndex(guiSize.index);
 		if(scale == 1) { return originalImage; }
-		
-	    int scaledWidth = (int) (originalImage.getWidth(null) * scale);
-	    int scaledHeight = (int) (originalImage.getHeight(null) * scale);
-	    Image scaledImage = originalImage.getScaledInstance(scaledWidth, scaledHeight, Image.SCALE_SMOOTH);
-	    return scaledImage;
+		return scaleImageNow(originalImage, scale);
 	}
 
 	public int scaleInteger(int originalInteger, double scale) {
@@ -509,6 +512,21 @@ public class GuiSize {
         return grayscaleIcon;
     }
 	
+	/**
+	 * @brief getScaledInstance only scales the image once it is first
+	 * drawn. The ImageIcon waits for the scaled image to load, so the
+	 * scaling happens here, where it is timed, and not on the first
+	 * paint.
+	 */
+	private static Image scaleImageNow(Image originalImage, double scale) {
+	    long start = imageScaleTimer.start();
+	    int scaledWidth = (int) (originalImage.getWidth(null) * scale);
+	    int scaledHeight = (int) (originalImage.getHeight(null) * scale);
+	    Image scaledImage = new ImageIcon(originalImage.getScaledInstance(scaledWidth, scaledHeight, Image.SCALE_SMOOTH)).getImage();
+	    imageScaleTimer.stop(start);
+	    return scaledImage;
+	}
+	
 	
 	/*
 	 * ##################################
@@ -0,0 +1,120 @@
+package model.achievement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+
+import gui.TamoStudyGUI;
+import model.profile.Profile;
+import resources.Debug;
+
+/**
+ * AchievementEngine
+ *
+ * @author narlock
+ *
+ * @brief Grants achievements to a profile as events are published.
+ *
+ * Rules are indexed by the event types they listen to, so publishing
+ * an event only evaluates the rules that can be earned by it, and
+ * earned achievements are checked against the profile's achievement
+ * bitset. All achievements earned by one call to publish
+ * are granted together: the profile is saved once and a single
+ * notification lists every achievement and the tokens earned.
+ */
+public class AchievementEngine {
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * ATTRIBUTES
+	 * ##################################
+	 * ##################################
+	 */
+	private Profile profile;
+	private List<AchievementRule> rules;
+	private EnumMap<AchievementEvent.Type, List<AchievementRule>> rulesByEventType;
+
+	public AchievementEngine(Profile profile) {
+		this(profile, AchievementRules.RULES);
+	}
+
+	public AchievementEngine(Profile profile, List<AchievementRule> rules) {
+		this.profile = profile;
+		this.rules = rules;
+
+		rulesByEventType = new EnumMap<>(AchievementEvent.Type.class);
+		for(AchievementEvent.Type type : AchievementEvent.Type.values()) {
+			rulesByEventType.put(type, new ArrayList<>());
+		}
+		for(AchievementRule rule : rules) {
+			for(AchievementEvent.Type type : rule.getEventTypes()) {
+				rulesByEventType.get(type).add(rule);
+			}
+		}
+	}
+
+	/**
+	 * @brief Evaluates the rules listening to the given events and
+	 * grants the ones that are met, adding the achievement and its
+	 * tokens to the profile. Nothing is saved or displayed.
+	 * @return the rules that were newly earned, in order earned
+	 */
+	public List<AchievementRule> evaluate(AchievementEvent... events) {
+		List<AchievementRule> newlyEarned = new ArrayList<>();
+		for(AchievementEvent event : events) {
+			for(AchievementRule rule : rulesByEventType.get(event.getType())) {
+				if(!profile.hasAchievement(rule.getId()) && rule.isMetBy(profile, event)) {
+					profile.addAchievement(rule.getId());
+					newlyEarned.add(rule);
+				}
+			}
+		}
+
+		if(newlyEarned.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		long tokensEarned = 0;
+		for(AchievementRule rule : newlyEarned) {
+			Debug.info("AchievementEngine.evaluate", "Profile " + profile.getName() + " has earned achievement " + rule.getId() + ".");
+			tokensEarned += rule.getTokens();
+		}
+		profile.setTokens(profile.getTokens() + tokensEarned);
+		return newlyEarned;
+	}
+
+	/**
+	 * @brief Evaluates the events, then saves the profiles and
+	 * notifies the user once if any achievement was earned.
+	 * @return true if an achievement was earned and the profiles were saved
+	 */
+	public boolean publish(TamoStudyGUI gui, AchievementEvent... events) {
+		List<AchievementRule> newlyEarned = evaluate(events);
+		if(newlyEarned.isEmpty()) {
+			return false;
+		}
+
+		// Display achievement notification if setting is enabled
+		if(profile.getSettings().getReceiveNotifications()) {
+			gui.showAchievementsEarned(profile.getSettings().getLanguage(), newlyEarned);
+		}
+
+		// Ensure Changes are earned
+		gui.getProfileJsonManager().writeJsonToFileAsync(gui.getProfiles());
+		return true;
+	}
+
+	public boolean isEarned(int indicator) {
+		return profile.hasAchievement(indicator);
+	}
+
+	public int getEarnedCount() {
+		return profile.getAchievementCount();
+	}
+
+	public List<AchievementRule> getRules() {
+		return rules;
+	}
+}
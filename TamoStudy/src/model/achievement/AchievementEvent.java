@@ -0,0 +1,69 @@
+package model.achievement;
+
+/**
+ * AchievementEvent
+ *
+ * @author narlock
+ *
+ * @brief Something that happened to a profile that may
+ * earn an achievement. The value carries the detail of the
+ * event: the indicator of the item bought or equipped, or
+ * the number of days in the current streak.
+ */
+public class AchievementEvent {
+
+	public enum Type {
+		SESSION_COMPLETED,
+		STREAK_ADVANCED,
+		ITEM_BOUGHT,
+		TAMO_FED,
+		BACKGROUND_SET,
+		BORDER_SET
+	}
+
+	private Type type;
+	private long value;
+
+	public AchievementEvent(Type type, long value) {
+		super();
+		this.type = type;
+		this.value = value;
+	}
+
+	public static AchievementEvent sessionCompleted() {
+		return new AchievementEvent(Type.SESSION_COMPLETED, 0);
+	}
+
+	public static AchievementEvent streakAdvanced(int days) {
+		return new AchievementEvent(Type.STREAK_ADVANCED, days);
+	}
+
+	public static AchievementEvent itemBought(int indicator) {
+		return new AchievementEvent(Type.ITEM_BOUGHT, indicator);
+	}
+
+	public static AchievementEvent tamoFed() {
+		return new AchievementEvent(Type.TAMO_FED, 0);
+	}
+
+	public static AchievementEvent backgroundSet(int indicator) {
+		return new AchievementEvent(Type.BACKGROUND_SET, indicator);
+	}
+
+	public static AchievementEvent borderSet(int indicator) {
+		return new AchievementEvent(Type.BORDER_SET, indicator);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public long getValue() {
+		return value;
+	}
+
+	@Override
+	public String toString() {
+		return "AchievementEvent [type=" + type + ", value=" + value + "]";
+	}
+}
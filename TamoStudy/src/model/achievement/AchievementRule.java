@@ -0,0 +1,63 @@
+package model.achievement;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import model.language.Language;
+import model.profile.Profile;
+
+/**
+ * AchievementRule
+ *
+ * @author narlock
+ *
+ * @brief Declaration of a single achievement: its indicator,
+ * text, token reward, the events it listens to and the
+ * condition that must hold after one of those events.
+ */
+public class AchievementRule {
+
+	private int id;
+	private Function<Language, String> title;
+	private Function<Language, String> description;
+	private long tokens;
+	private Set<AchievementEvent.Type> eventTypes;
+	private BiPredicate<Profile, AchievementEvent> condition;
+
+	public AchievementRule(int id, Function<Language, String> title, Function<Language, String> description, long tokens,
+			Set<AchievementEvent.Type> eventTypes, BiPredicate<Profile, AchievementEvent> condition) {
+		super();
+		this.id = id;
+		this.title = title;
+		this.description = description;
+		this.tokens = tokens;
+		this.eventTypes = eventTypes.isEmpty() ? EnumSet.noneOf(AchievementEvent.Type.class) : EnumSet.copyOf(eventTypes);
+		this.condition = condition;
+	}
+
+	public boolean isMetBy(Profile profile, AchievementEvent event) {
+		return condition.test(profile, event);
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public String getTitle(Language language) {
+		return title.apply(language);
+	}
+
+	public String getDescription(Language language) {
+		return description.apply(language);
+	}
+
+	public long getTokens() {
+		return tokens;
+	}
+
+	public Set<AchievementEvent.Type> getEventTypes() {
+		return eventTypes;
+	}
+}
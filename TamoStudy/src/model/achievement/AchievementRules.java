@@ -0,0 +1,54 @@
+package model.achievement;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import model.achievement.AchievementEvent.Type;
+
+/**
+ * AchievementRules
+ *
+ * @author narlock
+ *
+ * @brief The achievements of TamoStudy, declared as data.
+ * The list is ordered by indicator, which is the value stored
+ * in a profile's achievement list and used to find the
+ * ACHIEVEMENT_{indicator}.png icon.
+ */
+public class AchievementRules {
+
+	public static final List<AchievementRule> RULES = List.of(
+				new AchievementRule(0, l -> l.theBeginningText, l -> l.theBeginningDescText, 100,
+						EnumSet.of(Type.SESSION_COMPLETED), (profile, event) -> profile.getTime() >= 86400),
+				new AchievementRule(1, l -> l.nothingCanStopUsText, l -> l.nothingCanStopUsDescText, 500,
+						EnumSet.of(Type.SESSION_COMPLETED), (profile, event) -> profile.getTime() >= 259200),
+				new AchievementRule(2, l -> l.neverGiveUpText, l -> l.neverGiveUpDescText, 1000,
+						EnumSet.of(Type.SESSION_COMPLETED), (profile, event) -> profile.getTime() >= 864000),
+				new AchievementRule(3, l -> l.focusAscensionText, l -> l.focusAscensionDescText, 2000,
+						EnumSet.of(Type.SESSION_COMPLETED), (profile, event) -> profile.getTime() >= 4320000),
+				new AchievementRule(4, l -> l.cosmeticsText, l -> l.cosmeticsDescText, 50,
+						EnumSet.of(Type.BORDER_SET), (profile, event) -> event.getValue() != 0),
+				new AchievementRule(5, l -> l.sceneryChangeText, l -> l.sceneryChangeDescText, 50,
+						EnumSet.of(Type.BACKGROUND_SET), (profile, event) -> event.getValue() != 0),
+				// Granted to profiles carried over from a previous release, never by an event
+				new AchievementRule(6, l -> l.fromTheBeginningText, l -> l.fromTheBeginningDescText, 50,
+						EnumSet.noneOf(Type.class), (profile, event) -> false),
+				new AchievementRule(7, l -> l.tamoFullText, l -> l.tamoFullDescText, 50,
+						EnumSet.of(Type.TAMO_FED), (profile, event) -> profile.getTamo().getHunger() >= 10),
+				new AchievementRule(8, l -> l.tamoLoveText, l -> l.tamoLoveDescText, 50,
+						EnumSet.of(Type.SESSION_COMPLETED), (profile, event) -> profile.getTamo().getHappy() >= 10),
+				new AchievementRule(9, l -> l.dedicatedText, l -> l.dedicatedDescText, 100,
+						EnumSet.of(Type.STREAK_ADVANCED), (profile, event) -> event.getValue() >= 3),
+				new AchievementRule(10, l -> l.buildingConsistencyText, l -> l.buildingConsistencyDescText, 250,
+						EnumSet.of(Type.STREAK_ADVANCED), (profile, event) -> event.getValue() >= 7),
+				new AchievementRule(11, l -> l.tamoScholarText, l -> l.tamoScholarDescText, 1000,
+						EnumSet.of(Type.STREAK_ADVANCED), (profile, event) -> event.getValue() >= 30)
+			);
+
+	public static AchievementRule getRule(int indicator) {
+		if(indicator < 0 || indicator >= RULES.size()) {
+			throw new RuntimeException("Invalid indicator provided");
+		}
+		return RULES.get(indicator);
+	}
+}
@@ -1,6 +1,63 @@
 package model.language;
 
-public abstract class Language {
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import resources.Debug;
+
+/**
+ * Language
+ * 
+ * @author narlock
+ * 
+ * @brief The text of TamoStudy in one language.
+ * 
+ * Each language is a properties file, languages/{code}.properties,
+ * whose keys are the names of the public fields below. A language is
+ * only read the first time it is asked for, and then the same instance
+ * is shared by every profile and screen, so the fields must never be
+ * assigned outside of this class. Texts missing from a translation fall
+ * back to English.
+ * 
+ * To add a language, add its properties file and an entry in CODES,
+ * at the index of the language in the language box.
+ */
+public final class Language {
+	
+	public static final String DEFAULT_CODE = "ENG";
+	
+	/**
+	 * Language codes by language box index. A null code is a
+	 * language that is not translated yet and falls back to English.
+	 */
+	private static final String[] CODES = {
+				"ENG", // English
+				"SPA", // Spanish
+				null, // Hindi
+				null, // Portuguese
+				null, // Japanese
+				null, // German
+				null, // French
+				null, // Turkish
+				null, // Mandarin Chinese
+				"DUT", // Dutch
+			};
+	
+	private static final Map<String, Language> loadedLanguages = new ConcurrentHashMap<>();
+	
+	private final String code;
+	private final Map<String, String> texts;
+	
 	/*
 	 * ##################################
 	 * ##################################
@@ -53,6 +110,12 @@ public abstract class Language {
 	public String loadProfileText;
 	public String deleteProfileText;
 	public String invalidProfileFileText;
+	public String exportProfilesText;
+	public String exportingProfilesText;
+	public String importingProfilesText;
+	public String profilesExportedText;
+	public String profilesImportedText;
+	public String invalidProfileArchiveText;
 	public String confirmDeleteProfileText;
 	public String areYouSureText;
 	public String createProfileText;
@@ -246,6 +309,20 @@ public abstract class Language {
 	 * ##################################
 	 */
 	public String hoursOnText;
+	public String lastTwelveWeeksText;
+	public String lastTwelveMonthsText;
+	public String focusByWeekdayText;
+	public String sevenDayAverageText;
+	public String thirtyDayAverageText;
+	public String bestDayText;
+	public String bestWeekText;
+	public String bestMonthText;
+	public String yearFocusText;
+	public String weekdayInitialsText;
+	public String focusByHourText;
+	public String sessionsText;
+	public String completedText;
+	public String mostFocusedHourText;
 	
 	
 	/*
@@ -317,56 +394,110 @@ public abstract class Language {
 	 */
 	public String aboutTamoStudyText;
 	
+	private Language(String code, Map<String, String> texts) {
+		this.code = code;
+		this.texts = Collections.unmodifiableMap(texts);
+		for(Field field : Language.class.getFields()) {
+			if(field.getType() == String.class && !Modifier.isStatic(field.getModifiers())) {
+				try {
+					field.set(this, texts.get(field.getName()));
+				} catch (IllegalAccessException e) {
+					Debug.error("Language", "Could not set " + field.getName() + ": " + e.getMessage());
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @return the shared language for a code such as ENG, loading it
+	 * on first use. Unknown codes give English.
+	 */
+	public static Language getLanguage(String languageString) {
+		String code = languageString != null && isAvailable(languageString) ? languageString : DEFAULT_CODE;
+		Language language = loadedLanguages.get(code);
+		if(language == null) {
+			// English is loaded before, not inside, computeIfAbsent as it is the fallback of the others
+			Map<String, String> fallbackTexts = code.equals(DEFAULT_CODE) ? Collections.emptyMap() : getDefault().texts;
+			language = loadedLanguages.computeIfAbsent(code, key -> load(key, fallbackTexts));
+		}
+		return language;
+	}
+	
+	public static Language getDefault() {
+		return getLanguage(DEFAULT_CODE);
+	}
+	
 	public static Language getLanguageFromBox(int index) {
-		Language language;
-		
-		switch(index) {
-		case 0:
-			language = new EnglishLanguage();
-			return language;
-		case 1:
-			language = new SpanishLanguage();
-			return language;
-		default:
-			language = new EnglishLanguage();
-			return language;
+		if(index < 0 || index >= CODES.length || CODES[index] == null) {
+			return getDefault();
 		}
+		return getLanguage(CODES[index]);
 	}
 	
 	public static int getIndexFromLanguage(Language language) {
-		if(language instanceof EnglishLanguage) {
-			return 0;
-		}
-		if(language instanceof SpanishLanguage) {
-			return 1;
+		for(int i = 0; i < CODES.length; i++) {
+			if(language.code.equals(CODES[i])) {
+				return i;
+			}
 		}
 		return 0;
 	}
 	
-	public static Language getLanguage(String languageString) {
-		Language language;
-		
-		switch(languageString) {
-		case "ENG":
-			language = new EnglishLanguage();
-			return language;
-		case "SPA":
-			language = new SpanishLanguage();
-			return language;
-		default:
-			language = new EnglishLanguage();
-			return language;
-		}
+	/**
+	 * @return the text for a key, such as createdByText,
+	 * or null if there is none
+	 */
+	public String getText(String key) {
+		return texts.get(key);
+	}
+	
+	public String getCode() {
+		return code;
 	}
 	
 	@Override
 	public String toString() {
-		if(this instanceof EnglishLanguage) {
-			return "ENG";
+		return code;
+	}
+	
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private static boolean isAvailable(String code) {
+		for(String availableCode : CODES) {
+			if(code.equals(availableCode)) {
+				return true;
+			}
 		}
-		if(this instanceof SpanishLanguage) {
-			return "SPA";
+		return false;
+	}
+	
+	private static Language load(String code, Map<String, String> fallbackTexts) {
+		Map<String, String> texts = new HashMap<>(fallbackTexts);
+		
+		Properties properties = new Properties();
+		try (InputStream in = Language.class.getClassLoader().getResourceAsStream("languages/" + code + ".properties")) {
+			if(in == null) {
+				Debug.error("Language.load", "No language file found for " + code);
+			} else {
+				try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+					properties.load(reader);
+				}
+			}
+		} catch (IOException e) {
+			Debug.error("Language.load", "Exception thrown while reading language file for " + code);
+			e.printStackTrace();
+		}
+		
+		for(String key : properties.stringPropertyNames()) {
+			// Interned so equal texts across languages share one String
+			texts.put(key, properties.getProperty(key).intern());
 		}
-		return "ENG";
+		Debug.info("Language.load", "Loaded " + properties.size() + " texts for " + code);
+		return new Language(code, texts);
 	}
 }
@@ -1,314 +0,0 @@
-package model.language;
-
-/**
- * 
- * @author narlock
- * @translator ???
- *
- */
-public class SpanishLanguage extends Language {
-	public SpanishLanguage() {
-		/*
-		 * ##################################
-		 * ##################################
-		 * TEXTO DE BIENVENIDA EN LA GUI
-		 * ##################################
-		 * ##################################
-		 */
-		createdByText = "Creado por";
-		localStudyText = "Estudio Local";
-		onlineStudyText = "Estudio en línea";
-		unableSearchUpdatesText = "No se puede buscar actualizaciones. No hay conexión a Internet.";
-		updateAvailableDownloadText = "está disponible. ¡Haz clic aquí para descargar!"; // VER ... {}
-
-		/*
-		 * ##################################
-		 * ##################################
-		 * TEXTO PRINCIPAL EN LA GUI
-		 * ##################################
-		 * ##################################
-		 */
-		areYouSureYouWantToExitText = "¿Estás seguro de que quieres salir?";
-		dontShowThisMessageAgainText = "No mostrar este mensaje nuevamente";
-		exitTamoStudyText = "¿Salir de TamoStudy?";
-		deathText1 = "que no recibió los cuidados necesarios, lamentablemente ha fallecido.";
-		deathText2 = "El progreso de este Tamo se guardará en el Historial de Tamo.";
-		newTamoNameText = "Nombre del nuevo Tamo";
-
-		/*
-		 * ##################################
-		 * ##################################
-		 * TEXTO DE CREACIÓN / SELECCIÓN DE PERFIL
-		 * ##################################
-		 * ##################################
-		 */
-		noProfilesText = "No se encontraron perfiles locales.";
-		welcomeBackText = "¡Bienvenido de nuevo a TamoStudy!";
-		createNewProfileText = "Crear nuevo perfil";
-		importProfileText = "Importar perfil de Beta 4.2";
-		chooseProfileText = "Elegir perfil";
-		loadProfileAutomaticallyText = "Cargar perfil automáticamente";
-		loadProfileText = "Cargar perfil";
-		deleteProfileText = "Eliminar perfil";
-		invalidProfileFileText = "Perfil de Beta v4.2 no válido";
-		confirmDeleteProfileText = "Confirmar eliminación del perfil";
-		areYouSureText = "¿Estás seguro?";
-		createProfileText = "Crear perfil de TamoStudy";
-		usernameText = "Nombre de usuario";
-		tamoNameText = "Nombre del Tamo";
-
-		
-		languageText = "Idioma";
-		// Like the language...
-		englishText = "Inglés";
-		spanishText = "Español";
-		hindiText = "Hindi";
-		portugueseText = "Portugués";
-		japaneseText = "Japonés";
-		germanText = "Alemán";
-		frenchText = "Francés";
-		turkishText = "Turco";
-		mandarinChineseText = "Chino Mandarín";
-		dutchText = "Neerlandés";
-		koreanText = "Coreano";
-		russianText = "Ruso";
-		hungarianText = "Húngaro";
-		romanianText = "Rumano";
-
-		difficultyText = "Dificultad";
-		peacefulText = "Tranquilo";
-		challengingText = "Desafiante";
-		ironManText = "Iron Man";
-
-		focusModeText = "Modo de enfoque";
-		pomodoroText = "Técnica Pomodoro";
-		customCountdownText = "Cuenta regresiva personalizada";
-		fiveMinIntervalCountdownText = "Cuenta regresiva de 5 minutos por intervalo";
-		stopwatchText = "Cronómetro";
-
-		resetDefaultProfileText = "Restablecer perfil predeterminado";
-		updateNotificationsText = "Notificaciones de actualización";
-		defaultProfileReset = "Restablecimiento del perfil predeterminado";
-
-		createText = "Crear";
-		cancelText = "Cancelar";
-		mustEnterValidNameText = "¡Debes ingresar un nombre válido!";
-		settingsSavedText = "Configuración guardada";
-		
-		/*
-		 * ##################################
-		 * ##################################
-		 * TEXTO PRINCIPAL EN LA GUI
-		 * ##################################
-		 * ##################################
-		 */
-		menuButtonText = "Menú";
-		dashboardStateButtonText = "Tablero";
-		focusStateButtonText = "Enfoque";
-		shopStateButtonText = "Tienda";
-		inventoryStateButtonText = "Inventario";
-		statisticsStateButtonText = "Estadísticas";
-		achievementsStateButtonText = "Logros";
-		settingsStateButtonText = "Configuración";
-		tamoHistoryText = "Historial de Tamo";
-		aboutStateButton = "Acerca de";
-
-		/*
-		 * ##################################
-		 * ##################################
-		 * TEXTO DEL ESTADO DE TABLERO
-		 * ##################################
-		 * ##################################
-		 */
-		todaysFocusText = "Enfoque de hoy";
-		monthFocusText = "Enfoque del mes";
-		totalFocusText = "Enfoque total";
-		levelText = "Nivel";
-		hoursText = "hrs";
-
-		/*
-		 * ##################################
-		 * ##################################
-		 * TEXTO DEL ESTADO DE ENFOQUE
-		 * ##################################
-		 * ##################################
-		 */
-		pomoNumberOfSessionsText = "No. de Sesiones";
-		pomoSessionLengthText = "Duración de Sesión";
-		pomoBreakLengthText = "Duración de Descanso";
-		minutesText = "Minutos";
-		secondsText = "Segundos";
-		durationText = "Duración";
-		letsFocusText = "¡A Enfocarse!";
-		focusingText = "Enfocando!";
-		startFocusText = "Iniciar Enfoque";
-		breakFocusText = "Descanso";
-		pauseFocusText = "Pausar enfoque";
-		resumeFocusText = "Reanudar enfoque";
-		youFocusedForText = "Te enfocaste durante";
-		minutesAndText = "minutos y";
-		secondsPeriodText = "segundos.";
-		focusBrokeText = "Se interrumpió el enfoque";
-		focusText = "Enfoque";
-		breakText = "Descanso";
-		focusCompleteText = "Enfoque Completo";
-		breakOverText = "¡La pausa ha terminado! ¡Es hora de volver al enfoque!";
-		
-		/*
-		 * ##################################
-		 * ##################################
-		 * TEXTO DE LOS ÍTEMS
-		 * ##################################
-		 * ##################################
-		 */
-		onigiriText = "Onigiri";
-		chickenPlateText = "Plato de Pollo";
-		cheesecakeText = "Cheesecake";
-		onigiriDescriptionText = "<html>Un snack tradicional japonés<br>hecho de arroz sazonado<br>en forma de bola o triángulo,<br>a menudo con un relleno, y<br>envuelto en alga nori.<br><br>Restaura 1 punto de hambre.</html>";
-		chickenPlateDescriptionText = "<html>Un plato con pollo cocido<br>servido con una variedad de<br>acompañamientos y guarniciones.<br><br>Restaura 3 puntos de hambre.</html>";
-		cheesecakeDescriptionText = "<html>Un postre cremoso y rico<br>hecho con una base de<br>galletas trituradas o masa,<br>relleno con una mezcla suave<br>de queso crema y azúcar.<br><br>Restaura 8 puntos de hambre.</html>";
-
-		bedroomText = "Dormitorio";
-		sofaText = "Sofá";
-		sunriseText = "Amanecer";
-		nightOutText = "Noche Fuera";
-		enigmaText = "Enigma";
-		cozyNightText = "Noche Acogedora";
-		studyTimeText = "Tiempo de Estudio";
-		pleasantBridgeText = "Puente Agradable";
-		wisteriaText = "Glicina";
-		moonText = "Luna";
-
-		bedroomDescriptionText = "<html>Un fondo sereno de dormitorio<br>con una cama acogedora<br>ubicada debajo de una gran ventana,<br>invitando una amplia luz natural<br>y una vista del mundo exterior.</html>";
-		sofaDescriptionText = "<html>Una habitación relajada adornada<br>con un elegante sofá rojo,<br>creando un punto focal de<br>comodidad y elegancia dentro<br>de un ambiente agradable e invitador.</html>";
-		sunriseDescriptionText = "<html>Un fondo impresionante<br>que captura la belleza de un<br>amanecer mientras el sol emerge<br>graciosamente en el horizonte.</html>";
-		nightOutDescriptionText = "<html>Una atmósfera callejera<br>que emana una combinación<br>perfecta de calidez y<br>ambiente relajado en una<br>agradable noche fuera.</html>";
-		enigmaDescriptionText = "<html>Un fondo enigmático<br>envuelto en un aura de<br>misterio, pintado con tonos<br>profundos de rojo, granate y gris.</html>";
-		cozyNightDescriptionText = "<html>Un entorno sereno nocturno con una acogedora cama adornada con un tierno oso de peluche, irradiando calidez y una atmósfera reconfortante, perfecta para un sueño tranquilo.</html>";
-		studyTimeDescriptionText = "<html>Un refugio ideal para estudiar te espera con un gran escritorio de madera, una lámpara radiante iluminando filas de libros en una estantería amplia, creando un entorno propicio para el aprendizaje concentrado.</html>";
-		pleasantBridgeDescriptionText = "<html>Se despliega una serena escena de un bosque, mostrando un pintoresco puente japonés elegantemente arqueado sobre un río tranquilo, envuelto por la abrazadora belleza de la naturaleza.</html>";
-		wisteriaDescriptionText = "<html>En una escena onírica, florecen encantadores árboles de glicinas, sus cascadas de flores púrpuras ondeando suavemente mientras las hojas otoñales descienden graciosamente, pintando un momento pintoresco en la naturaleza.</html>";
-		moonDescriptionText = "<html>A medida que amanece, se despliega un espectáculo impresionante: una magnífica luna azul se alza en el cielo, sus brillantes rayos pintan el mundo en tonos de oro y azul, una armonía celestial de amanecer y magia lunar.</html>";
-
-		blackText = "Negro";
-		goldText = "Dorado";
-		redText = "Rojo";
-		mintText = "Menta";
-		purpleText = "Morado";
-		blueText = "Azul";
-		strawberryLemonadeText = "Limada de Fresa";
-		sunsetText = "Atardecer";
-		tealText = "Turquesa";
-		codeText = "Código";
-
-		solidBackgroundText = "Fondo Sólido";
-		gradientBackgroundText = "Fondo de Gradiente";
-		rareBackgroundText = "Fondo Raro";
-		themedBackgroundText = "Fondo Temático";
-		
-		/*
-		 * ##################################
-		 * ##################################
-		 * SHOP TEXT
-		 * ##################################
-		 * ##################################
-		 */
-		selectShopText = "Seleccionar Tienda";
-		foodText = "Comida";
-		backgroundsText = "Fondos";
-		bordersText = "Bordes";
-		yourFoodInventoryIsFullText = "¡Tu inventario de comida está lleno!";
-		confirmPurchaseOfText = "Confirmar compra de";
-		notEnoughTamoTokensText = "No tienes suficientes fichas Tamo para completar la compra.";
-		
-		/*
-		 * ##################################
-		 * ##################################
-		 * INVENTORY TEXT
-		 * ##################################
-		 * ##################################
-		 */
-		inventoryText = "Inventario";
-		feedTamoText = "Alimentar a Tamo";
-		setBackgroundText = "Establecer Fondo";
-		setBorderText = "Establecer Borde";
-		welcomeToTheShopText = "Bienvenido/a a la tienda. ¿En qué puedo ayudarte?";
-		hereAreOurFoodOptionsText = "¡Aquí tienes nuestras opciones de comida!";
-		whatBackgroundsCanIHelpFindText = "¿En qué puedo ayudarte con los fondos?";
-		whatBordersCanIHelpFindText = "¿En qué puedo ayudarte con los bordes?";
-		letsCustomizeFocusTimerText = "¡Vamos a personalizar el temporizador de enfoque!";
-		
-		/*
-		 * ##################################
-		 * ##################################
-		 * ACHIEVEMENTS STATE TEXT
-		 * ##################################
-		 * ##################################
-		 */
-		hoursOnText = "horas en";
-		
-		/*
-		 * ##################################
-		 * ##################################
-		 * ACHIEVEMENTS STATE TEXT
-		 * ##################################
-		 * ##################################
-		 */
-		theBeginningText = "El Comienzo";
-		theBeginningDescText = "Logra un tiempo total de enfoque de 24 horas.";
-		nothingCanStopUsText = "¡Nada nos puede detener!";
-		nothingCanStopUsDescText = "Logra un tiempo total de enfoque de 72 horas";
-		neverGiveUpText = "¡Nunca te rindas!";
-		neverGiveUpDescText = "Logra un tiempo total de enfoque de 240 horas.";
-		focusAscensionText = "Ascenso en el Enfoque";
-		focusAscensionDescText = "Logra un tiempo total de enfoque de 1200 horas.";
-		cosmeticsText = "Cosméticos";
-		cosmeticsDescText = "Compra y cambia el borde de tu Tamo.";
-		sceneryChangeText = "Cambio de Escenario";
-		sceneryChangeDescText = "Compra y cambia el fondo de tu Tamo.";
-		fromTheBeginningText = "Desde el Comienzo";
-		fromTheBeginningDescText = "Perfil actualizado desde la versión anterior de TamoStudy.";
-		tamoFullText = "Tamo Completo";
-		tamoFullDescText = "Alcanza el hambre máxima de tu Tamo.";
-		tamoLoveText = "Amor Tamo";
-		tamoLoveDescText = "Alcanza la felicidad máxima de tu Tamo.";
-		dedicatedText = "Dedicado";
-		dedicatedDescText = "Enfoca durante 1 hora o más durante 3 días consecutivos.";
-		buildingConsistencyText = "Construyendo Consistencia";
-		buildingConsistencyDescText = "Enfoca durante 1 hora o más durante 7 días consecutivos.";
-		tamoScholarText = "Erudito Tamo";
-		tamoScholarDescText = "Enfoca durante 1 hora o más durante 30 días consecutivos.";
-		
-		/*
-		 * ##################################
-		 * ##################################
-		 * SETTINGS STATE TEXT
-		 * ##################################
-		 * ##################################
-		 */
-		timerAlarmText = "Alarma del Temporizador";
-		noTimerAlarmText = "Ninguna";
-		softAlarmText = "Alarma Suave";
-		traditionalAlarmText = "Alarma Tradicional";
-		pacAlarmText = "Alarma Pac";
-		calmAlarmText = "Alarma Tranquila";
-		bellAlarmText = "Alarma de Campana";
-		guiSizeText = "Tamaño de la Interfaz";
-		notificationsText = "Notificaciones";
-		discordRPCText = "RPC de Discord";
-		exitMessageText = "Mensaje de Salida";
-		onText = "ENCENDIDO";
-		offText = "APAGADO";
-		saveText = "Guardar";
-		resetText = "Restablecer";
-		
-		/*
-		 * ##################################
-		 * ##################################
-		 * ABOUT STATE TEXT
-		 * ##################################
-		 * ##################################
-		 */
-		aboutTamoStudyText = "<html>TamoStudy es un temporizador de trabajo y estudio diseñado<br>para mejorar la productividad, incorporando una mascota<br>virtual divertida para motivar a los usuarios a concentrars<br>en sus tareas.</html>";
-	}
-}
@@ -1,16 +1,33 @@
 package model.profile;
 
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
 
-import io.ProfileJsonManager;
 import model.language.Language;
+import model.profile.ProfileSnapshot.TamoSnapshot;
+import resources.Constants;
 import util.Utils;
 
 public class Profile {
 	
+	public static final String ID_PROPERTY = "profile.id";
+	public static final String NAME_PROPERTY = "profile.name";
+	public static final String PREVIOUS_DATE_PROPERTY = "profile.previousDate";
+	public static final String TIME_PROPERTY = "profile.time";
+	public static final String TOKENS_PROPERTY = "profile.tokens";
+	public static final String SETTINGS_PROPERTY = "profile.settings";
+	public static final String BACKGROUND_PROPERTY = "profile.background";
+	public static final String BORDER_PROPERTY = "profile.border";
+	public static final String TAMO_PROPERTY = "profile.tamo";
+	public static final String TAMO_HISTORY_PROPERTY = "profile.tamoHistory";
+	public static final String INVENTORY_PROPERTY = "profile.inventory";
+	public static final String ACHIEVEMENTS_PROPERTY = "profile.achievements";
+	
 	private long id;
 	
 	private String name;
@@ -27,18 +44,37 @@ public class Profile {
 	
 	private long borderIndicator;
 	
-	private List<Long> achievementList; 
+	/*
+	 * Ownership is kept as bitsets indexed by indicator, and food
+	 * as a count per food indicator. The list getters and setters
+	 * convert to and from the list format stored in profiles.json.
+	 */
+	private BitSet achievements;
+	
+	private int[] foodCounts;
 	
-	private List<Long> foodInventoryList;
+	private int foodTotal;
 	
-	private List<Long> backgroundInventoryList;
+	private BitSet backgrounds;
 	
-	private List<Long> borderInventoryList;
+	private BitSet borders;
 	
 	private Tamo tamo;
 	
 	private List<Tamo> tamoHistory;
 	
+	/*
+	 * Setters, and the methods that change totals or ownership, publish
+	 * a new snapshot and notify listeners such as a ProfileBinding when
+	 * a value actually changes. Changes to the Tamo or settings publish
+	 * a new snapshot too.
+	 */
+	private final PropertyChangeSupport changeSupport = new PropertyChangeSupport(this);
+	
+	private final AtomicReference<ProfileSnapshot> snapshot = new AtomicReference<>();
+	
+	private final PropertyChangeListener partListener = event -> publishSnapshot(event.getPropertyName());
+	
 	/**
 	 * New Profile Constructor
 	 * @param name
@@ -61,14 +97,15 @@ public class Profile {
 				);
 		this.backgroundIndicator = 0;
 		this.borderIndicator = 0;
-		this.achievementList = Collections.emptyList();
-		this.foodInventoryList = Collections.emptyList();
-		this.backgroundInventoryList = List.of((long) 0);
-		this.borderInventoryList = List.of((long) 0);
+		setAchievementList(Collections.emptyList());
+		setFoodInventoryList(Collections.emptyList());
+		setBackgroundInventoryList(List.of((long) 0));
+		setBorderInventoryList(List.of((long) 0));
 		this.tamo = new Tamo(
 					name
 				);
 		this.tamoHistory = Collections.emptyList();
+		publishFirstSnapshot();
 	}
 
 	/**
@@ -100,12 +137,13 @@ public class Profile {
 		this.settings = settings;
 		this.backgroundIndicator = backgroundIndicator;
 		this.borderIndicator = borderIndicator;
-		this.achievementList = achievementList;
-		this.foodInventoryList = foodInventoryList;
-		this.backgroundInventoryList = backgroundInventoryList;
-		this.borderInventoryList = borderInventoryList;
+		setAchievementList(achievementList);
+		setFoodInventoryList(foodInventoryList);
+		setBackgroundInventoryList(backgroundInventoryList);
+		setBorderInventoryList(borderInventoryList);
 		this.tamo = tamo;
 		this.tamoHistory = tamoHistory;
+		publishFirstSnapshot();
 	}
 	
 	public Profile(String name, String joinDateString, String previousDateString, long time, long tokens, long backgroundIndicator,
@@ -121,12 +159,13 @@ public class Profile {
 		this.settings = new ProfileSettings(languageIndicator, focusMode, sessionSoundIndicator, difficulty, showAhmNotifications);
 		this.backgroundIndicator = backgroundIndicator;
 		this.borderIndicator = 0;
-		this.achievementList = List.of((long) 6);
-		this.foodInventoryList = Collections.emptyList();
-		this.backgroundInventoryList = convertInvStringToBackgroundInventoryList(invString);
-		this.borderInventoryList = List.of((long) 0);
+		setAchievementList(List.of((long) 6));
+		setFoodInventoryList(Collections.emptyList());
+		setBackgroundInventoryList(convertInvStringToBackgroundInventoryList(invString));
+		setBorderInventoryList(List.of((long) 0));
 		this.tamo = new Tamo(tamoName, time, tamoId, joinDateString, tamoHappiness, tamoHunger, strikes);
 		this.tamoHistory = Collections.emptyList();
+		publishFirstSnapshot();
 	}
 	
 	private List<Long> convertInvStringToBackgroundInventoryList(String invString) {
@@ -143,7 +182,9 @@ public class Profile {
 	}
 
 	public void setId(long id) {
+		long old = this.id;
 		this.id = id;
+		firePropertyChange(ID_PROPERTY, old, id);
 	}
 
 	public String getName() {
@@ -151,7 +192,9 @@ public class Profile {
 	}
 
 	public void setName(String name) {
+		String old = this.name;
 		this.name = name;
+		firePropertyChange(NAME_PROPERTY, old, name);
 	}
 
 	public String getPreviousDateString() {
@@ -159,7 +202,9 @@ public class Profile {
 	}
 
 	public void setPreviousDateString(String previousDateString) {
+		String old = this.previousDateString;
 		this.previousDateString = previousDateString;
+		firePropertyChange(PREVIOUS_DATE_PROPERTY, old, previousDateString);
 	}
 
 	public long getTime() {
@@ -167,7 +212,9 @@ public class Profile {
 	}
 
 	public void setTime(long time) {
+		long old = this.time;
 		this.time = time;
+		firePropertyChange(TIME_PROPERTY, old, time);
 	}
 
 	public long getTokens() {
@@ -175,7 +222,9 @@ public class Profile {
 	}
 
 	public void setTokens(long tokens) {
+		long old = this.tokens;
 		this.tokens = tokens;
+		firePropertyChange(TOKENS_PROPERTY, old, tokens);
 	}
 
 	public ProfileSettings getSettings() {
@@ -183,7 +232,11 @@ public class Profile {
 	}
 
 	public void setSettings(ProfileSettings settings) {
+		ProfileSettings old = this.settings;
+		old.removePropertyChangeListener(partListener);
+		settings.addPropertyChangeListener(partListener);
 		this.settings = settings;
+		firePropertyChange(SETTINGS_PROPERTY, old, settings);
 	}
 
 	public long getBackgroundIndicator() {
@@ -191,7 +244,9 @@ public class Profile {
 	}
 
 	public void setBackgroundIndicator(long backgroundIndicator) {
+		long old = this.backgroundIndicator;
 		this.backgroundIndicator = backgroundIndicator;
+		firePropertyChange(BACKGROUND_PROPERTY, old, backgroundIndicator);
 	}
 
 	public long getBorderIndicator() {
@@ -199,39 +254,165 @@ public class Profile {
 	}
 
 	public void setBorderIndicator(long borderIndicator) {
+		long old = this.borderIndicator;
 		this.borderIndicator = borderIndicator;
+		firePropertyChange(BORDER_PROPERTY, old, borderIndicator);
 	}
 
+	/*
+	 * ##################################
+	 * ##################################
+	 * OWNERSHIP
+	 * ##################################
+	 * ##################################
+	 */
+	public boolean hasAchievement(int indicator) {
+		return achievements.get(indicator);
+	}
+	
+	/**
+	 * @return true if the achievement was not already earned
+	 */
+	public boolean addAchievement(int indicator) {
+		if(achievements.get(indicator)) {
+			return false;
+		}
+		achievements.set(indicator);
+		firePropertyChange(ACHIEVEMENTS_PROPERTY, null, indicator);
+		return true;
+	}
+	
+	public int getAchievementCount() {
+		return achievements.cardinality();
+	}
+	
+	public int getFoodCount(int indicator) {
+		return indicator < foodCounts.length ? foodCounts[indicator] : 0;
+	}
+	
+	/**
+	 * @return the number of food items in the inventory
+	 */
+	public int getFoodTotal() {
+		return foodTotal;
+	}
+	
+	public void addFood(int indicator) {
+		if(indicator >= foodCounts.length) {
+			int[] grown = new int[indicator + 1];
+			System.arraycopy(foodCounts, 0, grown, 0, foodCounts.length);
+			foodCounts = grown;
+		}
+		foodCounts[indicator]++;
+		foodTotal++;
+		firePropertyChange(INVENTORY_PROPERTY, null, indicator);
+	}
+	
+	/**
+	 * @return true if a food item of the indicator was in the inventory
+	 */
+	public boolean removeFood(int indicator) {
+		if(getFoodCount(indicator) == 0) {
+			return false;
+		}
+		foodCounts[indicator]--;
+		foodTotal--;
+		firePropertyChange(INVENTORY_PROPERTY, null, indicator);
+		return true;
+	}
+	
+	public boolean ownsBackground(int indicator) {
+		return backgrounds.get(indicator);
+	}
+	
+	public void addBackground(int indicator) {
+		backgrounds.set(indicator);
+		firePropertyChange(INVENTORY_PROPERTY, null, indicator);
+	}
+	
+	public int getBackgroundCount() {
+		return backgrounds.cardinality();
+	}
+	
+	public boolean ownsBorder(int indicator) {
+		return borders.get(indicator);
+	}
+	
+	public void addBorder(int indicator) {
+		borders.set(indicator);
+		firePropertyChange(INVENTORY_PROPERTY, null, indicator);
+	}
+	
+	public int getBorderCount() {
+		return borders.cardinality();
+	}
+	
+	/*
+	 * ##################################
+	 * ##################################
+	 * LIST FORMAT
+	 * ##################################
+	 * ##################################
+	 */
 	public List<Long> getAchievementList() {
-		return achievementList;
+		return bitSetToList(achievements);
 	}
 
 	public void setAchievementList(List<Long> achievementList) {
-		this.achievementList = achievementList;
+		this.achievements = listToBitSet(achievementList);
+		firePropertyChange(ACHIEVEMENTS_PROPERTY, null, null);
 	}
 
 	public List<Long> getFoodInventoryList() {
+		List<Long> foodInventoryList = new ArrayList<>(foodTotal);
+		for(int indicator = 0; indicator < foodCounts.length; indicator++) {
+			for(int i = 0; i < foodCounts[indicator]; i++) {
+				foodInventoryList.add((long) indicator);
+			}
+		}
 		return foodInventoryList;
 	}
 
 	public void setFoodInventoryList(List<Long> foodInventoryList) {
-		this.foodInventoryList = foodInventoryList;
+		this.foodCounts = new int[Constants.FOOD_COUNT];
+		this.foodTotal = 0;
+		for(Long indicator : foodInventoryList) {
+			addFood(indicator.intValue());
+		}
 	}
 
 	public List<Long> getBackgroundInventoryList() {
-		return backgroundInventoryList;
+		return bitSetToList(backgrounds);
 	}
 
 	public void setBackgroundInventoryList(List<Long> backgroundInventoryList) {
-		this.backgroundInventoryList = backgroundInventoryList;
+		this.backgrounds = listToBitSet(backgroundInventoryList);
+		firePropertyChange(INVENTORY_PROPERTY, null, null);
 	}
 
 	public List<Long> getBorderInventoryList() {
-		return borderInventoryList;
+		return bitSetToList(borders);
 	}
 
 	public void setBorderInventoryList(List<Long> borderInventoryList) {
-		this.borderInventoryList = borderInventoryList;
+		this.borders = listToBitSet(borderInventoryList);
+		firePropertyChange(INVENTORY_PROPERTY, null, null);
+	}
+	
+	private static BitSet listToBitSet(List<Long> indicatorList) {
+		BitSet bitSet = new BitSet();
+		for(Long indicator : indicatorList) {
+			bitSet.set(indicator.intValue());
+		}
+		return bitSet;
+	}
+	
+	private static List<Long> bitSetToList(BitSet bitSet) {
+		List<Long> indicatorList = new ArrayList<>(bitSet.cardinality());
+		for(int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+			indicatorList.add((long) i);
+		}
+		return indicatorList;
 	}
 
 	public Tamo getTamo() {
@@ -239,7 +420,11 @@ public class Profile {
 	}
 
 	public void setTamo(Tamo tamo) {
+		Tamo old = this.tamo;
+		old.removePropertyChangeListener(partListener);
+		tamo.addPropertyChangeListener(partListener);
 		this.tamo = tamo;
+		firePropertyChange(TAMO_PROPERTY, old, tamo);
 	}
 
 	public List<Tamo> getTamoHistory() {
@@ -247,39 +432,116 @@ public class Profile {
 	}
 
 	public void setTamoHistory(List<Tamo> tamoHistory) {
+		List<Tamo> old = this.tamoHistory;
 		this.tamoHistory = tamoHistory;
+		firePropertyChange(TAMO_HISTORY_PROPERTY, old, tamoHistory);
+	}
+	
+	/**
+	 * @brief Credits a finished focus session: adds the time to the
+	 * profile, earns tokens (72 seconds = 1 Tamo token) and makes the
+	 * Tamo happier (30 minutes = 1 Happy, up to 10).
+	 * @param timeEarned seconds focused
+	 */
+	public void addFocusTime(int timeEarned) {
+		setTime(time + timeEarned);
+		setTokens(tokens + (50 * timeEarned) / 3600);
+		
+		int happinessEarned = timeEarned / 1800;
+		int newHappy = (int) tamo.getHappy() + happinessEarned;
+		tamo.setHappy(newHappy >= 10 ? 10 : newHappy);
 	}
 	
 	@Override
 	public String toString() {
 		return "Profile [id=" + id + ", name=" + name + ", previousDateString=" + previousDateString + ", time=" + time
 				+ ", tokens=" + tokens + ", settings=" + settings + ", backgroundIndicator=" + backgroundIndicator
-				+ ", borderIndicator=" + borderIndicator + ", achievementList=" + achievementList
-				+ ", foodInventoryList=" + foodInventoryList + ", backgroundInventoryList=" + backgroundInventoryList
-				+ ", borderInventoryList=" + borderInventoryList + ", tamo=" + tamo + ", tamoHistory=" + tamoHistory
+				+ ", borderIndicator=" + borderIndicator + ", achievementList=" + achievements
+				+ ", foodInventoryList=" + getFoodInventoryList() + ", backgroundInventoryList=" + backgrounds
+				+ ", borderInventoryList=" + borders + ", tamo=" + tamo + ", tamoHistory=" + tamoHistory
 				+ "]";
 	}
 
 	private long generateRandomProfileId() {
-		Random random = new Random();
-        int id = 0;
-        for (int i = 0; i < 5; i++) {
-            id = id * 10 + random.nextInt(10);
-        }
-        
-        boolean idAlreadyExists = false;
-        ProfileJsonManager profileJsonManager = new ProfileJsonManager();
-        List<Profile> profiles = profileJsonManager.readJson();
-        for(Profile profile : profiles) {
-        	if(profile.getId() == id) {
-        		idAlreadyExists = true;
-        	}
-        }
-        
-        if(idAlreadyExists) {
-        	return generateRandomProfileId();
-        } else {
-        	return id;
-        }
+		return ProfileIdAllocator.getSharedAllocator().nextId();
+	}
+	
+	/*
+	 * ##################################
+	 * ##################################
+	 * CHANGE NOTIFICATION
+	 * ##################################
+	 * ##################################
+	 */
+	public void addPropertyChangeListener(PropertyChangeListener listener) {
+		changeSupport.addPropertyChangeListener(listener);
+	}
+	
+	public void removePropertyChangeListener(PropertyChangeListener listener) {
+		changeSupport.removePropertyChangeListener(listener);
+	}
+	
+	/**
+	 * @brief The latest immutable view, readable from any thread
+	 */
+	public ProfileSnapshot getSnapshot() {
+		return snapshot.get();
+	}
+	
+	/**
+	 * @brief Called at the end of the constructors, once every
+	 * part of the profile is set.
+	 */
+	private void publishFirstSnapshot() {
+		settings.addPropertyChangeListener(partListener);
+		tamo.addPropertyChangeListener(partListener);
+		publishSnapshot(null);
+	}
+	
+	/**
+	 * @brief Publishes a snapshot that rebuilds the lists only when
+	 * the property changed them and shares the rest with the last one.
+	 * @param property the changed property, or null to rebuild all
+	 */
+	private void publishSnapshot(String property) {
+		ProfileSnapshot previous = snapshot.get();
+		if(previous == null && property != null) {
+			// Still being constructed
+			return;
+		}
+		boolean rebuildAll = previous == null;
+		boolean achievementsChanged = rebuildAll || ACHIEVEMENTS_PROPERTY.equals(property);
+		boolean inventoryChanged = rebuildAll || INVENTORY_PROPERTY.equals(property);
+		boolean tamoHistoryChanged = rebuildAll || TAMO_HISTORY_PROPERTY.equals(property);
+		
+		snapshot.set(new ProfileSnapshot(
+				id,
+				name,
+				previousDateString,
+				time,
+				tokens,
+				settings.getSnapshot(),
+				backgroundIndicator,
+				borderIndicator,
+				achievementsChanged ? Collections.unmodifiableList(getAchievementList()) : previous.getAchievementList(),
+				inventoryChanged ? Collections.unmodifiableList(getFoodInventoryList()) : previous.getFoodInventoryList(),
+				inventoryChanged ? Collections.unmodifiableList(getBackgroundInventoryList()) : previous.getBackgroundInventoryList(),
+				inventoryChanged ? Collections.unmodifiableList(getBorderInventoryList()) : previous.getBorderInventoryList(),
+				tamo.getSnapshot(),
+				tamoHistoryChanged ? snapshotTamoHistory() : previous.getTamoHistory()
+			));
+	}
+	
+	private List<TamoSnapshot> snapshotTamoHistory() {
+		List<TamoSnapshot> tamoHistorySnapshot = new ArrayList<>(tamoHistory.size());
+		for(Tamo deceasedTamo : tamoHistory) {
+			tamoHistorySnapshot.add(deceasedTamo.getSnapshot());
+		}
+		return Collections.unmodifiableList(tamoHistorySnapshot);
+	}
+	
+	private void firePropertyChange(String property, Object oldValue, Object newValue) {
+		publishSnapshot(property);
+		changeSupport.firePropertyChange(property, oldValue, newValue);
 	}
 }
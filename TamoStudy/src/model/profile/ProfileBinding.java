@@ -0,0 +1,189 @@
+package model.profile;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import javax.swing.SwingUtilities;
+
+import resources.Debug;
+
+/**
+ * ProfileBinding
+ *
+ * @author narlock
+ *
+ * @brief Binds components to a profile so they refresh when the
+ * profile, its Tamo or its settings change.
+ *
+ * Changes are not applied one by one. The names of the changed
+ * properties are collected and a single flush is scheduled on the
+ * event dispatch thread; everything changed before it runs is applied
+ * together, and each binding runs at most once per flush however many
+ * of its properties changed. Finishing a focus session changes the
+ * time, tokens and happiness, and the labels showing them are updated
+ * in one pass.
+ *
+ * The Tamo and settings are followed when the profile replaces them,
+ * such as when a new Tamo is adopted.
+ */
+public class ProfileBinding implements PropertyChangeListener {
+
+	/**
+	 * Updates components from the profile. Runs on the
+	 * executor the binding flushes on.
+	 */
+	public interface Updater {
+		void update(Profile profile);
+	}
+
+	private static class Binding {
+		private Updater updater;
+		private Set<String> properties;
+
+		private Binding(Updater updater, Set<String> properties) {
+			this.updater = updater;
+			this.properties = properties;
+		}
+	}
+
+	private final Profile profile;
+	private final Executor flushExecutor;
+	private final List<Binding> bindings = new ArrayList<>();
+
+	private Tamo tamo;
+	private ProfileSettings settings;
+
+	/*
+	 * Guarded by this. Changes may come from any thread, but bindings
+	 * are only touched on the flush executor.
+	 */
+	private Set<String> pendingProperties = new HashSet<>();
+	private boolean flushScheduled;
+	private long flushCount;
+
+	public ProfileBinding(Profile profile) {
+		this(profile, SwingUtilities::invokeLater);
+	}
+
+	/**
+	 * @param flushExecutor runs the flushes, the event
+	 * dispatch thread by default
+	 */
+	public ProfileBinding(Profile profile, Executor flushExecutor) {
+		this.profile = profile;
+		this.flushExecutor = flushExecutor;
+		profile.addPropertyChangeListener(this);
+		followTamo(profile.getTamo());
+		followSettings(profile.getSettings());
+	}
+
+	/**
+	 * @brief Runs the updater whenever any of the properties change,
+	 * such as Tamo.HAPPY_PROPERTY. The updater is not run now.
+	 */
+	public void bind(Updater updater, String... properties) {
+		bindings.add(new Binding(updater, new HashSet<>(Arrays.asList(properties))));
+	}
+
+	public void unbind(Updater updater) {
+		bindings.removeIf(binding -> binding.updater == updater);
+	}
+
+	/**
+	 * @brief Stops listening to the profile. Changes that are
+	 * still pending are dropped.
+	 */
+	public void dispose() {
+		profile.removePropertyChangeListener(this);
+		followTamo(null);
+		followSettings(null);
+		bindings.clear();
+		synchronized(this) {
+			pendingProperties.clear();
+		}
+	}
+
+	@Override
+	public void propertyChange(PropertyChangeEvent event) {
+		if(Profile.TAMO_PROPERTY.equals(event.getPropertyName())) {
+			followTamo((Tamo) event.getNewValue());
+		} else if(Profile.SETTINGS_PROPERTY.equals(event.getPropertyName())) {
+			followSettings((ProfileSettings) event.getNewValue());
+		}
+
+		synchronized(this) {
+			pendingProperties.add(event.getPropertyName());
+			if(flushScheduled) {
+				return;
+			}
+			flushScheduled = true;
+		}
+		flushExecutor.execute(this::flush);
+	}
+
+	/**
+	 * @brief Runs every binding whose properties changed since the
+	 * last flush, each once.
+	 */
+	public void flush() {
+		Set<String> changed;
+		synchronized(this) {
+			changed = pendingProperties;
+			pendingProperties = new HashSet<>();
+			flushScheduled = false;
+			if(changed.isEmpty()) {
+				return;
+			}
+			flushCount++;
+		}
+
+		// Copied so an updater may bind or unbind
+		for(Binding binding : new ArrayList<>(bindings)) {
+			if(!binding.properties.stream().anyMatch(changed::contains)) {
+				continue;
+			}
+			try {
+				binding.updater.update(profile);
+			} catch (RuntimeException e) {
+				Debug.error("ProfileBinding.flush", "Binding failed for " + changed + ": " + e);
+			}
+		}
+	}
+
+	public synchronized long getFlushCount() {
+		return flushCount;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private synchronized void followTamo(Tamo newTamo) {
+		if(tamo != null) {
+			tamo.removePropertyChangeListener(this);
+		}
+		tamo = newTamo;
+		if(tamo != null) {
+			tamo.addPropertyChangeListener(this);
+		}
+	}
+
+	private synchronized void followSettings(ProfileSettings newSettings) {
+		if(settings != null) {
+			settings.removePropertyChangeListener(this);
+		}
+		settings = newSettings;
+		if(settings != null) {
+			settings.addPropertyChangeListener(this);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+package model.profile;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import io.ProfileJsonManager;
+import resources.Debug;
+
+/**
+ * ProfileIdAllocator
+ *
+ * @author narlock
+ *
+ * @brief Issues unique five digit profile ids.
+ *
+ * The ids already in use are kept in memory, so a new id is
+ * checked against a set instead of reading profiles.json for
+ * every new profile. The shared allocator reads profiles.json
+ * once, the first time an id is needed.
+ */
+public class ProfileIdAllocator {
+
+	public static final int MAX_PROFILE_ID = 100000;
+
+	private static ProfileIdAllocator sharedAllocator;
+
+	private Set<Long> knownIds;
+	private Random random;
+
+	public ProfileIdAllocator(Collection<Long> knownIds, Random random) {
+		this.knownIds = new HashSet<>(knownIds);
+		this.random = random;
+	}
+
+	/**
+	 * @return the allocator shared by every profile, seeded
+	 * with the ids in profiles.json
+	 */
+	public static synchronized ProfileIdAllocator getSharedAllocator() {
+		if(sharedAllocator == null) {
+			Set<Long> profileIds = new HashSet<>();
+			for(Profile profile : new ProfileJsonManager().readJson()) {
+				profileIds.add(profile.getId());
+			}
+			Debug.info("ProfileIdAllocator.getSharedAllocator", "Seeded with " + profileIds.size() + " profile ids");
+			sharedAllocator = new ProfileIdAllocator(profileIds, new Random());
+		}
+		return sharedAllocator;
+	}
+
+	/**
+	 * @brief Issues an id that is not in use and marks it as used.
+	 */
+	public synchronized long nextId() {
+		if(knownIds.size() >= MAX_PROFILE_ID) {
+			throw new IllegalStateException("No profile ids left to allocate");
+		}
+		long id = random.nextInt(MAX_PROFILE_ID);
+		// Probe forward from the random id until a free one is found
+		while(knownIds.contains(id)) {
+			id = (id + 1) % MAX_PROFILE_ID;
+		}
+		knownIds.add(id);
+		return id;
+	}
+
+	/**
+	 * @brief Marks an id as used, such as one read from an
+	 * imported profile.
+	 */
+	public synchronized void register(long id) {
+		knownIds.add(id);
+	}
+
+	public synchronized boolean isKnown(long id) {
+		return knownIds.contains(id);
+	}
+}
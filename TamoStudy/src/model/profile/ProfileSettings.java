@@ -1,11 +1,28 @@
 package model.profile;
 
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.concurrent.atomic.AtomicReference;
+
 import model.language.Language;
+import model.profile.ProfileSnapshot.SettingsSnapshot;
 import resources.Debug;
-import resources.Theme;
 
 public class ProfileSettings {
 	
+	public static final String LANGUAGE_PROPERTY = "settings.language";
+	public static final String FOCUS_MODE_PROPERTY = "settings.focusMode";
+	public static final String DIFFICULTY_PROPERTY = "settings.difficulty";
+	public static final String TIMER_ALARM_PROPERTY = "settings.timerAlarm";
+	public static final String GUI_SIZE_PROPERTY = "settings.guiSize";
+	public static final String RECEIVE_NOTIFICATIONS_PROPERTY = "settings.receiveNotifications";
+	public static final String ENABLE_DISCORD_RPC_PROPERTY = "settings.enableDiscordRPC";
+	public static final String SHOW_PROGRAM_CLOSE_MESSAGE_PROPERTY = "settings.showProgramCloseMessage";
+	public static final String THEME_PROPERTY = "settings.theme";
+
+	/** Kept as the type rather than the Theme, so the model loads no AWT classes */
+	public static final String DEFAULT_THEME_TYPE = "Dark";
+	
 	private Language language;
 	
 	/*
@@ -29,7 +46,11 @@ public class ProfileSettings {
 	
 	private Boolean showProgramCloseMessage;
 	
-	private Theme theme;
+	private String themeType;
+	
+	private final PropertyChangeSupport changeSupport = new PropertyChangeSupport(this);
+	
+	private final AtomicReference<SettingsSnapshot> snapshot = new AtomicReference<>();
 	
 	/**
 	 * New Profile Settings
@@ -47,7 +68,9 @@ public class ProfileSettings {
 		this.receiveNotifications = true;
 		this.enableDiscordRPC = false;
 		this.showProgramCloseMessage = true;
-		this.theme = Theme.DARK;
+		this.themeType = DEFAULT_THEME_TYPE;
+		
+		publishSnapshot();
 	}
 
 	/**
@@ -62,7 +85,7 @@ public class ProfileSettings {
 	 * @param showProgramCloseMessage
 	 */
 	public ProfileSettings(Language language, long focusMode, long difficulty, long timerAlarm, long guiSize,
-			Boolean receiveNotifications, Boolean enableDiscordRPC, Boolean showProgramCloseMessage, Theme theme) {
+			Boolean receiveNotifications, Boolean enableDiscordRPC, Boolean showProgramCloseMessage, String themeType) {
 		super();
 		this.language = language;
 		this.focusMode = focusMode;
@@ -72,7 +95,9 @@ public class ProfileSettings {
 		this.receiveNotifications = receiveNotifications;
 		this.enableDiscordRPC = enableDiscordRPC;
 		this.showProgramCloseMessage = showProgramCloseMessage;
-		this.theme = theme;
+		this.themeType = themeType;
+		
+		publishSnapshot();
 	}
 	
 	/**
@@ -93,7 +118,9 @@ public class ProfileSettings {
 		this.receiveNotifications = showAhmNotifications;
 		this.enableDiscordRPC = false;
 		this.showProgramCloseMessage = true;
-		this.theme = Theme.DARK;
+		this.themeType = DEFAULT_THEME_TYPE;
+		
+		publishSnapshot();
 	}
 
 	private long convertNewFocusMode(int oldFocusMode) {
@@ -114,7 +141,9 @@ public class ProfileSettings {
 	}
 
 	public void setLanguage(Language language) {
+		Language old = this.language;
 		this.language = language;
+		firePropertyChange(LANGUAGE_PROPERTY, old, language);
 	}
 
 	public long getFocusMode() {
@@ -122,7 +151,9 @@ public class ProfileSettings {
 	}
 
 	public void setFocusMode(long focusMode) {
+		long old = this.focusMode;
 		this.focusMode = focusMode;
+		firePropertyChange(FOCUS_MODE_PROPERTY, old, focusMode);
 	}
 
 	public long getDifficulty() {
@@ -130,7 +161,9 @@ public class ProfileSettings {
 	}
 
 	public void setDifficulty(long difficulty) {
+		long old = this.difficulty;
 		this.difficulty = difficulty;
+		firePropertyChange(DIFFICULTY_PROPERTY, old, difficulty);
 	}
 
 	public long getTimerAlarm() {
@@ -138,7 +171,9 @@ public class ProfileSettings {
 	}
 
 	public void setTimerAlarm(long timerAlarm) {
+		long old = this.timerAlarm;
 		this.timerAlarm = timerAlarm;
+		firePropertyChange(TIMER_ALARM_PROPERTY, old, timerAlarm);
 	}
 
 	public long getGuiSize() {
@@ -146,7 +181,9 @@ public class ProfileSettings {
 	}
 
 	public void setGuiSize(long guiSize) {
+		long old = this.guiSize;
 		this.guiSize = guiSize;
+		firePropertyChange(GUI_SIZE_PROPERTY, old, guiSize);
 	}
 
 	public Boolean getReceiveNotifications() {
@@ -154,7 +191,9 @@ public class ProfileSettings {
 	}
 
 	public void setReceiveNotifications(Boolean receiveNotifications) {
+		Boolean old = this.receiveNotifications;
 		this.receiveNotifications = receiveNotifications;
+		firePropertyChange(RECEIVE_NOTIFICATIONS_PROPERTY, old, receiveNotifications);
 	}
 
 	public Boolean getEnableDiscordRPC() {
@@ -162,7 +201,9 @@ public class ProfileSettings {
 	}
 
 	public void setEnableDiscordRPC(Boolean enableDiscordRPC) {
+		Boolean old = this.enableDiscordRPC;
 		this.enableDiscordRPC = enableDiscordRPC;
+		firePropertyChange(ENABLE_DISCORD_RPC_PROPERTY, old, enableDiscordRPC);
 	}
 
 	public Boolean getShowProgramCloseMessage() {
@@ -170,15 +211,23 @@ public class ProfileSettings {
 	}
 
 	public void setShowProgramCloseMessage(Boolean showProgramCloseMessage) {
+		Boolean old = this.showProgramCloseMessage;
 		this.showProgramCloseMessage = showProgramCloseMessage;
+		firePropertyChange(SHOW_PROGRAM_CLOSE_MESSAGE_PROPERTY, old, showProgramCloseMessage);
 	}
 	
-	public Theme getTheme() {
-		return theme;
+	/**
+	 * @return the type of the theme, such as Dark, which the GUI
+	 * looks up with Theme.getTheme
+	 */
+	public String getThemeType() {
+		return themeType;
 	}
 	
-	public void setTheme(Theme theme) {
-		this.theme = theme;
+	public void setThemeType(String themeType) {
+		String old = this.themeType;
+		this.themeType = themeType;
+		firePropertyChange(THEME_PROPERTY, old, themeType);
 	}
 
 	@Override
@@ -207,4 +256,35 @@ public class ProfileSettings {
 		}
 	}
 
+	
+	/*
+	 * ##################################
+	 * ##################################
+	 * CHANGE NOTIFICATION
+	 * ##################################
+	 * ##################################
+	 */
+	public void addPropertyChangeListener(PropertyChangeListener listener) {
+		changeSupport.addPropertyChangeListener(listener);
+	}
+	
+	public void removePropertyChangeListener(PropertyChangeListener listener) {
+		changeSupport.removePropertyChangeListener(listener);
+	}
+	
+	/**
+	 * @brief The latest immutable view, readable from any thread
+	 */
+	public SettingsSnapshot getSnapshot() {
+		return snapshot.get();
+	}
+	
+	private void publishSnapshot() {
+		snapshot.set(new SettingsSnapshot(this));
+	}
+	
+	private void firePropertyChange(String property, Object oldValue, Object newValue) {
+		publishSnapshot();
+		changeSupport.firePropertyChange(property, oldValue, newValue);
+	}
 }
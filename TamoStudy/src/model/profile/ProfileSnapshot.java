@@ -0,0 +1,239 @@
+package model.profile;
+
+import java.util.List;
+
+import model.language.Language;
+
+/**
+ * ProfileSnapshot
+ *
+ * @author narlock
+ *
+ * @brief An immutable view of a profile at one moment.
+ *
+ * A profile publishes a new snapshot after every change, on the
+ * thread making the change, and any thread can read the latest one
+ * with Profile.getSnapshot() without locking. Serializers use them
+ * so a save on a background thread never sees a profile halfway
+ * through a change.
+ *
+ * Snapshots share whatever did not change with the one before:
+ * earning tokens copies only the top-level values, while the
+ * inventories, Tamo history, Tamo and settings are the same objects.
+ */
+public final class ProfileSnapshot {
+
+	/**
+	 * An immutable view of a Tamo
+	 */
+	public static final class TamoSnapshot {
+		private final String name;
+		private final long time;
+		private final long type;
+		private final String birthDateString;
+		private final String passDateString;
+		private final long happy;
+		private final long hunger;
+		private final long strikes;
+
+		TamoSnapshot(Tamo tamo) {
+			this.name = tamo.getName();
+			this.time = tamo.getTime();
+			this.type = tamo.getType();
+			this.birthDateString = tamo.getBirthDateString();
+			this.passDateString = tamo.getPassDateString();
+			this.happy = tamo.getHappy();
+			this.hunger = tamo.getHunger();
+			this.strikes = tamo.getStrikes();
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getTime() {
+			return time;
+		}
+
+		public long getType() {
+			return type;
+		}
+
+		public String getBirthDateString() {
+			return birthDateString;
+		}
+
+		public String getPassDateString() {
+			return passDateString;
+		}
+
+		public long getHappy() {
+			return happy;
+		}
+
+		public long getHunger() {
+			return hunger;
+		}
+
+		public long getStrikes() {
+			return strikes;
+		}
+	}
+
+	/**
+	 * An immutable view of profile settings. Languages are shared
+	 * immutable instances, and the theme is kept as its type.
+	 */
+	public static final class SettingsSnapshot {
+		private final Language language;
+		private final long focusMode;
+		private final long difficulty;
+		private final long timerAlarm;
+		private final long guiSize;
+		private final Boolean receiveNotifications;
+		private final Boolean enableDiscordRPC;
+		private final Boolean showProgramCloseMessage;
+		private final String themeType;
+
+		SettingsSnapshot(ProfileSettings settings) {
+			this.language = settings.getLanguage();
+			this.focusMode = settings.getFocusMode();
+			this.difficulty = settings.getDifficulty();
+			this.timerAlarm = settings.getTimerAlarm();
+			this.guiSize = settings.getGuiSize();
+			this.receiveNotifications = settings.getReceiveNotifications();
+			this.enableDiscordRPC = settings.getEnableDiscordRPC();
+			this.showProgramCloseMessage = settings.getShowProgramCloseMessage();
+			this.themeType = settings.getThemeType();
+		}
+
+		public Language getLanguage() {
+			return language;
+		}
+
+		public long getFocusMode() {
+			return focusMode;
+		}
+
+		public long getDifficulty() {
+			return difficulty;
+		}
+
+		public long getTimerAlarm() {
+			return timerAlarm;
+		}
+
+		public long getGuiSize() {
+			return guiSize;
+		}
+
+		public Boolean getReceiveNotifications() {
+			return receiveNotifications;
+		}
+
+		public Boolean getEnableDiscordRPC() {
+			return enableDiscordRPC;
+		}
+
+		public Boolean getShowProgramCloseMessage() {
+			return showProgramCloseMessage;
+		}
+
+		public String getThemeType() {
+			return themeType;
+		}
+	}
+
+	private final long id;
+	private final String name;
+	private final String previousDateString;
+	private final long time;
+	private final long tokens;
+	private final SettingsSnapshot settings;
+	private final long backgroundIndicator;
+	private final long borderIndicator;
+	private final List<Long> achievementList;
+	private final List<Long> foodInventoryList;
+	private final List<Long> backgroundInventoryList;
+	private final List<Long> borderInventoryList;
+	private final TamoSnapshot tamo;
+	private final List<TamoSnapshot> tamoHistory;
+
+	/**
+	 * @brief The lists are shared, not copied, so they must be unmodifiable
+	 */
+	ProfileSnapshot(long id, String name, String previousDateString, long time, long tokens, SettingsSnapshot settings,
+			long backgroundIndicator, long borderIndicator, List<Long> achievementList, List<Long> foodInventoryList,
+			List<Long> backgroundInventoryList, List<Long> borderInventoryList, TamoSnapshot tamo, List<TamoSnapshot> tamoHistory) {
+		this.id = id;
+		this.name = name;
+		this.previousDateString = previousDateString;
+		this.time = time;
+		this.tokens = tokens;
+		this.settings = settings;
+		this.backgroundIndicator = backgroundIndicator;
+		this.borderIndicator = borderIndicator;
+		this.achievementList = achievementList;
+		this.foodInventoryList = foodInventoryList;
+		this.backgroundInventoryList = backgroundInventoryList;
+		this.borderInventoryList = borderInventoryList;
+		this.tamo = tamo;
+		this.tamoHistory = tamoHistory;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getPreviousDateString() {
+		return previousDateString;
+	}
+
+	public long getTime() {
+		return time;
+	}
+
+	public long getTokens() {
+		return tokens;
+	}
+
+	public SettingsSnapshot getSettings() {
+		return settings;
+	}
+
+	public long getBackgroundIndicator() {
+		return backgroundIndicator;
+	}
+
+	public long getBorderIndicator() {
+		return borderIndicator;
+	}
+
+	public List<Long> getAchievementList() {
+		return achievementList;
+	}
+
+	public List<Long> getFoodInventoryList() {
+		return foodInventoryList;
+	}
+
+	public List<Long> getBackgroundInventoryList() {
+		return backgroundInventoryList;
+	}
+
+	public List<Long> getBorderInventoryList() {
+		return borderInventoryList;
+	}
+
+	public TamoSnapshot getTamo() {
+		return tamo;
+	}
+
+	public List<TamoSnapshot> getTamoHistory() {
+		return tamoHistory;
+	}
+}
@@ -1,15 +1,9 @@
 package model.profile;
 
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-
-import javax.swing.Timer;
 
 import gui.TamoStudyGUI;
 import resources.Debug;
-import util.Utils;
 
 public class ProfileUpdateManager {
 	/*
@@ -22,7 +16,7 @@ public class ProfileUpdateManager {
 	private TamoStudyGUI tamoStudyGUI;
 	private Tamo tamo;
 	private Profile profile;
-	private Timer timer;
+	private TamoDecayEngine decayEngine = new TamoDecayEngine();
 	
 	public ProfileUpdateManager(TamoStudyGUI tamoStudyGUI) {
 		this.tamoStudyGUI = tamoStudyGUI;
@@ -37,68 +31,20 @@ public class ProfileUpdateManager {
 		updateTamoHappy(tamo, subtraction);
 		
 		// Update JSON
-		tamoStudyGUI.getProfileJsonManager().writeJsonToFile(tamoStudyGUI.getProfiles());
+		tamoStudyGUI.getProfileJsonManager().writeJsonToFileAsync(tamoStudyGUI.getProfiles());
 	}
 	
 	public void updateHappyHungerOnDayChange() {
 		Debug.info("ProfileUpdateManager.updateHappyHungerOnDayChange", 
 				"Updating Happy Hunger for " + profile.getName()
 			);
-		String todayAsString = Utils.todayAsString();
-		if(!profile.getPreviousDateString().equals(todayAsString)) {
+		if(decayEngine.apply(profile, LocalDate.now())) {
 			Debug.info("ProfileUpdateManager.updateHappyHungerOnDayChange", 
-					"New day - updating date string and applying happy/hunger changes."
+					"New day - updated date string and applied happy/hunger changes. tamo=" + tamo
 				);
-			LocalDate todayLocalDate = LocalDate.parse(Utils.todayAsString());
-			LocalDate previousLocalDate = LocalDate.parse(profile.getPreviousDateString());
-			
-			profile.setPreviousDateString(todayAsString);
-			// Updating happiness and hunger based on time
-			
-			long daysBetween = ChronoUnit.DAYS.between(previousLocalDate, todayLocalDate);
-			Debug.info("ProfileUpdateManager.updateHappyHungerOnDayChange", 
-					"daysBetween = " + daysBetween);
-			
-			if(daysBetween < 3) {
-				updateTamoHunger(tamo, 2);
-				updateTamoHappy(tamo, 1);
-				
-				if((profile.getTamo().getHunger() < 2 || profile.getTamo().getHappy() < 2) && profile.getSettings().getDifficulty() != 0) {
-					profile.getTamo().setStrikes(profile.getTamo().getStrikes() + 1);
-					Debug.info("ProfileUpdateManager.updateHappyHungerOnDayChange", "Strike added to tamo " + profile.getTamo().getName() + ", now has " + profile.getTamo().getStrikes() + ".");
-				}
-			} else if(daysBetween < 7 && daysBetween >= 3) {
-				updateTamoHunger(tamo, 3);
-				updateTamoHappy(tamo, 2);
-				
-				if((profile.getTamo().getHunger() < 2 || profile.getTamo().getHappy() < 2) && profile.getSettings().getDifficulty() != 0) {
-					profile.getTamo().setStrikes(profile.getTamo().getStrikes() + 1);
-					Debug.info("ProfileUpdateManager.updateHappyHungerOnDayChange", "Strike added to tamo " + profile.getTamo().getName() + ", now has " + profile.getTamo().getStrikes() + ".");
-				}
-			} else if(daysBetween >= 7 && daysBetween < 30) {
-				updateTamoHunger(tamo, 10);
-				updateTamoHappy(tamo, 10);
-				
-				if((profile.getTamo().getHunger() < 2 || profile.getTamo().getHappy() < 2) && profile.getSettings().getDifficulty() != 0) {
-					profile.getTamo().setStrikes(profile.getTamo().getStrikes() + 1);
-					Debug.info("ProfileUpdateManager.updateHappyHungerOnDayChange", "Strike added to tamo " + profile.getTamo().getName() + ", now has " + profile.getTamo().getStrikes() + ".");
-				}
-			} else if(daysBetween >= 30 && profile.getSettings().getDifficulty() != 0) {
-				profile.getTamo().setStrikes(3);
-				Debug.info("ProfileUpdateManage.updateHappyHungerOnDayChange", "User did not login within 30 days. Tamo automatically passes.");
-			}
 			
-			
-			// Update JSON
-			tamoStudyGUI.getProfileJsonManager().writeJsonToFile(tamoStudyGUI.getProfiles());
-			
-			/*
-			 * TODO
-			 * 
-			 * Under the condition that the state is display happy and hunger, notably,
-			 * dashboard, focus, and statistics, the happiness and hunger should be updated,
-			 * along with the tamo image.
-			 */
+			// Update JSON off the event dispatch thread
+			tamoStudyGUI.getProfileJsonManager().writeJsonToFileAsync(tamoStudyGUI.getProfiles());
 		} else {
 			Debug.info("ProfileUpdateManager.updateHappyHungerOnDayChange", 
 					"Same day detected - applying no changes to profile."
@@ -106,17 +52,6 @@ public class ProfileUpdateManager {
 		}
 	}
 	
-	public void updateHappyHungerBasedOnTime() {
-		timer = new Timer(900000, new ActionListener() {
-			
-			@Override
-			public void actionPerformed(ActionEvent e) {
-				updateHappyHungerOnDayChange();
-			}
-		});
-		timer.start();
-	}
-	
 	public void updateTamoHunger(Tamo tamo, int subtraction) {
 		// Calculate hunger
 		int hunger = (int) tamo.getHunger() - subtraction;
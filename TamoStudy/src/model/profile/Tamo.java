@@ -1,10 +1,23 @@
 package model.profile;
 
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
 
+import model.profile.ProfileSnapshot.TamoSnapshot;
 import util.Utils;
 
 public class Tamo {
+	
+	public static final String NAME_PROPERTY = "tamo.name";
+	public static final String TIME_PROPERTY = "tamo.time";
+	public static final String TYPE_PROPERTY = "tamo.type";
+	public static final String BIRTH_DATE_PROPERTY = "tamo.birthDate";
+	public static final String PASS_DATE_PROPERTY = "tamo.passDate";
+	public static final String HAPPY_PROPERTY = "tamo.happy";
+	public static final String HUNGER_PROPERTY = "tamo.hunger";
+	public static final String STRIKES_PROPERTY = "tamo.strikes";
 
 	private String name;
 	
@@ -24,6 +37,15 @@ public class Tamo {
 	
 	private boolean focused;
 	
+	/*
+	 * Setters publish a new snapshot and notify listeners, such as a
+	 * ProfileBinding, when a value actually changes. Focus is neither;
+	 * only the image shows it.
+	 */
+	private final PropertyChangeSupport changeSupport = new PropertyChangeSupport(this);
+	
+	private final AtomicReference<TamoSnapshot> snapshot = new AtomicReference<>();
+	
 	/**
 	 * Tamo(name)
 	 * @brief Constructor for new profile Tamo
@@ -40,6 +62,8 @@ public class Tamo {
 		this.setStrikes(0);
 		
 		focused = false;
+		
+		publishSnapshot();
 	}
 	
 	/**
@@ -55,6 +79,8 @@ public class Tamo {
 		this.passDateString = passDateString;
 		
 		focused = false;
+		
+		publishSnapshot();
 	}
 
 	/**
@@ -73,6 +99,8 @@ public class Tamo {
 		this.setStrikes(strikes);
 		
 		focused = false;
+		
+		publishSnapshot();
 	}
 
 	public String getName() {
@@ -80,7 +108,9 @@ public class Tamo {
 	}
 
 	public void setName(String name) {
+		String old = this.name;
 		this.name = name;
+		firePropertyChange(NAME_PROPERTY, old, name);
 	}
 
 	public long getTime() {
@@ -88,7 +118,9 @@ public class Tamo {
 	}
 
 	public void setTime(long time) {
+		long old = this.time;
 		this.time = time;
+		firePropertyChange(TIME_PROPERTY, old, time);
 	}
 
 	public long getType() {
@@ -96,7 +128,9 @@ public class Tamo {
 	}
 
 	public void setType(long type) {
+		long old = this.type;
 		this.type = type;
+		firePropertyChange(TYPE_PROPERTY, old, type);
 	}
 
 	public String getBirthDateString() {
@@ -104,7 +138,9 @@ public class Tamo {
 	}
 
 	public void setBirthDateString(String birthDateString) {
+		String old = this.birthDateString;
 		this.birthDateString = birthDateString;
+		firePropertyChange(BIRTH_DATE_PROPERTY, old, birthDateString);
 	}
 
 	public String getPassDateString() {
@@ -112,7 +148,9 @@ public class Tamo {
 	}
 
 	public void setPassDateString(String passDateString) {
+		String old = this.passDateString;
 		this.passDateString = passDateString;
+		firePropertyChange(PASS_DATE_PROPERTY, old, passDateString);
 	}
 
 	public long getHappy() {
@@ -120,7 +158,9 @@ public class Tamo {
 	}
 
 	public void setHappy(long happy) {
+		long old = this.happy;
 		this.happy = happy;
+		firePropertyChange(HAPPY_PROPERTY, old, happy);
 	}
 
 	public long getHunger() {
@@ -128,7 +168,9 @@ public class Tamo {
 	}
 
 	public void setHunger(long hunger) {
+		long old = this.hunger;
 		this.hunger = hunger;
+		firePropertyChange(HUNGER_PROPERTY, old, hunger);
 	}
 	
 	public long getStrikes() {
@@ -136,7 +178,9 @@ public class Tamo {
 	}
 
 	public void setStrikes(long strikes) {
+		long old = this.strikes;
 		this.strikes = strikes;
+		firePropertyChange(STRIKES_PROPERTY, old, strikes);
 	}
 	
 	@Override
@@ -209,4 +253,35 @@ public class Tamo {
 	    return (int) progressToNextLevel;
 	}
 
+	
+	/*
+	 * ##################################
+	 * ##################################
+	 * CHANGE NOTIFICATION
+	 * ##################################
+	 * ##################################
+	 */
+	public void addPropertyChangeListener(PropertyChangeListener listener) {
+		changeSupport.addPropertyChangeListener(listener);
+	}
+	
+	public void removePropertyChangeListener(PropertyChangeListener listener) {
+		changeSupport.removePropertyChangeListener(listener);
+	}
+	
+	/**
+	 * @brief The latest immutable view, readable from any thread
+	 */
+	public TamoSnapshot getSnapshot() {
+		return snapshot.get();
+	}
+	
+	private void publishSnapshot() {
+		snapshot.set(new TamoSnapshot(this));
+	}
+	
+	private void firePropertyChange(String property, Object oldValue, Object newValue) {
+		publishSnapshot();
+		changeSupport.firePropertyChange(property, oldValue, newValue);
+	}
 }
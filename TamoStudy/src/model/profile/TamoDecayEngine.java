@@ -0,0 +1,151 @@
+package model.profile;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import io.ProfileJsonManager;
+import resources.Debug;
+
+/**
+ * TamoDecayEngine
+ *
+ * @author narlock
+ *
+ * @brief Computes the happiness, hunger and strikes of Tamos after
+ * days away from TamoStudy.
+ *
+ * The decay only depends on how many days have passed since the
+ * profile was last used, in bands:
+ *
+ *   1 - 2 days   : hunger - 2, happy - 1
+ *   3 - 6 days   : hunger - 3, happy - 2
+ *   7 - 29 days  : hunger - 10, happy - 10
+ *   30+ days     : the Tamo passes away, unless on easy difficulty
+ *
+ * Neither value goes below zero. Outside of easy difficulty a Tamo
+ * left with hunger or happiness below 2 gets a strike.
+ *
+ * Every profile is decayed in one pass when profiles are loaded, so
+ * the profile selection and any view of several profiles show the
+ * Tamos as they are today, and profiles.json is written once.
+ */
+public class TamoDecayEngine {
+
+	public static final int STRIKES_TO_PASS = 3;
+	public static final long LOW_THRESHOLD = 2;
+
+	// Indexed by band: no days, 1 - 2, 3 - 6, 7 - 29, 30+
+	private static final long[] HUNGER_DECAY = { 0, 2, 3, 10, 0 };
+	private static final long[] HAPPY_DECAY = { 0, 1, 2, 10, 0 };
+	private static final int PASS_BAND = 4;
+
+	/**
+	 * @return the band of a number of days away
+	 */
+	public static int band(long daysBetween) {
+		if(daysBetween <= 0) {
+			return 0;
+		} else if(daysBetween < 3) {
+			return 1;
+		} else if(daysBetween < 7) {
+			return 2;
+		} else if(daysBetween < 30) {
+			return 3;
+		}
+		return PASS_BAND;
+	}
+
+	/**
+	 * @brief Decays every profile last used before today and moves
+	 * its previous date to today.
+	 * @return the number of profiles changed
+	 */
+	public int applyAll(List<Profile> profiles, LocalDate today) {
+		int count = profiles.size();
+		long todayEpochDay = today.toEpochDay();
+		int[] bands = new int[count];
+		long[] hunger = new long[count];
+		long[] happy = new long[count];
+		long[] strikes = new long[count];
+		boolean[] strict = new boolean[count];
+
+		// Gather
+		for(int i = 0; i < count; i++) {
+			Profile profile = profiles.get(i);
+			bands[i] = band(todayEpochDay - previousEpochDay(profile, todayEpochDay));
+			hunger[i] = profile.getTamo().getHunger();
+			happy[i] = profile.getTamo().getHappy();
+			strikes[i] = profile.getTamo().getStrikes();
+			strict[i] = profile.getSettings().getDifficulty() != 0;
+		}
+
+		// Decay, a fixed amount per band
+		for(int i = 0; i < count; i++) {
+			int band = bands[i];
+			hunger[i] = Math.max(0, hunger[i] - HUNGER_DECAY[band]);
+			happy[i] = Math.max(0, happy[i] - HAPPY_DECAY[band]);
+			if(strict[i] && band == PASS_BAND) {
+				strikes[i] = STRIKES_TO_PASS;
+			} else if(strict[i] && band != 0 && (hunger[i] < LOW_THRESHOLD || happy[i] < LOW_THRESHOLD)) {
+				strikes[i]++;
+			}
+		}
+
+		// Scatter
+		int changed = 0;
+		String todayString = today.toString();
+		for(int i = 0; i < count; i++) {
+			if(bands[i] == 0) {
+				continue;
+			}
+			Tamo tamo = profiles.get(i).getTamo();
+			tamo.setHunger(hunger[i]);
+			tamo.setHappy(happy[i]);
+			tamo.setStrikes(strikes[i]);
+			profiles.get(i).setPreviousDateString(todayString);
+			changed++;
+		}
+		return changed;
+	}
+
+	/**
+	 * @brief Decays a single profile.
+	 * @return true if the profile was last used before today
+	 */
+	public boolean apply(Profile profile, LocalDate today) {
+		return applyAll(List.of(profile), today) > 0;
+	}
+
+	/**
+	 * @brief Decays every profile and saves them if any changed.
+	 * @return the number of profiles changed
+	 */
+	public int applyAllAndSave(List<Profile> profiles, ProfileJsonManager profileJsonManager, LocalDate today) {
+		int changed = applyAll(profiles, today);
+		if(changed > 0) {
+			Debug.info("TamoDecayEngine.applyAllAndSave", "Decayed " + changed + " of " + profiles.size() + " profiles");
+			profileJsonManager.writeJsonToFile(profiles);
+		}
+		return changed;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	/**
+	 * An unreadable date is treated as today, so nothing decays
+	 */
+	private static long previousEpochDay(Profile profile, long todayEpochDay) {
+		try {
+			return LocalDate.parse(profile.getPreviousDateString()).toEpochDay();
+		} catch (DateTimeParseException | NullPointerException e) {
+			Debug.warn("TamoDecayEngine.previousEpochDay", "Invalid previous date for profile " + profile.getName());
+			return todayEpochDay;
+		}
+	}
+}
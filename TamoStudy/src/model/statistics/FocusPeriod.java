@@ -0,0 +1,45 @@
+package model.statistics;
+
+import java.time.LocalDate;
+
+/**
+ * FocusPeriod
+ *
+ * @author narlock
+ *
+ * @brief A closed range of days along with the amount of
+ * time (in seconds) focused during that range. Used to report
+ * results such as the best day, week or month of a profile.
+ */
+public class FocusPeriod {
+
+	private LocalDate startDate;
+
+	private LocalDate endDate;
+
+	private long time;
+
+	public FocusPeriod(LocalDate startDate, LocalDate endDate, long time) {
+		super();
+		this.startDate = startDate;
+		this.endDate = endDate;
+		this.time = time;
+	}
+
+	public LocalDate getStartDate() {
+		return startDate;
+	}
+
+	public LocalDate getEndDate() {
+		return endDate;
+	}
+
+	public long getTime() {
+		return time;
+	}
+
+	@Override
+	public String toString() {
+		return "FocusPeriod [startDate=" + startDate + ", endDate=" + endDate + ", time=" + time + "]";
+	}
+}
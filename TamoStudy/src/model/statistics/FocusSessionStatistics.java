@@ -0,0 +1,140 @@
+package model.statistics;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import model.time.FocusSession;
+
+/**
+ * FocusSessionStatistics
+ *
+ * @author narlock
+ *
+ * @brief Time-of-day statistics over the session log of a profile.
+ *
+ * Each session's focused seconds are spread over the hours it ran in,
+ * starting at its start time, to build a weekday x hour distribution
+ * (Monday first, hours 0 - 23 in the local time zone). Session counts,
+ * completion rate and average length are gathered in the same pass.
+ */
+public class FocusSessionStatistics {
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * ATTRIBUTES
+	 * ##################################
+	 * ##################################
+	 */
+	private long[][] weekdayHourTime;
+	private long[] hourTime;
+	private int sessionCount;
+	private int brokenSessionCount;
+	private long totalDuration;
+	private long totalPauseDuration;
+
+	public FocusSessionStatistics(List<FocusSession> sessions) {
+		this(sessions, ZoneId.systemDefault());
+	}
+
+	public FocusSessionStatistics(List<FocusSession> sessions, ZoneId zoneId) {
+		weekdayHourTime = new long[7][24];
+		hourTime = new long[24];
+
+		for(FocusSession session : sessions) {
+			sessionCount++;
+			if(session.isBroken()) {
+				brokenSessionCount++;
+			}
+			totalDuration += session.getDuration();
+			totalPauseDuration += session.getPauseDuration();
+			distribute(session, zoneId);
+		}
+	}
+
+	/**
+	 * @brief Splits the focused time of a session across each
+	 * hour boundary it crosses.
+	 */
+	private void distribute(FocusSession session, ZoneId zoneId) {
+		ZonedDateTime time = Instant.ofEpochSecond(session.getStartEpochSecond()).atZone(zoneId);
+		long remaining = session.getDuration();
+		while(remaining > 0) {
+			long secondsIntoHour = time.getMinute() * 60L + time.getSecond();
+			long slice = Math.min(remaining, 3600 - secondsIntoHour);
+
+			int weekday = time.getDayOfWeek().getValue() - 1;
+			int hour = time.getHour();
+			weekdayHourTime[weekday][hour] += slice;
+			hourTime[hour] += slice;
+
+			remaining -= slice;
+			time = time.plusSeconds(slice);
+		}
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * ACCESSOR METHODS
+	 * ##################################
+	 * ##################################
+	 */
+
+	/**
+	 * @return time focused per [weekday][hour], Monday first
+	 */
+	public long[][] getWeekdayHourTime() {
+		long[][] copy = new long[7][];
+		for(int i = 0; i < 7; i++) {
+			copy[i] = weekdayHourTime[i].clone();
+		}
+		return copy;
+	}
+
+	/**
+	 * @return time focused per hour of the day
+	 */
+	public long[] getHourTime() {
+		return hourTime.clone();
+	}
+
+	/**
+	 * @return the hour of the day (0 - 23) with the most focus,
+	 * or -1 if there are no sessions
+	 */
+	public int getMostFocusedHour() {
+		int mostFocusedHour = -1;
+		for(int hour = 0; hour < 24; hour++) {
+			if(hourTime[hour] > 0 && (mostFocusedHour == -1 || hourTime[hour] > hourTime[mostFocusedHour])) {
+				mostFocusedHour = hour;
+			}
+		}
+		return mostFocusedHour;
+	}
+
+	public int getSessionCount() {
+		return sessionCount;
+	}
+
+	public int getBrokenSessionCount() {
+		return brokenSessionCount;
+	}
+
+	/**
+	 * @return the share of sessions that were completed, 0 - 1
+	 */
+	public double getCompletionRate() {
+		return sessionCount == 0 ? 0 : (double) (sessionCount - brokenSessionCount) / sessionCount;
+	}
+
+	public double getAverageDuration() {
+		return sessionCount == 0 ? 0 : (double) totalDuration / sessionCount;
+	}
+
+	public long getTotalPauseDuration() {
+		return totalPauseDuration;
+	}
+}
@@ -0,0 +1,497 @@
+package model.statistics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import model.time.DailyFocus;
+import model.time.DailyFocusBlock;
+import model.time.DailyFocusEntry;
+import resources.Debug;
+
+/**
+ * FocusStatistics
+ *
+ * @author narlock
+ *
+ * @brief Statistics engine over the daily focus history of a profile.
+ *
+ * The history is laid out once as dense day, week, month and year
+ * arrays, each with a prefix sum array next to it. The total time
+ * focused over any range of days, weeks, months or years is then a
+ * single subtraction, so charts and summaries stay cheap even with
+ * a decade of daily entries.
+ *
+ * Sealed months of a DailyFocus count through their summaries: month,
+ * year and total times, and the best day and month, never decode them.
+ * A query for days within a sealed month decodes that month the first
+ * time, so a view reaching back that far pays for the months it shows.
+ * The best week and the weekday totals and averages need every day, so
+ * the first of them asked for decodes all sealed months once. A sealed
+ * month that fails to decode counts through its summary only.
+ *
+ * Weeks start on Monday. All times are in seconds.
+ */
+public class FocusStatistics {
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * ATTRIBUTES
+	 * ##################################
+	 * ##################################
+	 */
+	private LocalDate today;
+	private LocalDate firstDate;
+	private long firstEpochDay;
+	private int dayCount;
+
+	/**
+	 * Prefix sums: prefix[i] holds the total of the first i
+	 * periods, so the total of periods [a, b] is prefix[b + 1] - prefix[a].
+	 */
+	private long[] dailyPrefix;
+	private long[] monthlyPrefix;
+	private long[] yearlyPrefix;
+
+	private long firstWeekEpochDay;
+	private long[] weeklyTime;
+	private int firstMonthIndex;
+	private int firstYear;
+
+	private long[] weekdayTime;
+	private int[] weekdayCount;
+
+	private FocusPeriod bestDay;
+	private FocusPeriod bestWeek;
+	private FocusPeriod bestMonth;
+
+	private List<DailyFocusBlock> sealedBlocks;
+	private long sealedTime;
+	private boolean sealedDaysCounted;
+
+	/**
+	 * Days of the sealed months decoded so far, by month
+	 */
+	private Map<YearMonth, long[]> sealedDailyTimes = new HashMap<>();
+
+	public FocusStatistics(List<DailyFocusEntry> dailyFocusEntries) {
+		this(dailyFocusEntries, LocalDate.now());
+	}
+
+	public FocusStatistics(List<DailyFocusEntry> dailyFocusEntries, LocalDate today) {
+		this(dailyFocusEntries, Collections.emptyList(), today);
+	}
+
+	public FocusStatistics(DailyFocus dailyFocus) {
+		this(dailyFocus, LocalDate.now());
+	}
+
+	public FocusStatistics(DailyFocus dailyFocus, LocalDate today) {
+		this(dailyFocus.getDailyFocusEntries(), dailyFocus.getSealedBlocks(), today);
+	}
+
+	private FocusStatistics(List<DailyFocusEntry> dailyFocusEntries, List<DailyFocusBlock> sealedBlocks, LocalDate today) {
+		this.today = today;
+		this.sealedBlocks = sealedBlocks;
+		for(DailyFocusBlock block : sealedBlocks) {
+			sealedTime += block.getTotal();
+		}
+		initializeRange(dailyFocusEntries);
+		initializeRollups(dailyFocusEntries);
+	}
+
+	/**
+	 * @brief Finds the first and last day covered by the history.
+	 * The range always reaches today so that "last N" queries line up
+	 * with the calendar even if the profile has not focused recently.
+	 */
+	private void initializeRange(List<DailyFocusEntry> dailyFocusEntries) {
+		long minEpochDay = today.toEpochDay();
+		long maxEpochDay = minEpochDay;
+		for(DailyFocusEntry entry : dailyFocusEntries) {
+			long epochDay = toEpochDay(entry);
+			minEpochDay = Math.min(minEpochDay, epochDay);
+			maxEpochDay = Math.max(maxEpochDay, epochDay);
+		}
+		for(DailyFocusBlock block : sealedBlocks) {
+			minEpochDay = Math.min(minEpochDay, block.getMonth().atDay(1).toEpochDay());
+			maxEpochDay = Math.max(maxEpochDay, block.getMonth().atEndOfMonth().toEpochDay());
+		}
+
+		firstEpochDay = minEpochDay;
+		firstDate = LocalDate.ofEpochDay(minEpochDay);
+		dayCount = (int) (maxEpochDay - minEpochDay + 1);
+	}
+
+	private void initializeRollups(List<DailyFocusEntry> dailyFocusEntries) {
+		LocalDate lastDate = firstDate.plusDays(dayCount - 1);
+
+		// Days
+		long[] dailyTime = new long[dayCount];
+		for(DailyFocusEntry entry : dailyFocusEntries) {
+			dailyTime[(int) (toEpochDay(entry) - firstEpochDay)] += entry.getTime();
+		}
+		dailyPrefix = toPrefix(dailyTime);
+
+		// Weeks
+		firstWeekEpochDay = firstDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toEpochDay();
+		weeklyTime = new long[(int) ((lastDate.toEpochDay() - firstWeekEpochDay) / 7) + 1];
+
+		// Months
+		firstMonthIndex = monthIndex(firstDate.getYear(), firstDate.getMonthValue());
+		long[] monthlyTime = new long[monthIndex(lastDate.getYear(), lastDate.getMonthValue()) - firstMonthIndex + 1];
+
+		// Years
+		firstYear = firstDate.getYear();
+		long[] yearlyTime = new long[lastDate.getYear() - firstYear + 1];
+
+		// Sealed months, by their summaries
+		for(DailyFocusBlock block : sealedBlocks) {
+			YearMonth month = block.getMonth();
+			monthlyTime[monthIndex(month.getYear(), month.getMonthValue()) - firstMonthIndex] += block.getTotal();
+			yearlyTime[month.getYear() - firstYear] += block.getTotal();
+		}
+
+		// Weekdays
+		weekdayTime = new long[7];
+		weekdayCount = new int[7];
+
+		LocalDate date = firstDate;
+		int bestDayIndex = 0;
+		for(int i = 0; i < dayCount; i++) {
+			long time = dailyTime[i];
+			long epochDay = firstEpochDay + i;
+
+			weeklyTime[(int) ((epochDay - firstWeekEpochDay) / 7)] += time;
+			monthlyTime[monthIndex(date.getYear(), date.getMonthValue()) - firstMonthIndex] += time;
+			yearlyTime[date.getYear() - firstYear] += time;
+
+			int weekday = date.getDayOfWeek().getValue() - 1;
+			weekdayTime[weekday] += time;
+			weekdayCount[weekday]++;
+
+			if(time > dailyTime[bestDayIndex]) {
+				bestDayIndex = i;
+			}
+			date = date.plusDays(1);
+		}
+
+		monthlyPrefix = toPrefix(monthlyTime);
+		yearlyPrefix = toPrefix(yearlyTime);
+
+		LocalDate bestDayDate = firstDate.plusDays(bestDayIndex);
+		long bestDayTime = dailyTime[bestDayIndex];
+		for(DailyFocusBlock block : sealedBlocks) {
+			if(block.getMax() > bestDayTime) {
+				bestDayDate = block.getMaxDate();
+				bestDayTime = block.getMax();
+			}
+		}
+		bestDay = new FocusPeriod(bestDayDate, bestDayDate, bestDayTime);
+
+		int bestMonthIndex = indexOfMax(monthlyTime);
+		YearMonth bestYearMonth = yearMonthOfIndex(firstMonthIndex + bestMonthIndex);
+		bestMonth = new FocusPeriod(bestYearMonth.atDay(1), bestYearMonth.atEndOfMonth(), monthlyTime[bestMonthIndex]);
+	}
+
+	/**
+	 * @brief Adds the days of the sealed months to the weeks and
+	 * weekdays, decoding each month once, then finds the best week.
+	 * Done the first time one of them is asked for.
+	 */
+	private void countSealedDays() {
+		if(sealedDaysCounted) {
+			return;
+		}
+		sealedDaysCounted = true;
+		for(DailyFocusBlock block : sealedBlocks) {
+			long[] dailyTimes = getSealedDailyTimes(block);
+			LocalDate date = block.getMonth().atDay(1);
+			for(long time : dailyTimes) {
+				weeklyTime[(int) ((date.toEpochDay() - firstWeekEpochDay) / 7)] += time;
+				weekdayTime[date.getDayOfWeek().getValue() - 1] += time;
+				date = date.plusDays(1);
+			}
+		}
+
+		int bestWeekIndex = indexOfMax(weeklyTime);
+		LocalDate bestWeekStart = LocalDate.ofEpochDay(firstWeekEpochDay + 7L * bestWeekIndex);
+		bestWeek = new FocusPeriod(bestWeekStart, bestWeekStart.plusDays(6), weeklyTime[bestWeekIndex]);
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * RANGE QUERIES
+	 * ##################################
+	 * ##################################
+	 */
+
+	/**
+	 * @return the time focused on a single day
+	 */
+	public long getTimeOnDay(LocalDate date) {
+		return getTimeBetween(date, date);
+	}
+
+	/**
+	 * @return the time focused between two days, both inclusive
+	 */
+	public long getTimeBetween(LocalDate from, LocalDate to) {
+		long time = rangeSum(dailyPrefix, from.toEpochDay() - firstEpochDay, to.toEpochDay() - firstEpochDay);
+		if(!sealedBlocks.isEmpty()) {
+			time += getSealedTimeBetween(from, to);
+		}
+		return time;
+	}
+
+	/**
+	 * @return the time focused during the (Monday based) week containing date
+	 */
+	public long getWeekTime(LocalDate date) {
+		LocalDate weekStart = LocalDate.ofEpochDay(firstWeekEpochDay + 7 * weekIndex(date));
+		return getTimeBetween(weekStart, weekStart.plusDays(6));
+	}
+
+	/**
+	 * @return the time focused between two months, both inclusive
+	 */
+	public long getTimeBetweenMonths(YearMonth from, YearMonth to) {
+		return rangeSum(monthlyPrefix,
+				monthIndex(from.getYear(), from.getMonthValue()) - firstMonthIndex,
+				monthIndex(to.getYear(), to.getMonthValue()) - firstMonthIndex);
+	}
+
+	public long getMonthTime(YearMonth yearMonth) {
+		return getTimeBetweenMonths(yearMonth, yearMonth);
+	}
+
+	/**
+	 * @return the time focused between two years, both inclusive
+	 */
+	public long getTimeBetweenYears(int fromYear, int toYear) {
+		return rangeSum(yearlyPrefix, fromYear - firstYear, toYear - firstYear);
+	}
+
+	public long getYearTime(int year) {
+		return getTimeBetweenYears(year, year);
+	}
+
+	public long getTotalTime() {
+		return dailyPrefix[dayCount] + sealedTime;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * ROLLUPS AND TRENDS
+	 * ##################################
+	 * ##################################
+	 */
+
+	/**
+	 * @return the totals of the last count weeks, oldest first,
+	 * ending with the current week
+	 */
+	public long[] getWeeklyTotals(int count) {
+		long[] totals = new long[count];
+		for(int i = 0; i < count; i++) {
+			totals[i] = getWeekTime(today.minusWeeks(count - 1 - i));
+		}
+		return totals;
+	}
+
+	/**
+	 * @return the totals of the last count months, oldest first,
+	 * ending with the current month
+	 */
+	public long[] getMonthlyTotals(int count) {
+		long currentMonth = monthIndex(today.getYear(), today.getMonthValue()) - firstMonthIndex;
+		long[] totals = new long[count];
+		for(int i = 0; i < count; i++) {
+			long month = currentMonth - (count - 1) + i;
+			totals[i] = rangeSum(monthlyPrefix, month, month);
+		}
+		return totals;
+	}
+
+	/**
+	 * @return the totals of the last count years, oldest first,
+	 * ending with the current year
+	 */
+	public long[] getYearlyTotals(int count) {
+		long currentYear = today.getYear() - firstYear;
+		long[] totals = new long[count];
+		for(int i = 0; i < count; i++) {
+			long year = currentYear - (count - 1) + i;
+			totals[i] = rangeSum(yearlyPrefix, year, year);
+		}
+		return totals;
+	}
+
+	/**
+	 * @return the average time per day over the window days ending on end
+	 */
+	public double getMovingAverage(LocalDate end, int window) {
+		return (double) getTimeBetween(end.minusDays(window - 1), end) / window;
+	}
+
+	/**
+	 * @return the window day moving average for each of the last
+	 * count days, oldest first, ending today
+	 */
+	public double[] getMovingAverages(int window, int count) {
+		double[] averages = new double[count];
+		for(int i = 0; i < count; i++) {
+			averages[i] = getMovingAverage(today.minusDays(count - 1 - i), window);
+		}
+		return averages;
+	}
+
+	public FocusPeriod getBestDay() {
+		return bestDay;
+	}
+
+	public FocusPeriod getBestWeek() {
+		countSealedDays();
+		return bestWeek;
+	}
+
+	public FocusPeriod getBestMonth() {
+		return bestMonth;
+	}
+
+	/**
+	 * @return total time focused per weekday, Monday first
+	 */
+	public long[] getWeekdayTotals() {
+		countSealedDays();
+		return weekdayTime.clone();
+	}
+
+	/**
+	 * @return average time focused per weekday, Monday first
+	 */
+	public double[] getWeekdayAverages() {
+		countSealedDays();
+		double[] averages = new double[7];
+		for(int i = 0; i < 7; i++) {
+			averages[i] = weekdayCount[i] == 0 ? 0 : (double) weekdayTime[i] / weekdayCount[i];
+		}
+		return averages;
+	}
+
+	public LocalDate getToday() {
+		return today;
+	}
+
+	/**
+	 * @return the first day covered, the first day of the oldest
+	 * sealed month if there is one
+	 */
+	public LocalDate getFirstDate() {
+		return firstDate;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private long weekIndex(LocalDate date) {
+		return Math.floorDiv(date.toEpochDay() - firstWeekEpochDay, 7);
+	}
+
+	/**
+	 * @brief The time in sealed months between two days, both
+	 * inclusive. Months wholly in the range count by their summary,
+	 * the others are decoded.
+	 */
+	private long getSealedTimeBetween(LocalDate from, LocalDate to) {
+		long time = 0;
+		for(DailyFocusBlock block : sealedBlocks) {
+			LocalDate monthStart = block.getMonth().atDay(1);
+			LocalDate monthEnd = block.getMonth().atEndOfMonth();
+			if(monthEnd.isBefore(from) || monthStart.isAfter(to)) {
+				continue;
+			}
+			if(!monthStart.isBefore(from) && !monthEnd.isAfter(to)) {
+				time += block.getTotal();
+				continue;
+			}
+			long[] dailyTimes = getSealedDailyTimes(block);
+			int firstDay = from.isAfter(monthStart) ? from.getDayOfMonth() : 1;
+			int lastDay = to.isBefore(monthEnd) ? to.getDayOfMonth() : dailyTimes.length;
+			for(int day = firstDay; day <= lastDay; day++) {
+				time += dailyTimes[day - 1];
+			}
+		}
+		return time;
+	}
+
+	/**
+	 * @return the days of a sealed month, decoded the first time.
+	 * A month that fails to decode has no days.
+	 */
+	private long[] getSealedDailyTimes(DailyFocusBlock block) {
+		return sealedDailyTimes.computeIfAbsent(block.getMonth(), month -> {
+			try {
+				return block.getDailyTimes();
+			} catch (IllegalStateException e) {
+				Debug.error("FocusStatistics.getSealedDailyTimes", e.getMessage());
+				return new long[month.lengthOfMonth()];
+			}
+		});
+	}
+
+	private static long toEpochDay(DailyFocusEntry entry) {
+		return LocalDate.of(entry.getYear().intValue(), entry.getMonth().intValue(), entry.getDay().intValue()).toEpochDay();
+	}
+
+	private static int monthIndex(int year, int month) {
+		return year * 12 + (month - 1);
+	}
+
+	private static YearMonth yearMonthOfIndex(int monthIndex) {
+		return YearMonth.of(monthIndex / 12, (monthIndex % 12) + 1);
+	}
+
+	private static long[] toPrefix(long[] values) {
+		long[] prefix = new long[values.length + 1];
+		for(int i = 0; i < values.length; i++) {
+			prefix[i + 1] = prefix[i] + values[i];
+		}
+		return prefix;
+	}
+
+	/**
+	 * @brief Sums periods [from, to] of a prefix array. Periods outside
+	 * of the recorded range count as zero.
+	 */
+	private static long rangeSum(long[] prefix, long from, long to) {
+		long low = Math.max(from, 0);
+		long high = Math.min(to, prefix.length - 2);
+		if(low > high) {
+			return 0;
+		}
+		return prefix[(int) high + 1] - prefix[(int) low];
+	}
+
+	private static int indexOfMax(long[] values) {
+		int index = 0;
+		for(int i = 1; i < values.length; i++) {
+			if(values[i] > values[index]) {
+				index = i;
+			}
+		}
+		return index;
+	}
+}
@@ -1,24 +1,56 @@
 package model.time;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Date;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
-import gui.TamoStudyGUI;
-import resources.Achievements;
 import resources.Debug;
-import util.Utils;
 
+/**
+ * DailyFocus
+ *
+ * @author narlock
+ *
+ * @brief The daily focus history of a profile, kept in two tiers.
+ *
+ * The recent months are daily focus entries, changed as the profile
+ * focuses. Months older than HOT_MONTHS are sealed into immutable
+ * DailyFocusBlocks, see sealMonthsBefore, so the years of history
+ * behind them are neither parsed as entries on every load nor written
+ * out entry by entry on every save. A sealed month that has to change
+ * again is unsealed back into entries first.
+ */
 public class DailyFocus {
-	
+
+	/**
+	 * The number of months, counting the current one, kept as entries
+	 */
+	public static final int HOT_MONTHS = 13;
+
 	private Long profileId;
 	private List<DailyFocusEntry> dailyFocusEntries;
+	private List<DailyFocusBlock> sealedBlocks;
 
 	public DailyFocus(Long profileId, List<DailyFocusEntry> dailyFocusEntry) {
+		this(profileId, dailyFocusEntry, Collections.emptyList());
+	}
+
+	/**
+	 * @param sealedBlocks the sealed months, oldest first
+	 */
+	public DailyFocus(Long profileId, List<DailyFocusEntry> dailyFocusEntry, List<DailyFocusBlock> sealedBlocks) {
 		super();
 		this.profileId = profileId;
 		this.dailyFocusEntries = dailyFocusEntry;
+		this.sealedBlocks = sealedBlocks;
 	}
 
 	public Long getProfileId() {
@@ -29,6 +61,9 @@ public class DailyFocus {
 		this.profileId = profileId;
 	}
 
+	/**
+	 * @return the entries of the months that are not sealed
+	 */
 	public List<DailyFocusEntry> getDailyFocusEntries() {
 		return dailyFocusEntries;
 	}
@@ -36,68 +71,157 @@ public class DailyFocus {
 	public void setDailyFocusEntries(List<DailyFocusEntry> dailyFocusEntry) {
 		this.dailyFocusEntries = dailyFocusEntry;
 	}
-	
-	public void checkInRowDailyFocusAchievements(TamoStudyGUI gui, int length) {
-		List<Date> datesForAchievements = new ArrayList<>();
-		Date todayDate = Utils.today();
-		datesForAchievements.add(todayDate);
-		Calendar calendar = Calendar.getInstance();
-		calendar.setTime(todayDate);
-		
-		for(int i = 1; i < length; i++) {
-			calendar.add(Calendar.DAY_OF_YEAR, -1);
-			datesForAchievements.add(calendar.getTime());
+
+	/**
+	 * @return the sealed months, oldest first
+	 */
+	public List<DailyFocusBlock> getSealedBlocks() {
+		return sealedBlocks;
+	}
+
+	public void setSealedBlocks(List<DailyFocusBlock> sealedBlocks) {
+		this.sealedBlocks = sealedBlocks;
+	}
+
+	/**
+	 * @return the block of a sealed month, or null if it is not sealed
+	 */
+	public DailyFocusBlock getSealedBlock(YearMonth month) {
+		for(DailyFocusBlock block : sealedBlocks) {
+			if(block.getMonth().equals(month)) {
+				return block;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the first month kept as entries when it is the day
+	 */
+	public static YearMonth getFirstHotMonth(LocalDate today) {
+		return YearMonth.from(today).minusMonths(HOT_MONTHS - 1);
+	}
+
+	/**
+	 * @brief Seals the entries of every month before firstHotMonth into
+	 * blocks. Entries of a month already sealed are sealed in with the
+	 * block's, and entries with an invalid date are left as they are.
+	 * @return the number of months sealed
+	 */
+	public int sealMonthsBefore(YearMonth firstHotMonth) {
+		Map<YearMonth, List<DailyFocusEntry>> sealing = new TreeMap<>();
+		List<DailyFocusEntry> hotEntries = new ArrayList<>();
+		for(DailyFocusEntry entry : dailyFocusEntries) {
+			YearMonth month = monthOf(entry);
+			if(month != null && month.isBefore(firstHotMonth)) {
+				sealing.computeIfAbsent(month, key -> new ArrayList<>()).add(entry);
+			} else {
+				hotEntries.add(entry);
+			}
 		}
-		
-		boolean[] earnedDates = new boolean[length];
-		for(int i = 0; i < length; i++) {
-			earnedDates[i] = false;
+		if(sealing.isEmpty()) {
+			return 0;
 		}
-		
-		for(int i = 0; i < length; i++) {
-			Calendar dateCalendar = Calendar.getInstance();
-			dateCalendar.setTime(datesForAchievements.get(i));
-			
-			long day = dateCalendar.get(Calendar.DAY_OF_MONTH);
-			long month = dateCalendar.get(Calendar.MONTH) + 1;
-			long year = dateCalendar.get(Calendar.YEAR);
-			
-//			Debug.info("DailyFocus.checkInRowDailyFocusAchievement(" + length + ")", "Checking " + month + "/" + day + "/" + year);
-			
-			for(DailyFocusEntry entry : this.dailyFocusEntries) {
-//				Debug.info("DailyFocus.checkInRowDailyFocusAchievement(" + length + ")", "Checking " + month + "/" + day + "/" + year + " is equal " + entry.getMonth() + "/" + entry.getDay() + "/" + entry.getYear() + " = " + (day == entry.getDay() && month == entry.getMonth() && year == entry.getYear()));
-				if(day == entry.getDay() && month == entry.getMonth() && year == entry.getYear() && entry.getTime() >= 3600) {
-					earnedDates[i] = true;
-				}
+
+		Map<YearMonth, DailyFocusBlock> blocks = new TreeMap<>();
+		for(DailyFocusBlock block : sealedBlocks) {
+			blocks.put(block.getMonth(), block);
+		}
+		for(Map.Entry<YearMonth, List<DailyFocusEntry>> month : sealing.entrySet()) {
+			List<DailyFocusEntry> entries = month.getValue();
+			DailyFocusBlock sealed = blocks.get(month.getKey());
+			if(sealed != null) {
+				entries.addAll(sealed.toDailyFocusEntries());
 			}
-			
-//			Debug.info("DailyFocus.checkInRowDailyFocusAchievement(" + length + ")", "Result: " + month + "/" + day + "/" + year + ". earnedDates[i] = " + earnedDates[i]);
+			blocks.put(month.getKey(), DailyFocusBlock.seal(month.getKey(), entries));
+		}
+		this.dailyFocusEntries = hotEntries;
+		this.sealedBlocks = Collections.unmodifiableList(new ArrayList<>(blocks.values()));
+		return sealing.size();
+	}
+
+	/**
+	 * @brief Turns a sealed month back into entries, so they can change.
+	 * @return false if the month was not sealed
+	 */
+	public boolean unseal(YearMonth month) {
+		DailyFocusBlock block = getSealedBlock(month);
+		if(block == null) {
+			return false;
 		}
-		
-		boolean earnedAchievement = true;
-		for(int i = 0; i < length; i++) {
-			if(earnedDates[i] == false) {
-				earnedAchievement = false;
+		List<DailyFocusEntry> entries = new ArrayList<>(block.toDailyFocusEntries());
+		entries.addAll(dailyFocusEntries);
+		List<DailyFocusBlock> blocks = new ArrayList<>(sealedBlocks);
+		blocks.remove(block);
+		this.dailyFocusEntries = entries;
+		this.sealedBlocks = Collections.unmodifiableList(blocks);
+		return true;
+	}
+
+	/**
+	 * @brief Counts the days in a row, ending today, that have at
+	 * least minimumTime seconds of focus. Today counts towards the
+	 * streak only once it has reached minimumTime itself. Sealed
+	 * months are only decoded if the streak reaches them.
+	 */
+	public int getInRowDailyFocusLength(LocalDate today, long minimumTime) {
+		Set<LocalDate> focusedDates = new HashSet<>();
+		for(DailyFocusEntry entry : this.dailyFocusEntries) {
+			if(entry.getTime() >= minimumTime) {
+				focusedDates.add(LocalDate.of(entry.getYear().intValue(), entry.getMonth().intValue(), entry.getDay().intValue()));
 			}
 		}
-		
-		if(earnedAchievement) {
-			switch(length) {
-			case 3:
-				Debug.info("DailyFocus.checkInRowDailyFocusAchievement", "Profile earned " + length + " achievement.");
-				Achievements.earn(gui, 9);
-				break;
-			case 7:
-				Debug.info("DailyFocus.checkInRowDailyFocusAchievement", "Profile earned " + length + " achievement.");
-				Achievements.earn(gui, 10);
-				break;
-			case 30:
-				Debug.info("DailyFocus.checkInRowDailyFocusAchievement", "Profile earned " + length + " achievement.");
-				Achievements.earn(gui, 11);
-				break;
+
+		Map<YearMonth, long[]> sealedDailyTimes = new HashMap<>();
+		int length = 0;
+		LocalDate date = today;
+		while(focusedDates.contains(date) || sealedTime(sealedDailyTimes, date) >= Math.max(minimumTime, 1)) {
+			length++;
+			date = date.minusDays(1);
+		}
+		return length;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	/**
+	 * @return the time on a date in a sealed month, decoding the
+	 * month into dailyTimes the first time, or 0 if it is not sealed
+	 * or fails to decode
+	 */
+	private long sealedTime(Map<YearMonth, long[]> dailyTimes, LocalDate date) {
+		YearMonth month = YearMonth.from(date);
+		long[] times = dailyTimes.get(month);
+		if(times == null) {
+			DailyFocusBlock block = getSealedBlock(month);
+			if(block == null) {
+				return 0;
+			}
+			try {
+				times = block.getDailyTimes();
+			} catch (IllegalStateException e) {
+				Debug.error("DailyFocus.sealedTime", e.getMessage());
+				times = new long[month.lengthOfMonth()];
 			}
-		} else {
-			Debug.warn("DailyFocus.checkInRowDailyFocusAchievement", "Profile did not earn " + length + " achievement.");
+			dailyTimes.put(month, times);
+		}
+		return times[date.getDayOfMonth() - 1];
+	}
+
+	/**
+	 * @return the month of the entry, or null if its date is invalid
+	 */
+	private static YearMonth monthOf(DailyFocusEntry entry) {
+		try {
+			LocalDate.of(entry.getYear().intValue(), entry.getMonth().intValue(), entry.getDay().intValue());
+			return YearMonth.of(entry.getYear().intValue(), entry.getMonth().intValue());
+		} catch (DateTimeException e) {
+			return null;
 		}
 	}
 }
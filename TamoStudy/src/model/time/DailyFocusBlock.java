@@ -0,0 +1,184 @@
+package model.time;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import util.VarInts;
+
+/**
+ * DailyFocusBlock
+ *
+ * @author narlock
+ *
+ * @brief A month of a profile's daily focus history, sealed into an
+ * immutable block once it is old enough to be rarely read.
+ *
+ * The entries are sorted by date and stored as pairs of VarInts: the
+ * days since the entry before, the first counted from the last day of
+ * the month before, and the seconds focused. The pairs are kept Base64
+ * encoded, as saved in dailyfocus.json, and only decoded when a day of
+ * the month is asked for. A summary of the month, its total, its
+ * longest day and the number of entries, is kept beside them, so
+ * totals over whole months never decode the entries.
+ */
+public final class DailyFocusBlock {
+
+	private final YearMonth month;
+	private final long total;
+	private final long max;
+	private final int maxDay;
+	private final int dayCount;
+	private final String encodedEntries;
+
+	/**
+	 * @param maxDay the day of the month of the longest day, 0 if there are no entries
+	 * @param dayCount the number of entries
+	 * @param encodedEntries the Base64 of the entries
+	 */
+	public DailyFocusBlock(YearMonth month, long total, long max, int maxDay, int dayCount, String encodedEntries) {
+		this.month = month;
+		this.total = total;
+		this.max = max;
+		this.maxDay = maxDay;
+		this.dayCount = dayCount;
+		this.encodedEntries = encodedEntries;
+	}
+
+	/**
+	 * @brief Seals entries, all of the month, into a block.
+	 * The entries themselves are left untouched.
+	 */
+	public static DailyFocusBlock seal(YearMonth month, List<DailyFocusEntry> entries) {
+		List<DailyFocusEntry> sorted = new ArrayList<>(entries);
+		sorted.sort(Comparator.comparing(DailyFocusEntry::getDay));
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		long previousEpochDay = month.atDay(1).toEpochDay() - 1;
+		long total = 0;
+		long max = 0;
+		int maxDay = 0;
+		try {
+			for(DailyFocusEntry entry : sorted) {
+				long epochDay = month.atDay(entry.getDay().intValue()).toEpochDay();
+				VarInts.writeUnsignedLong(out, epochDay - previousEpochDay);
+				VarInts.writeUnsignedLong(out, entry.getTime());
+				previousEpochDay = epochDay;
+				total += entry.getTime();
+				if(maxDay == 0 || entry.getTime() > max) {
+					max = entry.getTime();
+					maxDay = entry.getDay().intValue();
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e); // not thrown writing to memory
+		}
+		return new DailyFocusBlock(month, total, max, maxDay, sorted.size(), Base64.getEncoder().encodeToString(bytes.toByteArray()));
+	}
+
+	public YearMonth getMonth() {
+		return month;
+	}
+
+	/**
+	 * @return the seconds focused during the month
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * @return the seconds focused on the month's longest day
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * @return the month's longest day, or null if it has no entries
+	 */
+	public LocalDate getMaxDate() {
+		return maxDay == 0 ? null : month.atDay(maxDay);
+	}
+
+	public int getMaxDay() {
+		return maxDay;
+	}
+
+	public int getDayCount() {
+		return dayCount;
+	}
+
+	public String getEncodedEntries() {
+		return encodedEntries;
+	}
+
+	/**
+	 * @brief Decodes the entries.
+	 * @return the seconds focused on each day of the month, the
+	 * first day at index 0
+	 * @throws IllegalStateException if the entries are damaged
+	 */
+	public long[] getDailyTimes() {
+		long[] dailyTimes = new long[month.lengthOfMonth()];
+		for(DailyFocusEntry entry : toDailyFocusEntries()) {
+			dailyTimes[entry.getDay().intValue() - 1] += entry.getTime();
+		}
+		return dailyTimes;
+	}
+
+	/**
+	 * @brief Decodes the entries into new entries, sorted by date.
+	 * @throws IllegalStateException if the entries are damaged
+	 */
+	public List<DailyFocusEntry> toDailyFocusEntries() {
+		List<DailyFocusEntry> entries = new ArrayList<>(dayCount);
+		try {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(encodedEntries)));
+			long epochDay = month.atDay(1).toEpochDay() - 1;
+			for(int i = 0; i < dayCount; i++) {
+				epochDay += VarInts.readUnsignedLong(in);
+				LocalDate date = LocalDate.ofEpochDay(epochDay);
+				if(!YearMonth.from(date).equals(month)) {
+					throw new IOException(date + " is not in " + month);
+				}
+				entries.add(new DailyFocusEntry((long) date.getDayOfMonth(), (long) date.getMonthValue(), (long) date.getYear(),
+						VarInts.readUnsignedLong(in)));
+			}
+		} catch (IOException | IllegalArgumentException | DateTimeException e) {
+			throw new IllegalStateException("Damaged daily focus block " + month + ": " + e.getMessage());
+		}
+		return entries;
+	}
+
+	/**
+	 * @brief Checks the summary is in range, without decoding the
+	 * entries, so a block is cheap to check as it is read. Damaged
+	 * entries are found when they are decoded.
+	 * @throws IllegalStateException if the summary is damaged
+	 */
+	public void checkIntact() {
+		// Every entry takes at least two bytes, so there cannot be more than characters
+		if(encodedEntries == null || dayCount < 0 || dayCount > encodedEntries.length()
+				|| maxDay < 0 || maxDay > month.lengthOfMonth() || (maxDay == 0) != (dayCount == 0)
+				|| max < 0 || max > total || (dayCount == 0 && total != 0)) {
+			throw new IllegalStateException("Damaged daily focus block " + month + ": invalid summary");
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "DailyFocusBlock [month=" + month + ", total=" + total + ", max=" + max + ", maxDay=" + maxDay
+				+ ", dayCount=" + dayCount + "]";
+	}
+}
@@ -0,0 +1,167 @@
+package model.time;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+
+import resources.Debug;
+
+/**
+ * DayRolloverScheduler
+ *
+ * @author narlock
+ *
+ * @brief Tells listeners when the local date changes.
+ *
+ * A task is scheduled for the next local midnight, so listeners
+ * hear of a new day as it begins rather than on a poll. Scheduled
+ * delays do not follow the wall clock, so a light check also runs
+ * every minute and catches a date change after the computer wakes
+ * from sleep, or a change of the default time zone, and schedules
+ * midnight again.
+ *
+ * The default scheduler calls listeners on the event dispatch
+ * thread and starts with its first listener.
+ */
+public class DayRolloverScheduler {
+
+	public static final long DEFAULT_CHECK_INTERVAL_MILLIS = 60000;
+
+	/**
+	 * Called once per new local date with the date before it,
+	 * which may be more than a day earlier after sleeping.
+	 */
+	public interface Listener {
+		void onDayRollover(LocalDate previousDay, LocalDate today);
+	}
+
+	private static final DayRolloverScheduler defaultScheduler = new DayRolloverScheduler(
+			ZonedDateTime::now, SwingUtilities::invokeLater, DEFAULT_CHECK_INTERVAL_MILLIS);
+
+	private final Supplier<ZonedDateTime> clock;
+	private final Executor listenerExecutor;
+	private final long checkIntervalMillis;
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+	private ScheduledThreadPoolExecutor executor;
+	private ScheduledFuture<?> midnightFuture;
+	private LocalDate currentDay;
+	private ZoneId currentZone;
+
+	/**
+	 * @param clock the current local date and time
+	 * @param listenerExecutor where listeners are called
+	 */
+	public DayRolloverScheduler(Supplier<ZonedDateTime> clock, Executor listenerExecutor, long checkIntervalMillis) {
+		this.clock = clock;
+		this.listenerExecutor = listenerExecutor;
+		this.checkIntervalMillis = checkIntervalMillis;
+	}
+
+	public static DayRolloverScheduler getDefault() {
+		return defaultScheduler;
+	}
+
+	public void addListener(Listener listener) {
+		listeners.add(listener);
+		start();
+	}
+
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	public synchronized void start() {
+		if(executor != null) {
+			return;
+		}
+		executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "TamoStudy-DayRollover");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.setRemoveOnCancelPolicy(true);
+		ZonedDateTime now = clock.get();
+		currentDay = now.toLocalDate();
+		currentZone = now.getZone();
+		scheduleMidnight(now);
+		executor.scheduleWithFixedDelay(this::checkNow, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public synchronized void stop() {
+		if(executor != null) {
+			executor.shutdownNow();
+			executor = null;
+			midnightFuture = null;
+		}
+	}
+
+	/**
+	 * @brief Compares the date now with the last date seen and
+	 * calls the listeners if it moved forward. The date moving
+	 * back, such as after a time zone change, is only remembered.
+	 */
+	public synchronized void checkNow() {
+		if(executor == null) {
+			return;
+		}
+		ZonedDateTime now = clock.get();
+		LocalDate today = now.toLocalDate();
+		boolean zoneChanged = !now.getZone().equals(currentZone);
+		if(today.equals(currentDay) && !zoneChanged) {
+			return;
+		}
+
+		LocalDate previousDay = currentDay;
+		currentDay = today;
+		currentZone = now.getZone();
+		scheduleMidnight(now);
+		if(today.isAfter(previousDay)) {
+			Debug.info("DayRolloverScheduler.checkNow", "Day rolled over from " + previousDay + " to " + today);
+			for(Listener listener : listeners) {
+				listenerExecutor.execute(() -> listener.onDayRollover(previousDay, today));
+			}
+		}
+	}
+
+	/**
+	 * @return the time until the next local midnight
+	 */
+	public static Duration untilNextMidnight(ZonedDateTime now) {
+		// atStartOfDay skips a midnight lost to a daylight saving gap
+		return Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay(now.getZone()));
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private void scheduleMidnight(ZonedDateTime now) {
+		if(midnightFuture != null) {
+			midnightFuture.cancel(false);
+		}
+		midnightFuture = executor.schedule(this::onMidnight, untilNextMidnight(now).toNanos(), TimeUnit.NANOSECONDS);
+	}
+
+	private synchronized void onMidnight() {
+		midnightFuture = null;
+		checkNow();
+		if(midnightFuture == null && executor != null) {
+			// Fired before the wall clock reached midnight, try again
+			scheduleMidnight(clock.get());
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package model.time;
+
+/**
+ * FocusSession
+ *
+ * @author narlock
+ *
+ * Represents a single focus session of a profile.
+ * Unlike DailyFocusEntry and MonthFocusEntry, which only
+ * keep running totals, a session remembers when it started
+ * (epoch seconds), how long was focused, how long it was
+ * paused, the focus mode it ran in and how it ended.
+ */
+public class FocusSession {
+
+	/*
+	 * Outcomes
+	 */
+	public static final byte COMPLETED = 0;
+	public static final byte BROKEN = 1;
+
+	private long profileId;
+
+	private long startEpochSecond;
+
+	private int duration;
+
+	private int pauseDuration;
+
+	/*
+	 * See ProfileSettings.focusMode
+	 */
+	private byte mode;
+
+	private byte outcome;
+
+	public FocusSession(long profileId, long startEpochSecond, int duration, int pauseDuration, byte mode, byte outcome) {
+		super();
+		this.profileId = profileId;
+		this.startEpochSecond = startEpochSecond;
+		this.duration = duration;
+		this.pauseDuration = pauseDuration;
+		this.mode = mode;
+		this.outcome = outcome;
+	}
+
+	public long getProfileId() {
+		return profileId;
+	}
+
+	public long getStartEpochSecond() {
+		return startEpochSecond;
+	}
+
+	public int getDuration() {
+		return duration;
+	}
+
+	public int getPauseDuration() {
+		return pauseDuration;
+	}
+
+	public byte getMode() {
+		return mode;
+	}
+
+	public byte getOutcome() {
+		return outcome;
+	}
+
+	public boolean isBroken() {
+		return outcome == BROKEN;
+	}
+
+	@Override
+	public String toString() {
+		return "FocusSession [profileId=" + profileId + ", startEpochSecond=" + startEpochSecond + ", duration="
+				+ duration + ", pauseDuration=" + pauseDuration + ", mode=" + mode + ", outcome=" + outcome + "]";
+	}
+
+}
@@ -0,0 +1,119 @@
+package model.time;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.achievement.AchievementEvent;
+import model.profile.Profile;
+import util.Utils;
+
+/**
+ * FocusSessionRecorder
+ *
+ * @author narlock
+ *
+ * @brief Credits focus time the way a focus session does: to the day
+ * and month it was focused on, and to the profile's total time, tokens
+ * and Tamo happiness. Shared by the focus screen, which credits a
+ * running session at midnight and when it ends, and the command line,
+ * which credits a whole session once it ends. Loads no Swing classes.
+ */
+public class FocusSessionRecorder {
+
+	/**
+	 * Seconds a day needs to count towards the days in a row achievements
+	 */
+	public static final int STREAK_DAY_SECONDS = 3600;
+
+	private final Profile profile;
+	private final DailyFocus dailyFocus;
+	private final MonthFocus monthFocus;
+
+	public FocusSessionRecorder(Profile profile, DailyFocus dailyFocus, MonthFocus monthFocus) {
+		this.profile = profile;
+		this.dailyFocus = dailyFocus;
+		this.monthFocus = monthFocus;
+	}
+
+	/**
+	 * @brief Adds seconds focused to a day and its month, the profile's
+	 * total, tokens and Tamo happiness.
+	 */
+	public static void credit(Profile profile, DailyFocusEntry dailyFocusEntry, MonthFocusEntry monthFocusEntry, int seconds) {
+		dailyFocusEntry.setTime(dailyFocusEntry.getTime() + seconds); // Daily Time
+		monthFocusEntry.setTime(monthFocusEntry.getTime() + seconds); // Month Time
+		profile.addFocusTime(seconds); // Total Time, Tokens and Tamo Happiness
+	}
+
+	/**
+	 * @return the events a finished session publishes to the achievement engine
+	 */
+	public static AchievementEvent[] getSessionEvents(DailyFocus dailyFocus, LocalDate today) {
+		// Focus time and happiness, then days in a row with an hour of focus
+		return new AchievementEvent[] {
+				AchievementEvent.sessionCompleted(),
+				AchievementEvent.streakAdvanced(dailyFocus.getInRowDailyFocusLength(today, STREAK_DAY_SECONDS))
+			};
+	}
+
+	/**
+	 * @brief Credits a session that focused from start without pausing.
+	 * A session running over midnight credits the time before midnight
+	 * to the day it started and the rest to the next day, as the focus
+	 * screen does.
+	 */
+	public void creditSession(LocalDateTime start, int seconds) {
+		LocalDateTime from = start;
+		int left = seconds;
+		while(left > 0) {
+			LocalDateTime midnight = from.toLocalDate().plusDays(1).atStartOfDay();
+			int focused = (int) Math.min(left, Duration.between(from, midnight).getSeconds());
+			credit(from.toLocalDate(), focused);
+			left -= focused;
+			from = midnight;
+		}
+	}
+
+	/**
+	 * @brief Credits seconds focused on a date, creating its daily and
+	 * month focus entries if they do not exist.
+	 */
+	public void credit(LocalDate date, int seconds) {
+		credit(profile, findDailyFocusEntry(date), findMonthFocusEntry(date), seconds);
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	/**
+	 * Entries are added to a copy of the list, as it may be unmodifiable
+	 */
+	private DailyFocusEntry findDailyFocusEntry(LocalDate date) {
+		DailyFocusEntry dailyFocusEntry = Utils.searchDailyFocusEntryByDate(dailyFocus.getDailyFocusEntries(), date);
+		if(dailyFocusEntry == null) {
+			dailyFocusEntry = Utils.createDailyFocusEntry(date);
+			List<DailyFocusEntry> dailyFocusEntries = new ArrayList<>(dailyFocus.getDailyFocusEntries());
+			dailyFocusEntries.add(dailyFocusEntry);
+			dailyFocus.setDailyFocusEntries(dailyFocusEntries);
+		}
+		return dailyFocusEntry;
+	}
+
+	private MonthFocusEntry findMonthFocusEntry(LocalDate date) {
+		MonthFocusEntry monthFocusEntry = Utils.searchMonthFocusEntryByDate(monthFocus.getMonthFocusEntries(), date);
+		if(monthFocusEntry == null) {
+			monthFocusEntry = Utils.createMonthFocusEntry(date);
+			List<MonthFocusEntry> monthFocusEntries = new ArrayList<>(monthFocus.getMonthFocusEntries());
+			monthFocusEntries.add(monthFocusEntry);
+			monthFocus.setMonthFocusEntries(monthFocusEntries);
+		}
+		return monthFocusEntry;
+	}
+}
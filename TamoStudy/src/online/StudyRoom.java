@@ -0,0 +1,67 @@
+package online;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * StudyRoom
+ *
+ * @author narlock
+ *
+ * @brief An immutable view of everyone in a study room. The client
+ * publishes a new one after every update from the server.
+ */
+public final class StudyRoom {
+
+	private final int ownId;
+	private final List<StudyRoomMember> members;
+
+	/**
+	 * @param ownId the member id the server gave this client,
+	 * or -1 before it has joined
+	 */
+	public StudyRoom(int ownId, List<StudyRoomMember> members) {
+		this.ownId = ownId;
+		this.members = Collections.unmodifiableList(new ArrayList<>(members));
+	}
+
+	public int getOwnId() {
+		return ownId;
+	}
+
+	public List<StudyRoomMember> getMembers() {
+		return members;
+	}
+
+	public StudyRoomMember getMember(int id) {
+		for(StudyRoomMember member : members) {
+			if(member.getId() == id) {
+				return member;
+			}
+		}
+		return null;
+	}
+
+	public int getFocusingCount() {
+		int focusing = 0;
+		for(StudyRoomMember member : members) {
+			if(member.isFocusing()) {
+				focusing++;
+			}
+		}
+		return focusing;
+	}
+
+	/**
+	 * @return the members by how long they focused today at the
+	 * time, longest first
+	 */
+	public List<StudyRoomMember> getLeaderboard(long nowMillis) {
+		List<StudyRoomMember> leaderboard = new ArrayList<>(members);
+		leaderboard.sort(Comparator.comparingLong((StudyRoomMember member) -> member.getFocusedSeconds(nowMillis)).reversed()
+				.thenComparing(StudyRoomMember::getName));
+		return leaderboard;
+	}
+}
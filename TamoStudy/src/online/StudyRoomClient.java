@@ -0,0 +1,365 @@
+package online;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.SwingUtilities;
+
+import resources.Debug;
+import util.VarInts;
+
+/**
+ * StudyRoomClient
+ *
+ * @author narlock
+ *
+ * @brief Joins a study room on a StudyRoomServer, sharing this
+ * user's focus status and following everyone else's.
+ *
+ * Nothing here blocks the caller. Status updates are written by a
+ * thread of their own, and only the latest one waiting is sent, so
+ * the focus timer may send one on every change. The room is read on
+ * another thread, published as an immutable StudyRoom and handed to
+ * the listeners on their executor, the event dispatch thread by
+ * default, at most one update waiting at a time. A lost connection
+ * is retried with a growing delay, sending the latest status again.
+ * Each start gives the reader a new generation. A reader left over
+ * from before a stop, such as one still connecting, sees its
+ * generation has passed and leaves the connection, the output and
+ * the room to the current one.
+ *
+ * The default client joins the room given by -Dtamostudy.room=host:port.
+ */
+public class StudyRoomClient {
+
+	public static final String ROOM_PROPERTY = "tamostudy.room";
+
+	public static final int CONNECT_TIMEOUT_MILLIS = 5000;
+	public static final long INITIAL_RETRY_MILLIS = 1000;
+	public static final long MAX_RETRY_MILLIS = 30_000;
+
+	private static final StudyRoom NO_ROOM = new StudyRoom(-1, Collections.emptyList());
+
+	private static StudyRoomClient defaultClient;
+
+	public interface Listener {
+		void roomChanged(StudyRoom room);
+	}
+
+	private final String host;
+	private final int port;
+	private final Executor listenerExecutor;
+	private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+	private final AtomicReference<StudyRoom> room = new AtomicReference<>(NO_ROOM);
+	private final AtomicReference<ByteBuffer> pendingStatus = new AtomicReference<>();
+	private final AtomicBoolean notifyScheduled = new AtomicBoolean();
+	private final Object outputLock = new Object();
+
+	private volatile ByteBuffer lastStatus;
+	private volatile boolean running;
+	private volatile int generation; // changed while holding this
+	private volatile Socket socket;
+	private OutputStream output; // guarded by outputLock
+	private volatile String name;
+	private volatile boolean rejoining;
+	private Thread readerThread;
+	private ExecutorService writer;
+
+	/**
+	 * @param listenerExecutor runs the listeners
+	 */
+	public StudyRoomClient(String host, int port, Executor listenerExecutor) {
+		this.host = host;
+		this.port = port;
+		this.listenerExecutor = listenerExecutor;
+	}
+
+	/**
+	 * @return the client of the room given by -Dtamostudy.room,
+	 * or null when no room is set
+	 */
+	public static synchronized StudyRoomClient getDefault() {
+		String room = System.getProperty(ROOM_PROPERTY);
+		if(room == null || room.isEmpty()) {
+			return null;
+		}
+		if(defaultClient == null) {
+			int separator = room.lastIndexOf(':');
+			String host = separator == -1 ? room : room.substring(0, separator);
+			int port = StudyRoomServer.DEFAULT_PORT;
+			if(separator != -1) {
+				try {
+					port = Integer.parseInt(room.substring(separator + 1));
+				} catch (NumberFormatException e) {
+					Debug.error("StudyRoomClient.getDefault", "Invalid study room " + room + ", expected host:port");
+					return null;
+				}
+			}
+			defaultClient = new StudyRoomClient(host, port, SwingUtilities::invokeLater);
+		}
+		return defaultClient;
+	}
+
+	/**
+	 * @brief Joins the room under the name, connecting in the
+	 * background. If already started under another name, such as
+	 * after switching profiles, the room is joined again under this one.
+	 */
+	public synchronized void start(String name) {
+		if(running) {
+			if(!name.equals(this.name)) {
+				this.name = name;
+				rejoining = true;
+				closeSocket();
+			}
+			return;
+		}
+		this.name = name;
+		running = true;
+		int readerGeneration = ++generation;
+		writer = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "TamoStudy-StudyRoomWriter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		readerThread = new Thread(() -> run(readerGeneration), "TamoStudy-StudyRoomClient");
+		readerThread.setDaemon(true);
+		readerThread.start();
+	}
+
+	/**
+	 * @brief Leaves the room. The client can be started again.
+	 */
+	public synchronized void stop() {
+		if(!running) {
+			return;
+		}
+		running = false;
+		generation++;
+		closeSocket();
+		socket = null;
+		synchronized(outputLock) {
+			output = null;
+		}
+		readerThread.interrupt();
+		writer.shutdownNow();
+		readerThread = null;
+		writer = null;
+		publish(NO_ROOM);
+	}
+
+	public boolean isConnected() {
+		return room.get().getOwnId() != -1;
+	}
+
+	/**
+	 * @return the room as last received, empty while not connected
+	 */
+	public StudyRoom getRoom() {
+		return room.get();
+	}
+
+	public void addListener(Listener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Listener listener) {
+		listeners.remove(listener);
+	}
+
+	/**
+	 * @brief Shares this user's status with the room. Never blocks.
+	 * @param activity one of the StudyRoomMember activities
+	 * @param remainingSeconds the time left in the session
+	 * @param focusedSeconds how long the user focused today
+	 */
+	public void updateStatus(byte activity, long remainingSeconds, long focusedSeconds) {
+		ByteBuffer status;
+		try {
+			status = StudyRoomProtocol.status(activity, remainingSeconds, focusedSeconds);
+		} catch (IOException e) {
+			return; // not thrown writing to memory
+		}
+		lastStatus = status;
+		ExecutorService statusWriter;
+		synchronized(this) {
+			statusWriter = writer;
+		}
+		if(pendingStatus.getAndSet(status) == null && statusWriter != null) {
+			statusWriter.execute(this::writePendingStatus);
+		}
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private boolean isCurrent(int readerGeneration) {
+		return generation == readerGeneration;
+	}
+
+	private void run(int readerGeneration) {
+		long retryMillis = INITIAL_RETRY_MILLIS;
+		while(isCurrent(readerGeneration)) {
+			try (Socket connection = new Socket()) {
+				connection.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+				connection.setTcpNoDelay(true);
+				synchronized(this) {
+					if(!isCurrent(readerGeneration)) {
+						return;
+					}
+					socket = connection;
+				}
+				synchronized(outputLock) {
+					// stop() moves the generation on before it clears the output
+					if(!isCurrent(readerGeneration)) {
+						return;
+					}
+					output = connection.getOutputStream();
+					output.write(StudyRoomProtocol.hello(name).array());
+					// The latest status is sent now, whatever is waiting for the writer
+					pendingStatus.set(null);
+					ByteBuffer status = lastStatus;
+					if(status != null) {
+						output.write(status.array());
+					}
+					output.flush();
+				}
+				Debug.info("StudyRoomClient.run", "Joined study room " + host + ":" + port + " as " + name);
+				retryMillis = INITIAL_RETRY_MILLIS;
+				readRoom(new DataInputStream(new BufferedInputStream(connection.getInputStream())), readerGeneration);
+			} catch (IOException e) {
+				if(isCurrent(readerGeneration)) {
+					Debug.warn("StudyRoomClient.run", "Lost study room " + host + ":" + port + ", retrying in " + retryMillis + " ms: " + e);
+				}
+			} finally {
+				// A reader whose generation has passed leaves them to the current one
+				synchronized(this) {
+					if(isCurrent(readerGeneration)) {
+						synchronized(outputLock) {
+							output = null;
+						}
+						socket = null;
+						publish(NO_ROOM);
+					}
+				}
+			}
+			if(!isCurrent(readerGeneration)) {
+				return;
+			}
+			if(rejoining) {
+				rejoining = false;
+				continue;
+			}
+
+			try {
+				Thread.sleep(retryMillis);
+			} catch (InterruptedException e) {
+				return;
+			}
+			retryMillis = Math.min(retryMillis * 2, MAX_RETRY_MILLIS);
+		}
+	}
+
+	/**
+	 * Reads frames until the connection is closed
+	 */
+	private void readRoom(DataInputStream in, int readerGeneration) throws IOException {
+		Map<Integer, StudyRoomMember> members = new LinkedHashMap<>();
+		int ownId = -1;
+		while(isCurrent(readerGeneration)) {
+			int length = in.readInt();
+			if(length <= 0 || length > StudyRoomProtocol.MAX_FRAME_SIZE) {
+				throw new IOException("Invalid frame length " + length);
+			}
+			byte type = in.readByte();
+			byte[] payload = new byte[length - 1];
+			in.readFully(payload);
+			DataInputStream payloadIn = new DataInputStream(new ByteArrayInputStream(payload));
+			switch(type) {
+			case StudyRoomProtocol.WELCOME:
+				ownId = VarInts.readCount(payloadIn, Integer.MAX_VALUE);
+				break;
+			case StudyRoomProtocol.ROOM:
+				StudyRoomProtocol.readRoom(payloadIn, members, System.currentTimeMillis());
+				synchronized(this) {
+					if(isCurrent(readerGeneration)) {
+						publish(new StudyRoom(ownId, new ArrayList<>(members.values())));
+					}
+				}
+				break;
+			default:
+				// Sent by a newer server, ignored
+				break;
+			}
+		}
+	}
+
+	private void writePendingStatus() {
+		ByteBuffer status = pendingStatus.getAndSet(null);
+		if(status == null) {
+			return;
+		}
+		synchronized(outputLock) {
+			if(output == null) {
+				return; // sent as the last status on connecting
+			}
+			try {
+				output.write(status.array());
+				output.flush();
+			} catch (IOException e) {
+				Debug.warn("StudyRoomClient.writePendingStatus", "Could not send status: " + e);
+				closeSocket();
+			}
+		}
+	}
+
+	private void publish(StudyRoom newRoom) {
+		room.set(newRoom);
+		if(!notifyScheduled.compareAndSet(false, true)) {
+			return;
+		}
+		listenerExecutor.execute(() -> {
+			notifyScheduled.set(false);
+			StudyRoom latest = room.get();
+			for(Listener listener : listeners) {
+				try {
+					listener.roomChanged(latest);
+				} catch (RuntimeException e) {
+					Debug.error("StudyRoomClient.publish", "Listener failed: " + e);
+				}
+			}
+		});
+	}
+
+	private void closeSocket() {
+		Socket connection = socket;
+		if(connection != null) {
+			try {
+				connection.close();
+			} catch (IOException e) {
+				Debug.warn("StudyRoomClient.closeSocket", "Could not close connection: " + e);
+			}
+		}
+	}
+}
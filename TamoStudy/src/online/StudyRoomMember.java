@@ -0,0 +1,102 @@
+package online;
+
+/**
+ * StudyRoomMember
+ *
+ * @author narlock
+ *
+ * @brief An immutable view of someone in a study room, as last
+ * received from the server.
+ *
+ * Timers are not sent every second. The member's remaining time and
+ * focus time are sent when they change and counted on from when they
+ * were received, so getRemainingSeconds and getFocusedSeconds stay
+ * current between updates.
+ */
+public final class StudyRoomMember {
+
+	public static final byte IDLE = 0;
+	public static final byte FOCUSING = 1;
+	public static final byte PAUSED = 2;
+	public static final byte BREAK = 3;
+
+	private final int id;
+	private final String name;
+	private final byte activity;
+	private final long remainingSeconds;
+	private final long focusedSeconds;
+	private final long receivedMillis;
+
+	/**
+	 * @param remainingSeconds the time left in the member's session
+	 * @param focusedSeconds how long the member focused today
+	 * @param receivedMillis when the times were received
+	 */
+	public StudyRoomMember(int id, String name, byte activity, long remainingSeconds, long focusedSeconds, long receivedMillis) {
+		this.id = id;
+		this.name = name;
+		this.activity = activity;
+		this.remainingSeconds = remainingSeconds;
+		this.focusedSeconds = focusedSeconds;
+		this.receivedMillis = receivedMillis;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public byte getActivity() {
+		return activity;
+	}
+
+	public boolean isFocusing() {
+		return activity == FOCUSING;
+	}
+
+	/**
+	 * @return the time left in the member's session at the time,
+	 * counting down while focusing or on a break
+	 */
+	public long getRemainingSeconds(long nowMillis) {
+		if(activity != FOCUSING && activity != BREAK) {
+			return remainingSeconds;
+		}
+		return Math.max(0, remainingSeconds - elapsedSeconds(nowMillis));
+	}
+
+	/**
+	 * @return how long the member focused today at the time,
+	 * counting up while focusing
+	 */
+	public long getFocusedSeconds(long nowMillis) {
+		if(activity != FOCUSING) {
+			return focusedSeconds;
+		}
+		return focusedSeconds + Math.min(remainingSeconds, elapsedSeconds(nowMillis));
+	}
+
+	public long getReceivedMillis() {
+		return receivedMillis;
+	}
+
+	@Override
+	public String toString() {
+		return "StudyRoomMember [id=" + id + ", name=" + name + ", activity=" + activity + ", remainingSeconds="
+				+ remainingSeconds + ", focusedSeconds=" + focusedSeconds + "]";
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private long elapsedSeconds(long nowMillis) {
+		return Math.max(0, nowMillis - receivedMillis) / 1000;
+	}
+}
@@ -0,0 +1,169 @@
+package online;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+
+import util.VarInts;
+
+/**
+ * StudyRoomProtocol
+ *
+ * @author narlock
+ *
+ * @brief The messages study room clients and servers exchange.
+ *
+ * Every message is a frame: int length, byte type, then the payload.
+ * Numbers in payloads are VarInts unless noted.
+ *
+ *   HELLO   client -> server : short version, UTF name
+ *   STATUS  client -> server : byte activity, remaining seconds, focused seconds today
+ *   WELCOME server -> client : the client's member id
+ *   ROOM    server -> client : byte snapshot, changed count, then per member
+ *                              id, byte fields, then the fields present:
+ *                              UTF name, byte activity, remaining, focused;
+ *                              then removed count and removed ids
+ *
+ * Room updates are deltas: only the members and fields that changed
+ * since the last update are sent, and times are sent as they are at
+ * the moment of sending. A snapshot replaces the room instead, and is
+ * sent to clients joining or catching up.
+ */
+public final class StudyRoomProtocol {
+
+	public static final short VERSION = 1;
+
+	public static final byte HELLO = 1;
+	public static final byte STATUS = 2;
+	public static final byte WELCOME = 3;
+	public static final byte ROOM = 4;
+
+	public static final int NAME_FIELD = 1;
+	public static final int ACTIVITY_FIELD = 2;
+	public static final int REMAINING_FIELD = 4;
+	public static final int FOCUSED_FIELD = 8;
+	public static final int ALL_FIELDS = NAME_FIELD | ACTIVITY_FIELD | REMAINING_FIELD | FOCUSED_FIELD;
+	public static final int STATUS_FIELDS = ACTIVITY_FIELD | REMAINING_FIELD | FOCUSED_FIELD;
+
+	public static final int FRAME_HEADER_SIZE = 4;
+	public static final int MAX_FRAME_SIZE = 1 << 20;
+	public static final int MAX_NAME_LENGTH = 32;
+
+	private StudyRoomProtocol() {}
+
+	/**
+	 * @brief Builds a frame around a payload written to the stream
+	 */
+	public static ByteBuffer frame(byte type, ByteArrayOutputStream payload) {
+		ByteBuffer buffer = ByteBuffer.allocate(FRAME_HEADER_SIZE + 1 + payload.size());
+		buffer.putInt(1 + payload.size());
+		buffer.put(type);
+		buffer.put(payload.toByteArray());
+		buffer.flip();
+		return buffer;
+	}
+
+	public static ByteBuffer hello(String name) throws IOException {
+		ByteArrayOutputStream payload = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(payload);
+		out.writeShort(VERSION);
+		out.writeUTF(trimName(name));
+		return frame(HELLO, payload);
+	}
+
+	public static ByteBuffer status(byte activity, long remainingSeconds, long focusedSeconds) throws IOException {
+		ByteArrayOutputStream payload = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(payload);
+		out.writeByte(activity);
+		VarInts.writeUnsignedLong(out, Math.max(0, remainingSeconds));
+		VarInts.writeUnsignedLong(out, Math.max(0, focusedSeconds));
+		return frame(STATUS, payload);
+	}
+
+	public static ByteBuffer welcome(int memberId) throws IOException {
+		ByteArrayOutputStream payload = new ByteArrayOutputStream();
+		VarInts.writeUnsignedLong(new DataOutputStream(payload), memberId);
+		return frame(WELCOME, payload);
+	}
+
+	/**
+	 * @param changed the fields that changed of each member, by id
+	 * @param nowMillis the time the members' times are sent as of
+	 */
+	public static ByteBuffer room(boolean snapshot, Map<Integer, Integer> changed, Map<Integer, StudyRoomMember> members,
+			Collection<Integer> removed, long nowMillis) throws IOException {
+		ByteArrayOutputStream payload = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(payload);
+		out.writeBoolean(snapshot);
+		VarInts.writeUnsignedLong(out, changed.size());
+		for(Map.Entry<Integer, Integer> change : changed.entrySet()) {
+			writeMember(out, members.get(change.getKey()), change.getValue(), nowMillis);
+		}
+		VarInts.writeUnsignedLong(out, removed.size());
+		for(int id : removed) {
+			VarInts.writeUnsignedLong(out, id);
+		}
+		return frame(ROOM, payload);
+	}
+
+	/**
+	 * @brief Applies a ROOM payload to the members, by id. Fields
+	 * that were not sent keep counting on from their last values.
+	 */
+	public static void readRoom(DataInput in, Map<Integer, StudyRoomMember> members, long nowMillis) throws IOException {
+		if(in.readBoolean()) {
+			members.clear();
+		}
+		int changedCount = VarInts.readCount(in, MAX_FRAME_SIZE);
+		for(int i = 0; i < changedCount; i++) {
+			int id = VarInts.readCount(in, Integer.MAX_VALUE);
+			int fields = in.readUnsignedByte();
+			StudyRoomMember member = members.get(id);
+			if(member == null && (fields & NAME_FIELD) == 0) {
+				throw new IOException("Update for unknown member " + id);
+			}
+			String name = (fields & NAME_FIELD) != 0 ? in.readUTF() : member.getName();
+			byte activity = (fields & ACTIVITY_FIELD) != 0 ? in.readByte() : member.getActivity();
+			long remaining = (fields & REMAINING_FIELD) != 0 ? VarInts.readUnsignedLong(in) : member.getRemainingSeconds(nowMillis);
+			long focused = (fields & FOCUSED_FIELD) != 0 ? VarInts.readUnsignedLong(in) : member.getFocusedSeconds(nowMillis);
+			members.put(id, new StudyRoomMember(id, name, activity, remaining, focused, nowMillis));
+		}
+		int removedCount = VarInts.readCount(in, MAX_FRAME_SIZE);
+		for(int i = 0; i < removedCount; i++) {
+			members.remove(VarInts.readCount(in, Integer.MAX_VALUE));
+		}
+	}
+
+	public static String trimName(String name) {
+		return name.length() > MAX_NAME_LENGTH ? name.substring(0, MAX_NAME_LENGTH) : name;
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	private static void writeMember(DataOutput out, StudyRoomMember member, int fields, long nowMillis) throws IOException {
+		VarInts.writeUnsignedLong(out, member.getId());
+		out.writeByte(fields);
+		if((fields & NAME_FIELD) != 0) {
+			out.writeUTF(member.getName());
+		}
+		if((fields & ACTIVITY_FIELD) != 0) {
+			out.writeByte(member.getActivity());
+		}
+		if((fields & REMAINING_FIELD) != 0) {
+			VarInts.writeUnsignedLong(out, member.getRemainingSeconds(nowMillis));
+		}
+		if((fields & FOCUSED_FIELD) != 0) {
+			VarInts.writeUnsignedLong(out, member.getFocusedSeconds(nowMillis));
+		}
+	}
+}
@@ -0,0 +1,435 @@
+package online;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import resources.Debug;
+import resources.metrics.Counter;
+import resources.metrics.MetricsRegistry;
+import util.VarInts;
+
+/**
+ * StudyRoomServer
+ *
+ * @author narlock
+ *
+ * @brief A study room anyone can host for TamoStudy clients on the
+ * same machine or network to join, sharing what everyone is doing,
+ * their session timers and how long they focused today.
+ *
+ * A single thread serves every client with non-blocking channels.
+ * Changes are not sent as they arrive: they are collected and sent
+ * together every broadcast interval as one delta of the members and
+ * fields that changed, built once and shared by every client, so a
+ * room of hundreds costs one small frame per interval rather than a
+ * message per change per client. Timers count on in the clients
+ * between updates, so nothing is sent while nobody changes status.
+ *
+ * A client that cannot keep up stops getting deltas once too much is
+ * waiting for it, and gets a snapshot of the room when it catches up.
+ * Broadcasts are counted under room.broadcast.frames and
+ * room.broadcast.bytes, snapshots under room.snapshots.
+ */
+public class StudyRoomServer implements Closeable {
+
+	public static final int DEFAULT_PORT = 47135;
+	public static final long DEFAULT_BROADCAST_MILLIS = 500;
+	public static final int MAX_PENDING_BYTES = 256 * 1024;
+
+	private static final int READ_BUFFER_SIZE = 4096;
+
+	private static class Connection {
+		private final SocketChannel channel;
+		private final SelectionKey key;
+		private final Deque<ByteBuffer> outbound = new ArrayDeque<>();
+		private ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+		private long pendingBytes;
+		private int memberId = -1;
+		private boolean needsSnapshot;
+
+		private Connection(SocketChannel channel, SelectionKey key) {
+			this.channel = channel;
+			this.key = key;
+		}
+	}
+
+	private final InetSocketAddress address;
+	private final long broadcastMillis;
+	private final Counter broadcastCounter = MetricsRegistry.getDefault().counter("room.broadcast.frames");
+	private final Counter broadcastBytesCounter = MetricsRegistry.getDefault().counter("room.broadcast.bytes");
+	private final Counter snapshotCounter = MetricsRegistry.getDefault().counter("room.snapshots");
+
+	// Only used on the server thread
+	private final List<Connection> connections = new ArrayList<>();
+	private final Map<Integer, StudyRoomMember> members = new LinkedHashMap<>();
+	private final Map<Integer, Integer> changedFields = new LinkedHashMap<>();
+	private final Set<Integer> removedMembers = new LinkedHashSet<>();
+	private int nextMemberId = 1;
+
+	private Selector selector;
+	private ServerSocketChannel serverChannel;
+	private Thread thread;
+	private volatile boolean running;
+	private volatile int memberCount;
+
+	/**
+	 * @param address where to listen, port 0 for any free port
+	 * @param broadcastMillis how often changes are sent
+	 */
+	public StudyRoomServer(InetSocketAddress address, long broadcastMillis) {
+		this.address = address;
+		this.broadcastMillis = broadcastMillis;
+	}
+
+	public StudyRoomServer(int port) {
+		this(new InetSocketAddress(port), DEFAULT_BROADCAST_MILLIS);
+	}
+
+	/**
+	 * @brief Starts listening, serving clients on a thread of its own
+	 */
+	public synchronized void start() throws IOException {
+		if(thread != null) {
+			return;
+		}
+		selector = Selector.open();
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(address);
+		serverChannel.configureBlocking(false);
+		serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+		running = true;
+		thread = new Thread(this::run, "TamoStudy-StudyRoomServer");
+		thread.setDaemon(true);
+		thread.start();
+		Debug.info("StudyRoomServer.start", "Study room listening on port " + getPort());
+	}
+
+	/**
+	 * @return the port listened on, the one chosen when started on port 0
+	 */
+	public int getPort() {
+		return serverChannel.socket().getLocalPort();
+	}
+
+	public int getMemberCount() {
+		return memberCount;
+	}
+
+	/**
+	 * @brief Waits until the server is closed
+	 */
+	public void join() throws InterruptedException {
+		Thread serverThread;
+		synchronized(this) {
+			serverThread = thread;
+		}
+		if(serverThread != null) {
+			serverThread.join();
+		}
+	}
+
+	/**
+	 * @brief Disconnects every client and stops listening
+	 */
+	@Override
+	public void close() {
+		Thread serverThread;
+		synchronized(this) {
+			if(thread == null) {
+				return;
+			}
+			running = false;
+			selector.wakeup();
+			serverThread = thread;
+			thread = null;
+		}
+		try {
+			serverThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * SERVER THREAD
+	 * ##################################
+	 * ##################################
+	 */
+	private void run() {
+		long nextBroadcastMillis = System.currentTimeMillis() + broadcastMillis;
+		try {
+			while(running) {
+				long waitMillis = nextBroadcastMillis - System.currentTimeMillis();
+				if(waitMillis > 0) {
+					selector.select(waitMillis);
+				} else {
+					selector.selectNow();
+				}
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while(keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					handleKey(key);
+				}
+				long now = System.currentTimeMillis();
+				if(now >= nextBroadcastMillis) {
+					broadcast(now);
+					nextBroadcastMillis = now + broadcastMillis;
+				}
+			}
+		} catch (IOException | ClosedSelectorException e) {
+			Debug.error("StudyRoomServer.run", "Study room stopped: " + e);
+		} finally {
+			for(Connection connection : new ArrayList<>(connections)) {
+				disconnect(connection);
+			}
+			try {
+				serverChannel.close();
+				selector.close();
+			} catch (IOException e) {
+				Debug.warn("StudyRoomServer.run", "Could not close the study room: " + e);
+			}
+			Debug.info("StudyRoomServer.run", "Study room closed");
+		}
+	}
+
+	private void handleKey(SelectionKey key) {
+		if(!key.isValid()) {
+			return;
+		}
+		if(key.isAcceptable()) {
+			accept();
+			return;
+		}
+		Connection connection = (Connection) key.attachment();
+		try {
+			if(key.isReadable()) {
+				read(connection);
+			}
+			if(key.isValid() && key.isWritable()) {
+				write(connection);
+			}
+		} catch (IOException e) {
+			Debug.info("StudyRoomServer.handleKey", "Disconnecting member " + connection.memberId + ": " + e);
+			disconnect(connection);
+		}
+	}
+
+	private void accept() {
+		try {
+			SocketChannel channel = serverChannel.accept();
+			if(channel == null) {
+				return;
+			}
+			channel.configureBlocking(false);
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+			Connection connection = new Connection(channel, key);
+			key.attach(connection);
+			connections.add(connection);
+		} catch (IOException e) {
+			Debug.warn("StudyRoomServer.accept", "Could not accept a client: " + e);
+		}
+	}
+
+	/**
+	 * Reads what arrived and handles every whole frame in it
+	 */
+	private void read(Connection connection) throws IOException {
+		if(connection.channel.read(connection.readBuffer) < 0) {
+			throw new IOException("Closed by client");
+		}
+		ByteBuffer buffer = connection.readBuffer;
+		buffer.flip();
+		while(buffer.remaining() >= StudyRoomProtocol.FRAME_HEADER_SIZE) {
+			int length = buffer.getInt(buffer.position());
+			if(length <= 0 || length > StudyRoomProtocol.MAX_FRAME_SIZE) {
+				throw new IOException("Invalid frame length " + length);
+			}
+			if(buffer.remaining() < StudyRoomProtocol.FRAME_HEADER_SIZE + length) {
+				break;
+			}
+			buffer.position(buffer.position() + StudyRoomProtocol.FRAME_HEADER_SIZE);
+			byte type = buffer.get();
+			DataInputStream payload = new DataInputStream(new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(), length - 1));
+			buffer.position(buffer.position() + length - 1);
+			handleFrame(connection, type, payload);
+		}
+		buffer.compact();
+		// Grow for a frame larger than the buffer
+		if(!buffer.hasRemaining()) {
+			ByteBuffer larger = ByteBuffer.allocate(Math.min(buffer.capacity() * 2, StudyRoomProtocol.FRAME_HEADER_SIZE + StudyRoomProtocol.MAX_FRAME_SIZE));
+			buffer.flip();
+			larger.put(buffer);
+			connection.readBuffer = larger;
+		}
+	}
+
+	private void handleFrame(Connection connection, byte type, DataInputStream payload) throws IOException {
+		long now = System.currentTimeMillis();
+		switch(type) {
+		case StudyRoomProtocol.HELLO:
+			if(connection.memberId != -1) {
+				return;
+			}
+			short version = payload.readShort();
+			if(version != StudyRoomProtocol.VERSION) {
+				throw new IOException("Unsupported protocol version " + version);
+			}
+			int id = nextMemberId++;
+			members.put(id, new StudyRoomMember(id, StudyRoomProtocol.trimName(payload.readUTF()), StudyRoomMember.IDLE, 0, 0, now));
+			memberCount = members.size();
+			changedFields.put(id, StudyRoomProtocol.ALL_FIELDS);
+			connection.memberId = id;
+			connection.needsSnapshot = true;
+			send(connection, StudyRoomProtocol.welcome(id));
+			break;
+		case StudyRoomProtocol.STATUS:
+			if(connection.memberId == -1) {
+				throw new IOException("Status before hello");
+			}
+			byte activity = payload.readByte();
+			if(activity < StudyRoomMember.IDLE || activity > StudyRoomMember.BREAK) {
+				throw new IOException("Invalid activity " + activity);
+			}
+			long remainingSeconds = VarInts.readUnsignedLong(payload);
+			long focusedSeconds = VarInts.readUnsignedLong(payload);
+			StudyRoomMember member = members.get(connection.memberId);
+			members.put(member.getId(), new StudyRoomMember(member.getId(), member.getName(), activity, remainingSeconds, focusedSeconds, now));
+			changedFields.merge(member.getId(), StudyRoomProtocol.STATUS_FIELDS, (fields, status) -> fields | status);
+			break;
+		default:
+			// Sent by a newer client, ignored
+			break;
+		}
+	}
+
+	/**
+	 * Sends the changes since the last broadcast to every member, and
+	 * snapshots to those joining or catching up
+	 */
+	private void broadcast(long now) {
+		ByteBuffer delta = null;
+		ByteBuffer snapshot = null;
+		try {
+			if(!changedFields.isEmpty() || !removedMembers.isEmpty()) {
+				delta = StudyRoomProtocol.room(false, changedFields, members, removedMembers, now);
+			}
+			for(Connection connection : new ArrayList<>(connections)) {
+				if(connection.memberId == -1) {
+					continue;
+				}
+				if(connection.needsSnapshot) {
+					if(connection.pendingBytes > 0) {
+						continue;
+					}
+					if(snapshot == null) {
+						snapshot = StudyRoomProtocol.room(true, allFields(), members, Collections.emptyList(), now);
+					}
+					connection.needsSnapshot = false;
+					snapshotCounter.increment();
+					sendSafely(connection, snapshot.duplicate());
+				} else if(delta != null) {
+					if(connection.pendingBytes > MAX_PENDING_BYTES) {
+						Debug.warn("StudyRoomServer.broadcast", "Member " + connection.memberId + " is falling behind, sending a snapshot when caught up");
+						connection.needsSnapshot = true;
+						continue;
+					}
+					broadcastCounter.increment();
+					broadcastBytesCounter.add(delta.remaining());
+					sendSafely(connection, delta.duplicate());
+				}
+			}
+		} catch (IOException e) {
+			Debug.error("StudyRoomServer.broadcast", "Could not build a room update: " + e);
+		}
+		changedFields.clear();
+		removedMembers.clear();
+	}
+
+	private Map<Integer, Integer> allFields() {
+		Map<Integer, Integer> fields = new LinkedHashMap<>();
+		for(int id : members.keySet()) {
+			fields.put(id, StudyRoomProtocol.ALL_FIELDS);
+		}
+		return fields;
+	}
+
+	/**
+	 * Writes as much of the frame as the channel takes now, and
+	 * leaves the rest to be written when it can take more
+	 */
+	private void send(Connection connection, ByteBuffer frame) throws IOException {
+		if(connection.outbound.isEmpty()) {
+			connection.channel.write(frame);
+			if(!frame.hasRemaining()) {
+				return;
+			}
+			connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		}
+		connection.outbound.add(frame);
+		connection.pendingBytes += frame.remaining();
+	}
+
+	private void sendSafely(Connection connection, ByteBuffer frame) {
+		try {
+			send(connection, frame);
+		} catch (IOException e) {
+			Debug.info("StudyRoomServer.sendSafely", "Disconnecting member " + connection.memberId + ": " + e);
+			disconnect(connection);
+		}
+	}
+
+	private void write(Connection connection) throws IOException {
+		while(!connection.outbound.isEmpty()) {
+			ByteBuffer frame = connection.outbound.peek();
+			connection.pendingBytes -= connection.channel.write(frame);
+			if(frame.hasRemaining()) {
+				return;
+			}
+			connection.outbound.poll();
+		}
+		connection.key.interestOps(SelectionKey.OP_READ);
+	}
+
+	private void disconnect(Connection connection) {
+		connection.key.cancel();
+		try {
+			connection.channel.close();
+		} catch (IOException e) {
+			Debug.warn("StudyRoomServer.disconnect", "Could not close connection: " + e);
+		}
+		if(!connections.remove(connection) || connection.memberId == -1) {
+			return;
+		}
+		members.remove(connection.memberId);
+		memberCount = members.size();
+		Integer fields = changedFields.remove(connection.memberId);
+		// Members who joined since the last broadcast were never sent
+		if(fields == null || (fields & StudyRoomProtocol.NAME_FIELD) == 0) {
+			removedMembers.add(connection.memberId);
+		}
+	}
+}
@@ -22,6 +22,8 @@ public class Constants {
 	 */
 	public static final String version = "v1.0.0";
 	public static final int ACHIEVEMENT_COUNT = 12;
+	public static final int FOOD_COUNT = 3;
+	public static final int INVENTORY_CAPACITY = 35;
 	
 	/*
 	 * ##################################
@@ -97,6 +99,7 @@ public class Constants {
 	 * ##################################
 	 */
 	public static final Dimension HOURS_IN_PAST_DIMENSION = new Dimension(540, 150);
+	public static final Dimension FOCUS_CHART_DIMENSION = new Dimension(540, 140);
 	public static final ImageIcon GRAY_ICON = new ImageIcon(Constants.class.getClassLoader().getResource("GRAY.png"));
 	public static final ImageIcon GREEN_1_ICON = new ImageIcon(Constants.class.getClassLoader().getResource("GREEN_1.png"));
 	public static final ImageIcon GREEN_2_ICON = new ImageIcon(Constants.class.getClassLoader().getResource("GREEN_2.png"));
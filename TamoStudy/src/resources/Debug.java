@@ -1,37 +1,99 @@
 package resources;
 
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.nio.file.Paths;
+import java.util.function.Supplier;
+
+import resources.logging.AsyncLogAppender;
+import resources.logging.LogLevel;
 
 /**
  * Debug
  * 
  * @author narlock
  *
- * @brief Simple developer debug tool for printing logging messages.
+ * @brief Simple developer debug tool for logging messages.
+ * 
+ * Messages below the current level are discarded. The level
+ * defaults to INFO and can be set at launch with
+ * -Dtamostudy.log.level=WARN (or ERROR, OFF) or at runtime
+ * with setLevel. Messages that are costly to build, such as
+ * whole profile dumps, should be passed as a Supplier so they
+ * are only built when the level is enabled.
+ * 
+ * Enabled messages are handed to an AsyncLogAppender, which
+ * writes them to the console on a background thread. The log
+ * files are only written once an entry point calls startFileLog,
+ * so unit tests never touch the user's Documents folder.
  */
 public class Debug {
 	
-	private static final boolean on = true;
+	public static final String LOG_DIRECTORY_PROPERTY = "tamostudy.log.dir";
+	
+	private static volatile LogLevel level = LogLevel.fromName(System.getProperty("tamostudy.log.level"), LogLevel.INFO);
+	
+	private static final AsyncLogAppender appender = AsyncLogAppender.createDefault();
+	
+	public static boolean isEnabled(LogLevel messageLevel) {
+		return messageLevel != LogLevel.OFF && messageLevel.ordinal() >= level.ordinal();
+	}
 	
 	public static void info(String location, String message) {
-		if(on) {
-			String timeStamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(Calendar.getInstance().getTime());
-			System.out.println("\u001B[33m" + timeStamp + " [\u001B[37mINFO\u001B[33m] : \u001B[35m" + location + " \u001B[37m: " + message + "\u001B[0m");
+		if(isEnabled(LogLevel.INFO)) {
+			appender.append(LogLevel.INFO, location, message);
+		}
+	}
+	
+	public static void info(String location, Supplier<String> message) {
+		if(isEnabled(LogLevel.INFO)) {
+			appender.append(LogLevel.INFO, location, message.get());
 		}
 	}
 	
 	public static void error(String location, String message) {
-		if(on) {
-			String timeStamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(Calendar.getInstance().getTime());
-			System.out.println("\u001B[33m" + timeStamp + " [\u001B[31mERROR\u001B[33m] : \u001B[35m" + location + " \u001B[37m: " + message + "\u001B[0m");
+		if(isEnabled(LogLevel.ERROR)) {
+			appender.append(LogLevel.ERROR, location, message);
+		}
+	}
+	
+	public static void error(String location, Supplier<String> message) {
+		if(isEnabled(LogLevel.ERROR)) {
+			appender.append(LogLevel.ERROR, location, message.get());
 		}
 	}
 	
 	public static void warn(String location, String message) {
-		if(on) {
-			String timeStamp = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(Calendar.getInstance().getTime());
-			System.out.println("\u001B[33m" + timeStamp + " [\u001B[31mWARN\u001B[33m] : \u001B[35m" + location + " \u001B[37m: " + message + "\u001B[0m");
+		if(isEnabled(LogLevel.WARN)) {
+			appender.append(LogLevel.WARN, location, message);
+		}
+	}
+	
+	public static void warn(String location, Supplier<String> message) {
+		if(isEnabled(LogLevel.WARN)) {
+			appender.append(LogLevel.WARN, location, message.get());
 		}
 	}
+	
+	public static LogLevel getLevel() {
+		return level;
+	}
+	
+	public static void setLevel(LogLevel level) {
+		Debug.level = level;
+	}
+	
+	/**
+	 * @brief Starts writing the log files as well, to
+	 * Documents/TamoStudy/logs or the directory given with
+	 * -Dtamostudy.log.dir
+	 */
+	public static void startFileLog() {
+		appender.setLogDirectory(Paths.get(System.getProperty(LOG_DIRECTORY_PROPERTY, AsyncLogAppender.logDirectoryPath)));
+	}
+	
+	/**
+	 * @brief Blocks until every logged message has been written.
+	 */
+	public static void flush() {
+		appender.flush();
+	}
 }
@@ -1,11 +1,16 @@
 package resources;
 
 import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
 import java.awt.Font;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 
 import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.UIManager;
+import javax.swing.plaf.ColorUIResource;
 
 import components.border.BubbleBorder;
 import model.GuiSize;
@@ -13,131 +18,195 @@ import model.GuiSize;
 /**
  * @author Anthony Narlock (narlock)
  * @brief Theme, contains information about the Colors for current Theme
+ * 
+ * Themes are immutable and shared: there is one instance per theme,
+ * created when the class loads, and they are looked up with getTheme.
+ * Colors a theme does not set are derived from the ones it does.
+ * 
+ * installUIDefaults puts the theme into the Swing defaults table once,
+ * and applyTo recolors an already built component tree from another
+ * theme, so switching themes does not rebuild the frame. Each color of
+ * a theme knows its role, so applyTo recolors only theme colors, never
+ * a fixed color such as the white text of a primary button.
  */
 
-public class Theme {
+public final class Theme {
 	
 	/**
 	 * Theme attributes
 	 */
-	public Color mainColor;
-	public Color subColor;
-	public Color layerColor;
-	public Color textColor;
-	public Color layerTextColor;
-	public Color altTextColor;
-	public Color selectedTextColor;
+	public final Color mainColor;
+	public final Color subColor;
+	public final Color layerColor;
+	public final Color textColor;
+	public final Color layerTextColor;
+	public final Color altTextColor;
+	public final Color selectedTextColor;
 	
-	public Color timerColor;
+	public final Color timerColor;
 	
-	public final Font fontPlainReg = new Font("Arial", Font.PLAIN, 24);
-	public final Font fontBoldReg = new Font("Arial", Font.BOLD, 24);
-	public final Font fontBoldRegSmall = new Font("Arial", Font.BOLD, 18);
-	public final Font fontBoldRegLarge = new Font("Arial", Font.BOLD, 60);
+	/*
+	 * Fonts are the same for every theme and shared by all of them
+	 */
+	public static final Font FONT_PLAIN_REG = new Font("Arial", Font.PLAIN, 24);
+	public static final Font FONT_BOLD_REG = new Font("Arial", Font.BOLD, 24);
+	public static final Font FONT_BOLD_REG_SMALL = new Font("Arial", Font.BOLD, 18);
+	public static final Font FONT_BOLD_REG_LARGE = new Font("Arial", Font.BOLD, 60);
+	
+	public final Font fontPlainReg = FONT_PLAIN_REG;
+	public final Font fontBoldReg = FONT_BOLD_REG;
+	public final Font fontBoldRegSmall = FONT_BOLD_REG_SMALL;
+	public final Font fontBoldRegLarge = FONT_BOLD_REG_LARGE;
+	
+	public static final Color SELECTED_TEXT = new Color(244, 140, 6);
+	public static final Color HOVER_TEXT = new Color(191, 191, 191);
+	
+	public final String type;
+	
+	/*
+	 * Precomputed for installUIDefaults and applyTo
+	 */
+	private final ColorUIResource mainColorResource;
+	private final ColorUIResource textColorResource;
+	private final Color[] roles;
 	
-	public String type;
+	private static final String THEME_PROPERTY = "tamostudy.theme";
+	private static Theme installedTheme;
 	
-	public Theme(int indicator) {
+	public static final Theme DARK = new Theme("Dark", new Color(64,64,64), new Color(78,78,78), new Color(108, 108, 108),
+			Color.WHITE, new Color(153,153,153), new Color(87, 87, 87), SELECTED_TEXT, Color.BLACK);
+	public static final Theme LIGHT = new Theme("Light", new Color(220,220,220), new Color(240,240,240), Color.WHITE,
+			new Color(64,64,64), Color.BLACK, new Color(87, 87, 87), SELECTED_TEXT, Color.WHITE);
+	public static final Theme RED = new Theme("Red", new Color(255,143,143), new Color(255,161,161), new Color(255,120,120),
+			Color.BLACK, new Color(64,64,64), null, null, null);
+	public static final Theme BLUE = new Theme("Blue", new Color(143,143,255), new Color(161,161,255), new Color(120,120,255),
+			Color.BLACK, new Color(64,64,64), null, null, null);
+	public static final Theme GREEN = new Theme("Green", new Color(143,255,143), new Color(161,255,161), new Color(120,255,120),
+			Color.BLACK, new Color(64,64,64), null, null, null);
+	public static final Theme YELLOW = new Theme("Yellow", new Color(255,225,143), new Color(255,255,161), new Color(255,255,120),
+			Color.BLACK, new Color(64,64,64), null, null, null);
+	public static final Theme ORANGE = new Theme("Orange", new Color(255,219,143), new Color(255,219,161), new Color(255,219,120),
+			Color.BLACK, new Color(64,64,64), null, null, null);
+	public static final Theme PURPLE = new Theme("Purple", new Color(236,143,255), new Color(236,161,255), new Color(236,120,255),
+			Color.BLACK, new Color(64,64,64), null, null, null);
+	
+	/**
+	 * Every theme, by indicator
+	 */
+	private static final Theme[] THEMES = { DARK, LIGHT, RED, BLUE, GREEN, YELLOW, ORANGE, PURPLE };
+	
+	private Theme(String type, Color mainColor, Color subColor, Color layerColor, Color textColor, Color layerTextColor,
+			Color altTextColor, Color selectedTextColor, Color timerColor) {
+		this.type = type;
+		this.mainColor = new RoleColor(mainColor, 0);
+		this.subColor = new RoleColor(subColor, 1);
+		this.layerColor = new RoleColor(layerColor, 2);
+		this.textColor = new RoleColor(textColor, 3);
+		this.layerTextColor = new RoleColor(layerTextColor, 4);
+		this.altTextColor = new RoleColor(altTextColor != null ? altTextColor : blend(textColor, mainColor, 0.5), 5);
+		this.selectedTextColor = new RoleColor(selectedTextColor != null ? selectedTextColor : SELECTED_TEXT, 6);
+		this.timerColor = new RoleColor(timerColor != null ? timerColor : textColor, 7);
 		
-		//TODO need to add
-		// selectedTextColor 
-		// altTextColor to other themes
+		this.mainColorResource = new ColorUIResource(mainColor);
+		this.textColorResource = new ColorUIResource(textColor);
+		this.roles = new Color[] { this.mainColor, this.subColor, this.layerColor, this.textColor, this.layerTextColor,
+				this.altTextColor, this.selectedTextColor, this.timerColor };
+	}
+	
+	/**
+	 * A color of a theme, which knows its role, its index in roles.
+	 * Equal to any other color with the same RGB value.
+	 */
+	private static final class RoleColor extends Color {
+		private static final long serialVersionUID = 1L;
 		
-		switch (indicator) {
-		  case 0:
-		    mainColor = new Color(64,64,64); 
-		    subColor = new Color(78,78,78);
-		    layerColor = new Color(108, 108, 108);
-		    textColor = Color.WHITE;
-		    layerTextColor = new Color(153,153,153);
-		    altTextColor = new Color(87, 87, 87);
-		    selectedTextColor = new Color(244, 140, 6);
-		    timerColor = Color.BLACK;
-		    type = "Dark";
-		    break;
-		  case 1:
-		    mainColor = new Color(220,220,220); 
-		    subColor = new Color(240,240,240);
-		    layerColor = Color.WHITE;
-		    textColor = new Color(64,64,64); 
-		    layerTextColor = Color.BLACK;
-		    altTextColor = new Color(87, 87, 87);
-		    selectedTextColor = new Color(244, 140, 6);
-		    timerColor = Color.WHITE;
-		    type = "Light";
-		    break;
-		  case 2:
-		    mainColor = new Color(255,143,143); 
-		    subColor = new Color(255,161,161);
-		    layerColor = new Color(255,120,120);
-		    textColor = Color.BLACK; 
-		    layerTextColor = new Color(64,64,64); 
-		    type = "Red";
-		    break;
-		  case 3:
-		    mainColor = new Color(143,143,255); 
-		    subColor = new Color(161,161,255);
-		    layerColor = new Color(120,120,255);
-		    textColor = Color.BLACK; 
-		    layerTextColor = new Color(64,64,64); 
-		    type = "Blue";
-		    break;
-		  case 4:
-		    mainColor = new Color(143,255,143); 
-		    subColor = new Color(161,255,161);
-		    layerColor = new Color(120,255,120);
-		    textColor = Color.BLACK; 
-		    layerTextColor = new Color(64,64,64); 
-		    type = "Green";
-		    break;
-		  case 5:
-		    mainColor = new Color(255,225,143); 
-		    subColor = new Color(255,255,161);
-		    layerColor = new Color(255,255,120);
-		    textColor = Color.BLACK; 
-		    layerTextColor = new Color(64,64,64); 
-		    type = "Yellow";
-		    break;
-		  case 6:
-		    mainColor = new Color(255,219,143); 
-		    subColor = new Color(255,219,161);
-		    layerColor = new Color(255,219,120);
-		    textColor = Color.BLACK; 
-		    layerTextColor = new Color(64,64,64); 
-		    type = "Orange";
-		    break;
-		  case 7:
-		    mainColor = new Color(236,143,255); 
-		    subColor = new Color(236,161,255);
-		    layerColor = new Color(236,120,255);
-		    textColor = Color.BLACK; 
-		    layerTextColor = new Color(64,64,64); 
-		    type = "Purple";
-		    break;
-		  default:
-		    mainColor = new Color(64,64,64); 
-		    subColor = new Color(78,78,78);
-		    layerColor = new Color(108, 108, 108);
-		    textColor = Color.WHITE;
-		    layerTextColor = new Color(153,153,153);
-		    type = "Dark";
-		    break;
+		private final int role;
+		
+		RoleColor(Color color, int role) {
+			super(color.getRed(), color.getGreen(), color.getBlue(), color.getAlpha());
+			this.role = role;
 		}
 	}
 	
-	public static final Theme DARK = new Theme(0);
-	public static final Theme LIGHT = new Theme(1);
+	/**
+	 * @return the theme for an indicator, Dark if there is none
+	 */
+	public static Theme getTheme(int indicator) {
+		return indicator >= 0 && indicator < THEMES.length ? THEMES[indicator] : DARK;
+	}
 	
+	/**
+	 * @return the theme with a type such as Dark, Dark if there is none
+	 */
 	public static Theme getTheme(String themeString) {
-		if(themeString.equals("Dark")) {
-			return DARK;
-		} else if(themeString.equals("Light")) {
-			return LIGHT;
-		} else return DARK;
+		for(Theme theme : THEMES) {
+			if(theme.type.equals(themeString)) {
+				return theme;
+			}
+		}
+		return DARK;
 	}
 	
 	public boolean checkEqualityWith(Theme other) {
-		return this.mainColor.equals(other.mainColor);
+		return this == other;
+	}
+	
+	/**
+	 * @brief Puts the colors of this theme into the Swing defaults
+	 * used by option panes and their panels. Does nothing if this
+	 * theme is already installed.
+	 */
+	public void installUIDefaults() {
+		synchronized(Theme.class) {
+			if(installedTheme == this) {
+				return;
+			}
+			installedTheme = this;
+		}
+		UIManager.put("OptionPane.background", mainColorResource);
+		UIManager.put("Panel.background", mainColorResource);
+		UIManager.put("OptionPane.messageForeground", textColorResource);
+	}
+	
+	/**
+	 * @brief Recolors a built component tree in one pass. Every
+	 * background and foreground set to a theme color is given the
+	 * color with the same role in this theme. Fixed colors are kept,
+	 * even those with the same RGB value as a theme color.
+	 * @param root the component to start from
+	 * @param previous the theme the tree was built with
+	 */
+	public void applyTo(Component root, Theme previous) {
+		if(previous == this) {
+			return;
+		}
+		applyTo(root);
+	}
+	
+	private void applyTo(Component component) {
+		// Colors not set are taken from the parent, recolored already
+		if(component.isBackgroundSet() && component.getBackground() instanceof RoleColor) {
+			component.setBackground(roles[((RoleColor) component.getBackground()).role]);
+		}
+		if(component.isForegroundSet() && component.getForeground() instanceof RoleColor) {
+			component.setForeground(roles[((RoleColor) component.getForeground()).role]);
+		}
+		if(component instanceof JComponent && ((JComponent) component).getClientProperty(THEME_PROPERTY) != null) {
+			((JComponent) component).putClientProperty(THEME_PROPERTY, this);
+		}
+		if(component instanceof Container) {
+			for(Component child : ((Container) component).getComponents()) {
+				applyTo(child);
+			}
+		}
+	}
+	
+	private static Color blend(Color from, Color to, double amount) {
+		return new Color(
+					(int) Math.round(from.getRed() + (to.getRed() - from.getRed()) * amount),
+					(int) Math.round(from.getGreen() + (to.getGreen() - from.getGreen()) * amount),
+					(int) Math.round(from.getBlue() + (to.getBlue() - from.getBlue()) * amount)
+				);
 	}
 	
 	public static final BubbleBorder SUB_BORDER = new BubbleBorder(Color.WHITE, 2, 15, 0);
@@ -174,7 +243,7 @@ public class Theme {
 		button.setBorder(PRIMARY_BORDER);
 		button.setBackground(PRIMARY);
 		button.setForeground(Color.WHITE);
-		button.setFont(new Font("Arial", Font.BOLD, 18));
+		button.setFont(FONT_BOLD_REG_SMALL);
 		
 		button.addMouseListener(new MouseListener() {
 
@@ -188,7 +257,7 @@ public class Theme {
 			@Override
 			public void mouseEntered(MouseEvent e) {
 				button.setBackground(Theme.PRIMARY_ALT);
-				button.setForeground(new Color(191, 191, 191));
+				button.setForeground(HOVER_TEXT);
 			}
 
 			@Override
@@ -225,7 +294,7 @@ public class Theme {
 			@Override
 			public void mouseEntered(MouseEvent e) {
 				button.setBackground(Theme.PRIMARY_ALT);
-				button.setForeground(new Color(191, 191, 191));
+				button.setForeground(HOVER_TEXT);
 			}
 
 			@Override
@@ -243,7 +312,7 @@ public class Theme {
 		button.setBorder(PRIMARY_DISABLED_BORDER);
 		button.setBackground(PRIMARY_DISABLED);
 		button.setForeground(new Color(164, 189, 206));
-		button.setFont(new Font("Arial", Font.BOLD, 18));
+		button.setFont(FONT_BOLD_REG_SMALL);
 	}
 	
 	/**
@@ -256,7 +325,7 @@ public class Theme {
 		button.setBorder(SECONDARY_BORDER);
 		button.setBackground(SECONDARY);
 		button.setForeground(Color.WHITE);
-		button.setFont(new Font("Arial", Font.BOLD, 18));
+		button.setFont(FONT_BOLD_REG_SMALL);
 		
 		button.addMouseListener(new MouseListener() {
 
@@ -270,7 +339,7 @@ public class Theme {
 			@Override
 			public void mouseEntered(MouseEvent e) {
 				button.setBackground(Theme.SECONDARY_ALT);
-				button.setForeground(new Color(191, 191, 191));
+				button.setForeground(HOVER_TEXT);
 			}
 
 			@Override
@@ -307,7 +376,7 @@ public class Theme {
 			@Override
 			public void mouseEntered(MouseEvent e) {
 				button.setBackground(Theme.SECONDARY_ALT);
-				button.setForeground(new Color(191, 191, 191));
+				button.setForeground(HOVER_TEXT);
 			}
 
 			@Override
@@ -329,7 +398,7 @@ public class Theme {
 		button.setBorder(SUCCESS_BORDER);
 		button.setBackground(SUCCESS);
 		button.setForeground(Color.WHITE);
-		button.setFont(new Font("Arial", Font.BOLD, 18));
+		button.setFont(FONT_BOLD_REG_SMALL);
 		
 		button.addMouseListener(new MouseListener() {
 
@@ -343,7 +412,7 @@ public class Theme {
 			@Override
 			public void mouseEntered(MouseEvent e) {
 				button.setBackground(Theme.SUCCESS_ALT);
-				button.setForeground(new Color(191, 191, 191));
+				button.setForeground(HOVER_TEXT);
 			}
 
 			@Override
@@ -380,7 +449,7 @@ public class Theme {
 			@Override
 			public void mouseEntered(MouseEvent e) {
 				button.setBackground(Theme.SUCCESS_ALT);
-				button.setForeground(new Color(191, 191, 191));
+				button.setForeground(HOVER_TEXT);
 			}
 
 			@Override
@@ -402,7 +471,7 @@ public class Theme {
 		button.setBorder(DANGER_BORDER);
 		button.setBackground(DANGER);
 		button.setForeground(Color.WHITE);
-		button.setFont(new Font("Arial", Font.BOLD, 18));
+		button.setFont(FONT_BOLD_REG_SMALL);
 		
 		button.addMouseListener(new MouseListener() {
 
@@ -416,7 +485,7 @@ public class Theme {
 			@Override
 			public void mouseEntered(MouseEvent e) {
 				button.setBackground(Theme.DANGER_ALT);
-				button.setForeground(new Color(191, 191, 191));
+				button.setForeground(HOVER_TEXT);
 			}
 
 			@Override
@@ -453,7 +522,7 @@ public class Theme {
 			@Override
 			public void mouseEntered(MouseEvent e) {
 				button.setBackground(Theme.DANGER_ALT);
-				button.setForeground(new Color(191, 191, 191));
+				button.setForeground(HOVER_TEXT);
 			}
 
 			@Override
@@ -466,6 +535,8 @@ public class Theme {
 	}
 	
 	public void buttonLayerEnterEffect(JButton button) {
+		// Read back on hover so applyTo can change the theme of the button
+		button.putClientProperty(THEME_PROPERTY, this);
 		button.addMouseListener(new MouseListener() {
 
 			@Override
@@ -478,14 +549,14 @@ public class Theme {
 			@Override
 			public void mouseEntered(MouseEvent e) {
 				if(button.isEnabled()) {
-					button.setForeground(layerTextColor);
+					button.setForeground(((Theme) button.getClientProperty(THEME_PROPERTY)).layerTextColor);
 				}
 			}
 
 			@Override
 			public void mouseExited(MouseEvent e) {
 				if(button.isEnabled()) {
-					button.setForeground(textColor);
+					button.setForeground(((Theme) button.getClientProperty(THEME_PROPERTY)).textColor);
 				}
 				
 			}
@@ -0,0 +1,240 @@
+package resources.logging;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import io.JsonManager;
+
+/**
+ * AsyncLogAppender
+ *
+ * @author narlock
+ *
+ * @brief Writes log messages on a background thread.
+ *
+ * Callers only place the level, location, message and time into
+ * a fixed size ring buffer, so logging from the event dispatch
+ * thread never waits on the console or the disk. The writer thread
+ * formats the timestamp with a single shared formatter, prints the
+ * colored line to the console and appends the plain line to
+ * tamostudy.log in the log directory, if there is one. When the log
+ * file grows past maxFileSize it is rolled to tamostudy.1.log and so on,
+ * keeping maxFiles files. If the buffer is full the message is
+ * dropped and counted rather than blocking the caller.
+ */
+public class AsyncLogAppender {
+
+	public static final String logDirectoryPath = JsonManager.directoryPath + File.separatorChar + "logs";
+
+	public static final int DEFAULT_CAPACITY = 1024;
+	public static final long DEFAULT_MAX_FILE_SIZE = 1024 * 1024;
+	public static final int DEFAULT_MAX_FILES = 3;
+
+	private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+	/*
+	 * Ring buffer, one slot per message. head is the next slot to
+	 * read and size the number of unread slots. Guarded by this.
+	 */
+	private final LogLevel[] levels;
+	private final String[] locations;
+	private final String[] messages;
+	private final long[] times;
+	private int head;
+	private int size;
+	private long dropped;
+	private long appended;
+	private long written;
+
+	private volatile Path logDirectory;
+	private Path openLogDirectory;
+	private final long maxFileSize;
+	private final int maxFiles;
+	private final PrintStream console;
+	private BufferedWriter fileWriter;
+	private long fileSize;
+
+	public AsyncLogAppender(int capacity, Path logDirectory, long maxFileSize, int maxFiles, PrintStream console) {
+		this.levels = new LogLevel[capacity];
+		this.locations = new String[capacity];
+		this.messages = new String[capacity];
+		this.times = new long[capacity];
+		this.logDirectory = logDirectory;
+		this.maxFileSize = maxFileSize;
+		this.maxFiles = maxFiles;
+		this.console = console;
+
+		Thread writerThread = new Thread(this::drainLoop, "TamoStudy-Log");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	/**
+	 * @return an appender writing to the console only, until it is
+	 * given a log directory
+	 */
+	public static AsyncLogAppender createDefault() {
+		AsyncLogAppender appender = new AsyncLogAppender(DEFAULT_CAPACITY, null, DEFAULT_MAX_FILE_SIZE, DEFAULT_MAX_FILES, System.out);
+		Runtime.getRuntime().addShutdownHook(new Thread(appender::flush, "TamoStudy-Log-Flush"));
+		return appender;
+	}
+
+	/**
+	 * @brief Queues a message for the writer thread.
+	 * @return false if the buffer was full and the message was dropped
+	 */
+	public synchronized boolean append(LogLevel level, String location, String message) {
+		if(size == levels.length) {
+			dropped++;
+			return false;
+		}
+		int tail = (head + size) % levels.length;
+		levels[tail] = level;
+		locations[tail] = location;
+		messages[tail] = message;
+		times[tail] = System.currentTimeMillis();
+		size++;
+		appended++;
+		notifyAll();
+		return true;
+	}
+
+	/**
+	 * @brief Blocks until every queued message has been written.
+	 */
+	public synchronized void flush() {
+		// Counts the message the writer thread may be writing outside the lock
+		long target = appended;
+		while(written < target) {
+			try {
+				wait(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	public synchronized long getDroppedCount() {
+		return dropped;
+	}
+
+	public Path getLogDirectory() {
+		return logDirectory;
+	}
+
+	/**
+	 * @brief Sets the directory messages are written to from the next
+	 * one on, or null to write to the console only.
+	 */
+	public void setLogDirectory(Path logDirectory) {
+		this.logDirectory = logDirectory;
+	}
+
+	private void drainLoop() {
+		while(true) {
+			LogLevel level;
+			String location;
+			String message;
+			long time;
+			synchronized(this) {
+				while(size == 0) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				level = levels[head];
+				location = locations[head];
+				message = messages[head];
+				time = times[head];
+				locations[head] = null;
+				messages[head] = null;
+				head = (head + 1) % levels.length;
+				size--;
+			}
+
+			write(level, location, message, time);
+
+			synchronized(this) {
+				written++;
+				notifyAll();
+			}
+		}
+	}
+
+	private void write(LogLevel level, String location, String message, long time) {
+		String timeStamp = TIMESTAMP_FORMATTER.format(Instant.ofEpochMilli(time));
+		if(console != null) {
+			console.println("\u001B[33m" + timeStamp + " [" + level.getColor() + level.name() + "\u001B[33m] : \u001B[35m" + location + " \u001B[37m: " + message + "\u001B[0m");
+		}
+		writeToFile(timeStamp + " [" + level.name() + "] " + location + " : " + message);
+	}
+
+	private void writeToFile(String line) {
+		Path directory = logDirectory;
+		if(directory == null) {
+			closeLogFile();
+			return;
+		}
+		try {
+			if(fileWriter == null || fileSize >= maxFileSize || !directory.equals(openLogDirectory)) {
+				openLogFile(directory);
+			}
+			fileWriter.write(line);
+			fileWriter.newLine();
+			fileWriter.flush();
+			fileSize += line.length() + 1;
+		} catch (IOException e) {
+			// The console still has the message, stop writing to the file
+			closeLogFile();
+		}
+	}
+
+	private void openLogFile(Path logDirectory) throws IOException {
+		closeLogFile();
+		Files.createDirectories(logDirectory);
+		Path logFile = logDirectory.resolve("tamostudy.log");
+		if(Files.exists(logFile) && Files.size(logFile) >= maxFileSize) {
+			rollLogFiles(logDirectory);
+		}
+		fileWriter = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		fileSize = Files.size(logFile);
+		openLogDirectory = logDirectory;
+	}
+
+	private void rollLogFiles(Path logDirectory) throws IOException {
+		Files.deleteIfExists(logDirectory.resolve("tamostudy." + (maxFiles - 1) + ".log"));
+		for(int i = maxFiles - 2; i >= 1; i--) {
+			Path from = logDirectory.resolve("tamostudy." + i + ".log");
+			if(Files.exists(from)) {
+				Files.move(from, logDirectory.resolve("tamostudy." + (i + 1) + ".log"), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		Files.move(logDirectory.resolve("tamostudy.log"), logDirectory.resolve("tamostudy.1.log"), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private void closeLogFile() {
+		if(fileWriter != null) {
+			try {
+				fileWriter.close();
+			} catch (IOException e) {
+				// Nothing left to do with the file
+			}
+			fileWriter = null;
+			openLogDirectory = null;
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package resources.logging;
+
+/**
+ * LogLevel
+ *
+ * @author narlock
+ *
+ * @brief Severity of a log message. Messages below the
+ * level set in Debug are discarded before they are built.
+ */
+public enum LogLevel {
+	INFO("\u001B[37m"),
+	WARN("\u001B[31m"),
+	ERROR("\u001B[31m"),
+	OFF("");
+
+	private final String color;
+
+	private LogLevel(String color) {
+		this.color = color;
+	}
+
+	public String getColor() {
+		return color;
+	}
+
+	/**
+	 * @return the level with the given name, ignoring case,
+	 * or defaultLevel if there is none
+	 */
+	public static LogLevel fromName(String name, LogLevel defaultLevel) {
+		if(name != null) {
+			for(LogLevel level : values()) {
+				if(level.name().equalsIgnoreCase(name.trim())) {
+					return level;
+				}
+			}
+		}
+		return defaultLevel;
+	}
+}
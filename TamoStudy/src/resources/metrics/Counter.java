@@ -0,0 +1,42 @@
+package resources.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter
+ *
+ * @author narlock
+ *
+ * @brief A running total, such as the number of bytes
+ * written to profiles.json. Safe to increment from any thread.
+ */
+public class Counter {
+
+	private final String name;
+	private final LongAdder count = new LongAdder();
+
+	public Counter(String name) {
+		this.name = name;
+	}
+
+	public void increment() {
+		count.increment();
+	}
+
+	public void add(long amount) {
+		count.add(amount);
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String toString() {
+		return name + " count=" + getCount();
+	}
+}
@@ -0,0 +1,128 @@
+package resources.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import resources.Debug;
+
+/**
+ * EdtWatchdog
+ *
+ * @author narlock
+ *
+ * @brief Background thread that detects when the Swing event
+ * dispatch thread is blocked.
+ *
+ * The watchdog posts a heartbeat to the event dispatch thread
+ * and waits for it to run. When a heartbeat is still waiting after
+ * thresholdMillis, the event dispatch thread's stack trace is
+ * logged as a warning together with the current State and how long
+ * the heartbeat has waited. When the heartbeat finally runs, the
+ * total stall time is logged and recorded under edt.stall.
+ *
+ * The threshold defaults to 500 ms and can be changed with
+ * -Dtamostudy.edt.threshold=millis. A threshold of 0 disables
+ * the watchdog.
+ */
+public class EdtWatchdog {
+
+	public static final long DEFAULT_THRESHOLD_MILLIS = 500;
+
+	private static final long POLL_MILLIS = 50;
+
+	private static final EdtWatchdog defaultWatchdog = new EdtWatchdog(Long.getLong("tamostudy.edt.threshold", DEFAULT_THRESHOLD_MILLIS));
+
+	private final long thresholdNanos;
+	private final MetricTimer stallTimer = MetricsRegistry.getDefault().timer("edt.stall");
+	private volatile String context = "";
+	private volatile Thread edtThread;
+	private volatile long heartbeatRunNanos;
+	private Thread watchdogThread;
+	private long stallCount;
+
+	public EdtWatchdog(long thresholdMillis) {
+		this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+	}
+
+	public static EdtWatchdog getDefault() {
+		return defaultWatchdog;
+	}
+
+	public synchronized void start() {
+		if(watchdogThread != null || thresholdNanos <= 0) {
+			return;
+		}
+		watchdogThread = new Thread(this::watch, "TamoStudy-EdtWatchdog");
+		watchdogThread.setDaemon(true);
+		watchdogThread.start();
+	}
+
+	public synchronized void stop() {
+		if(watchdogThread != null) {
+			watchdogThread.interrupt();
+			watchdogThread = null;
+		}
+	}
+
+	/**
+	 * @brief Sets what the user is looking at, such as the
+	 * current State class, to include in stall reports.
+	 */
+	public void setContext(String context) {
+		this.context = context;
+	}
+
+	public synchronized long getStallCount() {
+		return stallCount;
+	}
+
+	private void watch() {
+		try {
+			while(!Thread.currentThread().isInterrupted()) {
+				long postedNanos = System.nanoTime();
+				heartbeatRunNanos = 0;
+				SwingUtilities.invokeLater(() -> {
+					edtThread = Thread.currentThread();
+					heartbeatRunNanos = System.nanoTime();
+				});
+
+				boolean reported = false;
+				while(heartbeatRunNanos == 0) {
+					Thread.sleep(POLL_MILLIS);
+					long waited = System.nanoTime() - postedNanos;
+					if(!reported && waited >= thresholdNanos) {
+						reported = true;
+						reportStall(waited);
+					}
+				}
+
+				if(reported) {
+					long stall = heartbeatRunNanos - postedNanos;
+					stallTimer.record(stall);
+					Debug.warn("EdtWatchdog", "Event dispatch thread stall ended after " + TimeUnit.NANOSECONDS.toMillis(stall) + " ms in " + context);
+				}
+
+				Thread.sleep(POLL_MILLIS);
+			}
+		} catch (InterruptedException e) {
+			// Stopped
+		}
+	}
+
+	private void reportStall(long waitedNanos) {
+		synchronized(this) {
+			stallCount++;
+		}
+		Thread thread = edtThread;
+		StringBuilder message = new StringBuilder();
+		message.append("Event dispatch thread blocked for ").append(TimeUnit.NANOSECONDS.toMillis(waitedNanos))
+				.append(" ms in ").append(context);
+		if(thread != null) {
+			for(StackTraceElement element : thread.getStackTrace()) {
+				message.append(System.lineSeparator()).append("\tat ").append(element);
+			}
+		}
+		Debug.warn("EdtWatchdog", message.toString());
+	}
+}
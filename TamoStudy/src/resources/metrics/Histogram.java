@@ -0,0 +1,93 @@
+package resources.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram
+ *
+ * @author narlock
+ *
+ * @brief Distribution of non-negative values, such as file sizes
+ * or durations in nanoseconds.
+ *
+ * Values are counted in power of two buckets (bucket i holds
+ * values from 2^(i-1) up to 2^i - 1, bucket 0 holds zero), so recording is a few atomic adds and
+ * never allocates. Percentiles are estimated as the upper bound
+ * of the bucket they fall in.
+ */
+public class Histogram {
+
+	private static final int BUCKET_COUNT = 64;
+
+	private final String name;
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	public Histogram(String name) {
+		this.name = name;
+	}
+
+	public void record(long value) {
+		if(value < 0) {
+			value = 0;
+		}
+		buckets.incrementAndGet(bucketOf(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getSum() {
+		return sum.get();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	public double getMean() {
+		long n = count.get();
+		return n == 0 ? 0 : (double) sum.get() / n;
+	}
+
+	/**
+	 * @param percentile between 0 and 1
+	 * @return an upper bound on the value at the percentile
+	 */
+	public long getPercentile(double percentile) {
+		long n = count.get();
+		if(n == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(percentile * n);
+		long seen = 0;
+		for(int i = 0; i < BUCKET_COUNT; i++) {
+			seen += buckets.get(i);
+			if(seen >= rank) {
+				return Math.min((1L << i) - 1, getMax());
+			}
+		}
+		return getMax();
+	}
+
+	private static int bucketOf(long value) {
+		return Long.SIZE - Long.numberOfLeadingZeros(value);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String toString() {
+		return name + " count=" + getCount() + " mean=" + Math.round(getMean()) + " p50=" + getPercentile(0.5)
+				+ " p99=" + getPercentile(0.99) + " max=" + getMax();
+	}
+}
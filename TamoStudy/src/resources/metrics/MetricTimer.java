@@ -0,0 +1,43 @@
+package resources.metrics;
+
+/**
+ * MetricTimer
+ *
+ * @author narlock
+ *
+ * @brief Histogram of durations in nanoseconds.
+ *
+ * Usage:
+ *   long start = timer.start();
+ *   ...
+ *   timer.stop(start);
+ */
+public class MetricTimer extends Histogram {
+
+	public MetricTimer(String name) {
+		super(name);
+	}
+
+	public long start() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * @return the elapsed nanoseconds that were recorded
+	 */
+	public long stop(long startNanos) {
+		long elapsed = System.nanoTime() - startNanos;
+		record(elapsed);
+		return elapsed;
+	}
+
+	@Override
+	public String toString() {
+		return getName() + " count=" + getCount() + " mean=" + formatMillis(getMean()) + " p50=" + formatMillis(getPercentile(0.5))
+				+ " p99=" + formatMillis(getPercentile(0.99)) + " max=" + formatMillis(getMax());
+	}
+
+	private static String formatMillis(double nanos) {
+		return String.format("%.2fms", nanos / 1_000_000.0);
+	}
+}
@@ -0,0 +1,127 @@
+package resources.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import resources.Debug;
+import resources.logging.AsyncLogAppender;
+
+/**
+ * MetricsRegistry
+ *
+ * @author narlock
+ *
+ * @brief Named counters, histograms and timers for finding
+ * out where TamoStudy spends its time.
+ *
+ * Metrics are created on first use and live for the rest of the
+ * run. Call sites should look a metric up once and keep it in a
+ * static field, since recording is cheap but the lookup is a map
+ * access. The registry can write a snapshot of every metric to
+ * Documents/TamoStudy/logs/metrics.txt on a fixed period, and the
+ * same snapshot is shown by the PerformanceOverlayPanel.
+ *
+ * Metric names are dotted, for example json.profiles.read.
+ */
+public class MetricsRegistry {
+
+	public static final String metricsPath = AsyncLogAppender.logDirectoryPath + File.separatorChar + "metrics.txt";
+
+	private static final MetricsRegistry defaultRegistry = new MetricsRegistry();
+
+	private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+	private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+	private final Map<String, MetricTimer> timers = new ConcurrentSkipListMap<>();
+	private ScheduledExecutorService dumpExecutor;
+
+	public static MetricsRegistry getDefault() {
+		return defaultRegistry;
+	}
+
+	public Counter counter(String name) {
+		return counters.computeIfAbsent(name, Counter::new);
+	}
+
+	public Histogram histogram(String name) {
+		return histograms.computeIfAbsent(name, Histogram::new);
+	}
+
+	public MetricTimer timer(String name) {
+		return timers.computeIfAbsent(name, MetricTimer::new);
+	}
+
+	/**
+	 * @return one line per metric, timers first, sorted by name
+	 */
+	public List<String> snapshot() {
+		List<String> lines = new ArrayList<>();
+		for(MetricTimer timer : timers.values()) {
+			lines.add(timer.toString());
+		}
+		for(Histogram histogram : histograms.values()) {
+			lines.add(histogram.toString());
+		}
+		for(Counter counter : counters.values()) {
+			lines.add(counter.toString());
+		}
+		return lines;
+	}
+
+	/**
+	 * @brief Writes the snapshot to a file, replacing the
+	 * previous snapshot.
+	 */
+	public void dump(Path path) throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add("TamoStudy metrics " + LocalDateTime.now());
+		lines.addAll(snapshot());
+
+		Files.createDirectories(path.getParent());
+		Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+		Files.write(tempPath, lines, StandardCharsets.UTF_8);
+		Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * @brief Starts writing the snapshot to metrics.txt every
+	 * periodSeconds on a background thread.
+	 */
+	public synchronized void startPeriodicDump(long periodSeconds) {
+		if(dumpExecutor != null) {
+			return;
+		}
+		dumpExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "TamoStudy-Metrics");
+			thread.setDaemon(true);
+			return thread;
+		});
+		Path path = Paths.get(metricsPath);
+		dumpExecutor.scheduleAtFixedRate(() -> {
+			try {
+				dump(path);
+			} catch (IOException e) {
+				Debug.warn("MetricsRegistry.startPeriodicDump", "Could not write metrics.txt: " + e.getMessage());
+			}
+		}, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+	}
+
+	public synchronized void stopPeriodicDump() {
+		if(dumpExecutor != null) {
+			dumpExecutor.shutdown();
+			dumpExecutor = null;
+		}
+	}
+}
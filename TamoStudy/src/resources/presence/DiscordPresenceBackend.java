@@ -0,0 +1,47 @@
+package resources.presence;
+
+import net.arikia.dev.drpc.DiscordEventHandlers;
+import net.arikia.dev.drpc.DiscordRPC;
+import net.arikia.dev.drpc.DiscordRichPresence;
+import resources.Debug;
+
+/**
+ * DiscordPresenceBackend
+ *
+ * @author narlock
+ *
+ * @brief Utilizes Discord Rich Presence JAR
+ * to support Rich Presence for TamoStudy.
+ * The library is only available on Windows.
+ */
+public class DiscordPresenceBackend implements PresenceBackend {
+
+	public static final String APPLICATION_ID = "1056586375484424263";
+
+	@Override
+	public void initialize() {
+		DiscordEventHandlers handlers = new DiscordEventHandlers.Builder().setReadyEventHandler((user) -> {
+			Debug.info("DiscordPresenceBackend", "TamoStudy + Discord Rich Presence ready for " + user.username + "#" + user.discriminator + "!");
+		}).build();
+		DiscordRPC.discordInitialize(APPLICATION_ID, handlers, true);
+	}
+
+	@Override
+	public void runCallbacks() {
+		DiscordRPC.discordRunCallbacks();
+	}
+
+	@Override
+	public void updatePresence(Presence presence) {
+		DiscordRichPresence.Builder b = new DiscordRichPresence.Builder(presence.getState());
+		b.setBigImage("large", "");
+		b.setDetails(presence.getDetails());
+		b.setStartTimestamps(presence.getStartTimestamp());
+		DiscordRPC.discordUpdatePresence(b.build());
+	}
+
+	@Override
+	public void shutdown() {
+		DiscordRPC.discordShutdown();
+	}
+}
@@ -0,0 +1,58 @@
+package resources.presence;
+
+import java.util.Objects;
+
+/**
+ * Presence
+ *
+ * @author narlock
+ *
+ * @brief What TamoStudy shows as the user's activity: two lines
+ * of text and the time the activity started, in epoch millis.
+ */
+public final class Presence {
+
+	private final String details;
+	private final String state;
+	private final long startTimestamp;
+
+	public Presence(String details, String state, long startTimestamp) {
+		this.details = details;
+		this.state = state;
+		this.startTimestamp = startTimestamp;
+	}
+
+	public String getDetails() {
+		return details;
+	}
+
+	public String getState() {
+		return state;
+	}
+
+	public long getStartTimestamp() {
+		return startTimestamp;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(!(obj instanceof Presence)) {
+			return false;
+		}
+		Presence other = (Presence) obj;
+		return startTimestamp == other.startTimestamp && Objects.equals(details, other.details) && Objects.equals(state, other.state);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(details, state, startTimestamp);
+	}
+
+	@Override
+	public String toString() {
+		return "Presence [details=" + details + ", state=" + state + ", startTimestamp=" + startTimestamp + "]";
+	}
+}
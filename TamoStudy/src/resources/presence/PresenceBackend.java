@@ -0,0 +1,32 @@
+package resources.presence;
+
+/**
+ * PresenceBackend
+ *
+ * @author narlock
+ *
+ * @brief A service the user's presence is published to.
+ *
+ * PresencePublisher calls every method from its own single thread,
+ * so backends do not need to be thread safe.
+ */
+public interface PresenceBackend {
+
+	/**
+	 * @brief Connects to the service.
+	 */
+	void initialize();
+
+	/**
+	 * @brief Handles the events the service has sent since the
+	 * last call. Called at a fixed cadence while running.
+	 */
+	void runCallbacks();
+
+	void updatePresence(Presence presence);
+
+	/**
+	 * @brief Disconnects from the service.
+	 */
+	void shutdown();
+}
@@ -0,0 +1,224 @@
+package resources.presence;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import resources.Debug;
+import resources.metrics.Counter;
+import resources.metrics.MetricsRegistry;
+
+/**
+ * PresencePublisher
+ *
+ * @author narlock
+ *
+ * @brief Publishes the user's presence to a PresenceBackend from
+ * a single scheduled thread.
+ *
+ * While started, the backend's callbacks are pumped at a fixed
+ * cadence rather than in a loop, so an idle publisher costs nothing
+ * between runs. Updates may be sent as often as the caller likes:
+ * only the latest one waiting is published, at most once per
+ * minimum update interval, and one equal to what is already shown
+ * is dropped. Published and coalesced updates are counted under
+ * presence.published and presence.coalesced.
+ *
+ * The default publisher uses Discord on Windows and the stub
+ * backend elsewhere. -Dtamostudy.presence=stub forces the stub.
+ */
+public class PresencePublisher {
+
+	public static final long DEFAULT_CALLBACK_INTERVAL_MILLIS = 1000;
+	public static final long DEFAULT_MIN_UPDATE_INTERVAL_MILLIS = 15000;
+
+	private static final long SHUTDOWN_TIMEOUT_MILLIS = 1000;
+
+	private static final PresencePublisher defaultPublisher = new PresencePublisher(createDefaultBackend(),
+			DEFAULT_CALLBACK_INTERVAL_MILLIS, DEFAULT_MIN_UPDATE_INTERVAL_MILLIS);
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(defaultPublisher::shutdown, "TamoStudy-PresenceShutdown"));
+	}
+
+	private final PresenceBackend backend;
+	private final long callbackIntervalMillis;
+	private final long minUpdateIntervalNanos;
+	private final AtomicReference<Presence> pending = new AtomicReference<>();
+	private final AtomicLong publishedCount = new AtomicLong();
+	private final AtomicLong coalescedCount = new AtomicLong();
+	private final Counter publishedCounter = MetricsRegistry.getDefault().counter("presence.published");
+	private final Counter coalescedCounter = MetricsRegistry.getDefault().counter("presence.coalesced");
+
+	private ScheduledExecutorService executor;
+	private ScheduledFuture<?> callbackFuture;
+	private boolean flushScheduled;
+	private volatile long nextPublishNanos;
+	private volatile long startedMillis = System.currentTimeMillis();
+	private Presence lastPublished; // only used on the executor thread
+
+	public PresencePublisher(PresenceBackend backend, long callbackIntervalMillis, long minUpdateIntervalMillis) {
+		this.backend = backend;
+		this.callbackIntervalMillis = callbackIntervalMillis;
+		this.minUpdateIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minUpdateIntervalMillis);
+	}
+
+	public static PresencePublisher getDefault() {
+		return defaultPublisher;
+	}
+
+	/**
+	 * @brief Connects the backend and starts pumping its callbacks.
+	 * Does nothing if already started.
+	 */
+	public synchronized void start() {
+		if(executor != null) {
+			return;
+		}
+		ScheduledThreadPoolExecutor presenceExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "TamoStudy-Presence");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// Rate limited updates still waiting are dropped on shutdown
+		presenceExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+		executor = presenceExecutor;
+		executor.execute(() -> runSafely("initialize", backend::initialize));
+		callbackFuture = executor.scheduleWithFixedDelay(() -> runSafely("runCallbacks", backend::runCallbacks),
+				callbackIntervalMillis, callbackIntervalMillis, TimeUnit.MILLISECONDS);
+		nextPublishNanos = System.nanoTime();
+		startedMillis = System.currentTimeMillis();
+		if(pending.get() != null) {
+			scheduleFlush();
+		}
+		Debug.info("PresencePublisher.start", "Presence started with " + backend.getClass().getSimpleName());
+	}
+
+	/**
+	 * @brief Stops pumping callbacks and disconnects the backend,
+	 * waiting briefly for it to finish. Updates still waiting are
+	 * dropped. The publisher can be started again afterwards.
+	 */
+	public void shutdown() {
+		ScheduledExecutorService stopping;
+		synchronized(this) {
+			if(executor == null) {
+				return;
+			}
+			stopping = executor;
+			executor = null;
+			callbackFuture.cancel(false);
+			callbackFuture = null;
+			flushScheduled = false;
+			pending.set(null);
+		}
+		stopping.execute(() -> {
+			runSafely("shutdown", backend::shutdown);
+			lastPublished = null;
+		});
+		stopping.shutdown();
+		try {
+			if(!stopping.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+				Debug.warn("PresencePublisher.shutdown", "Presence backend did not shut down in time");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public synchronized boolean isRunning() {
+		return executor != null;
+	}
+
+	/**
+	 * @brief Asks for a presence to be published. Returns at once;
+	 * the update is published on the presence thread, replacing any
+	 * update still waiting.
+	 */
+	public void update(Presence presence) {
+		if(pending.getAndSet(presence) != null) {
+			coalescedCount.incrementAndGet();
+			coalescedCounter.increment();
+		}
+		synchronized(this) {
+			if(executor != null && !flushScheduled) {
+				scheduleFlush();
+			}
+		}
+	}
+
+	public void update(String details, String state, long startTimestamp) {
+		update(new Presence(details, state, startTimestamp));
+	}
+
+	/**
+	 * @return when the publisher was last started, or created if
+	 * it has not been, in epoch millis
+	 */
+	public long getStartedMillis() {
+		return startedMillis;
+	}
+
+	public long getPublishedCount() {
+		return publishedCount.get();
+	}
+
+	public long getCoalescedCount() {
+		return coalescedCount.get();
+	}
+
+	/*
+	 * ##################################
+	 * ##################################
+	 * HELPER METHODS
+	 * ##################################
+	 * ##################################
+	 */
+	/**
+	 * Called holding the lock with the executor running
+	 */
+	private void scheduleFlush() {
+		flushScheduled = true;
+		long delay = Math.max(0, nextPublishNanos - System.nanoTime());
+		executor.schedule(this::flush, delay, TimeUnit.NANOSECONDS);
+	}
+
+	private void flush() {
+		// Clear the flag before taking the update, so an update
+		// arriving after this point schedules another flush
+		synchronized(this) {
+			flushScheduled = false;
+		}
+		Presence presence = pending.getAndSet(null);
+		if(presence == null || presence.equals(lastPublished)) {
+			return;
+		}
+		runSafely("updatePresence", () -> backend.updatePresence(presence));
+		lastPublished = presence;
+		nextPublishNanos = System.nanoTime() + minUpdateIntervalNanos;
+		publishedCount.incrementAndGet();
+		publishedCounter.increment();
+	}
+
+	/**
+	 * A failing backend, such as Discord's native library being
+	 * unavailable, is logged and must not stop the scheduled tasks
+	 */
+	private void runSafely(String operation, Runnable task) {
+		try {
+			task.run();
+		} catch (RuntimeException | LinkageError e) {
+			Debug.error("PresencePublisher." + operation, "Presence backend failed: " + e);
+		}
+	}
+
+	private static PresenceBackend createDefaultBackend() {
+		if(!"stub".equals(System.getProperty("tamostudy.presence")) && System.getProperty("os.name").startsWith("Windows")) {
+			return new DiscordPresenceBackend();
+		}
+		return new StubPresenceBackend();
+	}
+}
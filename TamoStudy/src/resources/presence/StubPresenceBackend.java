@@ -0,0 +1,55 @@
+package resources.presence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import resources.Debug;
+
+/**
+ * StubPresenceBackend
+ *
+ * @author narlock
+ *
+ * @brief Local backend that only counts callbacks and keeps the
+ * published presences, so scheduling and coalescing can be tested
+ * and benchmarked on machines without Discord.
+ */
+public class StubPresenceBackend implements PresenceBackend {
+
+	private final List<Presence> published = new ArrayList<>();
+	private long callbackCount;
+	private boolean initialized;
+
+	@Override
+	public synchronized void initialize() {
+		initialized = true;
+	}
+
+	@Override
+	public synchronized void runCallbacks() {
+		callbackCount++;
+	}
+
+	@Override
+	public synchronized void updatePresence(Presence presence) {
+		Debug.info("StubPresenceBackend.updatePresence", presence.toString());
+		published.add(presence);
+	}
+
+	@Override
+	public synchronized void shutdown() {
+		initialized = false;
+	}
+
+	public synchronized List<Presence> getPublished() {
+		return new ArrayList<>(published);
+	}
+
+	public synchronized long getCallbackCount() {
+		return callbackCount;
+	}
+
+	public synchronized boolean isInitialized() {
+		return initialized;
+	}
+}
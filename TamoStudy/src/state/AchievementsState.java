@@ -50,7 +50,7 @@ public class AchievementsState extends State {
 		guiSize = tsGui.getGuiSize();
 		profile = tsGui.getProfile();
 		language = profile.getSettings().getLanguage();
-		theme = profile.getSettings().getTheme();
+		theme = Theme.getTheme(profile.getSettings().getThemeType());
 		
 		initializeAttributes();
 		initializeComponents();
@@ -73,10 +73,7 @@ public class AchievementsState extends State {
 		achievementsPanel = new JPanel(new GridBagLayout());
 		achievementsPanel.setBackground(theme.mainColor);
 		for(int i = 0; i < Constants.ACHIEVEMENT_COUNT; i++) {
-			boolean earned = false;
-			if(profile.getAchievementList().contains((long) i)) {
-				earned = true;
-			}
+			boolean earned = profile.hasAchievement(i);
 			achievementsPanel.add(new AchievementPanel(theme, guiSize, language, i, earned), gbcv);
 		}
 		scrollPane = new JScrollPane(achievementsPanel, ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED, ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
@@ -81,7 +81,7 @@ public class DashboardState extends State {
 		language = tsGui.getProfile().getSettings().getLanguage();
 		guiSize = new GuiSize((int) profile.getSettings().getGuiSize());
 		tamo = profile.getTamo();
-		theme = profile.getSettings().getTheme();
+		theme = Theme.getTheme(profile.getSettings().getThemeType());
 
 		this.dailyFocusEntry = Utils.searchTodayFocusEntryByProfile(tsGui.getDailyFocus().getDailyFocusEntries());
 		// Create new daily focus entry if it does not exist
@@ -192,7 +192,8 @@ public class DashboardState extends State {
 
 	@Override
 	protected void initializeComponentActions() {
-		// No actions in Dash board state
+		bindProfile(this::updateTamoLabels, Tamo.HAPPY_PROPERTY, Tamo.HUNGER_PROPERTY);
+		bindProfile(this::updateTotalFocusLabel, Profile.TIME_PROPERTY);
 	}
 
 	@Override
@@ -227,4 +228,21 @@ public class DashboardState extends State {
 		return label;
 	}
 	
+	
+	/**
+	 * @brief Bound to the Tamo's happiness and hunger, which
+	 * also decide the Tamo's image.
+	 */
+	private void updateTamoLabels(Profile profile) {
+		tamoHappyLabel.setText("" + tamo.getHappy());
+		tamoHungerLabel.setText("" + tamo.getHunger());
+		if(!tamo.isFocused()) {
+			tamoGraphicsPanel.resetTamoImage();
+			tamoGraphicsPanel.repaint();
+		}
+	}
+	
+	private void updateTotalFocusLabel(Profile profile) {
+		tamoHoursAllLabel.setText(language.totalFocusText + ": " + Utils.convertSecondsToHours(profile.getTime()) + " " + language.hoursText);
+	}
 }
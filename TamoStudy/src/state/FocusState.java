@@ -7,6 +7,8 @@ import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.net.URL;
+import java.time.Instant;
+import java.time.LocalDate;
 
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
@@ -29,10 +31,14 @@ import model.language.Language;
 import model.profile.Profile;
 import model.profile.Tamo;
 import model.time.DailyFocusEntry;
+import model.time.FocusSession;
+import model.time.FocusSessionRecorder;
 import model.time.MonthFocusEntry;
-import resources.Achievements;
+import online.StudyRoomMember;
 import resources.Debug;
 import resources.Theme;
+import resources.metrics.MetricTimer;
+import resources.metrics.MetricsRegistry;
 import util.Utils;
 
 public class FocusState extends State {
@@ -54,7 +60,10 @@ public class FocusState extends State {
 	private DailyFocusEntry dailyFocusEntry;
 	private MonthFocusEntry monthFocusEntry;
 	
+	private static final MetricTimer tickLagTimer = MetricsRegistry.getDefault().timer("focus.tick.lag");
+	
 	private Timer timer;
+	private long lastTickNanos;
 	private int sessionsRemaining;
 	private Timer pauseTimer;
 	private int timerPauseIndicator;
@@ -67,6 +76,16 @@ public class FocusState extends State {
 	 */
 	private int sessionTimeIndicator;
 	private int tempSec, tempMin, sec, min;
+	// Seconds of the running session already credited to an earlier day
+	private int creditedSeconds;
+	
+	/**
+	 * Session log bookkeeping: when the current session started
+	 * (epoch seconds) and how long it has been paused for.
+	 */
+	private long sessionStartEpochSecond;
+	private long pauseStartMillis;
+	private long pausedMillis;
 	
 	/*
 	 * ##################################
@@ -107,23 +126,9 @@ public class FocusState extends State {
 		language = tsGui.getProfile().getSettings().getLanguage();
 		guiSize = new GuiSize((int) profile.getSettings().getGuiSize());
 		tamo = profile.getTamo();
-		theme = profile.getSettings().getTheme();
-		
-		this.dailyFocusEntry = Utils.searchTodayFocusEntryByProfile(tsGui.getDailyFocus().getDailyFocusEntries());
-		// Create new daily focus entry if it does not exist
-		if(dailyFocusEntry == null) {
-			dailyFocusEntry = Utils.createDailyFocusEntry();
-			tsGui.addNewDailyFocusEntryToDailyFocus(dailyFocusEntry);
-			tsGui.getDailyFocusJsonManager().writeJsonToFile(tsGui.getDailyFocusList());
-		}
+		theme = Theme.getTheme(profile.getSettings().getThemeType());
 		
-		this.monthFocusEntry = Utils.searchCurrentMonthEntryByProfile(tsGui.getMonthFocus().getMonthFocusEntries());
-		// Create new month focus entry if it does not exist
-		if(monthFocusEntry == null) {
-			monthFocusEntry = Utils.createMonthFocusEntry();
-			tsGui.addNewMonthFocusEntryToMonthFocus(monthFocusEntry);
-			tsGui.getMonthFocusJsonManager().writeJsonToFile(tsGui.getMonthFocusList());
-		}
+		loadFocusEntries(LocalDate.now());
 	}
 
 	@Override
@@ -206,6 +211,8 @@ public class FocusState extends State {
 
 	@Override
 	protected void initializeComponentActions() {
+		bindProfile(this::updateTamoLabels, Tamo.HAPPY_PROPERTY, Tamo.HUNGER_PROPERTY);
+		
 		startFocusButton.addActionListener(new ActionListener() {
 
 			@Override
@@ -232,11 +239,8 @@ public class FocusState extends State {
 				// Lose 2 happiness points when focus is broken
 				tsGui.getProfileUpdateManager().updateHappyOnEvent(2);
 				
-				// Update happiness label
-				tamoHappyLabel.setText("" + tamo.getHappy());
-				
 				// Update focus stats
-				updateFocusStatistics();
+				updateFocusStatistics(FocusSession.BROKEN);
 				
 				sessionsRemaining = 0;		// Reset pomdoro - no sessions remaining
 				sessionTimeIndicator = 0;	// Reset time indicator - will start on focus time
@@ -329,6 +333,10 @@ public class FocusState extends State {
 		Debug.info("FocusState.createTimer", "Starting focus timer...");
 		
 		sessionTimeIndicator = 0; // Ensure in focus mode
+		sessionStartEpochSecond = Instant.now().getEpochSecond();
+		pausedMillis = 0;
+		creditedSeconds = 0;
+		tsGui.updatePresence(language.focusText, sessionStartEpochSecond * 1000);
 		if(profile.getSettings().getFocusMode() == 0) {
 			int numOfSessions = (Integer) setPanel.pomoNumberOfSessionsBox.getSelectedItem();
 			timerPanel.subTextLabel.setText(language.focusText + " " + ((numOfSessions - sessionsRemaining) + 1) + "/" + numOfSessions);
@@ -361,6 +369,8 @@ public class FocusState extends State {
 
 			@Override
 			public void actionPerformed(ActionEvent e) {
+				recordTickLag();
+				
 				//Set how long studied for variables
 				tempSec = tempSec + 1;
 				
@@ -378,7 +388,7 @@ public class FocusState extends State {
 				if(min < 0) {
 					
 					// Update statistics
-					updateFocusStatistics();
+					updateFocusStatistics(FocusSession.COMPLETED);
 					
 					String studyMessage = language.youFocusedForText + " " + tempMin + " " + language.minutesAndText + " " + tempSec + " " + language.secondsPeriodText;
 					if(sessionTimeIndicator != 0) {
@@ -479,7 +489,32 @@ public class FocusState extends State {
 		});
 		
 		//Start timer
+		lastTickNanos = 0;
 		timer.start();
+		updateStudyRoomStatus(sessionTimeIndicator == 0 ? StudyRoomMember.FOCUSING : StudyRoomMember.BREAK);
+	}
+	
+	/**
+	 * @brief Records how late this tick of the one second
+	 * countdown timer ran, which is how long the event
+	 * dispatch thread was busy with other work.
+	 */
+	private void recordTickLag() {
+		long now = System.nanoTime();
+		if(lastTickNanos != 0) {
+			tickLagTimer.record(Math.max(0, now - lastTickNanos - timer.getDelay() * 1_000_000L));
+		}
+		lastTickNanos = now;
+	}
+	
+	/**
+	 * @brief Shares the session with the study room, if one was
+	 * joined. Today's focus time includes the session so far.
+	 */
+	private void updateStudyRoomStatus(byte activity) {
+		long remainingSeconds = activity == StudyRoomMember.IDLE ? 0 : Math.max(0, min) * 60 + sec;
+		long sessionSeconds = sessionTimeIndicator == 0 ? tempSec + (tempMin * 60) - creditedSeconds : 0;
+		tsGui.updateStudyRoomStatus(activity, remainingSeconds, dailyFocusEntry.getTime() + sessionSeconds);
 	}
 	
 	public void nextSession() {
@@ -510,6 +545,10 @@ public class FocusState extends State {
 		min = Integer.parseInt(timerPanel.minuteTimeLabel.getText());
 		sec = Integer.parseInt(timerPanel.secondTimeLabel.getText());
 		
+		// The running timer carries on into the next session, which is logged from now
+		sessionStartEpochSecond = Instant.now().getEpochSecond();
+		pausedMillis = 0;
+		
 		// TODO Add logic to add a conditional if statement to start
 		// the next session. By default, this click will be done
 		// for the user.
@@ -534,32 +573,101 @@ public class FocusState extends State {
 	 * off of the amount of time studied.
 	 * Finally, the user earns Tamo tokens based off of
 	 * the amount of time studied.
+	 * The session is appended to the session log along
+	 * with its outcome (completed or broken).
 	 */
-	public void updateFocusStatistics() {
+	public void updateFocusStatistics(byte outcome) {
 		// Update Time
 		if(sessionTimeIndicator == 0) { // Only earn on focus sessions
 			int timeEarned = tempSec + (tempMin * 60);
-			dailyFocusEntry.setTime(dailyFocusEntry.getTime() + timeEarned); // Daily Time
-			monthFocusEntry.setTime(monthFocusEntry.getTime() + timeEarned); // Month Time
-			profile.setTime(profile.getTime() + timeEarned); // Total Time
-			
-			// Update Tokens (72 seconds = 1 Tamo token)
-			profile.setTokens(profile.getTokens() + ((50 * timeEarned) / 3600));
-			
-			// Update Tamo Happiness (30 minutes = 1 Happy)
-			int happinessEarned = timeEarned / 1800;
-			int newHappy = (int) tamo.getHappy() + happinessEarned;
-			tamo.setHappy(newHappy >= 10 ? 10 : newHappy);
+			creditFocusTime();
+			creditedSeconds = 0;
 			
 			// Update Profile JSON
-			tsGui.getProfileJsonManager().writeJsonToFile(tsGui.getProfiles());
-			tsGui.updateTamoTokensLabel();
+			tsGui.getProfileJsonManager().writeJsonToFileAsync(tsGui.getProfiles());
+			tsGui.getDailyFocusJsonManager().writeJsonToFileAsync(tsGui.getDailyFocusList());
+			tsGui.getMonthFocusJsonManager().writeJsonToFileAsync(tsGui.getMonthFocusList());
+			
+			// Append to session log
+			logFocusSession(timeEarned, outcome);
+		}
+	}
+	
+	/**
+	 * @brief Adds the time focused since the last credit to the
+	 * current day and month, the profile's total, tokens and Tamo
+	 * happiness.
+	 * @return the seconds credited
+	 */
+	private int creditFocusTime() {
+		int focusedSeconds = tempSec + (tempMin * 60);
+		int timeEarned = focusedSeconds - creditedSeconds;
+		FocusSessionRecorder.credit(profile, dailyFocusEntry, monthFocusEntry, timeEarned);
+		creditedSeconds = focusedSeconds;
+		return timeEarned;
+	}
+	
+	/**
+	 * @brief A focus session running over midnight credits the time
+	 * before midnight to the day it started and carries on counting
+	 * for the new day. The session is still logged as a whole.
+	 */
+	@Override
+	public void onDayRollover(LocalDate previousDay, LocalDate today) {
+		// Paused sessions count too, the counters are only zero between sessions
+		if(sessionTimeIndicator == 0 && tempSec + (tempMin * 60) > creditedSeconds) {
+			int timeEarned = creditFocusTime();
+			Debug.info("FocusState.onDayRollover", "Credited " + timeEarned + " seconds of the running session to " + previousDay);
+			tsGui.getProfileJsonManager().writeJsonToFileAsync(tsGui.getProfiles());
+			tsGui.getDailyFocusJsonManager().writeJsonToFileAsync(tsGui.getDailyFocusList());
+			tsGui.getMonthFocusJsonManager().writeJsonToFileAsync(tsGui.getMonthFocusList());
+		}
+		loadFocusEntries(today);
+	}
+	
+	/**
+	 * @brief Finds the daily and month focus entries of a date,
+	 * creating them if they do not exist.
+	 */
+	private void loadFocusEntries(LocalDate date) {
+		this.dailyFocusEntry = Utils.searchDailyFocusEntryByDate(tsGui.getDailyFocus().getDailyFocusEntries(), date);
+		// Create new daily focus entry if it does not exist
+		if(dailyFocusEntry == null) {
+			dailyFocusEntry = Utils.createDailyFocusEntry(date);
+			tsGui.addNewDailyFocusEntryToDailyFocus(dailyFocusEntry);
+			tsGui.getDailyFocusJsonManager().writeJsonToFileAsync(tsGui.getDailyFocusList());
+		}
+		
+		this.monthFocusEntry = Utils.searchMonthFocusEntryByDate(tsGui.getMonthFocus().getMonthFocusEntries(), date);
+		// Create new month focus entry if it does not exist
+		if(monthFocusEntry == null) {
+			monthFocusEntry = Utils.createMonthFocusEntry(date);
+			tsGui.addNewMonthFocusEntryToMonthFocus(monthFocusEntry);
+			tsGui.getMonthFocusJsonManager().writeJsonToFileAsync(tsGui.getMonthFocusList());
 		}
 	}
 	
+	public void logFocusSession(int timeEarned, byte outcome) {
+		long pauseMillis = pausedMillis;
+		if(pauseTimer != null && pauseTimer.isRunning()) {
+			pauseMillis += System.currentTimeMillis() - pauseStartMillis;
+		}
+		
+		tsGui.getFocusSessionLogManager().appendSession(new FocusSession(
+					profile.getId(),
+					sessionStartEpochSecond,
+					timeEarned,
+					(int) (pauseMillis / 1000),
+					(byte) profile.getSettings().getFocusMode(),
+					outcome
+				));
+	}
+	
 	public void resetTimer() {
 		// Reset timer back to where user set it
 		updateTimerInformation();
+		tsGui.updatePresence("TamoStudy", System.currentTimeMillis());
+		updateStudyRoomStatus(StudyRoomMember.IDLE);
 		
 		// Set Tamo Image To Non-Focus
 		tamoGraphicsPanel.getTamo().setFocused(false);
@@ -640,6 +748,8 @@ public class FocusState extends State {
 		if(timer.isRunning()) {
 			pauseFocusButton.setText(language.resumeFocusText);
 			timer.stop();
+			pauseStartMillis = System.currentTimeMillis();
+			updateStudyRoomStatus(StudyRoomMember.PAUSED);
 			
 			timerPauseIndicator = 0;
 			pauseTimer = new Timer(750, new ActionListener() {
@@ -666,7 +776,10 @@ public class FocusState extends State {
 			
 		} else {
 			pauseFocusButton.setText(language.pauseFocusText);
+			lastTickNanos = 0;
 			timer.start();
+			pausedMillis += System.currentTimeMillis() - pauseStartMillis;
+			updateStudyRoomStatus(sessionTimeIndicator == 0 ? StudyRoomMember.FOCUSING : StudyRoomMember.BREAK);
 			
 			if(pauseTimer.isRunning()) {
 				pauseTimer.stop();
@@ -680,32 +793,19 @@ public class FocusState extends State {
 	}
 	
 	public void checkForFocusTimeAndHappyAchievements() {
-		// Happy
-		if(profile.getTamo().getHappy() >= 10) {
-			Achievements.earn(tsGui, 8);
-		}
-		
-		// Focus Time
-		if(profile.getTime() >= 86400) {
-			Debug.info("FocusState.checkForFocusTimeAnyHappyAchievements", "Earning Achievement 0");
-			Achievements.earn(tsGui, 0);
-		}
-		if(profile.getTime() >= 259200) {
-			Debug.info("FocusState.checkForFocusTimeAnyHappyAchievements", "Earning Achievement 1");
-			Achievements.earn(tsGui, 1);
-		}
-		if(profile.getTime() >= 864000) {
-			Debug.info("FocusState.checkForFocusTimeAnyHappyAchievements", "Earning Achievement 2");
-			Achievements.earn(tsGui, 2);
-		}
-		if(profile.getTime() >= 4320000) {
-			Debug.info("FocusState.checkForFocusTimeAnyHappyAchievements", "Earning Achievement 3");
-			Achievements.earn(tsGui, 3);
+		tsGui.getAchievementEngine().publish(tsGui, FocusSessionRecorder.getSessionEvents(tsGui.getDailyFocus(), LocalDate.now()));
+	}
+	
+	/**
+	 * @brief Bound to the Tamo's happiness and hunger, which
+	 * also decide the Tamo's image.
+	 */
+	private void updateTamoLabels(Profile profile) {
+		tamoHappyLabel.setText("" + tamo.getHappy());
+		tamoHungerLabel.setText("" + tamo.getHunger());
+		if(!tamo.isFocused()) {
+			tamoGraphicsPanel.resetTamoImage();
+			tamoGraphicsPanel.repaint();
 		}
-		
-		// Daily Focus
-		tsGui.getDailyFocus().checkInRowDailyFocusAchievements(tsGui, 3);
-		tsGui.getDailyFocus().checkInRowDailyFocusAchievements(tsGui, 7);
-		tsGui.getDailyFocus().checkInRowDailyFocusAchievements(tsGui, 30);
 	}
 }
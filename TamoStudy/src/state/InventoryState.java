@@ -21,6 +21,7 @@ import gui.TamoStudyGUI;
 import model.GuiSize;
 import model.language.Language;
 import model.profile.Profile;
+import resources.Constants;
 import resources.Debug;
 import resources.Items;
 import resources.Theme;
@@ -69,7 +70,7 @@ public class InventoryState extends State {
 	protected void initializeAttributes() {
 		profile = tsGui.getProfile();
 		guiSize = new GuiSize((int) tsGui.getProfile().getSettings().getGuiSize());
-		theme = profile.getSettings().getTheme();
+		theme = Theme.getTheme(profile.getSettings().getThemeType());
 		language = tsGui.getProfile().getSettings().getLanguage();
 	}
 
@@ -126,11 +127,9 @@ public class InventoryState extends State {
 		inventoryMenuPanel = new JPanel(new GridLayout(7, 5));
 		inventoryMenuPanel.setBackground(theme.mainColor);
 		
-		for(long foodIndicator : profile.getFoodInventoryList()) {
-			inventoryMenuPanel.add(createFoodMenuItemButton((int) foodIndicator));
-		}
+		addFoodMenuItemButtons();
 		
-		int noItemCount = 35 - profile.getFoodInventoryList().size();
+		int noItemCount = Constants.INVENTORY_CAPACITY - profile.getFoodTotal();
 		if(noItemCount > 0) {
 			for(int i = 0; i < noItemCount; i++) {
 				inventoryMenuPanel.add(createEmptyMenuItem());
@@ -158,11 +157,9 @@ public class InventoryState extends State {
 		inventoryMenuPanel.setBackground(theme.mainColor);
 		
 		if(inventoryBox.getSelectedIndex() == 0) {
-			for(long foodIndicator : profile.getFoodInventoryList()) {
-				inventoryMenuPanel.add(createFoodMenuItemButton((int) foodIndicator));
-			}
+			addFoodMenuItemButtons();
 			
-			int noItemCount = 35 - profile.getFoodInventoryList().size();
+			int noItemCount = Constants.INVENTORY_CAPACITY - profile.getFoodTotal();
 			if(noItemCount > 0) {
 				for(int i = 0; i < noItemCount; i++) {
 					inventoryMenuPanel.add(createEmptyMenuItem());
@@ -170,22 +167,26 @@ public class InventoryState extends State {
 			}
 			
 		} else if(inventoryBox.getSelectedIndex() == 1) {
-			for(long backgroundIndicator : profile.getBackgroundInventoryList()) {
-				inventoryMenuPanel.add(createBackgroundMenuItemButton((int) backgroundIndicator));
+			for(int backgroundIndicator = 0; backgroundIndicator < Constants.INVENTORY_CAPACITY; backgroundIndicator++) {
+				if(profile.ownsBackground(backgroundIndicator)) {
+					inventoryMenuPanel.add(createBackgroundMenuItemButton(backgroundIndicator));
+				}
 			}
 			
-			int noItemCount = 35 - profile.getBackgroundInventoryList().size();
+			int noItemCount = Constants.INVENTORY_CAPACITY - profile.getBackgroundCount();
 			if(noItemCount > 0) {
 				for(int i = 0; i < noItemCount; i++) {
 					inventoryMenuPanel.add(createEmptyMenuItem());
 				}
 			}
 		} else if(inventoryBox.getSelectedIndex() == 2) {
-			for(long borderIndicator : profile.getBorderInventoryList()) {
-				inventoryMenuPanel.add(createBorderMenuItemButton((int) borderIndicator));
+			for(int borderIndicator = 0; borderIndicator < Constants.INVENTORY_CAPACITY; borderIndicator++) {
+				if(profile.ownsBorder(borderIndicator)) {
+					inventoryMenuPanel.add(createBorderMenuItemButton(borderIndicator));
+				}
 			}
 			
-			int noItemCount = 35 - profile.getBorderInventoryList().size();
+			int noItemCount = Constants.INVENTORY_CAPACITY - profile.getBorderCount();
 			if(noItemCount > 0) {
 				for(int i = 0; i < noItemCount; i++) {
 					inventoryMenuPanel.add(createEmptyMenuItem());
@@ -197,6 +198,18 @@ public class InventoryState extends State {
 		this.revalidate();
 	}
 	
+	/**
+	 * @brief Adds a button for each food item in the inventory,
+	 * grouped by food.
+	 */
+	public void addFoodMenuItemButtons() {
+		for(int foodIndicator = 0; foodIndicator < Constants.FOOD_COUNT; foodIndicator++) {
+			for(int i = 0; i < profile.getFoodCount(foodIndicator); i++) {
+				inventoryMenuPanel.add(createFoodMenuItemButton(foodIndicator));
+			}
+		}
+	}
+	
 	public JButton createFoodMenuItemButton(int indicator) {
 		JButton foodMenuItemButton = new JButton(Items.getFoodInvIconByIndicator(indicator, guiSize));
 		foodMenuItemButton.setPreferredSize(guiSize.itemMenuDimension);
@@ -19,6 +19,7 @@ import model.language.Language;
 import model.profile.ProfileSettings;
 import resources.Debug;
 import resources.Theme;
+import resources.presence.PresencePublisher;
 
 /**
  * SettingsState
@@ -100,8 +101,8 @@ public class SettingsState extends State {
 		settings = tsGui.getProfile().getSettings();
 		language = tsGui.getProfile().getSettings().getLanguage();
 		guiSize = new GuiSize((int) tsGui.getProfile().getSettings().getGuiSize());
-		theme = tsGui.getProfile().getSettings().getTheme();
-		Debug.info("SettingsState.initializeAttributes", "Loaded settings=" + settings);
+		theme = Theme.getTheme(tsGui.getProfile().getSettings().getThemeType());
+		Debug.info("SettingsState.initializeAttributes", () -> "Loaded settings=" + settings);
 	}
 	
 	@Override
@@ -315,7 +316,7 @@ public class SettingsState extends State {
 				if(index > 0) {
 					Debug.info("decreaseGuiButton.actionPerformed", "Decreasing gui size");
 					tsGui.getProfile().getSettings().setGuiSize(tsGui.getProfile().getSettings().getGuiSize() - 1);
-					tsGui.getProfileJsonManager().writeJsonToFile(tsGui.getProfiles());
+					tsGui.getProfileJsonManager().writeJsonToFileAsync(tsGui.getProfiles());
 					tsGui.resizeGui();
 				}
 			}
@@ -336,7 +337,7 @@ public class SettingsState extends State {
 				if(index < 2) {
 					Debug.info("increaseGuiSizeButton.actionPerformed", "Increasing gui size");
 					tsGui.getProfile().getSettings().setGuiSize(tsGui.getProfile().getSettings().getGuiSize() + 1);
-					tsGui.getProfileJsonManager().writeJsonToFile(tsGui.getProfiles());
+					tsGui.getProfileJsonManager().writeJsonToFileAsync(tsGui.getProfiles());
 					tsGui.resizeGui();
 				}
 			}
@@ -386,8 +387,10 @@ public class SettingsState extends State {
 					settings.setEnableDiscordRPC(false);
 				} else if(enableDiscordRPCButton.getText().equals(language.onText)) {
 					settings.setEnableDiscordRPC(true);
+					PresencePublisher.getDefault().start();
 				} else {
 					settings.setEnableDiscordRPC(false);
+					PresencePublisher.getDefault().shutdown();
 				}
 				
 				saveChanges();
@@ -428,12 +431,12 @@ public class SettingsState extends State {
 				}
 				
 				// Overwrite JSON file
-				tsGui.getProfile().getSettings().setTheme(theme);
+				tsGui.getProfile().getSettings().setThemeType(theme.type);
 				Debug.info("SettingsState.themeButton.actionPerformed", "Theme = " + theme.type);
-				profileJsonManager.writeJsonToFile(tsGui.getProfiles());
+				profileJsonManager.writeJsonToFileAsync(tsGui.getProfiles());
 				
-				// Refresh tsGui
-				tsGui.resizeGui();
+				// Recolor tsGui
+				tsGui.changeTheme(theme);
 			}
 		});
 	}
@@ -524,8 +527,8 @@ public class SettingsState extends State {
 	
 	public void saveChanges() {
 		// Overwrite JSON file
-		profileJsonManager.writeJsonToFile(tsGui.getProfiles());
-		Debug.info("SettingsState.saveChangesButton.actionPerformed", "Wrote profiles to file=" + tsGui.getProfiles());
+		profileJsonManager.writeJsonToFileAsync(tsGui.getProfiles());
+		Debug.info("SettingsState.saveChangesButton.actionPerformed", () -> "Saving profiles to file=" + tsGui.getProfiles());
 		
 		// Change message label
 		messageLabel.setText(language.settingsSavedText);
@@ -51,7 +51,7 @@ public class ShopState extends State {
 	@Override
 	protected void initializeAttributes() {
 		language = tsGui.getProfile().getSettings().getLanguage();
-		theme = tsGui.getProfile().getSettings().getTheme();
+		theme = Theme.getTheme(tsGui.getProfile().getSettings().getThemeType());
 	}
 
 	@Override
@@ -1,18 +1,63 @@
 package state;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.swing.JPanel;
 
 import gui.TamoStudyGUI;
+import model.profile.ProfileBinding;
 
 public abstract class State extends JPanel {
 	
 	public TamoStudyGUI tsGui;
+	
+	/*
+	 * When construction began, so TamoStudyGUI.changeState can
+	 * record how long the state took to build.
+	 */
+	private final long constructionStartNanos = System.nanoTime();
+	
+	private final List<ProfileBinding.Updater> bindings = new ArrayList<>();
 
 	public State(TamoStudyGUI tamoStudyGUI) {
 		this.tsGui = tamoStudyGUI;
 		this.setBackground(tsGui.getTheme().subColor);
 	}
 	
+	public long getConstructionStartNanos() {
+		return constructionStartNanos;
+	}
+	
+	/**
+	 * @brief Called on the event dispatch thread when the local
+	 * date changes while this state is shown. Does nothing unless
+	 * overridden.
+	 */
+	public void onDayRollover(LocalDate previousDay, LocalDate today) {
+	}
+	
+	/**
+	 * @brief Refreshes components of this state when profile
+	 * properties change, until the state is replaced.
+	 */
+	protected void bindProfile(ProfileBinding.Updater updater, String... properties) {
+		tsGui.getProfileBinding().bind(updater, properties);
+		bindings.add(updater);
+	}
+	
+	/**
+	 * @brief Called by TamoStudyGUI.changeState when this state
+	 * is replaced.
+	 */
+	public void releaseBindings() {
+		for(ProfileBinding.Updater updater : bindings) {
+			tsGui.getProfileBinding().unbind(updater);
+		}
+		bindings.clear();
+	}
+	
 	protected abstract void initializeAttributes();
 	protected abstract void initializeComponents();
 	protected abstract void initializeComponentVisuals();
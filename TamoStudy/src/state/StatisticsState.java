@@ -1,26 +1,35 @@
 package state;
 
+import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
-import java.util.List;
+import java.awt.GridLayout;
+import java.time.LocalDate;
+import java.time.format.TextStyle;
+import java.util.Locale;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JProgressBar;
+import javax.swing.JScrollPane;
+import javax.swing.ScrollPaneConstants;
 import javax.swing.plaf.basic.BasicProgressBarUI;
 
+import components.panel.FocusBarChartPanel;
 import components.panel.HoursInPastPanel;
 import components.panel.TamoGraphicsPanel;
+import components.panel.WeekdayHourPanel;
 import gui.TamoStudyGUI;
-import io.DailyFocusJsonManager;
 import model.GuiSize;
 import model.language.Language;
 import model.profile.Profile;
 import model.profile.Tamo;
-import model.time.DailyFocus;
+import model.statistics.FocusPeriod;
+import model.statistics.FocusSessionStatistics;
+import model.statistics.FocusStatistics;
 import model.time.DailyFocusEntry;
 import model.time.MonthFocusEntry;
 import resources.Theme;
@@ -64,8 +73,26 @@ public class StatisticsState extends State {
 	private JLabel tamoLevelLabel;
 	private JProgressBar levelProgressBar;
 	
-	private DailyFocus profileDailyFocus;
+	private FocusStatistics focusStatistics;
+	private FocusSessionStatistics focusSessionStatistics;
 	private HoursInPastPanel hoursInPastPanel;
+	
+	private JPanel trendsInfoPanel;
+	private JLabel sevenDayAverageLabel;
+	private JLabel thirtyDayAverageLabel;
+	private JLabel yearFocusLabel;
+	private JLabel bestDayLabel;
+	private JLabel bestWeekLabel;
+	private JLabel bestMonthLabel;
+	private JLabel sessionsLabel;
+	private JLabel mostFocusedHourLabel;
+	private FocusBarChartPanel weeklyChartPanel;
+	private FocusBarChartPanel monthlyChartPanel;
+	private FocusBarChartPanel weekdayChartPanel;
+	private WeekdayHourPanel weekdayHourPanel;
+	
+	private JPanel contentPanel;
+	private JScrollPane scrollPane;
 
 	public StatisticsState(TamoStudyGUI tamoStudyGUI) {
 		super(tamoStudyGUI);
@@ -82,7 +109,7 @@ public class StatisticsState extends State {
 		language = tsGui.getProfile().getSettings().getLanguage();
 		guiSize = new GuiSize((int) profile.getSettings().getGuiSize());
 		tamo = profile.getTamo();
-		theme = profile.getSettings().getTheme();
+		theme = Theme.getTheme(profile.getSettings().getThemeType());
 		
 		this.dailyFocusEntry = Utils.searchTodayFocusEntryByProfile(tsGui.getDailyFocus().getDailyFocusEntries());
 		// Create new daily focus entry if it does not exist
@@ -100,13 +127,9 @@ public class StatisticsState extends State {
 			tsGui.getMonthFocusJsonManager().writeJsonToFile(tsGui.getMonthFocusList());
 		}
 		
-		DailyFocusJsonManager dailyFocusJsonManager = new DailyFocusJsonManager();
-		List<DailyFocus> dailyFocusList = dailyFocusJsonManager.readJson();
-		for(DailyFocus dailyFocus : dailyFocusList) {
-			if(dailyFocus.getProfileId() == profile.getId()) {
-				profileDailyFocus = dailyFocus;
-			}
-		}
+		// Built once from the in-memory daily focus; every chart below reads from it
+		focusStatistics = new FocusStatistics(tsGui.getDailyFocus());
+		focusSessionStatistics = new FocusSessionStatistics(tsGui.getFocusSessionLogManager().readSessions(profile.getId()));
 	}
 
 	@Override
@@ -123,7 +146,25 @@ public class StatisticsState extends State {
 		tamoLevelLabel = new JLabel(language.levelText + " " + tamo.getLevel());
 		levelProgressBar = new JProgressBar(0, 100);
 		
-		hoursInPastPanel = new HoursInPastPanel(language, theme, profileDailyFocus.getDailyFocusEntries(), guiSize);
+		hoursInPastPanel = new HoursInPastPanel(language, theme, focusStatistics, guiSize);
+		
+		trendsInfoPanel = new JPanel(new GridLayout(4, 2));
+		sevenDayAverageLabel = new JLabel(language.sevenDayAverageText + ": " + Utils.convertSecondsToHours((long) focusStatistics.getMovingAverage(focusStatistics.getToday(), 7)) + " " + language.hoursText);
+		thirtyDayAverageLabel = new JLabel(language.thirtyDayAverageText + ": " + Utils.convertSecondsToHours((long) focusStatistics.getMovingAverage(focusStatistics.getToday(), 30)) + " " + language.hoursText);
+		yearFocusLabel = new JLabel(language.yearFocusText + ": " + Utils.convertSecondsToHours(focusStatistics.getYearTime(focusStatistics.getToday().getYear())) + " " + language.hoursText);
+		bestDayLabel = new JLabel(createBestPeriodText(language.bestDayText, focusStatistics.getBestDay()));
+		bestWeekLabel = new JLabel(createBestPeriodText(language.bestWeekText, focusStatistics.getBestWeek()));
+		bestMonthLabel = new JLabel(createBestPeriodText(language.bestMonthText, focusStatistics.getBestMonth()));
+		sessionsLabel = new JLabel(language.sessionsText + ": " + focusSessionStatistics.getSessionCount() + " (" + Math.round(focusSessionStatistics.getCompletionRate() * 100) + "% " + language.completedText + ")");
+		mostFocusedHourLabel = new JLabel(language.mostFocusedHourText + ": " + (focusSessionStatistics.getMostFocusedHour() == -1 ? "-" : focusSessionStatistics.getMostFocusedHour() + ":00"));
+		
+		weeklyChartPanel = new FocusBarChartPanel(theme, guiSize, language.lastTwelveWeeksText, createWeekLabels(12), focusStatistics.getWeeklyTotals(12));
+		monthlyChartPanel = new FocusBarChartPanel(theme, guiSize, language.lastTwelveMonthsText, createMonthLabels(12), focusStatistics.getMonthlyTotals(12));
+		weekdayChartPanel = new FocusBarChartPanel(theme, guiSize, language.focusByWeekdayText, language.weekdayInitialsText.split(","), focusStatistics.getWeekdayAverages());
+		weekdayHourPanel = new WeekdayHourPanel(theme, guiSize, language.focusByHourText, language.weekdayInitialsText.split(","), focusSessionStatistics.getWeekdayHourTime());
+		
+		contentPanel = new JPanel(new GridBagLayout());
+		scrollPane = new JScrollPane(contentPanel, ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED, ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
 	}
 
 	@Override
@@ -190,22 +231,43 @@ public class StatisticsState extends State {
 		
 		statisticsPanel.add(tamoGraphicsPanel);
 		statisticsPanel.add(tamoInfoPanel);
+		
+		// Trends
+		trendsInfoPanel.setBackground(theme.subColor);
+		for(JLabel trendLabel : new JLabel[] { sevenDayAverageLabel, bestDayLabel, thirtyDayAverageLabel, bestWeekLabel, yearFocusLabel, bestMonthLabel, sessionsLabel, mostFocusedHourLabel }) {
+			trendLabel.setFont(guiSize.settingsChoiceFont);
+			trendLabel.setForeground(theme.textColor);
+			trendsInfoPanel.add(trendLabel);
+		}
+		
+		contentPanel.setBackground(theme.subColor);
+		scrollPane.getVerticalScrollBar().setUnitIncrement(16);
+		scrollPane.setBorder(BorderFactory.createEmptyBorder());
+		scrollPane.getViewport().setBackground(theme.subColor);
 	}
 
 	@Override
 	protected void initializeComponentActions() {
-		// TODO Auto-generated method stub
-		
+		bindProfile(this::updateTamoLabels, Tamo.HAPPY_PROPERTY, Tamo.HUNGER_PROPERTY);
+		bindProfile(this::updateTotalFocusLabel, Profile.TIME_PROPERTY);
 	}
 
 	@Override
 	protected void initializePanel() {
 		GridBagConstraints gbcv = new GridBagConstraints();
 		gbcv.gridwidth = GridBagConstraints.REMAINDER;
-		this.setLayout(new GridBagLayout());
-		this.add(statisticsPanel, gbcv);
-		// TODO Add Github-like contribution calendar
-		this.add(hoursInPastPanel, gbcv);
+		contentPanel.add(statisticsPanel, gbcv);
+		contentPanel.add(hoursInPastPanel, gbcv);
+		contentPanel.add(Box.createVerticalStrut(guiSize.settingsVerticalDifference), gbcv);
+		contentPanel.add(trendsInfoPanel, gbcv);
+		contentPanel.add(Box.createVerticalStrut(guiSize.settingsVerticalDifference), gbcv);
+		contentPanel.add(weeklyChartPanel, gbcv);
+		contentPanel.add(monthlyChartPanel, gbcv);
+		contentPanel.add(weekdayChartPanel, gbcv);
+		contentPanel.add(weekdayHourPanel, gbcv);
+		
+		this.setLayout(new BorderLayout());
+		this.add(scrollPane, BorderLayout.CENTER);
 	}
 
 	/*
@@ -225,4 +287,53 @@ public class StatisticsState extends State {
 		label.setForeground(theme.altTextColor);
 		return label;
 	}
+	
+	public String createBestPeriodText(String text, FocusPeriod focusPeriod) {
+		if(focusPeriod.getTime() == 0) {
+			return text + ": -";
+		}
+		return text + ": " + Utils.convertSecondsToHours(focusPeriod.getTime()) + " " + language.hoursText + " (" + focusPeriod.getStartDate() + ")";
+	}
+	
+	/**
+	 * @return the first day of each of the last count weeks as M/d
+	 */
+	public String[] createWeekLabels(int count) {
+		String[] labels = new String[count];
+		LocalDate weekStart = focusStatistics.getToday().minusDays(focusStatistics.getToday().getDayOfWeek().getValue() - 1);
+		for(int i = 0; i < count; i++) {
+			LocalDate date = weekStart.minusWeeks(count - 1 - i);
+			labels[i] = date.getMonthValue() + "/" + date.getDayOfMonth();
+		}
+		return labels;
+	}
+	
+	/**
+	 * @return the short name of each of the last count months
+	 */
+	public String[] createMonthLabels(int count) {
+		String[] labels = new String[count];
+		LocalDate monthStart = focusStatistics.getToday().withDayOfMonth(1);
+		for(int i = 0; i < count; i++) {
+			labels[i] = monthStart.minusMonths(count - 1 - i).getMonth().getDisplayName(TextStyle.SHORT, Locale.getDefault());
+		}
+		return labels;
+	}
+	
+	/**
+	 * @brief Bound to the Tamo's happiness and hunger, which
+	 * also decide the Tamo's image.
+	 */
+	private void updateTamoLabels(Profile profile) {
+		tamoHappyLabel.setText("" + tamo.getHappy());
+		tamoHungerLabel.setText("" + tamo.getHunger());
+		if(!tamo.isFocused()) {
+			tamoGraphicsPanel.resetTamoImage();
+			tamoGraphicsPanel.repaint();
+		}
+	}
+	
+	private void updateTotalFocusLabel(Profile profile) {
+		tamoHoursAllLabel.setText(language.totalFocusText + ": " + Utils.convertSecondsToHours(profile.getTime()) + " " + language.hoursText);
+	}
 }
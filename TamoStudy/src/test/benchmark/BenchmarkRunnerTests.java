@@ -0,0 +1,90 @@
+package test.benchmark;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import benchmark.BenchmarkDataGenerator;
+import benchmark.BenchmarkRunner;
+import model.time.DailyFocus;
+
+class BenchmarkRunnerTests {
+
+	@Test
+	void testDataGeneratorIsRepeatable() {
+		LocalDate today = LocalDate.of(2024, 3, 10);
+		BenchmarkDataGenerator generator = new BenchmarkDataGenerator(1);
+		List<DailyFocus> dailyFocusList = generator.generateDailyFocus(generator.generateProfiles(3), 2, today);
+		BenchmarkDataGenerator sameGenerator = new BenchmarkDataGenerator(1);
+		List<DailyFocus> sameDailyFocusList = sameGenerator.generateDailyFocus(sameGenerator.generateProfiles(3), 2, today);
+
+		assertEquals(3, dailyFocusList.size());
+		assertEquals(2, dailyFocusList.get(2).getProfileId());
+		assertTrue(dailyFocusList.get(0).getDailyFocusEntries().size() > 365);
+		assertTrue(dailyFocusList.get(0).getDailyFocusEntries().size() <= 731);
+		assertEquals(sameDailyFocusList.get(0).getDailyFocusEntries().size(), dailyFocusList.get(0).getDailyFocusEntries().size());
+	}
+
+	@Test
+	void testRunAndCompareResults() throws IOException {
+		BenchmarkRunner runner = new BenchmarkRunner(10, 10, 3);
+		runner.add("sum", () -> {
+			long sum = 0;
+			for(int i = 0; i < 1000; i++) {
+				sum += i;
+			}
+			return sum;
+		});
+		runner.add("failing", () -> {
+			throw new IllegalStateException();
+		});
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		List<BenchmarkRunner.Result> results = runner.run(null, new PrintStream(out));
+		assertEquals(1, results.size());
+		assertTrue(results.get(0).getNanosPerOperation() > 0);
+		assertTrue(out.toString().contains("failing"));
+
+		Path csvPath = Files.createTempDirectory("tamostudy").resolve("bench.csv");
+		BenchmarkRunner.writeCsv(results, csvPath);
+		Map<String, Double> baseline = BenchmarkRunner.readCsv(csvPath);
+		assertEquals(1, baseline.size());
+
+		// Twice as fast a baseline makes this run a regression
+		baseline.put("sum", results.get(0).getNanosPerOperation() / 2);
+		assertEquals(1, BenchmarkRunner.compare(results, baseline, 0.10, new PrintStream(new ByteArrayOutputStream())));
+	}
+
+	@Test
+	void testResultsIgnoreDefaultLocale() throws IOException {
+		Locale defaultLocale = Locale.getDefault();
+		try {
+			// Dutch writes 1234.5 as 1234,5
+			Locale.setDefault(new Locale("nl"));
+			List<BenchmarkRunner.Result> results = List.of(new BenchmarkRunner.Result("sum", 1234.5, 12.25, 3));
+
+			Path csvPath = Files.createTempDirectory("tamostudy").resolve("bench.csv");
+			BenchmarkRunner.writeCsv(results, csvPath);
+			assertEquals(List.of(BenchmarkRunner.CSV_HEADER, "sum,1234.5,12.3,3"), Files.readAllLines(csvPath));
+			Map<String, Double> baseline = BenchmarkRunner.readCsv(csvPath);
+			assertEquals(1234.5, baseline.get("sum"));
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			BenchmarkRunner.compare(results, baseline, 0.10, new PrintStream(out));
+			assertTrue(out.toString().contains("1234.5"));
+			assertTrue(out.toString().contains("+0.0%"));
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package test.cli;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.simple.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import cli.TamoStudyCli;
+import io.FileSystemStorageBackend;
+import io.FocusSessionLogManager;
+import io.JsonManager;
+import io.ProfileJsonManager;
+import model.language.Language;
+import model.profile.Profile;
+import model.time.FocusSession;
+
+class TamoStudyCliTests {
+
+	@Test
+	void testParseDuration() {
+		assertEquals(1500, TamoStudyCli.parseDuration("25"));
+		assertEquals(90, TamoStudyCli.parseDuration("90s"));
+		assertEquals(-1, TamoStudyCli.parseDuration("soon"));
+	}
+
+	@Test
+	void testUsageErrors() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		TamoStudyCli cli = new TamoStudyCli(new PrintStream(out), new PrintStream(err));
+
+		assertEquals(TamoStudyCli.EXIT_SUCCESS, cli.execute(new String[] {"help"}));
+		assertTrue(out.toString().contains("focus <profile> <duration>"));
+
+		assertEquals(TamoStudyCli.EXIT_USAGE, cli.execute(new String[] {"unknown"}));
+		assertEquals(TamoStudyCli.EXIT_USAGE, cli.execute(new String[] {"focus", "123"}));
+		assertEquals(TamoStudyCli.EXIT_USAGE, cli.execute(new String[] {"focus", "123", "later"}));
+		assertTrue(err.toString().contains("Unknown command: unknown"));
+	}
+
+	private static String location(Class<?> type) throws Exception {
+		return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+	}
+
+	/**
+	 * Stops a focus session the way Ctrl+C does, in a program of its
+	 * own, so the broken session is saved by the shutdown hook
+	 */
+	@Test
+	void testStoppedSessionIsSaved() throws Exception {
+		Path root = Files.createTempDirectory("tamostudy-cli");
+		FileSystemStorageBackend storage = new FileSystemStorageBackend(root);
+		Profile profile = new Profile("Ann", Language.getDefault(), 0, 1, "Lisa");
+		profile.setId(7);
+		assertTrue(new ProfileJsonManager(storage, false).writeJsonToFile(new ArrayList<>(Arrays.asList(profile))));
+
+		Path output = root.resolve("output.txt");
+		Process process = new ProcessBuilder(
+					Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+					"-cp", location(TamoStudyCli.class) + File.pathSeparator + location(JSONObject.class),
+					"-Duser.home=" + root,
+					"-D" + JsonManager.STORAGE_ROOT_PROPERTY + "=" + root,
+					"-Dtamostudy.log.level=ERROR",
+					"TamoStudy", "focus", "7", "1"
+				).redirectErrorStream(true).redirectOutput(output.toFile()).start();
+		try {
+			long deadline = System.currentTimeMillis() + 30_000;
+			while(!new String(Files.readAllBytes(output), StandardCharsets.UTF_8).contains("remaining")) {
+				assertTrue(process.isAlive() && System.currentTimeMillis() < deadline, new String(Files.readAllBytes(output), StandardCharsets.UTF_8));
+				Thread.sleep(50);
+			}
+			Thread.sleep(1500);
+			process.destroy(); // runs the shutdown hooks, as Ctrl+C does
+			assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+			String printed = new String(Files.readAllBytes(output), StandardCharsets.UTF_8);
+			assertTrue(printed.contains("Session stopped early"), printed);
+		} finally {
+			process.destroyForcibly();
+		}
+
+		List<FocusSession> sessions = new FocusSessionLogManager(storage, FocusSessionLogManager.FOCUS_SESSION_LOG_FILE).readSessions(7);
+		assertEquals(1, sessions.size());
+		assertEquals(FocusSession.BROKEN, sessions.get(0).getOutcome());
+		assertTrue(sessions.get(0).getDuration() >= 1);
+		assertTrue(new ProfileJsonManager(storage, false).readJson().get(0).getTime() >= 1);
+	}
+}
@@ -0,0 +1,123 @@
+package test.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.FocusSessionLogManager;
+import model.statistics.FocusSessionStatistics;
+import model.time.FocusSession;
+
+class FocusSessionLogManagerTests {
+
+	public long epochSecond(LocalDateTime dateTime) {
+		return dateTime.toEpochSecond(ZoneOffset.UTC);
+	}
+
+	@Test
+	void testAppendAndReadSessions() throws IOException {
+		Path logPath = Files.createTempDirectory("tamostudy").resolve("sessions.dat");
+		FocusSessionLogManager manager = new FocusSessionLogManager(logPath);
+
+		assertTrue(manager.readSessions().isEmpty());
+
+		manager.appendSession(new FocusSession(123, 1000, 1500, 60, (byte) 0, FocusSession.COMPLETED));
+		manager.appendSession(new FocusSession(456, 2000, 300, 0, (byte) 3, FocusSession.BROKEN));
+		manager.appendSession(new FocusSession(123, 3000, 1500, 0, (byte) 0, FocusSession.BROKEN));
+
+		assertEquals(FocusSessionLogManager.HEADER_SIZE + 3 * FocusSessionLogManager.RECORD_SIZE, Files.size(logPath));
+
+		List<FocusSession> sessions = manager.readSessions(123);
+		assertEquals(2, sessions.size());
+		assertEquals(1000, sessions.get(0).getStartEpochSecond());
+		assertEquals(1500, sessions.get(0).getDuration());
+		assertEquals(60, sessions.get(0).getPauseDuration());
+		assertFalse(sessions.get(0).isBroken());
+		assertTrue(sessions.get(1).isBroken());
+
+		assertEquals(3, manager.readSessions().size());
+	}
+
+	@Test
+	void testPartialRecordIgnored() throws IOException {
+		Path logPath = Files.createTempDirectory("tamostudy").resolve("sessions.dat");
+		FocusSessionLogManager manager = new FocusSessionLogManager(logPath);
+		manager.appendSession(new FocusSession(123, 1000, 1500, 0, (byte) 0, FocusSession.COMPLETED));
+
+		// Simulate a write torn half way through a record
+		Files.write(logPath, new byte[10], StandardOpenOption.APPEND);
+
+		assertEquals(1, manager.readSessions().size());
+	}
+
+	@Test
+	void testAppendAfterPartialRecord() throws IOException {
+		Path logPath = Files.createTempDirectory("tamostudy").resolve("sessions.dat");
+		FocusSessionLogManager manager = new FocusSessionLogManager(logPath);
+		manager.appendSession(new FocusSession(123, 1000, 1500, 0, (byte) 0, FocusSession.COMPLETED));
+		Files.write(logPath, new byte[10], StandardOpenOption.APPEND);
+
+		// The torn record is dropped, so the next session starts on a record boundary
+		manager.appendSession(new FocusSession(456, 2000, 300, 60, (byte) 3, FocusSession.BROKEN));
+		assertEquals(FocusSessionLogManager.HEADER_SIZE + 2 * FocusSessionLogManager.RECORD_SIZE, Files.size(logPath));
+
+		List<FocusSession> sessions = manager.readSessions();
+		assertEquals(2, sessions.size());
+		assertEquals(123, sessions.get(0).getProfileId());
+		assertEquals(456, sessions.get(1).getProfileId());
+		assertEquals(2000, sessions.get(1).getStartEpochSecond());
+		assertEquals(300, sessions.get(1).getDuration());
+		assertEquals(60, sessions.get(1).getPauseDuration());
+		assertTrue(sessions.get(1).isBroken());
+
+		// A header torn part way through is rewritten
+		Files.write(logPath, new byte[3]);
+		manager.appendSession(new FocusSession(789, 3000, 1500, 0, (byte) 0, FocusSession.COMPLETED));
+		sessions = manager.readSessions();
+		assertEquals(1, sessions.size());
+		assertEquals(789, sessions.get(0).getProfileId());
+	}
+
+	@Test
+	void testInvalidRecordSizeRejected() throws IOException {
+		Path logPath = Files.createTempDirectory("tamostudy").resolve("sessions.dat");
+		FocusSessionLogManager manager = new FocusSessionLogManager(logPath);
+		manager.appendSession(new FocusSession(123, 1000, 1500, 0, (byte) 0, FocusSession.COMPLETED));
+
+		// The record size is the last short of the header
+		byte[] contents = Files.readAllBytes(logPath);
+		for(short recordSize : new short[] { 0, -1, FocusSessionLogManager.RECORD_SIZE - 1 }) {
+			ByteBuffer.wrap(contents).putShort(FocusSessionLogManager.HEADER_SIZE - 2, recordSize);
+			Files.write(logPath, contents);
+			assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertTrue(manager.readSessions().isEmpty()));
+		}
+	}
+
+	@Test
+	void testWeekdayHourDistribution() {
+		// Monday 2024-03-11 09:30 for 1 hour, split across 09:00 and 10:00
+		FocusSession session = new FocusSession(123, epochSecond(LocalDateTime.of(2024, 3, 11, 9, 30)), 3600, 0, (byte) 0, FocusSession.COMPLETED);
+		// Sunday 2024-03-17 23:45 for 30 minutes, crossing into Monday
+		FocusSession lateSession = new FocusSession(123, epochSecond(LocalDateTime.of(2024, 3, 17, 23, 45)), 1800, 0, (byte) 0, FocusSession.BROKEN);
+
+		FocusSessionStatistics statistics = new FocusSessionStatistics(List.of(session, lateSession), ZoneOffset.UTC);
+		long[][] weekdayHourTime = statistics.getWeekdayHourTime();
+
+		assertEquals(1800, weekdayHourTime[0][9]);
+		assertEquals(1800, weekdayHourTime[0][10]);
+		assertEquals(900, weekdayHourTime[6][23]);
+		assertEquals(900, weekdayHourTime[0][0]);
+		assertEquals(2, statistics.getSessionCount());
+		assertEquals(0.5, statistics.getCompletionRate(), 0.0001);
+	}
+}
@@ -0,0 +1,69 @@
+package test.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import io.LegacyProfileMigrator;
+import io.LegacyProfileMigrator.FileResult;
+import io.LegacyProfileMigrator.Status;
+import model.profile.Profile;
+
+class LegacyProfileMigratorTests {
+
+	public String encrypt(String message) {
+		char[] chars = message.toCharArray();
+		for(int i = 0; i < chars.length; i++) {
+			chars[i] += 6;
+		}
+		return new String(chars) + System.lineSeparator();
+	}
+
+	public String legacyContents(String name, String joinDate) {
+		return "b4.0," + name + "," + joinDate + ",2023-02-01,100,3600,0,0,0,Lisa,5,6,0,0,ahm,1000,0,0,0,1,0";
+	}
+
+	@Test
+	void testParseLegacyProfile() {
+		Profile profile = LegacyProfileMigrator.parseLegacyProfile(encrypt(legacyContents("Alice", "2023-01-05")));
+		assertEquals("Alice", profile.getName());
+		assertEquals(3600, profile.getTime());
+		assertEquals(100, profile.getTokens());
+		assertEquals("2023-01-05", profile.getTamo().getBirthDateString());
+		assertEquals(6, profile.getTamo().getHunger());
+		assertFalse(profile.getSettings().getReceiveNotifications());
+
+		assertThrows(IllegalArgumentException.class, () -> LegacyProfileMigrator.parseLegacyProfile(encrypt("b4.0,Alice")));
+	}
+
+	@Test
+	void testScanDeduplicatesAndReportsInvalidFiles() throws IOException {
+		Path directory = Files.createTempDirectory("tamostudy");
+		Files.write(directory.resolve("1.txt"), encrypt(legacyContents("Alice", "2023-01-05")).getBytes(StandardCharsets.UTF_8));
+		Files.write(directory.resolve("2.txt"), encrypt(legacyContents("Alice", "2023-01-05")).getBytes(StandardCharsets.UTF_8));
+		Files.write(directory.resolve("3.txt"), encrypt(legacyContents("Bob", "2023-01-05")).getBytes(StandardCharsets.UTF_8));
+		Files.write(directory.resolve("4.txt"), "not a save file".getBytes(StandardCharsets.UTF_8));
+
+		LegacyProfileMigrator migrator = new LegacyProfileMigrator(new ForkJoinPool(2));
+		List<FileResult> results = migrator.scan(directory, Collections.emptyList());
+
+		assertEquals(4, results.size());
+		assertEquals(Status.MIGRATED, results.get(0).getStatus());
+		assertEquals(Status.DUPLICATE, results.get(1).getStatus());
+		assertEquals(Status.MIGRATED, results.get(2).getStatus());
+		assertEquals("Bob", results.get(2).getProfile().getName());
+		assertEquals(Status.INVALID, results.get(3).getStatus());
+
+		// Profiles that already exist are duplicates too
+		results = migrator.scan(directory, List.of(results.get(2).getProfile()));
+		assertEquals(Status.DUPLICATE, results.get(2).getStatus());
+	}
+}
@@ -0,0 +1,118 @@
+package test.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.ProfileArchive;
+import io.ProfileArchiveManager;
+import model.language.Language;
+import model.profile.Profile;
+import model.profile.ProfileSettings;
+import model.profile.Tamo;
+import model.time.DailyFocus;
+import model.time.DailyFocusEntry;
+import model.time.MonthFocus;
+import model.time.MonthFocusEntry;
+import util.Utils;
+
+class ProfileArchiveManagerTests {
+
+	public Profile createTestProfile(long id, String name) {
+		return new Profile(
+				id,
+				name,
+				Utils.todayAsString(),
+				1000,
+				100,
+				new ProfileSettings(Language.getDefault(), 0, 1),
+				0,
+				0,
+				List.of(0L),
+				List.of(1L, 0L, 0L),
+				List.of(0L, 3L),
+				List.of(0L),
+				new Tamo("Lisa"),
+				new ArrayList<Tamo>()
+			);
+	}
+
+	@Test
+	void testArchiveRoundTrip() throws IOException {
+		Path archivePath = Files.createTempDirectory("tamostudy").resolve("profiles.tsar");
+		ProfileArchive archive = new ProfileArchive(
+				List.of(createTestProfile(123, "First"), createTestProfile(456, "Second")),
+				List.of(new DailyFocus(123L, List.of(new DailyFocusEntry(1L, 2L, 2024L, 1500L)))),
+				List.of(new MonthFocus(456L, List.of(new MonthFocusEntry(2L, 2024L, 3000L))))
+			);
+
+		List<Integer> progress = new ArrayList<>();
+		ProfileArchiveManager manager = new ProfileArchiveManager();
+		manager.writeArchive(archivePath, archive, (done, total) -> progress.add(done));
+
+		assertTrue(ProfileArchiveManager.isProfileArchive(archivePath));
+		assertEquals(List.of(1, 2), progress);
+
+		ProfileArchive read = manager.readArchive(archivePath, (done, total) -> {});
+		assertEquals(2, read.getProfiles().size());
+		assertEquals(123, read.getProfiles().get(0).getId());
+		assertEquals("Second", read.getProfiles().get(1).getName());
+		assertEquals(1, read.getDailyFocusList().size());
+		assertEquals(1500L, read.getDailyFocusList().get(0).getDailyFocusEntries().get(0).getTime());
+		assertEquals(1, read.getMonthFocusList().size());
+		assertEquals(456L, read.getMonthFocusList().get(0).getProfileId());
+	}
+
+	public void writeHeader(Path path, int... ints) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(Files.newOutputStream(path)))) {
+			for(int value : ints) {
+				out.writeInt(value);
+			}
+		}
+	}
+
+	@Test
+	void testDamagedArchiveRejected() throws IOException {
+		Path directory = Files.createTempDirectory("tamostudy");
+		Path archivePath = directory.resolve("damaged.tsar");
+		ProfileArchiveManager manager = new ProfileArchiveManager();
+
+		// Counts and sizes out of range are rejected before anything is allocated
+		int magic = ProfileArchiveManager.MAGIC;
+		int version = ProfileArchiveManager.VERSION;
+		for(int[] header : new int[][] {
+				{ magic, version, -1 },
+				{ magic, version, Integer.MAX_VALUE },
+				{ magic, version, 1, -1 },
+				{ magic, version, 1, Integer.MAX_VALUE },
+				{ magic, version, 1, ProfileArchiveManager.MAX_RECORD_SIZE + 1 } }) {
+			writeHeader(archivePath, header);
+			assertThrows(IOException.class, () -> manager.readArchive(archivePath, (done, total) -> {}));
+		}
+
+		// An archive cut short
+		Path completePath = directory.resolve("complete.tsar");
+		manager.writeArchive(completePath, new ProfileArchive(
+				List.of(createTestProfile(123, "First"), createTestProfile(456, "Second")), List.of(), List.of()),
+				(done, total) -> {});
+		byte[] complete = Files.readAllBytes(completePath);
+		Files.write(archivePath, Arrays.copyOf(complete, complete.length / 2));
+		assertThrows(IOException.class, () -> manager.readArchive(archivePath, (done, total) -> {}));
+	}
+
+	@Test
+	void testNonArchiveRejected() throws IOException {
+		Path path = Files.createTempDirectory("tamostudy").resolve("profile.txt");
+		Files.write(path, "b4.0,name".getBytes());
+		assertFalse(ProfileArchiveManager.isProfileArchive(path));
+	}
+}
@@ -0,0 +1,145 @@
+package test.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import benchmark.BenchmarkDataGenerator;
+import io.InMemoryStorageBackend;
+import io.ProfileBinaryCodec;
+import io.ProfileJsonManager;
+import io.StorageBackend;
+import model.language.Language;
+import model.profile.Profile;
+import model.profile.ProfileSettings;
+import model.profile.Tamo;
+
+class ProfileBinaryCodecTests {
+
+	/**
+	 * Generated profiles, and one with the values the format
+	 * treats specially
+	 */
+	public List<Profile> profiles() {
+		List<Profile> profiles = new ArrayList<>(new BenchmarkDataGenerator(7).generateProfiles(50));
+		profiles.add(new Profile(-42, "Emile", "2024-1-5", 0, -3, new ProfileSettings(Language.getDefault(), 1, 2),
+				1, 2, Arrays.asList(9L, 3L, 3L), new ArrayList<>(), Arrays.asList(0L), Arrays.asList(0L),
+				new Tamo("Tamo", 5, 1, "1969-12-31", 10, 0, 2),
+				new ArrayList<>(Arrays.asList(new Tamo(null, 1, 0, "2023-03-01", null), new Tamo("Old", 2, 2, "2023-03-01", "2024-02-29")))));
+		return profiles;
+	}
+
+	public byte[] read(StorageBackend storage, String fileName) throws IOException {
+		try (InputStream in = storage.openInput(fileName)) {
+			return in.readAllBytes();
+		}
+	}
+
+	public boolean isBinary(byte[] contents) {
+		return contents.length >= 4 && ByteBuffer.wrap(contents).getInt() == ProfileBinaryCodec.MAGIC;
+	}
+
+	@Test
+	void testBinaryReadsBackTheSameAsJson() throws IOException {
+		List<Profile> profiles = profiles();
+		InMemoryStorageBackend jsonStorage = new InMemoryStorageBackend();
+		InMemoryStorageBackend binaryStorage = new InMemoryStorageBackend();
+		ProfileJsonManager jsonManager = new ProfileJsonManager(jsonStorage, false);
+		ProfileJsonManager binaryManager = new ProfileJsonManager(binaryStorage, true);
+		assertTrue(jsonManager.writeJsonToFile(profiles));
+		assertTrue(binaryManager.writeJsonToFile(profiles));
+
+		byte[] json = read(jsonStorage, ProfileJsonManager.PROFILES_FILE);
+		byte[] binary = read(binaryStorage, ProfileJsonManager.BINARY_PROFILES_FILE);
+		assertFalse(binaryStorage.exists(ProfileJsonManager.PROFILES_FILE));
+		assertFalse(isBinary(json));
+		assertTrue(isBinary(binary));
+		assertTrue(binary.length * 3 < json.length, binary.length + " bytes against " + json.length);
+
+		List<Profile> fromJson = jsonManager.readJson();
+		List<Profile> fromBinary = binaryManager.readJson();
+		assertEquals(profiles.size(), fromBinary.size());
+		assertEquals(jsonManager.recordsToJson(fromJson), binaryManager.recordsToJson(fromBinary));
+		assertEquals("2024-1-5", fromBinary.get(50).getPreviousDateString());
+		assertNull(fromBinary.get(50).getTamoHistory().get(0).getPassDateString());
+
+		// Strings are UTF-8 whatever the platform charset JSON is written in
+		profiles.get(50).setName("\u00c9mile \u270f\ufe0f");
+		assertTrue(binaryManager.writeJsonToFile(profiles));
+		assertEquals("\u00c9mile \u270f\ufe0f", binaryManager.readJson().get(50).getName());
+
+		// Settings missing from older files are written as false
+		profiles.get(50).getSettings().setEnableDiscordRPC(null);
+		assertTrue(binaryManager.writeJsonToFile(profiles));
+		assertFalse(binaryManager.readJson().get(50).getSettings().getEnableDiscordRPC());
+	}
+
+	@Test
+	void testEitherFormatIsReadAndConvertedOnWrite() throws IOException {
+		InMemoryStorageBackend storage = new InMemoryStorageBackend();
+		ProfileJsonManager jsonManager = new ProfileJsonManager(storage, false);
+		ProfileJsonManager binaryManager = new ProfileJsonManager(storage, true);
+		assertTrue(jsonManager.writeJsonToFile(profiles()));
+
+		// An installation switching to binary reads its JSON file
+		List<Profile> profiles = binaryManager.readJson();
+		assertEquals(51, profiles.size());
+		profiles.get(0).setTokens(12345);
+		assertTrue(binaryManager.writeJsonToFile(profiles));
+		assertTrue(isBinary(read(storage, ProfileJsonManager.BINARY_PROFILES_FILE)));
+		// and leaves it as it was for versions that only read JSON
+		assertFalse(isBinary(read(storage, ProfileJsonManager.PROFILES_FILE)));
+
+		// and switching back reads the newer binary file
+		List<Profile> backToJson = jsonManager.readJson();
+		assertEquals(12345, backToJson.get(0).getTokens());
+		backToJson.get(1).setTokens(54321);
+		assertTrue(jsonManager.writeJsonToFile(backToJson));
+		assertFalse(isBinary(read(storage, ProfileJsonManager.PROFILES_FILE)));
+		assertEquals(jsonManager.recordsToJson(backToJson), binaryManager.recordsToJson(binaryManager.readJson()));
+	}
+
+	@Test
+	void testWriteMergesBinaryFileChangedByAnotherProgram() throws IOException {
+		InMemoryStorageBackend storage = new InMemoryStorageBackend();
+		ProfileJsonManager manager = new ProfileJsonManager(storage, true);
+		List<Profile> all = profiles();
+		List<Profile> ours = new ArrayList<>(all.subList(0, 2));
+		assertTrue(manager.writeJsonToFile(ours));
+
+		// Another program adds a profile behind the manager's back
+		byte[] theirs = manager.encodeRecords(manager.recordsToJson(all.subList(0, 3)));
+		try (OutputStream out = storage.openOutput(ProfileJsonManager.BINARY_PROFILES_FILE)) {
+			out.write(theirs);
+		}
+		assertTrue(manager.hasExternalChange());
+
+		ours.get(1).setTokens(777);
+		assertTrue(manager.writeJsonToFile(ours));
+		assertTrue(isBinary(read(storage, ProfileJsonManager.BINARY_PROFILES_FILE)));
+		List<Profile> written = manager.readJson();
+		assertEquals(3, written.size());
+		assertEquals(777, written.get(1).getTokens());
+		assertEquals(all.get(2).getId(), written.get(2).getId());
+	}
+
+	@Test
+	void testDamagedBinaryFileIsNotRead() throws IOException {
+		InMemoryStorageBackend storage = new InMemoryStorageBackend();
+		ProfileJsonManager manager = new ProfileJsonManager(storage, true);
+		assertTrue(manager.writeJsonToFile(profiles()));
+		byte[] contents = read(storage, ProfileJsonManager.BINARY_PROFILES_FILE);
+		try (OutputStream out = storage.openOutput(ProfileJsonManager.BINARY_PROFILES_FILE)) {
+			out.write(Arrays.copyOf(contents, contents.length / 2));
+		}
+		assertTrue(manager.readJson().isEmpty());
+	}
+}
@@ -0,0 +1,222 @@
+package test.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import io.DailyFocusJsonManager;
+import io.FileSystemStorageBackend;
+import io.InMemoryStorageBackend;
+import io.MonthFocusJsonManager;
+import io.ProfileJsonManager;
+import io.StorageBackend;
+import model.language.Language;
+import model.profile.Profile;
+import model.profile.Tamo;
+import model.time.DailyFocus;
+import model.time.DailyFocusEntry;
+import model.time.MonthFocus;
+import model.time.MonthFocusEntry;
+
+class RecordJsonManagerTests {
+
+	/**
+	 * A daily focus with one entry today, so reading does not seal it
+	 */
+	public DailyFocus dailyFocus(long profileId, long time) {
+		LocalDate today = LocalDate.now();
+		return new DailyFocus(profileId, new ArrayList<>(Arrays.asList(new DailyFocusEntry((long) today.getDayOfMonth(), (long) today.getMonthValue(), (long) today.getYear(), time))));
+	}
+
+	/**
+	 * Writes the file as another program would, behind the manager's back
+	 */
+	public void writeAsOtherProgram(StorageBackend storage, DailyFocusJsonManager manager, DailyFocus... dailyFocusList) throws IOException {
+		String json = manager.dailyFocusListToDailyFocusJson(Arrays.asList(dailyFocusList)).toJSONString();
+		try (OutputStream out = storage.openOutput(DailyFocusJsonManager.DAILY_FOCUS_FILE)) {
+			out.write(json.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	public long time(List<DailyFocus> dailyFocusList, long profileId) {
+		for(DailyFocus dailyFocus : dailyFocusList) {
+			if(dailyFocus.getProfileId() == profileId) {
+				return dailyFocus.getDailyFocusEntries().get(0).getTime();
+			}
+		}
+		return -1;
+	}
+
+	@Test
+	void testWriteMergesRecordsAddedByAnotherProgram() throws IOException {
+		InMemoryStorageBackend storage = new InMemoryStorageBackend();
+		DailyFocusJsonManager manager = new DailyFocusJsonManager(storage);
+		List<DailyFocus> ours = new ArrayList<>(Arrays.asList(dailyFocus(1, 100)));
+		assertTrue(manager.writeJsonToFile(ours));
+		assertFalse(manager.hasExternalChange());
+
+		writeAsOtherProgram(storage, manager, dailyFocus(1, 100), dailyFocus(3, 300));
+		assertTrue(manager.hasExternalChange());
+
+		ours.add(dailyFocus(2, 200));
+		assertTrue(manager.writeJsonToFile(ours));
+		List<DailyFocus> written = manager.readJson();
+		assertEquals(3, written.size());
+		assertEquals(100, time(written, 1));
+		assertEquals(200, time(written, 2));
+		assertEquals(300, time(written, 3));
+	}
+
+	@Test
+	void testMergeExternalChanges() throws IOException {
+		InMemoryStorageBackend storage = new InMemoryStorageBackend();
+		DailyFocusJsonManager manager = new DailyFocusJsonManager(storage);
+		assertTrue(manager.writeJsonToFile(Arrays.asList(dailyFocus(1, 100), dailyFocus(2, 200), dailyFocus(4, 400))));
+		List<DailyFocus> ours = manager.readJson();
+		DailyFocus first = ours.get(0);
+
+		// They change 1 and 2, remove 4 and add 3; we change 2
+		writeAsOtherProgram(storage, manager, dailyFocus(1, 150), dailyFocus(2, 250), dailyFocus(3, 300));
+		ours.get(1).getDailyFocusEntries().get(0).setTime(220L);
+
+		assertEquals(3, manager.mergeExternalChanges(ours));
+		assertFalse(manager.hasExternalChange());
+		assertEquals(3, ours.size());
+		assertSame(first, ours.get(0)); // changed in place
+		assertEquals(150, time(ours, 1));
+		assertEquals(220, time(ours, 2)); // changed on both sides, ours is kept
+		assertEquals(300, time(ours, 3));
+		assertEquals(-1, time(ours, 4));
+		assertEquals(0, manager.mergeExternalChanges(ours));
+	}
+
+	@Test
+	void testMergeWhileSessionRunsKeepsItsTime() throws IOException {
+		InMemoryStorageBackend storage = new InMemoryStorageBackend();
+		DailyFocusJsonManager dailyFocusManager = new DailyFocusJsonManager(storage);
+		MonthFocusJsonManager monthFocusManager = new MonthFocusJsonManager(storage);
+		ProfileJsonManager profileManager = new ProfileJsonManager(storage, false);
+		LocalDate today = LocalDate.now();
+		assertTrue(dailyFocusManager.writeJsonToFile(Arrays.asList(dailyFocus(1, 100))));
+		assertTrue(monthFocusManager.writeJsonToFile(Arrays.asList(new MonthFocus(1L, new ArrayList<>(Arrays.asList(
+				new MonthFocusEntry((long) today.getMonthValue(), (long) today.getYear(), 100L)))))));
+		Profile profile = new Profile("Test", Language.getDefault(), 0, 1, "Lisa");
+		profile.setId(1);
+		assertTrue(profileManager.writeJsonToFile(Arrays.asList(profile)));
+
+		// A session starts, holding the entries and Tamo as FocusState does
+		List<DailyFocus> dailyFocusList = dailyFocusManager.readJson();
+		List<MonthFocus> monthFocusList = monthFocusManager.readJson();
+		List<Profile> profiles = profileManager.readJson();
+		DailyFocusEntry dailyFocusEntry = dailyFocusList.get(0).getDailyFocusEntries().get(0);
+		MonthFocusEntry monthFocusEntry = monthFocusList.get(0).getMonthFocusEntries().get(0);
+		Tamo tamo = profiles.get(0).getTamo();
+
+		// The command line records another session meanwhile
+		writeAsOtherProgram(storage, dailyFocusManager, dailyFocus(1, 700));
+		List<MonthFocus> theirMonthFocus = Arrays.asList(new MonthFocus(1L, new ArrayList<>(Arrays.asList(
+				new MonthFocusEntry((long) today.getMonthValue(), (long) today.getYear(), 700L)))));
+		try (OutputStream out = storage.openOutput(MonthFocusJsonManager.MONTH_FOCUS_FILE)) {
+			out.write(monthFocusManager.monthFocusListToMonthFocusJson(theirMonthFocus).toJSONString().getBytes(StandardCharsets.UTF_8));
+		}
+		Profile theirProfile = profileManager.profileJsonToProfileModel(profileManager.profileModelToProfileJson(profiles.get(0)));
+		theirProfile.getTamo().setHappy(9);
+		try (OutputStream out = storage.openOutput(ProfileJsonManager.PROFILES_FILE)) {
+			out.write(profileManager.profileListToProfilesJson(Arrays.asList(theirProfile)).toJSONString().getBytes(StandardCharsets.UTF_8));
+		}
+
+		assertEquals(1, dailyFocusManager.mergeExternalChanges(dailyFocusList));
+		assertEquals(1, monthFocusManager.mergeExternalChanges(monthFocusList));
+		assertEquals(1, profileManager.mergeExternalChanges(profiles));
+		assertSame(dailyFocusEntry, dailyFocusList.get(0).getDailyFocusEntries().get(0));
+		assertSame(monthFocusEntry, monthFocusList.get(0).getMonthFocusEntries().get(0));
+		assertSame(tamo, profiles.get(0).getTamo());
+		assertEquals(9, tamo.getHappy());
+
+		// The session ends, crediting the entries it holds
+		dailyFocusEntry.setTime(dailyFocusEntry.getTime() + 1500);
+		monthFocusEntry.setTime(monthFocusEntry.getTime() + 1500);
+		assertTrue(dailyFocusManager.writeJsonToFile(dailyFocusList));
+		assertTrue(monthFocusManager.writeJsonToFile(monthFocusList));
+		assertEquals(2200, time(dailyFocusManager.readJson(), 1));
+		assertEquals(2200L, monthFocusManager.readJson().get(0).getMonthFocusEntries().get(0).getTime());
+	}
+
+	@Test
+	void testSealingOnReadStillTakesTheirChanges() throws IOException {
+		// Two programs, each with its own view of the folder
+		FileSystemStorageBackend storage = new FileSystemStorageBackend(Files.createTempDirectory("tamostudy"));
+		DailyFocusJsonManager ourManager = new DailyFocusJsonManager(storage);
+		DailyFocusJsonManager theirManager = new DailyFocusJsonManager(new FileSystemStorageBackend(storage.getRoot()));
+		// Written before its months were old enough to seal
+		DailyFocus dailyFocus = dailyFocus(1, 100);
+		dailyFocus.getDailyFocusEntries().add(new DailyFocusEntry(1L, 6L, 2015L, 600L));
+		writeAsOtherProgram(storage, ourManager, dailyFocus);
+
+		// Both programs read, and seal, the same file
+		List<DailyFocus> ours = ourManager.readJson();
+		List<DailyFocus> theirs = theirManager.readJson();
+		assertEquals(1, ours.get(0).getSealedBlocks().size());
+
+		// They record a session
+		theirs.get(0).getDailyFocusEntries().get(0).setTime(7000L);
+		assertTrue(theirManager.writeJsonToFile(theirs));
+
+		assertEquals(1, ourManager.mergeExternalChanges(ours));
+		assertEquals(7000, time(ours, 1));
+		assertTrue(ourManager.writeJsonToFile(ours));
+		DailyFocus written = theirManager.readJson().get(0);
+		assertEquals(7000, time(Arrays.asList(written), 1));
+		assertEquals(600, written.getSealedBlocks().get(0).getTotal());
+	}
+
+	@Test
+	void testRemovedLocallyAndUnchangedByThemStaysRemoved() throws IOException {
+		InMemoryStorageBackend storage = new InMemoryStorageBackend();
+		DailyFocusJsonManager manager = new DailyFocusJsonManager(storage);
+		assertTrue(manager.writeJsonToFile(Arrays.asList(dailyFocus(1, 100), dailyFocus(2, 200))));
+
+		writeAsOtherProgram(storage, manager, dailyFocus(1, 100), dailyFocus(2, 200), dailyFocus(3, 300));
+		assertTrue(manager.writeJsonToFile(Arrays.asList(dailyFocus(1, 100))));
+		List<DailyFocus> written = manager.readJson();
+		assertEquals(2, written.size());
+		assertEquals(-1, time(written, 2));
+		assertEquals(300, time(written, 3));
+	}
+
+	@Test
+	void testFileSystemLock() throws Exception {
+		StorageBackend storage = new FileSystemStorageBackend(Files.createTempDirectory("tamostudy"));
+		ExecutorService other = Executors.newSingleThreadExecutor();
+		try {
+			Closeable outer = storage.lock("profiles.json");
+			Closeable inner = storage.lock("profiles.json"); // reentrant
+			inner.close();
+
+			Future<Boolean> locked = other.submit(() -> {
+				storage.lock("profiles.json").close();
+				return true;
+			});
+			assertThrows(TimeoutException.class, () -> locked.get(200, TimeUnit.MILLISECONDS));
+			outer.close();
+			assertTrue(locked.get(5, TimeUnit.SECONDS));
+		} finally {
+			other.shutdownNow();
+		}
+	}
+}
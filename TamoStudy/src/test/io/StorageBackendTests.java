@@ -0,0 +1,101 @@
+package test.io;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.AsyncJsonWriter;
+import io.FileSystemStorageBackend;
+import io.FocusSessionLogManager;
+import io.GlobalSettingsJsonManager;
+import io.InMemoryStorageBackend;
+import io.StorageBackend;
+import model.GlobalSettings;
+import model.time.FocusSession;
+
+class StorageBackendTests {
+
+	public void assertWriteAndRead(StorageBackend storage) throws IOException {
+		assertFalse(storage.exists("test.json"));
+		assertThrows(NoSuchFileException.class, () -> storage.openInput("test.json"));
+
+		OutputStream out = storage.openOutput("test.json");
+		out.write(new byte[] { 1, 2, 3 });
+		assertFalse(storage.exists("test.json")); // not visible until closed
+		out.close();
+
+		assertTrue(storage.exists("test.json"));
+		assertEquals(3, storage.size("test.json"));
+		try (InputStream in = storage.openInput("test.json")) {
+			assertArrayEquals(new byte[] { 1, 2, 3 }, in.readAllBytes());
+		}
+
+		try (OutputStream append = storage.openAppend("test.json")) {
+			append.write(4);
+		}
+		assertEquals(4, storage.size("test.json"));
+
+		storage.delete("test.json");
+		assertFalse(storage.exists("test.json"));
+	}
+
+	@Test
+	void testInMemoryStorage() throws IOException {
+		assertWriteAndRead(new InMemoryStorageBackend());
+	}
+
+	@Test
+	void testFileSystemStorage() throws IOException {
+		Path root = Files.createTempDirectory("tamostudy").resolve("TamoStudy");
+		assertWriteAndRead(new FileSystemStorageBackend(root));
+		assertTrue(Files.isDirectory(root));
+		assertFalse(Files.exists(root.resolve("test.json.tmp")));
+	}
+
+	@Test
+	void testFileSystemStorageRejectsNamesOutsideRoot() throws IOException {
+		StorageBackend storage = new FileSystemStorageBackend(Files.createTempDirectory("tamostudy"));
+		assertThrows(IllegalArgumentException.class, () -> storage.openOutput("../profiles.json"));
+	}
+
+	@Test
+	void testManagersUseStorage() {
+		InMemoryStorageBackend storage = new InMemoryStorageBackend();
+		GlobalSettingsJsonManager manager = new GlobalSettingsJsonManager(storage);
+
+		manager.readJson(); // creates the default settings
+		assertTrue(storage.exists(GlobalSettingsJsonManager.GLOBAL_SETTINGS_FILE));
+
+		GlobalSettings settings = new GlobalSettings();
+		settings.setDefaultLocalProfile(42);
+		assertTrue(manager.writeJsonToFile(settings));
+		assertEquals(42, new GlobalSettingsJsonManager(storage).readJson().getDefaultLocalProfile());
+
+		// A direct write replaces one still waiting
+		GlobalSettings later = new GlobalSettings();
+		later.setDefaultLocalProfile(7);
+		manager.writeJsonToFileAsync(later);
+		manager.writeJsonToFileAsync(settings);
+		AsyncJsonWriter.getDefault().flush();
+		assertEquals(42, manager.readJson().getDefaultLocalProfile());
+		manager.writeJsonToFileAsync(later);
+		manager.writeJsonToFile(settings);
+		AsyncJsonWriter.getDefault().flush();
+		assertEquals(42, manager.readJson().getDefaultLocalProfile());
+
+		FocusSessionLogManager logManager = new FocusSessionLogManager(storage, FocusSessionLogManager.FOCUS_SESSION_LOG_FILE);
+		logManager.appendSession(new FocusSession(1, 1000, 1500, 0, (byte) 0, (byte) 0));
+		logManager.appendSession(new FocusSession(2, 2000, 600, 0, (byte) 0, (byte) 0));
+		List<FocusSession> sessions = logManager.readSessions(2);
+		assertEquals(1, sessions.size());
+		assertEquals(600, sessions.get(0).getDuration());
+	}
+}
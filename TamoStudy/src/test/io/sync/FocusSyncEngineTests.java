@@ -0,0 +1,236 @@
+package test.io.sync;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import io.InMemoryStorageBackend;
+import io.sync.FocusSyncEngine;
+import io.sync.SyncCounters;
+import model.language.Language;
+import model.profile.Profile;
+import model.time.DailyFocus;
+import model.time.DailyFocusEntry;
+import model.time.MonthFocus;
+import model.time.MonthFocusEntry;
+
+class FocusSyncEngineTests {
+
+	/**
+	 * The records of one machine
+	 */
+	public static class Device {
+		final InMemoryStorageBackend storage = new InMemoryStorageBackend();
+		final FocusSyncEngine engine;
+		final Profile profile = new Profile("Test", Language.getDefault(), 0, 1, "Lisa");
+		final List<Profile> profiles = new ArrayList<>(Arrays.asList(profile));
+		final List<DailyFocus> dailyFocusList = new ArrayList<>();
+		final List<MonthFocus> monthFocusList = new ArrayList<>();
+
+		Device(Path sharedDirectory) {
+			engine = new FocusSyncEngine(storage, sharedDirectory);
+			profile.setId(1);
+		}
+
+		void focus(LocalDate date, long time) {
+			profile.addFocusTime((int) time);
+			if(dailyFocusList.isEmpty()) {
+				dailyFocusList.add(new DailyFocus(1L, new ArrayList<>()));
+				monthFocusList.add(new MonthFocus(1L, new ArrayList<>()));
+			}
+			dailyFocusList.get(0).getDailyFocusEntries().add(new DailyFocusEntry((long) date.getDayOfMonth(), (long) date.getMonthValue(), (long) date.getYear(), time));
+			monthFocusList.get(0).getMonthFocusEntries().add(new MonthFocusEntry((long) date.getMonthValue(), (long) date.getYear(), time));
+		}
+
+		int sync() throws IOException {
+			return engine.sync(profiles, dailyFocusList, monthFocusList);
+		}
+
+		long dailyTime(LocalDate date) {
+			long time = 0;
+			for(DailyFocusEntry entry : dailyFocusList.get(0).getDailyFocusEntries()) {
+				if(LocalDate.of(entry.getYear().intValue(), entry.getMonth().intValue(), entry.getDay().intValue()).equals(date)) {
+					time += entry.getTime();
+				}
+			}
+			return time;
+		}
+
+		long monthTime(YearMonth month) {
+			long time = 0;
+			for(MonthFocusEntry entry : monthFocusList.get(0).getMonthFocusEntries()) {
+				if(YearMonth.of(entry.getYear().intValue(), entry.getMonth().intValue()).equals(month)) {
+					time += entry.getTime();
+				}
+			}
+			return time;
+		}
+	}
+
+	public long countDeltaFiles(Path sharedDirectory) throws IOException {
+		try (Stream<Path> files = Files.walk(sharedDirectory)) {
+			return files.filter(path -> path.toString().endsWith(FocusSyncEngine.DELTA_SUFFIX)).count();
+		}
+	}
+
+	@Test
+	void testTwoDevicesConverge() throws IOException {
+		Path sharedDirectory = Files.createTempDirectory("tamostudy-sync");
+		Device lab = new Device(sharedDirectory);
+		Device home = new Device(sharedDirectory);
+		LocalDate monday = LocalDate.of(2024, 1, 1);
+		LocalDate tuesday = monday.plusDays(1);
+
+		lab.focus(monday, 1500);
+		assertEquals(0, lab.sync());
+		assertTrue(home.sync() > 0);
+		assertEquals(1500, home.dailyTime(monday));
+
+		home.focus(monday, 600);
+		home.focus(tuesday, 900);
+		assertEquals(0, home.sync());
+		assertTrue(lab.sync() > 0);
+		for(Device device : Arrays.asList(lab, home)) {
+			assertEquals(3000, device.profile.getTime());
+			assertEquals(2100, device.dailyTime(monday));
+			assertEquals(900, device.dailyTime(tuesday));
+			assertEquals(3000, device.monthTime(YearMonth.of(2024, 1)));
+		}
+		assertEquals(lab.profile.getTokens(), home.profile.getTokens());
+
+		// Spending on one device while earning on the other
+		long tokens = lab.profile.getTokens();
+		lab.profile.setTokens(tokens - 10);
+		home.profile.setTokens(tokens + 4);
+		lab.sync();
+		home.sync();
+		lab.sync();
+		assertEquals(tokens - 6, lab.profile.getTokens());
+		assertEquals(tokens - 6, home.profile.getTokens());
+
+		// Nothing changed, nothing is written or applied
+		long deltaFiles = countDeltaFiles(sharedDirectory);
+		assertEquals(0, lab.sync());
+		assertEquals(0, home.sync());
+		assertEquals(deltaFiles, countDeltaFiles(sharedDirectory));
+	}
+
+	@Test
+	void testLocalChangesDuringExchangeAreKept() throws IOException {
+		Path sharedDirectory = Files.createTempDirectory("tamostudy-sync");
+		Device lab = new Device(sharedDirectory);
+		Device home = new Device(sharedDirectory);
+		LocalDate monday = LocalDate.of(2024, 1, 1);
+
+		lab.focus(monday, 1500);
+		lab.sync();
+		home.sync();
+		lab.focus(monday, 600);
+		lab.sync();
+
+		home.focus(monday, 400);
+		home.engine.recordLocalChanges(home.profiles, home.dailyFocusList, home.monthFocusList);
+		// A session ends while the delta files are exchanged
+		home.dailyFocusList.get(0).getDailyFocusEntries().get(1).setTime(500L);
+		home.engine.apply(home.engine.exchange(), home.profiles, home.dailyFocusList, home.monthFocusList);
+		assertEquals(2600, home.dailyTime(monday));
+
+		home.sync();
+		lab.sync();
+		assertEquals(2600, lab.dailyTime(monday));
+	}
+
+	@Test
+	void testFirstSyncAdoptsSharedHistory() throws IOException {
+		Path sharedDirectory = Files.createTempDirectory("tamostudy-sync");
+		Device lab = new Device(sharedDirectory);
+		Device home = new Device(sharedDirectory);
+		Device laptop = new Device(sharedDirectory);
+		LocalDate monday = LocalDate.of(2015, 6, 1);
+		LocalDate tuesday = monday.plusDays(1);
+
+		// The same history on both, as when the profile folder was copied
+		lab.focus(monday, 3600);
+		home.focus(monday, 3600);
+		home.dailyFocusList.get(0).sealMonthsBefore(YearMonth.of(2016, 1));
+		home.focus(tuesday, 600); // only home has it
+		long tokens = lab.profile.getTokens();
+
+		lab.sync();
+		home.sync();
+		lab.sync();
+		laptop.sync(); // a new device with no history
+		for(Device device : Arrays.asList(lab, home, laptop)) {
+			assertEquals(4200, device.profile.getTime());
+			assertEquals(600, device.dailyTime(tuesday));
+			assertEquals(4200, device.monthTime(YearMonth.of(2015, 6)));
+		}
+		assertEquals(3600, lab.dailyTime(monday));
+		assertEquals(3600, laptop.dailyTime(monday));
+		assertEquals(3600, home.dailyFocusList.get(0).getSealedBlock(YearMonth.of(2015, 6)).getTotal());
+		assertEquals(home.profile.getTokens(), lab.profile.getTokens());
+		assertEquals(home.profile.getTokens(), laptop.profile.getTokens());
+		assertTrue(lab.profile.getTokens() > tokens);
+	}
+
+	@Test
+	void testOnlyChangedCountersAreSaved() throws IOException {
+		Path sharedDirectory = Files.createTempDirectory("tamostudy-sync");
+		Device lab = new Device(sharedDirectory);
+		LocalDate day = LocalDate.of(2024, 1, 1);
+		for(int i = 0; i < 365; i++) {
+			lab.focus(day.plusDays(i), 60);
+		}
+		lab.sync();
+		lab.focus(day, 60);
+		lab.sync(); // sync.dat is rewritten once the journal outgrows it
+
+		long stateVersion = lab.storage.lastModified(FocusSyncEngine.SYNC_STATE_FILE);
+		long journalSize = lab.storage.size(FocusSyncEngine.SYNC_JOURNAL_FILE);
+		lab.focus(day, 60);
+		lab.sync();
+		assertEquals(stateVersion, lab.storage.lastModified(FocusSyncEngine.SYNC_STATE_FILE));
+		long appended = lab.storage.size(FocusSyncEngine.SYNC_JOURNAL_FILE) - journalSize;
+		assertTrue(appended > 0 && appended < lab.storage.size(FocusSyncEngine.SYNC_STATE_FILE) / 10);
+
+		// What was saved, and an entry cut short, read back
+		try (OutputStream out = lab.storage.openAppend(FocusSyncEngine.SYNC_JOURNAL_FILE)) {
+			out.write(new byte[] { 50, 1, 2 });
+		}
+		FocusSyncEngine reloaded = new FocusSyncEngine(lab.storage, sharedDirectory);
+		long deltaFiles = countDeltaFiles(sharedDirectory);
+		assertEquals(lab.engine.getDeviceId(), reloaded.getDeviceId());
+		assertEquals(0, reloaded.recordLocalChanges(lab.profiles, lab.dailyFocusList, lab.monthFocusList));
+		assertTrue(reloaded.exchange().isEmpty());
+		assertEquals(deltaFiles, countDeltaFiles(sharedDirectory));
+	}
+
+	@Test
+	void testCountersMergeInAnyOrder() {
+		SyncCounters first = new SyncCounters();
+		SyncCounters second = new SyncCounters();
+		first.setValue("k/1", "a", 10);
+		first.setValue("k/1", "a", 4);
+		assertEquals(10, first.getShare("k/1", "a").getAdded());
+		assertEquals(6, first.getShare("k/1", "a").getRemoved());
+
+		second.merge("k/1", "b", 7, 0);
+		second.merge("k/1", "a", 10, 6);
+		second.merge("k/1", "a", 10, 0); // older, changes nothing
+		first.merge("k/1", "b", 7, 0);
+		first.merge("k/1", "b", 7, 0);
+		assertEquals(11, first.getValue("k/1"));
+		assertEquals(11, second.getValue("k/1"));
+	}
+}
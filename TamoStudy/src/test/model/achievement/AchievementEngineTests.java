@@ -0,0 +1,98 @@
+package test.model.achievement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.achievement.AchievementEngine;
+import model.achievement.AchievementEvent;
+import model.achievement.AchievementRule;
+import model.language.Language;
+import model.profile.Profile;
+import model.profile.ProfileSettings;
+import model.profile.Tamo;
+import model.time.DailyFocus;
+import model.time.DailyFocusEntry;
+import util.Utils;
+
+class AchievementEngineTests {
+
+	public Profile createTestProfile(long time, List<Long> achievementList) {
+		return new Profile(
+				123,
+				"TestName",
+				Utils.todayAsString(),
+				time,
+				100,
+				new ProfileSettings(Language.getDefault(), 0, 1),
+				0,
+				0,
+				achievementList,
+				new ArrayList<Long>(),
+				new ArrayList<Long>(),
+				new ArrayList<Long>(),
+				new Tamo("Lisa"),
+				new ArrayList<Tamo>()
+			);
+	}
+
+	@Test
+	void testSessionCompletedEarnsFocusTimeAchievements() {
+		Profile profile = createTestProfile(300000, new ArrayList<Long>(List.of(0L)));
+		AchievementEngine engine = new AchievementEngine(profile);
+
+		List<AchievementRule> earned = engine.evaluate(AchievementEvent.sessionCompleted());
+
+		// 0 was already earned, 1 is earned now, 2 and 3 need more time
+		assertEquals(1, earned.size());
+		assertEquals(1, earned.get(0).getId());
+		assertEquals(List.of(0L, 1L), profile.getAchievementList());
+		assertEquals(600, profile.getTokens());
+		assertTrue(engine.isEarned(1));
+
+		// Earned achievements are not granted twice
+		assertTrue(engine.evaluate(AchievementEvent.sessionCompleted()).isEmpty());
+		assertEquals(600, profile.getTokens());
+	}
+
+	@Test
+	void testOnlyRulesForEventAreGranted() {
+		Profile profile = createTestProfile(4320000, new ArrayList<Long>());
+		AchievementEngine engine = new AchievementEngine(profile);
+
+		assertTrue(engine.evaluate(AchievementEvent.backgroundSet(0)).isEmpty());
+		assertEquals(1, engine.evaluate(AchievementEvent.backgroundSet(2)).size());
+		assertEquals(1, engine.evaluate(AchievementEvent.borderSet(1)).size());
+		assertEquals(List.of(4L, 5L), profile.getAchievementList());
+		assertEquals(200, profile.getTokens());
+	}
+
+	@Test
+	void testStreakAchievements() {
+		LocalDate today = LocalDate.of(2024, 3, 10);
+		List<DailyFocusEntry> entries = new ArrayList<>();
+		for(int i = 0; i < 8; i++) {
+			LocalDate date = today.minusDays(i);
+			entries.add(new DailyFocusEntry((long) date.getDayOfMonth(), (long) date.getMonthValue(), (long) date.getYear(), 3600L));
+		}
+		// A day with less than an hour ends the streak
+		entries.add(new DailyFocusEntry(1L, 3L, 2024L, 3599L));
+		DailyFocus dailyFocus = new DailyFocus(123L, entries);
+
+		int length = dailyFocus.getInRowDailyFocusLength(today, 3600);
+		assertEquals(8, length);
+		assertEquals(0, dailyFocus.getInRowDailyFocusLength(today.plusDays(1), 3600));
+
+		Profile profile = createTestProfile(0, new ArrayList<Long>());
+		AchievementEngine engine = new AchievementEngine(profile);
+		List<AchievementRule> earned = engine.evaluate(AchievementEvent.streakAdvanced(length));
+		assertEquals(2, earned.size());
+		assertTrue(engine.isEarned(9));
+		assertTrue(engine.isEarned(10));
+		assertFalse(engine.isEarned(11));
+	}
+}
@@ -0,0 +1,33 @@
+package test.model.language;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import model.language.Language;
+
+class LanguageTests {
+
+	@Test
+	void testLanguagesAreShared() {
+		assertSame(Language.getLanguage("SPA"), Language.getLanguageFromBox(1));
+		assertSame(Language.getDefault(), Language.getLanguage("unknown"));
+		// Languages that are not translated yet fall back to English
+		assertSame(Language.getDefault(), Language.getLanguageFromBox(2));
+	}
+
+	@Test
+	void testTextsLoadedFromLanguageFiles() {
+		Language english = Language.getLanguage("ENG");
+		Language spanish = Language.getLanguage("SPA");
+		Language dutch = Language.getLanguage("DUT");
+
+		assertEquals("Created by", english.createdByText);
+		assertEquals("Creado por", spanish.createdByText);
+		assertEquals(english.createdByText, english.getText("createdByText"));
+		assertNotNull(dutch.globalSettingsText);
+
+		assertEquals("SPA", spanish.toString());
+		assertEquals(9, Language.getIndexFromLanguage(dutch));
+	}
+}
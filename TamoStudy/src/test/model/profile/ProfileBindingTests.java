@@ -0,0 +1,83 @@
+package test.model.profile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.language.Language;
+import model.profile.Profile;
+import model.profile.ProfileBinding;
+import model.profile.Tamo;
+
+class ProfileBindingTests {
+
+	private List<Runnable> scheduled = new ArrayList<>();
+
+	private void runScheduled() {
+		List<Runnable> tasks = new ArrayList<>(scheduled);
+		scheduled.clear();
+		tasks.forEach(Runnable::run);
+	}
+
+	@Test
+	void testChangesCoalesceIntoOneFlush() {
+		Profile profile = new Profile("Test", Language.getDefault(), 0, 1, "Lisa");
+		ProfileBinding binding = new ProfileBinding(profile, scheduled::add);
+		List<Long> tokenUpdates = new ArrayList<>();
+		List<Long> happyUpdates = new ArrayList<>();
+		binding.bind(p -> tokenUpdates.add(p.getTokens()), Profile.TIME_PROPERTY, Profile.TOKENS_PROPERTY);
+		binding.bind(p -> happyUpdates.add(p.getTamo().getHappy()), Tamo.HAPPY_PROPERTY, Tamo.HUNGER_PROPERTY);
+
+		// Time, tokens and happiness change together
+		profile.addFocusTime(3600);
+		profile.getTamo().setHunger(5);
+
+		assertEquals(1, scheduled.size());
+		assertTrue(tokenUpdates.isEmpty());
+		runScheduled();
+		assertEquals(1, binding.getFlushCount());
+		assertEquals(List.of(50L), tokenUpdates);
+		assertEquals(List.of(9L), happyUpdates);
+	}
+
+	@Test
+	void testOnlyChangedPropertiesRun() {
+		Profile profile = new Profile("Test", Language.getDefault(), 0, 1, "Lisa");
+		ProfileBinding binding = new ProfileBinding(profile, scheduled::add);
+		List<String> updates = new ArrayList<>();
+		binding.bind(p -> updates.add("tokens"), Profile.TOKENS_PROPERTY);
+		binding.bind(p -> updates.add("hunger"), Tamo.HUNGER_PROPERTY);
+
+		// Setting the same value is not a change
+		profile.getTamo().setHunger(profile.getTamo().getHunger());
+		assertTrue(scheduled.isEmpty());
+
+		profile.getTamo().setHunger(2);
+		runScheduled();
+		assertEquals(List.of("hunger"), updates);
+	}
+
+	@Test
+	void testFollowsReplacedTamoUntilDisposed() {
+		Profile profile = new Profile("Test", Language.getDefault(), 0, 1, "Lisa");
+		Tamo oldTamo = profile.getTamo();
+		ProfileBinding binding = new ProfileBinding(profile, scheduled::add);
+		List<Long> happyUpdates = new ArrayList<>();
+		binding.bind(p -> happyUpdates.add(p.getTamo().getHappy()), Tamo.HAPPY_PROPERTY);
+
+		profile.setTamo(new Tamo("Kath"));
+		runScheduled();
+		oldTamo.setHappy(1);
+		profile.getTamo().setHappy(3);
+		runScheduled();
+		assertEquals(List.of(3L), happyUpdates);
+
+		binding.dispose();
+		profile.getTamo().setHappy(4);
+		runScheduled();
+		assertEquals(List.of(3L), happyUpdates);
+	}
+}
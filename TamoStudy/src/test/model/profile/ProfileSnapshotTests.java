@@ -0,0 +1,77 @@
+package test.model.profile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.AsyncJsonWriter;
+import io.InMemoryStorageBackend;
+import io.ProfileJsonManager;
+import model.language.Language;
+import model.profile.Profile;
+import model.profile.ProfileSnapshot;
+import model.profile.Tamo;
+import resources.Theme;
+
+class ProfileSnapshotTests {
+
+	@Test
+	void testSnapshotsShareUnchangedParts() {
+		Profile profile = new Profile("Test", Language.getDefault(), 0, 1, "Lisa");
+		ProfileSnapshot before = profile.getSnapshot();
+
+		profile.setTokens(500);
+		ProfileSnapshot afterTokens = profile.getSnapshot();
+		assertEquals(0, before.getTokens());
+		assertEquals(500, afterTokens.getTokens());
+		assertSame(before.getFoodInventoryList(), afterTokens.getFoodInventoryList());
+		assertSame(before.getTamoHistory(), afterTokens.getTamoHistory());
+		assertSame(before.getTamo(), afterTokens.getTamo());
+
+		profile.addFood(2);
+		ProfileSnapshot afterFood = profile.getSnapshot();
+		assertEquals(List.of(), afterTokens.getFoodInventoryList());
+		assertEquals(List.of(2L), afterFood.getFoodInventoryList());
+		assertSame(afterTokens.getAchievementList(), afterFood.getAchievementList());
+		assertThrows(UnsupportedOperationException.class, () -> afterFood.getFoodInventoryList().add(3L));
+	}
+
+	@Test
+	void testTamoAndSettingsChangesPublishProfileSnapshot() {
+		Profile profile = new Profile("Test", Language.getDefault(), 0, 1, "Lisa");
+		Tamo oldTamo = profile.getTamo();
+
+		profile.getTamo().setHappy(2);
+		profile.getTamo().setType(3);
+		profile.getTamo().setBirthDateString("2024-01-05");
+		profile.getTamo().setPassDateString("2024-02-05");
+		profile.getSettings().setThemeType(Theme.LIGHT.type);
+		assertEquals(2, profile.getSnapshot().getTamo().getHappy());
+		assertEquals(3, profile.getSnapshot().getTamo().getType());
+		assertEquals("2024-01-05", profile.getSnapshot().getTamo().getBirthDateString());
+		assertEquals("2024-02-05", profile.getSnapshot().getTamo().getPassDateString());
+		assertEquals("Light", profile.getSnapshot().getSettings().getThemeType());
+
+		profile.setTamo(new Tamo("Kath"));
+		oldTamo.setHunger(1);
+		assertEquals("Kath", profile.getSnapshot().getTamo().getName());
+		assertEquals(8, profile.getSnapshot().getTamo().getHunger());
+	}
+
+	@Test
+	void testAsyncWriteSavesSnapshotTakenAtCall() {
+		Profile profile = new Profile("Test", Language.getDefault(), 0, 1, "Lisa");
+		List<Profile> profiles = new ArrayList<>(List.of(profile));
+		ProfileJsonManager manager = new ProfileJsonManager(new InMemoryStorageBackend());
+
+		profile.setTokens(10);
+		manager.writeJsonToFileAsync(profiles);
+		profile.setTokens(20);
+		AsyncJsonWriter.getDefault().flush();
+
+		assertEquals(10, manager.readJson().get(0).getTokens());
+	}
+}
@@ -0,0 +1,93 @@
+package test.model.profile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import model.language.Language;
+import model.profile.Profile;
+import model.profile.ProfileIdAllocator;
+import model.profile.ProfileSettings;
+import model.profile.Tamo;
+import util.Utils;
+
+class ProfileTests {
+
+	public Profile createTestProfile() {
+		return new Profile(
+				123,
+				"TestName",
+				Utils.todayAsString(),
+				1000,
+				100,
+				new ProfileSettings(Language.getDefault(), 0, 1),
+				0,
+				0,
+				List.of(8L, 0L),
+				List.of(2L, 0L, 2L),
+				List.of(0L, 3L),
+				List.of(0L),
+				new Tamo("Lisa"),
+				new ArrayList<Tamo>()
+			);
+	}
+
+	@Test
+	void testOwnershipFromLists() {
+		Profile profile = createTestProfile();
+
+		assertTrue(profile.hasAchievement(0));
+		assertTrue(profile.hasAchievement(8));
+		assertFalse(profile.hasAchievement(1));
+		assertEquals(2, profile.getAchievementCount());
+
+		assertEquals(1, profile.getFoodCount(0));
+		assertEquals(0, profile.getFoodCount(1));
+		assertEquals(2, profile.getFoodCount(2));
+		assertEquals(3, profile.getFoodTotal());
+
+		assertTrue(profile.ownsBackground(3));
+		assertFalse(profile.ownsBackground(1));
+		assertTrue(profile.ownsBorder(0));
+		assertFalse(profile.ownsBorder(1));
+	}
+
+	@Test
+	void testOwnershipUpdates() {
+		Profile profile = createTestProfile();
+
+		assertTrue(profile.addAchievement(4));
+		assertFalse(profile.addAchievement(4));
+		profile.addBackground(1);
+		profile.addBorder(1);
+		profile.addFood(1);
+		assertTrue(profile.removeFood(2));
+		assertTrue(profile.removeFood(1));
+		assertFalse(profile.removeFood(1));
+
+		// Lists are written in indicator order
+		assertEquals(List.of(0L, 4L, 8L), profile.getAchievementList());
+		assertEquals(List.of(0L, 2L), profile.getFoodInventoryList());
+		assertEquals(List.of(0L, 1L, 3L), profile.getBackgroundInventoryList());
+		assertEquals(List.of(0L, 1L), profile.getBorderInventoryList());
+	}
+
+	@Test
+	void testProfileIdAllocatorIssuesUniqueIds() {
+		ProfileIdAllocator allocator = new ProfileIdAllocator(List.of(1L, 2L, 3L), new Random(7));
+		Set<Long> issuedIds = new HashSet<>();
+		for(int i = 0; i < 5000; i++) {
+			long id = allocator.nextId();
+			assertTrue(id >= 0 && id < ProfileIdAllocator.MAX_PROFILE_ID);
+			assertFalse(id == 1 || id == 2 || id == 3);
+			assertTrue(issuedIds.add(id));
+		}
+		assertTrue(allocator.isKnown(1));
+	}
+}
@@ -11,7 +11,7 @@ import java.util.Collections;
 
 import org.junit.jupiter.api.Test;
 
-import model.language.EnglishLanguage;
+import model.language.Language;
 import model.profile.Profile;
 import model.profile.ProfileSettings;
 import model.profile.ProfileUpdateManager;
@@ -116,7 +116,7 @@ class ProfileUpdateManagerTests {
 				Utils.todayAsString(),
 				1000,
 				100,
-				new ProfileSettings(new EnglishLanguage(), 0, 1),
+				new ProfileSettings(Language.getDefault(), 0, 1),
 				0,
 				0,
 				new ArrayList<Long>(),
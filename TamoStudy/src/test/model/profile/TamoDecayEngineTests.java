@@ -0,0 +1,102 @@
+package test.model.profile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.language.Language;
+import model.profile.Profile;
+import model.profile.ProfileSettings;
+import model.profile.Tamo;
+import model.profile.TamoDecayEngine;
+
+class TamoDecayEngineTests {
+
+	private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+
+	public Profile createTestProfile(long daysAway, long difficulty) {
+		return new Profile(
+				1,
+				"Test",
+				TODAY.minusDays(daysAway).toString(),
+				0,
+				0,
+				new ProfileSettings(Language.getDefault(), 0, difficulty),
+				0,
+				0,
+				new ArrayList<Long>(),
+				new ArrayList<Long>(),
+				new ArrayList<Long>(),
+				new ArrayList<Long>(),
+				new Tamo("Lisa"),
+				new ArrayList<Tamo>()
+			);
+	}
+
+	@Test
+	void testBands() {
+		assertEquals(0, TamoDecayEngine.band(0));
+		assertEquals(1, TamoDecayEngine.band(2));
+		assertEquals(2, TamoDecayEngine.band(3));
+		assertEquals(3, TamoDecayEngine.band(29));
+		assertEquals(4, TamoDecayEngine.band(30));
+	}
+
+	@Test
+	void testDecayAcrossProfilesInOnePass() {
+		List<Profile> profiles = List.of(
+				createTestProfile(0, 1),
+				createTestProfile(1, 1),
+				createTestProfile(4, 1),
+				createTestProfile(10, 1),
+				createTestProfile(45, 1),
+				createTestProfile(45, 0)
+			);
+
+		assertEquals(5, new TamoDecayEngine().applyAll(profiles, TODAY));
+
+		assertTamo(profiles.get(0), 7, 8, 0);
+		assertTamo(profiles.get(1), 6, 6, 0);
+		assertTamo(profiles.get(2), 5, 5, 0);
+		assertTamo(profiles.get(3), 0, 0, 1);
+		assertTamo(profiles.get(4), 7, 8, TamoDecayEngine.STRIKES_TO_PASS);
+		assertTamo(profiles.get(5), 7, 8, 0);
+		for(Profile profile : profiles) {
+			assertEquals(TODAY.toString(), profile.getPreviousDateString());
+		}
+	}
+
+	@Test
+	void testLowTamoGetsStrikeUnlessEasy() {
+		Profile normal = createTestProfile(1, 1);
+		normal.getTamo().setHappy(2);
+		normal.getTamo().setHunger(2);
+		Profile easy = createTestProfile(1, 0);
+		easy.getTamo().setHappy(2);
+		easy.getTamo().setHunger(2);
+
+		new TamoDecayEngine().applyAll(List.of(normal, easy), TODAY);
+
+		assertTamo(normal, 1, 0, 1);
+		assertTamo(easy, 1, 0, 0);
+	}
+
+	@Test
+	void testSecondApplySameDayChangesNothing() {
+		Profile profile = createTestProfile(2, 1);
+		TamoDecayEngine engine = new TamoDecayEngine();
+		assertTrue(engine.apply(profile, TODAY));
+		assertFalse(engine.apply(profile, TODAY));
+		assertTamo(profile, 6, 6, 0);
+	}
+
+	private static void assertTamo(Profile profile, long happy, long hunger, long strikes) {
+		assertEquals(happy, profile.getTamo().getHappy());
+		assertEquals(hunger, profile.getTamo().getHunger());
+		assertEquals(strikes, profile.getTamo().getStrikes());
+	}
+}
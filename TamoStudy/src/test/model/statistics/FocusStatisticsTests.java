@@ -0,0 +1,160 @@
+package test.model.statistics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.statistics.FocusStatistics;
+import model.time.DailyFocus;
+import model.time.DailyFocusBlock;
+import model.time.DailyFocusEntry;
+
+class FocusStatisticsTests {
+
+	// A Wednesday
+	private static final LocalDate TODAY = LocalDate.of(2024, 3, 13);
+
+	public DailyFocusEntry createEntry(LocalDate date, long time) {
+		return new DailyFocusEntry((long) date.getDayOfMonth(), (long) date.getMonthValue(), (long) date.getYear(), time);
+	}
+
+	public FocusStatistics createTestStatistics() {
+		List<DailyFocusEntry> entries = new ArrayList<>();
+		entries.add(createEntry(TODAY, 3600));
+		entries.add(createEntry(TODAY.minusDays(1), 7200));
+		entries.add(createEntry(TODAY.minusDays(2), 1800));
+		entries.add(createEntry(LocalDate.of(2024, 2, 29), 10800));
+		entries.add(createEntry(LocalDate.of(2023, 12, 31), 600));
+		return new FocusStatistics(entries, TODAY);
+	}
+
+	@Test
+	void testRangeQueries() {
+		FocusStatistics statistics = createTestStatistics();
+
+		assertEquals(3600, statistics.getTimeOnDay(TODAY));
+		assertEquals(12600, statistics.getTimeBetween(TODAY.minusDays(2), TODAY));
+		assertEquals(0, statistics.getTimeOnDay(TODAY.plusDays(30)));
+		assertEquals(0, statistics.getTimeOnDay(LocalDate.of(2000, 1, 1)));
+		assertEquals(24000, statistics.getTotalTime());
+		assertEquals(24000, statistics.getTimeBetween(LocalDate.of(1990, 1, 1), LocalDate.of(2090, 1, 1)));
+	}
+
+	@Test
+	void testRollups() {
+		FocusStatistics statistics = createTestStatistics();
+
+		// Monday 11th through today
+		assertEquals(12600, statistics.getWeekTime(TODAY));
+		assertEquals(10800, statistics.getWeekTime(LocalDate.of(2024, 2, 26)));
+
+		assertEquals(12600, statistics.getMonthTime(YearMonth.of(2024, 3)));
+		assertEquals(10800, statistics.getMonthTime(YearMonth.of(2024, 2)));
+		assertEquals(24000, statistics.getTimeBetweenMonths(YearMonth.of(2023, 12), YearMonth.of(2024, 3)));
+
+		assertEquals(23400, statistics.getYearTime(2024));
+		assertEquals(600, statistics.getYearTime(2023));
+
+		assertArrayEquals(new long[] { 600, 0, 10800, 12600 }, statistics.getMonthlyTotals(4));
+		assertArrayEquals(new long[] { 0, 600, 23400 }, statistics.getYearlyTotals(3));
+
+		long[] weeklyTotals = statistics.getWeeklyTotals(3);
+		assertEquals(12600, weeklyTotals[2]);
+		assertEquals(0, weeklyTotals[1]);
+		assertEquals(10800, weeklyTotals[0]);
+	}
+
+	@Test
+	void testTrends() {
+		FocusStatistics statistics = createTestStatistics();
+
+		assertEquals(12600.0 / 7, statistics.getMovingAverage(TODAY, 7), 0.0001);
+
+		assertEquals(LocalDate.of(2024, 2, 29), statistics.getBestDay().getStartDate());
+		assertEquals(10800, statistics.getBestDay().getTime());
+		assertEquals(LocalDate.of(2024, 3, 11), statistics.getBestWeek().getStartDate());
+		assertEquals(12600, statistics.getBestWeek().getTime());
+		assertEquals(LocalDate.of(2024, 3, 1), statistics.getBestMonth().getStartDate());
+
+		long[] weekdayTotals = statistics.getWeekdayTotals();
+		assertEquals(1800, weekdayTotals[0]);  // Monday
+		assertEquals(7200, weekdayTotals[1]);  // Tuesday
+		assertEquals(3600, weekdayTotals[2]);  // Wednesday
+		assertEquals(10800, weekdayTotals[3]); // Thursday
+		assertEquals(600, weekdayTotals[6]);   // Sunday
+	}
+
+	@Test
+	void testSealedMonthsCountTheSame() {
+		FocusStatistics hot = createTestStatistics();
+		List<DailyFocusEntry> entries = new ArrayList<>();
+		entries.add(createEntry(TODAY, 3600));
+		entries.add(createEntry(TODAY.minusDays(1), 7200));
+		entries.add(createEntry(TODAY.minusDays(2), 1800));
+		entries.add(createEntry(LocalDate.of(2024, 2, 29), 10800));
+		entries.add(createEntry(LocalDate.of(2023, 12, 31), 600));
+		DailyFocus dailyFocus = new DailyFocus(1L, entries);
+		assertEquals(2, dailyFocus.sealMonthsBefore(YearMonth.of(2024, 3)));
+		FocusStatistics statistics = new FocusStatistics(dailyFocus, TODAY);
+
+		assertEquals(hot.getTotalTime(), statistics.getTotalTime());
+		assertEquals(LocalDate.of(2023, 12, 1), statistics.getFirstDate());
+		assertEquals(10800, statistics.getTimeOnDay(LocalDate.of(2024, 2, 29)));
+		assertEquals(11400, statistics.getTimeBetween(LocalDate.of(2023, 12, 31), LocalDate.of(2024, 2, 29)));
+		assertEquals(10800, statistics.getWeekTime(LocalDate.of(2024, 2, 26)));
+		assertEquals(600, statistics.getWeekTime(LocalDate.of(2023, 12, 31)));
+		assertArrayEquals(hot.getMonthlyTotals(4), statistics.getMonthlyTotals(4));
+		assertArrayEquals(hot.getYearlyTotals(3), statistics.getYearlyTotals(3));
+		assertArrayEquals(hot.getWeeklyTotals(3), statistics.getWeeklyTotals(3));
+		assertEquals(LocalDate.of(2024, 2, 29), statistics.getBestDay().getStartDate());
+		assertEquals(10800, statistics.getBestDay().getTime());
+	}
+
+	@Test
+	void testBestWeekInSealedMonth() {
+		List<DailyFocusEntry> entries = new ArrayList<>();
+		entries.add(createEntry(TODAY, 3600));
+		entries.add(createEntry(LocalDate.of(2024, 1, 8), 7200));  // Monday
+		entries.add(createEntry(LocalDate.of(2024, 1, 10), 7200)); // Wednesday
+		DailyFocus dailyFocus = new DailyFocus(1L, entries);
+		assertEquals(1, dailyFocus.sealMonthsBefore(YearMonth.of(2024, 3)));
+		FocusStatistics statistics = new FocusStatistics(dailyFocus, TODAY);
+		FocusStatistics hot = new FocusStatistics(entries, TODAY);
+
+		assertEquals(LocalDate.of(2024, 1, 8), statistics.getBestWeek().getStartDate());
+		assertEquals(14400, statistics.getBestWeek().getTime());
+		assertArrayEquals(hot.getWeekdayTotals(), statistics.getWeekdayTotals());
+		assertEquals(10800, statistics.getWeekdayTotals()[2]);
+		// Eleven Wednesdays from the first of the sealed month to today
+		assertEquals(10800.0 / 11, statistics.getWeekdayAverages()[2], 0.0001);
+	}
+
+	@Test
+	void testDamagedSealedMonthHasNoDays() {
+		List<DailyFocusEntry> entries = new ArrayList<>();
+		entries.add(createEntry(TODAY, 3600));
+		List<DailyFocusBlock> blocks = new ArrayList<>();
+		blocks.add(new DailyFocusBlock(YearMonth.of(2024, 1), 7200, 7200, 8, 1, "!!"));
+		FocusStatistics statistics = new FocusStatistics(new DailyFocus(1L, entries, blocks), TODAY);
+
+		// The summary still counts, the days decode to nothing
+		assertEquals(10800, statistics.getTotalTime());
+		assertEquals(7200, statistics.getMonthTime(YearMonth.of(2024, 1)));
+		assertEquals(0, statistics.getTimeOnDay(LocalDate.of(2024, 1, 8)));
+		assertEquals(3600, statistics.getBestWeek().getTime());
+	}
+
+	@Test
+	void testEmptyHistory() {
+		FocusStatistics statistics = new FocusStatistics(new ArrayList<>(), TODAY);
+
+		assertEquals(0, statistics.getTotalTime());
+		assertEquals(0, statistics.getBestDay().getTime());
+		assertArrayEquals(new long[12], statistics.getWeeklyTotals(12));
+	}
+}
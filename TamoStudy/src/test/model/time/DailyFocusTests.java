@@ -0,0 +1,120 @@
+package test.model.time;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import io.DailyFocusJsonManager;
+import io.InMemoryStorageBackend;
+import model.time.DailyFocus;
+import model.time.DailyFocusBlock;
+import model.time.DailyFocusEntry;
+
+class DailyFocusTests {
+
+	public DailyFocusEntry createEntry(LocalDate date, long time) {
+		return new DailyFocusEntry((long) date.getDayOfMonth(), (long) date.getMonthValue(), (long) date.getYear(), time);
+	}
+
+	public DailyFocus createTestDailyFocus() {
+		List<DailyFocusEntry> entries = new ArrayList<>();
+		entries.add(createEntry(LocalDate.of(2015, 6, 30), 600));
+		entries.add(createEntry(LocalDate.of(2015, 6, 1), 1800));
+		entries.add(createEntry(LocalDate.of(2015, 6, 2), 300000));
+		entries.add(createEntry(LocalDate.of(2015, 7, 1), 1200));
+		entries.add(createEntry(LocalDate.of(2015, 8, 1), 60));
+		return new DailyFocus(1L, entries);
+	}
+
+	@Test
+	void testSealAndUnseal() {
+		DailyFocus dailyFocus = createTestDailyFocus();
+		assertEquals(2, dailyFocus.sealMonthsBefore(YearMonth.of(2015, 8)));
+		assertEquals(1, dailyFocus.getDailyFocusEntries().size());
+		assertEquals(2, dailyFocus.getSealedBlocks().size());
+
+		DailyFocusBlock june = dailyFocus.getSealedBlock(YearMonth.of(2015, 6));
+		assertEquals(302400, june.getTotal());
+		assertEquals(300000, june.getMax());
+		assertEquals(LocalDate.of(2015, 6, 2), june.getMaxDate());
+		assertEquals(3, june.getDayCount());
+		long[] dailyTimes = june.getDailyTimes();
+		assertEquals(30, dailyTimes.length);
+		assertEquals(1800, dailyTimes[0]);
+		assertEquals(600, dailyTimes[29]);
+
+		// Entries added to a sealed month again are sealed in with it
+		dailyFocus.getDailyFocusEntries().add(createEntry(LocalDate.of(2015, 6, 15), 100));
+		assertEquals(1, dailyFocus.sealMonthsBefore(YearMonth.of(2015, 8)));
+		assertEquals(4, dailyFocus.getSealedBlock(YearMonth.of(2015, 6)).getDayCount());
+
+		assertTrue(dailyFocus.unseal(YearMonth.of(2015, 6)));
+		assertFalse(dailyFocus.unseal(YearMonth.of(2015, 6)));
+		assertNull(dailyFocus.getSealedBlock(YearMonth.of(2015, 6)));
+		assertEquals(5, dailyFocus.getDailyFocusEntries().size());
+		assertEquals(0, dailyFocus.sealMonthsBefore(YearMonth.of(2015, 6)));
+	}
+
+	@Test
+	void testStreakReachesIntoSealedMonths() {
+		List<DailyFocusEntry> entries = new ArrayList<>();
+		LocalDate today = LocalDate.of(2015, 8, 3);
+		for(LocalDate date = LocalDate.of(2015, 7, 20); !date.isAfter(today); date = date.plusDays(1)) {
+			entries.add(createEntry(date, 120));
+		}
+		DailyFocus dailyFocus = new DailyFocus(1L, entries);
+		int hotStreak = dailyFocus.getInRowDailyFocusLength(today, 60);
+		dailyFocus.sealMonthsBefore(YearMonth.of(2015, 8));
+		assertEquals(15, hotStreak);
+		assertEquals(hotStreak, dailyFocus.getInRowDailyFocusLength(today, 60));
+		assertEquals(0, dailyFocus.getInRowDailyFocusLength(today, 121));
+	}
+
+	@Test
+	void testSealedBlocksAreSavedAndRead() {
+		DailyFocusJsonManager manager = new DailyFocusJsonManager(new InMemoryStorageBackend());
+		DailyFocus dailyFocus = createTestDailyFocus();
+		List<DailyFocus> dailyFocusList = new ArrayList<>();
+		dailyFocusList.add(dailyFocus);
+
+		// Reading seals the months older than DailyFocus.HOT_MONTHS
+		assertTrue(manager.writeJsonToFile(dailyFocusList));
+		DailyFocus read = manager.readJson().get(0);
+		assertTrue(read.getDailyFocusEntries().isEmpty());
+		assertEquals(3, read.getSealedBlocks().size());
+
+		JSONObject json = manager.dailyFocusToDailyFocusJson(read);
+		assertTrue(json.containsKey("sealedBlocks"));
+		DailyFocus parsed = manager.dailyFocusJsonToDailyFocus(json);
+		assertEquals(read.getSealedBlocks().toString(), parsed.getSealedBlocks().toString());
+		assertEquals(3, parsed.getSealedBlock(YearMonth.of(2015, 6)).toDailyFocusEntries().size());
+		assertFalse(manager.dailyFocusToDailyFocusJson(new DailyFocus(2L, new ArrayList<>())).containsKey("sealedBlocks"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void testDamagedBlocksAreLeftOut() {
+		DailyFocusJsonManager manager = new DailyFocusJsonManager(new InMemoryStorageBackend());
+		DailyFocus dailyFocus = createTestDailyFocus();
+		dailyFocus.sealMonthsBefore(YearMonth.of(2016, 1));
+		JSONObject json = manager.dailyFocusToDailyFocusJson(dailyFocus);
+		JSONArray blocks = (JSONArray) json.get("sealedBlocks");
+		((JSONObject) blocks.get(0)).put("maxDay", 40L);
+		((JSONObject) blocks.get(1)).put("dayCount", 99L);
+		((JSONObject) blocks.get(2)).put("total", 1L);
+
+		DailyFocus parsed = manager.dailyFocusJsonToDailyFocus(json);
+		assertTrue(parsed.getSealedBlocks().isEmpty());
+
+		((JSONObject) blocks.get(0)).put("maxDay", 0L);
+		assertThrows(IllegalStateException.class, () -> manager.dailyFocusBlockJsonToDailyFocusBlock((JSONObject) blocks.get(0)));
+		assertDoesNotThrow(() -> dailyFocus.getSealedBlocks().forEach(DailyFocusBlock::checkIntact));
+	}
+}
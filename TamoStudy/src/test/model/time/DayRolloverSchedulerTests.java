@@ -0,0 +1,74 @@
+package test.model.time;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import model.time.DayRolloverScheduler;
+
+class DayRolloverSchedulerTests {
+
+	private static final ZoneId ZONE = ZoneId.of("Europe/Amsterdam");
+
+	@Test
+	void testListenersCalledOncePerNewDay() {
+		AtomicReference<ZonedDateTime> now = new AtomicReference<>(ZonedDateTime.of(2024, 3, 1, 23, 59, 0, 0, ZONE));
+		DayRolloverScheduler scheduler = new DayRolloverScheduler(now::get, Runnable::run, 60000);
+		List<LocalDate[]> rollovers = new ArrayList<>();
+		scheduler.addListener((previousDay, today) -> rollovers.add(new LocalDate[] { previousDay, today }));
+
+		scheduler.checkNow();
+		assertTrue(rollovers.isEmpty());
+
+		now.set(ZonedDateTime.of(2024, 3, 2, 0, 0, 1, 0, ZONE));
+		scheduler.checkNow();
+		scheduler.checkNow();
+		assertEquals(1, rollovers.size());
+		assertEquals(LocalDate.of(2024, 3, 1), rollovers.get(0)[0]);
+		assertEquals(LocalDate.of(2024, 3, 2), rollovers.get(0)[1]);
+
+		// Waking from sleep days later
+		now.set(ZonedDateTime.of(2024, 3, 5, 8, 0, 0, 0, ZONE));
+		scheduler.checkNow();
+		assertEquals(2, rollovers.size());
+		assertEquals(LocalDate.of(2024, 3, 2), rollovers.get(1)[0]);
+		scheduler.stop();
+	}
+
+	@Test
+	void testDateMovingBackIsNotANewDay() {
+		AtomicReference<ZonedDateTime> now = new AtomicReference<>(ZonedDateTime.of(2024, 3, 2, 0, 30, 0, 0, ZONE));
+		DayRolloverScheduler scheduler = new DayRolloverScheduler(now::get, Runnable::run, 60000);
+		List<LocalDate> days = new ArrayList<>();
+		scheduler.addListener((previousDay, today) -> days.add(today));
+
+		// Travelling west back over midnight
+		now.set(now.get().withZoneSameInstant(ZoneId.of("Europe/London")).minusHours(1));
+		scheduler.checkNow();
+		assertTrue(days.isEmpty());
+
+		now.set(ZonedDateTime.of(2024, 3, 2, 1, 0, 0, 0, ZoneId.of("Europe/London")));
+		scheduler.checkNow();
+		assertEquals(List.of(LocalDate.of(2024, 3, 2)), days);
+		scheduler.stop();
+	}
+
+	@Test
+	void testUntilNextMidnight() {
+		assertEquals(Duration.ofMinutes(1), DayRolloverScheduler.untilNextMidnight(ZonedDateTime.of(2024, 3, 1, 23, 59, 0, 0, ZONE)));
+
+		// Sao Paulo skipped midnight on 2018-11-04, the day started at 01:00
+		ZoneId saoPaulo = ZoneId.of("America/Sao_Paulo");
+		ZonedDateTime beforeGap = ZonedDateTime.of(LocalDateTime.of(2018, 11, 3, 23, 0), saoPaulo);
+		assertEquals(Duration.ofHours(1), DayRolloverScheduler.untilNextMidnight(beforeGap));
+	}
+}
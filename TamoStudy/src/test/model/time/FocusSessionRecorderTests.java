@@ -0,0 +1,58 @@
+package test.model.time;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import model.achievement.AchievementEvent;
+import model.language.Language;
+import model.profile.Profile;
+import model.time.DailyFocus;
+import model.time.FocusSessionRecorder;
+import model.time.MonthFocus;
+import util.Utils;
+
+class FocusSessionRecorderTests {
+
+	@Test
+	void testSessionOverMidnightIsSplit() {
+		Profile profile = new Profile("Test", Language.getDefault(), 0, 1, "Lisa");
+		// Unmodifiable, as lists read by the JSON managers may be
+		DailyFocus dailyFocus = new DailyFocus(profile.getId(), Collections.emptyList());
+		MonthFocus monthFocus = new MonthFocus(profile.getId(), Collections.emptyList());
+		FocusSessionRecorder recorder = new FocusSessionRecorder(profile, dailyFocus, monthFocus);
+		LocalDate lastDay = LocalDate.of(2024, 1, 31);
+
+		recorder.creditSession(lastDay.atTime(23, 30), 3600);
+		assertEquals(1800, Utils.searchDailyFocusEntryByDate(dailyFocus.getDailyFocusEntries(), lastDay).getTime());
+		assertEquals(1800, Utils.searchDailyFocusEntryByDate(dailyFocus.getDailyFocusEntries(), lastDay.plusDays(1)).getTime());
+		assertEquals(1800, Utils.searchMonthFocusEntryByDate(monthFocus.getMonthFocusEntries(), lastDay).getTime());
+		assertEquals(1800, Utils.searchMonthFocusEntryByDate(monthFocus.getMonthFocusEntries(), lastDay.plusDays(1)).getTime());
+		assertEquals(3600, profile.getTime());
+
+		// A second session the same day adds to the entry
+		recorder.creditSession(LocalDateTime.of(2024, 2, 1, 9, 0), 600);
+		assertEquals(2400, Utils.searchDailyFocusEntryByDate(dailyFocus.getDailyFocusEntries(), lastDay.plusDays(1)).getTime());
+		assertEquals(2, dailyFocus.getDailyFocusEntries().size());
+	}
+
+	@Test
+	void testSessionEvents() {
+		DailyFocus dailyFocus = new DailyFocus(1L, new ArrayList<>());
+		FocusSessionRecorder recorder = new FocusSessionRecorder(new Profile("Test", Language.getDefault(), 0, 1, "Lisa"),
+				dailyFocus, new MonthFocus(1L, new ArrayList<>()));
+		LocalDate today = LocalDate.of(2024, 3, 10);
+		recorder.credit(today.minusDays(1), FocusSessionRecorder.STREAK_DAY_SECONDS);
+		recorder.credit(today, FocusSessionRecorder.STREAK_DAY_SECONDS);
+
+		AchievementEvent[] events = FocusSessionRecorder.getSessionEvents(dailyFocus, today);
+		assertEquals(AchievementEvent.Type.SESSION_COMPLETED, events[0].getType());
+		assertEquals(AchievementEvent.Type.STREAK_ADVANCED, events[1].getType());
+		assertEquals(2, events[1].getValue());
+	}
+}
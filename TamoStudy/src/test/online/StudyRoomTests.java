@@ -0,0 +1,181 @@
+package test.online;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+import online.StudyRoom;
+import online.StudyRoomClient;
+import online.StudyRoomMember;
+import online.StudyRoomProtocol;
+import online.StudyRoomServer;
+
+class StudyRoomTests {
+
+	public void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while(!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < deadline, "Timed out");
+			Thread.sleep(10);
+		}
+	}
+
+	/**
+	 * Reads a ROOM frame as a client would
+	 */
+	public void readRoom(ByteBuffer frame, Map<Integer, StudyRoomMember> members, long nowMillis) throws IOException {
+		byte[] bytes = new byte[frame.remaining()];
+		frame.get(bytes);
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+		in.readInt(); // length
+		assertEquals(StudyRoomProtocol.ROOM, in.readByte());
+		StudyRoomProtocol.readRoom(in, members, nowMillis);
+	}
+
+	@Test
+	void testManyClientsFollowTheRoom() throws Exception {
+		int clientCount = 100;
+		StudyRoomServer server = new StudyRoomServer(new InetSocketAddress("127.0.0.1", 0), 20);
+		List<StudyRoomClient> clients = new ArrayList<>();
+		try {
+			server.start();
+			for(int i = 0; i < clientCount; i++) {
+				StudyRoomClient client = new StudyRoomClient("127.0.0.1", server.getPort(), Runnable::run);
+				client.updateStatus(StudyRoomMember.FOCUSING, 1500, i * 60);
+				client.start("Student " + i);
+				clients.add(client);
+			}
+			awaitTrue(() -> clients.stream().allMatch(client -> client.getRoom().getFocusingCount() == clientCount));
+			assertEquals(clientCount, server.getMemberCount());
+
+			StudyRoom room = clients.get(0).getRoom();
+			long now = System.currentTimeMillis();
+			assertEquals("Student 99", room.getLeaderboard(now).get(0).getName());
+			assertEquals("Student 0", room.getMember(room.getOwnId()).getName());
+			assertTrue(room.getMember(room.getOwnId()).getRemainingSeconds(now) <= 1500);
+
+			// A status change reaches everyone, a client leaving is removed
+			clients.get(1).updateStatus(StudyRoomMember.PAUSED, 1200, 60);
+			clients.remove(clientCount - 1).stop();
+			awaitTrue(() -> clients.stream().allMatch(client -> client.getRoom().getMembers().size() == clientCount - 1
+					&& client.getRoom().getFocusingCount() == clientCount - 2));
+			StudyRoom paused = clients.get(0).getRoom();
+			StudyRoomMember member = paused.getLeaderboard(System.currentTimeMillis()).stream()
+					.filter(candidate -> candidate.getName().equals("Student 1")).findFirst().get();
+			assertEquals(1200, member.getRemainingSeconds(System.currentTimeMillis() + 60_000));
+		} finally {
+			for(StudyRoomClient client : clients) {
+				client.stop();
+			}
+			server.close();
+		}
+	}
+
+	@Test
+	void testStartingUnderAnotherNameRejoins() throws Exception {
+		StudyRoomServer server = new StudyRoomServer(new InetSocketAddress("127.0.0.1", 0), 20);
+		server.start();
+		StudyRoomClient client = new StudyRoomClient("127.0.0.1", server.getPort(), Runnable::run);
+		try {
+			client.start("Ada");
+			awaitTrue(() -> client.isConnected() && client.getRoom().getMember(client.getRoom().getOwnId()).getName().equals("Ada"));
+
+			// Starting again under the same name keeps the connection
+			int ownId = client.getRoom().getOwnId();
+			client.start("Ada");
+			assertEquals(ownId, client.getRoom().getOwnId());
+
+			client.start("Grace");
+			awaitTrue(() -> client.isConnected() && client.getRoom().getMember(client.getRoom().getOwnId()).getName().equals("Grace")
+					&& client.getRoom().getMembers().size() == 1);
+		} finally {
+			client.stop();
+			server.close();
+		}
+	}
+
+	@Test
+	void testRestartingLeavesOneConnection() throws Exception {
+		StudyRoomServer server = new StudyRoomServer(new InetSocketAddress("127.0.0.1", 0), 20);
+		server.start();
+		StudyRoomClient client = new StudyRoomClient("127.0.0.1", server.getPort(), Runnable::run);
+		try {
+			// As the GUI does when it is reset, catching readers part way through connecting
+			for(int i = 0; i < 200; i++) {
+				client.start("Ada");
+				Thread.sleep(i % 3);
+				client.stop();
+				assertFalse(client.isConnected());
+			}
+			client.start("Ada");
+			awaitTrue(() -> client.isConnected() && server.getMemberCount() == 1 && client.getRoom().getMembers().size() == 1);
+
+			// No reader left over from an earlier start takes the connection away
+			Thread.sleep(500);
+			assertTrue(client.isConnected());
+			assertEquals(1, server.getMemberCount());
+		} finally {
+			client.stop();
+			server.close();
+		}
+	}
+
+	@Test
+	void testDeltasKeepFieldsThatWereNotSent() throws IOException {
+		Map<Integer, StudyRoomMember> serverMembers = new LinkedHashMap<>();
+		serverMembers.put(1, new StudyRoomMember(1, "Ada", StudyRoomMember.FOCUSING, 1500, 600, 0));
+		serverMembers.put(2, new StudyRoomMember(2, "Bo", StudyRoomMember.IDLE, 0, 300, 0));
+		Map<Integer, Integer> all = new LinkedHashMap<>();
+		all.put(1, StudyRoomProtocol.ALL_FIELDS);
+		all.put(2, StudyRoomProtocol.ALL_FIELDS);
+
+		Map<Integer, StudyRoomMember> members = new LinkedHashMap<>();
+		readRoom(StudyRoomProtocol.room(true, all, serverMembers, Collections.emptyList(), 10_000), members, 10_000);
+		assertEquals(1490, members.get(1).getRemainingSeconds(10_000));
+		assertEquals(610, members.get(1).getFocusedSeconds(10_000));
+
+		// Only the activity of Ada changes, and Bo leaves
+		serverMembers.put(1, new StudyRoomMember(1, "Ada", StudyRoomMember.PAUSED, 1490, 610, 10_000));
+		Map<Integer, Integer> activity = new LinkedHashMap<>();
+		activity.put(1, StudyRoomProtocol.ACTIVITY_FIELD);
+		ByteBuffer delta = StudyRoomProtocol.room(false, activity, serverMembers, Arrays.asList(2), 20_000);
+		assertTrue(delta.remaining() < 16);
+		readRoom(delta, members, 20_000);
+		assertEquals(1, members.size());
+		assertEquals("Ada", members.get(1).getName());
+		assertEquals(StudyRoomMember.PAUSED, members.get(1).getActivity());
+		assertEquals(1480, members.get(1).getRemainingSeconds(60_000)); // paused, no longer counting
+		assertEquals(620, members.get(1).getFocusedSeconds(60_000));
+	}
+
+	@Test
+	void testMemberTimersCountOnBetweenUpdates() {
+		StudyRoomMember focusing = new StudyRoomMember(1, "Ada", StudyRoomMember.FOCUSING, 600, 100, 1000);
+		assertEquals(570, focusing.getRemainingSeconds(31_000));
+		assertEquals(130, focusing.getFocusedSeconds(31_000));
+		assertEquals(0, focusing.getRemainingSeconds(5_000_000));
+		assertEquals(700, focusing.getFocusedSeconds(5_000_000)); // stops at the end of the session
+
+		StudyRoomMember onBreak = new StudyRoomMember(2, "Bo", StudyRoomMember.BREAK, 300, 200, 1000);
+		assertEquals(240, onBreak.getRemainingSeconds(61_000));
+		assertEquals(200, onBreak.getFocusedSeconds(61_000));
+
+		StudyRoom room = new StudyRoom(1, Arrays.asList(onBreak, focusing));
+		assertEquals(Arrays.asList(onBreak, focusing), room.getLeaderboard(1000));
+		assertEquals(Arrays.asList(focusing, onBreak), room.getLeaderboard(5_000_000));
+		assertEquals(1, room.getFocusingCount());
+	}
+}
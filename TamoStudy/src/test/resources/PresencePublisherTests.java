@@ -0,0 +1,76 @@
+package test.resources;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import resources.presence.Presence;
+import resources.presence.PresencePublisher;
+import resources.presence.StubPresenceBackend;
+
+class PresencePublisherTests {
+
+	@Test
+	void testCallbacksPumpedAtCadence() throws InterruptedException {
+		StubPresenceBackend backend = new StubPresenceBackend();
+		PresencePublisher publisher = new PresencePublisher(backend, 10, 0);
+		publisher.start();
+		Thread.sleep(200);
+		publisher.shutdown();
+
+		long callbacks = backend.getCallbackCount();
+		assertTrue(callbacks >= 5 && callbacks <= 25, "callbacks = " + callbacks);
+		assertFalse(backend.isInitialized());
+		assertFalse(publisher.isRunning());
+
+		Thread.sleep(50);
+		assertEquals(callbacks, backend.getCallbackCount());
+	}
+
+	@Test
+	void testUpdatesCoalescedAndRateLimited() throws InterruptedException {
+		StubPresenceBackend backend = new StubPresenceBackend();
+		PresencePublisher publisher = new PresencePublisher(backend, 1000, 300);
+		publisher.start();
+		for(int i = 0; i <= 100; i++) {
+			publisher.update("Focus", "Lisa", i);
+		}
+		Thread.sleep(500);
+		publisher.shutdown();
+
+		List<Presence> published = backend.getPublished();
+		assertTrue(published.size() <= 2, "published = " + published.size());
+		assertEquals(new Presence("Focus", "Lisa", 100), published.get(published.size() - 1));
+		assertEquals(published.size(), publisher.getPublishedCount());
+		assertTrue(publisher.getCoalescedCount() >= 99);
+	}
+
+	@Test
+	void testUnchangedPresenceNotRepublished() throws InterruptedException {
+		StubPresenceBackend backend = new StubPresenceBackend();
+		PresencePublisher publisher = new PresencePublisher(backend, 1000, 0);
+		publisher.start();
+		publisher.update("Focus", "Lisa", 1);
+		Thread.sleep(50);
+		publisher.update("Focus", "Lisa", 1);
+		Thread.sleep(50);
+		publisher.shutdown();
+
+		assertEquals(1, backend.getPublished().size());
+	}
+
+	@Test
+	void testUpdateBeforeStartPublishedOnStart() throws InterruptedException {
+		StubPresenceBackend backend = new StubPresenceBackend();
+		PresencePublisher publisher = new PresencePublisher(backend, 1000, 0);
+		publisher.update("TamoStudy", "Lisa", 1);
+		assertTrue(backend.getPublished().isEmpty());
+
+		publisher.start();
+		Thread.sleep(50);
+		publisher.shutdown();
+		assertEquals(1, backend.getPublished().size());
+	}
+}
@@ -0,0 +1,83 @@
+package test.resources;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+
+import org.junit.jupiter.api.Test;
+
+import resources.Theme;
+
+class ThemeTests {
+
+	@Test
+	void testThemesAreShared() {
+		assertSame(Theme.DARK, Theme.getTheme("Dark"));
+		assertSame(Theme.LIGHT, Theme.getTheme(1));
+		assertSame(Theme.DARK, Theme.getTheme("Unknown"));
+		// Colors a theme does not set are derived
+		assertNotNull(Theme.RED.altTextColor);
+		assertEquals(Theme.SELECTED_TEXT, Theme.BLUE.selectedTextColor);
+	}
+
+	@Test
+	void testApplyToRecolorsByRole() {
+		JPanel panel = new JPanel();
+		panel.setBackground(Theme.DARK.mainColor);
+		JPanel layer = new JPanel();
+		layer.setBackground(Theme.DARK.layerColor);
+		JLabel label = new JLabel();
+		label.setForeground(Theme.DARK.textColor);
+		JButton button = new JButton();
+		button.setForeground(Theme.DARK.textColor);
+		Theme.DARK.buttonLayerEnterEffect(button);
+		layer.add(label);
+		panel.add(layer);
+		panel.add(button);
+
+		Theme.LIGHT.applyTo(panel, Theme.DARK);
+
+		assertEquals(Theme.LIGHT.mainColor, panel.getBackground());
+		assertEquals(Theme.LIGHT.layerColor, layer.getBackground());
+		assertEquals(Theme.LIGHT.textColor, label.getForeground());
+		assertEquals(Theme.LIGHT.textColor, button.getForeground());
+	}
+
+	@Test
+	void testApplyToKeepsFixedColors() {
+		JPanel panel = new JPanel();
+		panel.setBackground(Theme.DARK.mainColor);
+		// White, as the text of the dark theme is
+		JLabel themedLabel = new JLabel();
+		themedLabel.setForeground(Theme.DARK.textColor);
+		JLabel fixedLabel = new JLabel();
+		fixedLabel.setForeground(Color.WHITE);
+		JButton primaryButton = new JButton();
+		Theme.primaryVisualButton(primaryButton);
+		JButton dangerButton = new JButton();
+		Theme.dangerVisualButton(dangerButton);
+		panel.add(themedLabel);
+		panel.add(fixedLabel);
+		panel.add(primaryButton);
+		panel.add(dangerButton);
+
+		Theme.LIGHT.applyTo(panel, Theme.DARK);
+
+		assertEquals(Theme.LIGHT.textColor, themedLabel.getForeground());
+		assertEquals(Color.WHITE, fixedLabel.getForeground());
+		assertEquals(Color.WHITE, primaryButton.getForeground());
+		assertEquals(Theme.PRIMARY, primaryButton.getBackground());
+		assertEquals(Color.WHITE, dangerButton.getForeground());
+		assertEquals(Theme.DANGER, dangerButton.getBackground());
+
+		// And back again
+		Theme.DARK.applyTo(panel, Theme.LIGHT);
+		assertEquals(Theme.DARK.textColor, themedLabel.getForeground());
+		assertEquals(Theme.DARK.mainColor, panel.getBackground());
+		assertEquals(Color.WHITE, primaryButton.getForeground());
+	}
+}
@@ -0,0 +1,71 @@
+package test.resources.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import resources.logging.AsyncLogAppender;
+import resources.logging.LogLevel;
+
+class AsyncLogAppenderTests {
+
+	@Test
+	void testMessagesWrittenToLogFile() throws IOException {
+		Path logDirectory = Files.createTempDirectory("tamostudy");
+		AsyncLogAppender appender = new AsyncLogAppender(16, logDirectory, 1024 * 1024, 3, null);
+
+		appender.append(LogLevel.INFO, "AsyncLogAppenderTests", "first");
+		appender.append(LogLevel.ERROR, "AsyncLogAppenderTests", "second");
+		appender.flush();
+
+		List<String> lines = Files.readAllLines(logDirectory.resolve("tamostudy.log"));
+		assertEquals(2, lines.size());
+		assertTrue(lines.get(0).endsWith("[INFO] AsyncLogAppenderTests : first"));
+		assertTrue(lines.get(1).endsWith("[ERROR] AsyncLogAppenderTests : second"));
+	}
+
+	@Test
+	void testLogFilesRolled() throws IOException {
+		Path logDirectory = Files.createTempDirectory("tamostudy");
+		AsyncLogAppender appender = new AsyncLogAppender(16, logDirectory, 100, 3, null);
+
+		for(int i = 0; i < 20; i++) {
+			appender.append(LogLevel.INFO, "AsyncLogAppenderTests", "message number " + i);
+			appender.flush();
+		}
+
+		assertTrue(Files.exists(logDirectory.resolve("tamostudy.log")));
+		assertTrue(Files.exists(logDirectory.resolve("tamostudy.1.log")));
+		assertTrue(Files.exists(logDirectory.resolve("tamostudy.2.log")));
+		assertFalse(Files.exists(logDirectory.resolve("tamostudy.3.log")));
+		assertTrue(Files.readString(logDirectory.resolve("tamostudy.log")).contains("message number 19"));
+	}
+
+	@Test
+	void testLogDirectorySetLater() throws IOException {
+		Path logDirectory = Files.createTempDirectory("tamostudy");
+		AsyncLogAppender appender = new AsyncLogAppender(16, null, 1024 * 1024, 3, null);
+
+		appender.append(LogLevel.INFO, "AsyncLogAppenderTests", "console only");
+		appender.flush();
+		appender.setLogDirectory(logDirectory);
+		appender.append(LogLevel.INFO, "AsyncLogAppenderTests", "to the file");
+		appender.flush();
+
+		List<String> lines = Files.readAllLines(logDirectory.resolve("tamostudy.log"));
+		assertEquals(1, lines.size());
+		assertTrue(lines.get(0).endsWith("to the file"));
+	}
+
+	@Test
+	void testLevelFromName() {
+		assertEquals(LogLevel.WARN, LogLevel.fromName("warn", LogLevel.INFO));
+		assertEquals(LogLevel.INFO, LogLevel.fromName(null, LogLevel.INFO));
+		assertEquals(LogLevel.INFO, LogLevel.fromName("verbose", LogLevel.INFO));
+	}
+}
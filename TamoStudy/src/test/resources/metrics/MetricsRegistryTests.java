@@ -0,0 +1,76 @@
+package test.resources.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.Test;
+
+import resources.metrics.EdtWatchdog;
+import resources.metrics.Histogram;
+import resources.metrics.MetricsRegistry;
+
+class MetricsRegistryTests {
+
+	@Test
+	void testHistogramPercentiles() {
+		Histogram histogram = new Histogram("test");
+		for(int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+		assertEquals(100, histogram.getCount());
+		assertEquals(5050, histogram.getSum());
+		assertEquals(100, histogram.getMax());
+		assertEquals(50.5, histogram.getMean(), 0.0001);
+		// 50 falls in the 32 - 63 bucket, 99 in the 64 - 127 bucket capped at the max
+		assertEquals(63, histogram.getPercentile(0.5));
+		assertEquals(100, histogram.getPercentile(0.99));
+		assertEquals(0, new Histogram("empty").getPercentile(0.5));
+	}
+
+	@Test
+	void testRegistrySnapshotAndDump() throws IOException {
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.counter("json.profiles.write.bytes").add(2048);
+		registry.timer("state.FocusState.construct").record(5_000_000);
+		assertSame(registry.counter("json.profiles.write.bytes"), registry.counter("json.profiles.write.bytes"));
+
+		List<String> snapshot = registry.snapshot();
+		assertEquals(2, snapshot.size());
+		assertTrue(snapshot.get(0).startsWith("state.FocusState.construct count=1"));
+		assertEquals("json.profiles.write.bytes count=2048", snapshot.get(1));
+
+		Path path = Files.createTempDirectory("tamostudy").resolve("logs").resolve("metrics.txt");
+		registry.dump(path);
+		assertEquals(3, Files.readAllLines(path).size());
+	}
+
+	@Test
+	void testEdtWatchdogReportsStall() throws Exception {
+		EdtWatchdog watchdog = new EdtWatchdog(100);
+		watchdog.setContext("TestState");
+		watchdog.start();
+		try {
+			// Let the watchdog see a healthy heartbeat first
+			Thread.sleep(200);
+			assertEquals(0, watchdog.getStallCount());
+
+			SwingUtilities.invokeAndWait(() -> {
+				try {
+					Thread.sleep(400);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			Thread.sleep(200);
+			assertEquals(1, watchdog.getStallCount());
+		} finally {
+			watchdog.stop();
+		}
+	}
+}
@@ -7,6 +7,7 @@ import java.io.IOException;
 import java.text.DecimalFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.Calendar;
 import java.util.Collections;
@@ -47,9 +48,8 @@ public class Utils {
 	}
 	
 	public static String todayAsString() {
-		SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd");
-		Date date = new Date();
-		return formatter.format(date);
+		// ISO local date, the same yyyy-MM-dd format without a formatter per call
+		return LocalDate.now().toString();
 	}
 	
 	public static Date stringToDate(String dateString) {
@@ -131,16 +131,24 @@ public class Utils {
     }
     
     public static DailyFocusEntry createDailyFocusEntry() {
+    	return createDailyFocusEntry(LocalDate.now());
+    }
+    
+    public static DailyFocusEntry createDailyFocusEntry(LocalDate date) {
     	return new DailyFocusEntry(
-    				getCurrentDay(),
-    				getCurrentMonth(),
-    				getCurrentYear(),
+    				(long) date.getDayOfMonth(),
+    				(long) date.getMonthValue(),
+    				(long) date.getYear(),
     				(long) 0
     			);
     }
     
     public static MonthFocusEntry createMonthFocusEntry() {
-    	return new MonthFocusEntry(getCurrentMonth(), getCurrentYear(), (long) 0);
+    	return createMonthFocusEntry(LocalDate.now());
+    }
+    
+    public static MonthFocusEntry createMonthFocusEntry(LocalDate date) {
+    	return new MonthFocusEntry((long) date.getMonthValue(), (long) date.getYear(), (long) 0);
     }
     
     public static DailyFocus searchDailyFocusByProfile(List<DailyFocus> dailyFocusList, Profile profile) {
@@ -154,15 +162,26 @@ public class Utils {
     }
     
     public static DailyFocusEntry searchTodayFocusEntryByProfile(List<DailyFocusEntry> dailyFocusEntries) {
+    	return searchDailyFocusEntryByDate(dailyFocusEntries, LocalDate.now());
+    }
+    
+    /**
+     * The date is read once, so a search running over midnight
+     * cannot compare entries against two different days
+     */
+    public static DailyFocusEntry searchDailyFocusEntryByDate(List<DailyFocusEntry> dailyFocusEntries, LocalDate date) {
+    	long day = date.getDayOfMonth();
+    	long month = date.getMonthValue();
+    	long year = date.getYear();
     	for(DailyFocusEntry dailyFocusEntry : dailyFocusEntries) {
-    		if(dailyFocusEntry.getDay() == getCurrentDay()
-    				&& dailyFocusEntry.getMonth() == getCurrentMonth()
-    				&& dailyFocusEntry.getYear() == getCurrentYear()) {
+    		if(dailyFocusEntry.getDay() == day
+    				&& dailyFocusEntry.getMonth() == month
+    				&& dailyFocusEntry.getYear() == year) {
     			return dailyFocusEntry;
     		}
     	}
     	
-    	Debug.warn("Utils.searchTodayFocusEntryByProfile", "No daily focus entry found for today. Returning null to signal entry does not exist");
+    	Debug.warn("Utils.searchDailyFocusEntryByDate", "No daily focus entry found for " + date + ". Returning null to signal entry does not exist");
     	return null;
     }
     
@@ -178,14 +197,20 @@ public class Utils {
     }
     
     public static MonthFocusEntry searchCurrentMonthEntryByProfile(List<MonthFocusEntry> monthFocusEntries) {
+    	return searchMonthFocusEntryByDate(monthFocusEntries, LocalDate.now());
+    }
+    
+    public static MonthFocusEntry searchMonthFocusEntryByDate(List<MonthFocusEntry> monthFocusEntries, LocalDate date) {
+    	long month = date.getMonthValue();
+    	long year = date.getYear();
     	for(MonthFocusEntry monthFocusEntry : monthFocusEntries) {
-    		if(monthFocusEntry.getMonth() == getCurrentMonth()
-    				&& monthFocusEntry.getYear() == getCurrentYear()) {
+    		if(monthFocusEntry.getMonth() == month
+    				&& monthFocusEntry.getYear() == year) {
     			return monthFocusEntry;
     		}
     	}
     	
-    	Debug.warn("Utils.searchCurrentMonthEntryByProfile", "No month focus entry found for this month. Returning null to signal entry does not exist");
+    	Debug.warn("Utils.searchMonthFocusEntryByDate", "No month focus entry found for " + date + ". Returning null to signal entry does not exist");
     	return null;
     }
     
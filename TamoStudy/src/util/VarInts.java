@@ -0,0 +1,74 @@
+package util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * VarInts
+ *
+ * @author narlock
+ *
+ * @brief Variable length encoding of whole numbers for the binary
+ * files. Seven bits are stored per byte, lowest first, with the high
+ * bit set on every byte but the last, so a focus time of a few hours
+ * takes two or three bytes instead of eight.
+ *
+ * Signed numbers are zigzag encoded first, so small negative
+ * numbers are short too.
+ */
+public class VarInts {
+
+	/**
+	 * The most bytes a long can take
+	 */
+	public static final int MAX_LONG_SIZE = 10;
+
+	private VarInts() {}
+
+	/**
+	 * @brief Writes a number that is never negative. Negative
+	 * numbers are written too, but take the full ten bytes.
+	 */
+	public static void writeUnsignedLong(DataOutput out, long value) throws IOException {
+		while((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	public static long readUnsignedLong(DataInput in) throws IOException {
+		long value = 0;
+		for(int shift = 0; shift < 64; shift += 7) {
+			byte b = in.readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Variable length number is longer than " + MAX_LONG_SIZE + " bytes");
+	}
+
+	public static void writeSignedLong(DataOutput out, long value) throws IOException {
+		writeUnsignedLong(out, (value << 1) ^ (value >> 63));
+	}
+
+	public static long readSignedLong(DataInput in) throws IOException {
+		long value = readUnsignedLong(in);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * @brief Reads a count, such as a number of records, rejecting
+	 * one that cannot be right so a damaged file does not allocate
+	 * a huge list.
+	 */
+	public static int readCount(DataInput in, int max) throws IOException {
+		long count = readUnsignedLong(in);
+		if(count < 0 || count > max) {
+			throw new IOException("Invalid count " + count);
+		}
+		return (int) count;
+	}
+}